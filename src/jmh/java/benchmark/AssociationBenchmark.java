@@ -0,0 +1,123 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import sprouts.Association;
+import sprouts.Pair;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ *  Benchmarks the hashed ({@link Association#between(Class, Class)}),
+ *  sorted ({@link Association#betweenSorted(Class, Class)}) and linked
+ *  ({@link Association#betweenLinked(Class, Class)}) association implementations
+ *  with respect to their most common operations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class AssociationBenchmark {
+
+    @Param({"HASHED", "SORTED", "LINKED"})
+    String kind;
+
+    @Param({"1000", "100000"})
+    int size;
+
+    private Association<String, Integer> association;
+    private String[] presentKeys;
+    private String[] absentKeys;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Association<String, Integer> result;
+        switch ( kind ) {
+            case "SORTED": result = Association.betweenSorted(String.class, Integer.class); break;
+            case "LINKED": result = Association.betweenLinked(String.class, Integer.class); break;
+            default:       result = Association.between(String.class, Integer.class);
+        }
+        presentKeys = new String[size];
+        absentKeys  = new String[size];
+        for ( int i = 0; i < size; i++ ) {
+            presentKeys[i] = "key-" + i;
+            absentKeys[i]  = "absent-" + i;
+            result = result.put(presentKeys[i], i);
+        }
+        association = result;
+        association.hashCode(); // Like a long-lived key in a cache, whose hash code is known already.
+    }
+
+    private int _nextIndex() {
+        cursor = ( cursor + 7919 ) % size;
+        return cursor;
+    }
+
+    @Benchmark
+    public Association<String, Integer> putNew() {
+        return association.put(absentKeys[_nextIndex()], 42);
+    }
+
+    @Benchmark
+    public Association<String, Integer> putReplace() {
+        return association.put(presentKeys[_nextIndex()], -1);
+    }
+
+    @Benchmark
+    public Object get() {
+        return association.get(presentKeys[_nextIndex()]);
+    }
+
+    @Benchmark
+    public Association<String, Integer> remove() {
+        return association.remove(presentKeys[_nextIndex()]);
+    }
+
+    @Benchmark
+    public void iterate(Blackhole blackhole) {
+        for ( Pair<String, Integer> entry : association )
+            blackhole.consume(entry);
+    }
+
+    @Benchmark
+    public boolean keySetContains() {
+        return association.keySet().contains(presentKeys[_nextIndex()]);
+    }
+
+    @Benchmark
+    public void iterateValues(Blackhole blackhole) {
+        for ( Integer value : association.values() )
+            blackhole.consume(value);
+    }
+
+    @Benchmark
+    public void forEachEntry(Blackhole blackhole) {
+        association.forEachEntry((key, value) -> {
+            blackhole.consume(key);
+            blackhole.consume(value);
+        });
+    }
+
+    @Benchmark
+    public void iterateCursor(Blackhole blackhole) {
+        Association.EntryCursor<String, Integer> entries = association.cursor();
+        while ( entries.next() ) {
+            blackhole.consume(entries.key());
+            blackhole.consume(entries.value());
+        }
+    }
+
+    @Benchmark
+    public int hashCodeOfNewVersion() {
+        return association.put(presentKeys[_nextIndex()], -1).hashCode();
+    }
+
+    @Benchmark
+    public int diffOfNewVersion() {
+        String key = presentKeys[_nextIndex()];
+        return association.diff(association.put(key, -1).remove(absentKeys[0])).updated().size();
+    }
+}
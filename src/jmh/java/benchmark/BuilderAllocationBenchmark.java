@@ -0,0 +1,108 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import sprouts.Association;
+import sprouts.Tuple;
+import sprouts.ValueSet;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ *  Compares the builders of {@link Tuple}, {@link Association} and {@link ValueSet}
+ *  with plain loops of {@code add}, {@code setAt} and {@code put} calls on the immutable types.
+ *  Each pair of benchmarks produces the same collection, so the allocation rate
+ *  reported by the GC profiler ({@code gc.alloc.rate.norm}, in bytes per operation)
+ *  shows how much garbage the intermediate versions of the loops leave behind.
+ *  Run it through {@code ./gradlew jmh -PjmhInclude=BuilderAllocationBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class BuilderAllocationBenchmark {
+
+    private static final int EVERY_NTH_ITEM_REPLACED = 16;
+
+    @Param({"100", "10000"})
+    int size;
+
+    private Tuple<Integer> tuple;
+    private String[] keys;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        keys = new String[size];
+        for ( int i = 0; i < size; i++ )
+            keys[i] = "key-" + i;
+        Tuple<Integer> result = Tuple.of(Integer.class);
+        for ( int i = 0; i < size; i++ )
+            result = result.add(i);
+        tuple = result;
+    }
+
+    @Benchmark
+    public Tuple<Integer> tupleAddLoop() {
+        Tuple<Integer> result = Tuple.of(Integer.class);
+        for ( int i = 0; i < size; i++ )
+            result = result.add(i);
+        return result;
+    }
+
+    @Benchmark
+    public Tuple<Integer> tupleBuilderAdd() {
+        Tuple.Builder<Integer> builder = Tuple.builder(Integer.class);
+        for ( int i = 0; i < size; i++ )
+            builder.add(i);
+        return builder.build();
+    }
+
+    @Benchmark
+    public Tuple<Integer> tupleSetAtLoop() {
+        Tuple<Integer> result = tuple;
+        for ( int i = 0; i < size; i += EVERY_NTH_ITEM_REPLACED )
+            result = result.setAt(i, -i);
+        return result;
+    }
+
+    @Benchmark
+    public Tuple<Integer> tupleBuilderSetAt() {
+        Tuple.Builder<Integer> builder = tuple.toBuilder();
+        for ( int i = 0; i < size; i += EVERY_NTH_ITEM_REPLACED )
+            builder.setAt(i, -i);
+        return builder.build();
+    }
+
+    @Benchmark
+    public Association<String, Integer> associationPutLoop() {
+        Association<String, Integer> result = Association.between(String.class, Integer.class);
+        for ( int i = 0; i < size; i++ )
+            result = result.put(keys[i], i);
+        return result;
+    }
+
+    @Benchmark
+    public Association<String, Integer> associationBuilderPut() {
+        Association.Builder<String, Integer> builder = Association.builder(String.class, Integer.class);
+        for ( int i = 0; i < size; i++ )
+            builder.put(keys[i], i);
+        return builder.build();
+    }
+
+    @Benchmark
+    public ValueSet<String> valueSetAddLoop() {
+        ValueSet<String> result = ValueSet.of(String.class);
+        for ( int i = 0; i < size; i++ )
+            result = result.add(keys[i]);
+        return result;
+    }
+
+    @Benchmark
+    public ValueSet<String> valueSetBuilderAdd() {
+        ValueSet.Builder<String> builder = ValueSet.builder(String.class);
+        for ( int i = 0; i < size; i++ )
+            builder.add(keys[i]);
+        return builder.build();
+    }
+}
@@ -0,0 +1,63 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import sprouts.Association;
+import sprouts.Guarded;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ *  Measures a {@link Guarded} cache of an {@link Association} under a read-heavy
+ *  load, where seven threads read and one thread occasionally replaces the value.
+ *  The regular mode serializes the readers behind its lock, whereas the
+ *  {@link Guarded#ofReadMostly(Object) read-mostly} mode lets them proceed in parallel.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class GuardedBenchmark {
+
+    private static final int SIZE = 1_000;
+
+    @Param({"false", "true"})
+    boolean readMostly;
+
+    private Guarded<Association<Integer, String>> cache;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int key;
+    }
+
+    @Setup(Level.Trial)
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void setup() {
+        Class<Association<Integer, String>> type = (Class) Association.class;
+        Association<Integer, String> association = Association.between(Integer.class, String.class);
+        for ( int i = 0; i < SIZE; i++ )
+            association = association.put(i, "value-" + i);
+        cache = readMostly
+                ? Guarded.ofReadMostly(type, association)
+                : Guarded.of(type, association);
+    }
+
+    @Benchmark
+    @Group("readHeavy")
+    @GroupThreads(7)
+    public String read( Cursor cursor ) {
+        int key = cursor.key++ % SIZE;
+        return cache.read(a -> a.get(key).orElse(""));
+    }
+
+    @Benchmark
+    @Group("readHeavy")
+    @GroupThreads(1)
+    public void write( Cursor cursor ) throws InterruptedException {
+        int key = cursor.key++ % SIZE;
+        cache.update(a -> a.put(key, "updated-" + key));
+        TimeUnit.MICROSECONDS.sleep(100); // Writes are rare compared to reads.
+    }
+}
@@ -0,0 +1,51 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import sprouts.Association;
+import sprouts.Guarded;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ *  Measures many threads updating the same {@link Guarded} aggregate at once,
+ *  once with a regular container, where every update acquires the lock itself,
+ *  and once with a {@link Guarded#ofCombining(Object) combining} container,
+ *  where the lock holder applies the updates of the waiting threads in one go.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@Threads(8)
+public class GuardedContentionBenchmark {
+
+    private static final int KEYS = 64;
+
+    @Param({"false", "true"})
+    boolean combining;
+
+    private Guarded<Association<Integer, Integer>> counts;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int key;
+    }
+
+    @Setup(Level.Trial)
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void setup() {
+        Class<Association<Integer, Integer>> type = (Class) Association.class;
+        Association<Integer, Integer> association = Association.between(Integer.class, Integer.class);
+        counts = combining
+                ? Guarded.ofCombining(type, association)
+                : Guarded.of(type, association);
+    }
+
+    @Benchmark
+    public Association<Integer, Integer> increment( Cursor cursor ) {
+        int key = cursor.key++ % KEYS;
+        return counts.updateAndGet(a -> a.put(key, a.get(key).orElse(0) + 1));
+    }
+}
@@ -0,0 +1,118 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import sprouts.Var;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ *  Measures reads through a chain of nested property lenses,
+ *  created through {@link Var#zoomTo(java.util.function.Function, java.util.function.BiFunction)},
+ *  both while the root property stays unchanged and right after it was changed.
+ *  A lens checks its memoized item against the version stamp of the root property
+ *  of its chain, without reading its parent lens, so reads of an unchanged chain
+ *  should cost the same for every depth. Only a read after a change walks the chain.<br>
+ *  Running the {@link #main(String[])} method of this class (through {@code ./gradlew jmhLensDepth})
+ *  measures {@link #readUnchanged()} for all depths and fails if the throughput
+ *  of the deepest chain falls noticeably behind the throughput of a single lens.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class LensReadBenchmark {
+
+    /**
+     *  A minimal immutable data carrier which can be nested arbitrarily deep.
+     */
+    static final class Node {
+        final int value;
+        final Node child;
+
+        Node( int value, Node child ) {
+            this.value = value;
+            this.child = child;
+        }
+
+        int value() { return value; }
+
+        Node child() { return child; }
+
+        Node withValue( int newValue ) { return new Node(newValue, child); }
+
+        Node withChild( Node newChild ) { return new Node(value, newChild); }
+    }
+
+    /**
+     *  The smallest fraction of the throughput of a single lens which reading
+     *  the deepest chain has to reach, leaving some room for measurement noise.
+     */
+    private static final double MIN_RELATIVE_THROUGHPUT = 0.5;
+
+    @Param({"1", "3", "6", "12"})
+    int depth;
+
+    private Var<Node> root;
+    private Var<Integer> leaf;
+    private int counter;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Node node = null;
+        for ( int i = 0; i <= depth; i++ )
+            node = new Node(i, node);
+        root = Var.of(node);
+        Var<Node> current = root;
+        for ( int i = 1; i < depth; i++ )
+            current = current.zoomTo(Node::child, Node::withChild);
+        leaf = current.zoomTo(Node::value, Node::withValue);
+    }
+
+    @Benchmark
+    public Integer readUnchanged() {
+        return leaf.get();
+    }
+
+    @Benchmark
+    public Integer readAfterChange() {
+        root.set(root.get().withValue(++counter));
+        return leaf.get();
+    }
+
+    public static void main( String[] args ) throws RunnerException {
+        Collection<RunResult> results = new Runner(
+                                            new OptionsBuilder()
+                                                .include(LensReadBenchmark.class.getName() + ".readUnchanged")
+                                                .forks(1)
+                                                .build()
+                                        ).run();
+        double shallowest = Double.NaN;
+        double deepest    = Double.NaN;
+        int    maxDepth   = 0;
+        for ( RunResult result : results ) {
+            int    depth = Integer.parseInt(result.getParams().getParam("depth"));
+            double score = result.getPrimaryResult().getScore();
+            if ( depth == 1 )
+                shallowest = score;
+            if ( depth >= maxDepth ) {
+                maxDepth = depth;
+                deepest  = score;
+            }
+        }
+        double ratio = deepest / shallowest;
+        System.out.printf("Reading a chain of %d lenses reaches %.0f%% of the throughput of a single lens.%n", maxDepth, ratio * 100);
+        if ( !(ratio >= MIN_RELATIVE_THROUGHPUT) )
+            throw new IllegalStateException(String.format(
+                    "Reads of unchanged lens chains are not flat across depths: " +
+                    "depth %d reached %.0f ops/s, but depth 1 reached %.0f ops/s.",
+                    maxDepth, deepest, shallowest
+                ));
+    }
+}
@@ -0,0 +1,73 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import sprouts.Association;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ *  Benchmarks {@link Association#put(Object, Object)} on hashed associations
+ *  with {@link Integer} and {@link Long} keys, which are stored in primitive
+ *  arrays internally. Every put rebuilds the key hashes of the affected node,
+ *  which makes this a good measure for how cheap the primitive array access is.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class PrimitiveKeyAssociationBenchmark {
+
+    @Param({"1000", "100000"})
+    int size;
+
+    private Association<Integer, Integer> intAssociation;
+    private Association<Long, Integer> longAssociation;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Association<Integer, Integer> ints = Association.between(Integer.class, Integer.class);
+        Association<Long, Integer> longs = Association.between(Long.class, Integer.class);
+        for ( int i = 0; i < size; i++ ) {
+            ints  = ints.put(i * 2, i);
+            longs = longs.put(i * 2L, i);
+        }
+        intAssociation  = ints;
+        longAssociation = longs;
+    }
+
+    private int _nextIndex() {
+        cursor = ( cursor + 7919 ) % size;
+        return cursor;
+    }
+
+    @Benchmark
+    public Association<Integer, Integer> putNewIntegerKey() {
+        return intAssociation.put(_nextIndex() * 2 + 1, 42);
+    }
+
+    @Benchmark
+    public Association<Integer, Integer> putReplaceIntegerKey() {
+        return intAssociation.put(_nextIndex() * 2, -1);
+    }
+
+    @Benchmark
+    public Association<Long, Integer> putNewLongKey() {
+        return longAssociation.put(_nextIndex() * 2L + 1, 42);
+    }
+
+    @Benchmark
+    public Association<Long, Integer> putReplaceLongKey() {
+        return longAssociation.put(_nextIndex() * 2L, -1);
+    }
+
+    @Benchmark
+    public Association<Integer, Integer> buildIntegerKeyed() {
+        Association<Integer, Integer> result = Association.between(Integer.class, Integer.class);
+        for ( int i = 0; i < 1000; i++ )
+            result = result.put(i, i);
+        return result;
+    }
+}
@@ -0,0 +1,48 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import sprouts.From;
+import sprouts.Var;
+import sprouts.Viewable;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ *  Measures the cost of a {@link Var#set(Object)} call which
+ *  fans out to a varying number of change listeners
+ *  registered on the {@link From#VIEW_MODEL} channel, as well as
+ *  the cost of a change on a channel nobody listens to.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class PropertyChangeBenchmark {
+
+    @Param({"0", "1", "10", "1000"})
+    int listeners;
+
+    private Var<Integer> property;
+    private int counter;
+
+    @Setup(Level.Trial)
+    public void setup(Blackhole blackhole) {
+        property = Var.of(0);
+        Viewable<Integer> viewable = Viewable.cast(property);
+        for ( int i = 0; i < listeners; i++ )
+            viewable.onChange(From.VIEW_MODEL, it -> blackhole.consume(it.currentValue().orElseNull()) );
+    }
+
+    @Benchmark
+    public Var<Integer> set() {
+        return property.set(From.VIEW_MODEL, ++counter);
+    }
+
+    @Benchmark
+    public Var<Integer> setOnChannelWithoutListeners() {
+        return property.set(From.VIEW, ++counter);
+    }
+}
@@ -0,0 +1,87 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import sprouts.Tuple;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ *  Benchmarks the core operations of the tree based tuple implementation
+ *  for both a densely packed tuple (a single large leaf, as created by
+ *  {@link Tuple#of(Class, Iterable)}) and a branched tuple, which is what
+ *  you end up with after a sequence of persistent insertions.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class TupleBenchmark {
+
+    @Param({"1000", "100000"})
+    int size;
+
+    @Param({"DENSE", "BRANCHED"})
+    String layout;
+
+    private Tuple<Integer> tuple;
+    private Tuple<Integer> toInsert;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        if ( layout.equals("DENSE") ) {
+            Integer[] items = new Integer[size];
+            for ( int i = 0; i < size; i++ )
+                items[i] = i;
+            tuple = Tuple.of(Integer.class, items);
+        } else {
+            Tuple<Integer> result = Tuple.of(Integer.class);
+            for ( int i = 0; i < size; i++ )
+                result = result.add(i);
+            tuple = result;
+        }
+        toInsert = Tuple.of(-1, -2, -3, -4, -5, -6, -7, -8);
+        tuple.hashCode(); // Like a long-lived key in a cache, whose hash code is known already.
+    }
+
+    private int _nextIndex() {
+        cursor = ( cursor + 7919 ) % size;
+        return cursor;
+    }
+
+    @Benchmark
+    public Integer get() {
+        return tuple.get(_nextIndex());
+    }
+
+    @Benchmark
+    public Tuple<Integer> slice() {
+        int from = _nextIndex();
+        int to   = from + ( size - from ) / 2;
+        return tuple.slice(from, to);
+    }
+
+    @Benchmark
+    public Tuple<Integer> addAllAt() {
+        return tuple.addAllAt(_nextIndex(), toInsert);
+    }
+
+    @Benchmark
+    public Tuple<Integer> removeIf() {
+        return tuple.removeIf( it -> it % 3 == 0 );
+    }
+
+    @Benchmark
+    public void iterate(Blackhole blackhole) {
+        for ( Integer item : tuple )
+            blackhole.consume(item);
+    }
+
+    @Benchmark
+    public int hashCodeOfNewVersion() {
+        return tuple.setAt(_nextIndex(), -1).hashCode();
+    }
+}
@@ -0,0 +1,40 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import sprouts.Tuple;
+import sprouts.Version;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ *  Measures the throughput of many threads constructing tuples at the same time.
+ *  Every new tuple and every modification of a tuple allocates a new {@link Version}
+ *  lineage for its diff, so this exposes any contention on the lineage counter.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@Threads(64)
+public class TupleConstructionBenchmark {
+
+    private final Tuple<Integer> tuple = Tuple.of(1, 2, 3, 4, 5, 6, 7, 8);
+    private int counter;
+
+    @Benchmark
+    public Tuple<Integer> create() {
+        return Tuple.of(Integer.class, ++counter, counter, counter);
+    }
+
+    @Benchmark
+    public Tuple<Integer> add() {
+        return tuple.add(++counter);
+    }
+
+    @Benchmark
+    public Version createVersion() {
+        return Version.create();
+    }
+}
@@ -0,0 +1,92 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import sprouts.ValueSet;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ *  Benchmarks the hashed ({@link ValueSet#of(Class)}), sorted ({@link ValueSet#ofSorted(Class)})
+ *  and linked ({@link ValueSet#ofLinked(Class)}) value set implementations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class ValueSetBenchmark {
+
+    @Param({"HASHED", "SORTED", "LINKED"})
+    String kind;
+
+    @Param({"1000", "100000"})
+    int size;
+
+    private ValueSet<String> set;
+    private ValueSet<String> changedSet;
+    private String[] presentElements;
+    private String[] absentElements;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        ValueSet<String> result;
+        switch ( kind ) {
+            case "SORTED": result = ValueSet.ofSorted(String.class); break;
+            case "LINKED": result = ValueSet.ofLinked(String.class); break;
+            default:       result = ValueSet.of(String.class);
+        }
+        presentElements = new String[size];
+        absentElements  = new String[size];
+        for ( int i = 0; i < size; i++ ) {
+            presentElements[i] = "element-" + i;
+            absentElements[i]  = "absent-" + i;
+            result = result.add(presentElements[i]);
+        }
+        set = result;
+        changedSet = result.remove(presentElements[size / 2]).add(absentElements[0]);
+    }
+
+    private int _nextIndex() {
+        cursor = ( cursor + 7919 ) % size;
+        return cursor;
+    }
+
+    @Benchmark
+    public ValueSet<String> add() {
+        return set.add(absentElements[_nextIndex()]);
+    }
+
+    @Benchmark
+    public boolean contains() {
+        return set.contains(presentElements[_nextIndex()]);
+    }
+
+    @Benchmark
+    public ValueSet<String> remove() {
+        return set.remove(presentElements[_nextIndex()]);
+    }
+
+    @Benchmark
+    public void iterate(Blackhole blackhole) {
+        for ( String element : set )
+            blackhole.consume(element);
+    }
+
+    @Benchmark
+    public ValueSet<String> addAllOfChangedVersion() {
+        return set.addAll(changedSet);
+    }
+
+    @Benchmark
+    public ValueSet<String> retainAllOfChangedVersion() {
+        return set.retainAll(changedSet);
+    }
+
+    @Benchmark
+    public ValueSet<String> removeAllOfChangedVersion() {
+        return set.removeAll(changedSet);
+    }
+}
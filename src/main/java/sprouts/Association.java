@@ -1,8 +1,11 @@
 package sprouts;
 
+import org.jspecify.annotations.Nullable;
 import sprouts.impl.Sprouts;
 
 import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
@@ -201,6 +204,27 @@ public interface Association<K, V> extends Iterable<Pair<K, V>> {
         return Sprouts.factory().associationOf(keyType, valueType);
     }
 
+    /**
+     *  Creates a mutable {@link Builder} for efficiently building up an
+     *  association between keys and values of the given types
+     *  through a larger number of consecutive puts and removals.
+     *  Unlike a sequence of {@link #put(Object, Object)} calls on an association,
+     *  where every call creates a new immutable association, the builder collects
+     *  the changes in a mutable buffer which is only turned into an association
+     *  once {@link Builder#build()} is called.
+     *
+     * @param keyType The type of the keys in the association.
+     * @param valueType The type of the values in the association.
+     * @param <K> The type of the keys in the association, which must be immutable.
+     * @param <V> The type of the values in the association, which should be immutable.
+     * @return A new {@link Builder} for an initially empty association.
+     */
+    static <K, V> Builder<K, V> builder( Class<K> keyType, Class<V> valueType ) {
+        Objects.requireNonNull(keyType);
+        Objects.requireNonNull(valueType);
+        return Sprouts.factory().associationBuilderOf(Sprouts.factory().associationOf(keyType, valueType));
+    }
+
     /**
      *  Creates a new linked association between keys and values
      *  with the given key and value types, where the order of
@@ -1391,6 +1415,65 @@ public interface Association<K, V> extends Iterable<Pair<K, V>> {
                 .putAll((Stream) this.entrySet().stream());
     }
 
+    /**
+     *  Describes how this association has to change to become the supplied one,
+     *  in the form of a {@link Diff} exposing the added, removed and updated entries.
+     *  The diff is computed lazily, when it is queried for the first time.
+     *  If both associations are versions of one another, they typically share most
+     *  of their internal structure, in which case only the parts which are not shared
+     *  are visited, so that the diff costs roughly as much as the number of changes
+     *  instead of the size of the associations.
+     *
+     * @param other The association to compare this association to, which is the "after" side of the diff.
+     * @return A lazily computed {@link Diff} from this association to the supplied one.
+     * @throws NullPointerException if the supplied association is {@code null}.
+     */
+    default Diff<K, V> diff( Association<K, V> other ) {
+        Objects.requireNonNull(other);
+        return Sprouts.factory().associationDiffOf(this, other);
+    }
+
+    /**
+     *  Describes the change reported by the supplied delegate as a {@link Diff} from
+     *  its {@link ValDelegate#oldValue()} to its {@link ValDelegate#currentValue()}.
+     *  This is intended to be used in the change listeners of properties holding associations,
+     *  like the views created through {@link Val#viewAsAssociation(Class, Class, Function)},
+     *  to find out which entries have changed without comparing the two associations entry by entry.
+     *  If one of the two items is {@code null}, it is treated like an empty association.
+     *
+     * @param delegate The delegate of a change to a property holding an association.
+     * @param <K> The type of the keys of the association.
+     * @param <V> The type of the values of the association.
+     * @return A lazily computed {@link Diff} between the old and the new association.
+     * @throws NullPointerException if the supplied delegate is {@code null}.
+     * @throws IllegalArgumentException if both the old and the new item of the delegate are {@code null}.
+     */
+    static <K, V> Diff<K, V> diffOf( ValDelegate<Association<K, V>> delegate ) {
+        Objects.requireNonNull(delegate);
+        Association<K, V> oldValue = delegate.oldValue().orElseNull();
+        Association<K, V> newValue = delegate.currentValue().orElseNull();
+        if ( oldValue == null && newValue == null )
+            throw new IllegalArgumentException("Cannot diff a change from a null association to a null association.");
+        if ( oldValue == null )
+            return newValue.clear().diff(newValue);
+        if ( newValue == null )
+            return oldValue.diff(oldValue.clear());
+        return oldValue.diff(newValue);
+    }
+
+    /**
+     *  Creates a mutable {@link Builder} which starts out with the entries of this association.
+     *  Use this if you want to make a larger number of changes to an association
+     *  without creating a new immutable association for every single change.
+     *  The resulting association has the same kind of ordering as this one
+     *  and shares as much of its internal structure with it as possible.
+     *
+     * @return A new {@link Builder} based on the entries of this association.
+     */
+    default Builder<K, V> toBuilder() {
+        return Sprouts.factory().associationBuilderOf(this);
+    }
+
     /**
      *  Converts this association to a java.util.Map.
      *  Note that the returned map is also immutable.
@@ -1487,6 +1570,98 @@ public interface Association<K, V> extends Iterable<Pair<K, V>> {
         return this.entrySet().stream().noneMatch( predicate );
     }
 
+    /**
+     *  Performs the given action for each key-value pair of this association,
+     *  in the same order in which the {@link #iterator()} visits them.
+     *  Unlike iterating over the {@link Pair}s of this association, this
+     *  passes every key and value to the action directly, without creating
+     *  a {@link Pair} for every entry.<br>
+     *  This is not an overload of {@link #forEach(Consumer)}, since an association
+     *  is {@link Iterable}, and closures of dynamic languages like Groovy
+     *  could not be told apart by the number of their parameters.
+     *
+     * @param action The action to perform for each key and its value.
+     * @throws NullPointerException if the action is {@code null}.
+     */
+    default void forEachEntry( BiConsumer<? super K, ? super V> action ) {
+        Objects.requireNonNull(action);
+        EntryCursor<K, V> cursor = cursor();
+        while ( cursor.next() )
+            action.accept(cursor.key(), cursor.value());
+    }
+
+    /**
+     *  Performs the given action for each key of this association,
+     *  in the same order in which the {@link #iterator()} visits them,
+     *  without creating a {@link Pair} for every entry.
+     *
+     * @param action The action to perform for each key.
+     * @throws NullPointerException if the action is {@code null}.
+     */
+    default void forEachKey( Consumer<? super K> action ) {
+        Objects.requireNonNull(action);
+        EntryCursor<K, V> cursor = cursor();
+        while ( cursor.next() )
+            action.accept(cursor.key());
+    }
+
+    /**
+     *  Performs the given action for each value of this association,
+     *  in the same order in which the {@link #iterator()} visits them,
+     *  without creating a {@link Pair} for every entry.
+     *
+     * @param action The action to perform for each value.
+     * @throws NullPointerException if the action is {@code null}.
+     */
+    default void forEachValue( Consumer<? super V> action ) {
+        Objects.requireNonNull(action);
+        EntryCursor<K, V> cursor = cursor();
+        while ( cursor.next() )
+            action.accept(cursor.value());
+    }
+
+    /**
+     *  Creates a new {@link EntryCursor} positioned before the first entry of this association,
+     *  which visits the entries in the same order as the {@link #iterator()},
+     *  but exposes the key and value of the current entry through
+     *  {@link EntryCursor#key()} and {@link EntryCursor#value()}
+     *  instead of creating a {@link Pair} for every entry.
+     *  This is the preferred way of walking over large associations in hot code
+     *  which needs to stop early or cannot be expressed as a lambda:
+     *  <pre>{@code
+     *    Association.EntryCursor<String, Integer> cursor = association.cursor();
+     *    while ( cursor.next() ) {
+     *        if ( cursor.value() > 42 )
+     *            return cursor.key();
+     *    }
+     *  }</pre>
+     *
+     * @return A new cursor over the entries of this association.
+     */
+    default EntryCursor<K, V> cursor() {
+        Iterator<Pair<K, V>> iterator = iterator();
+        return new EntryCursor<K, V>() {
+            private @Nullable Pair<K, V> _current = null;
+            @Override
+            public boolean next() {
+                _current = iterator.hasNext() ? iterator.next() : null;
+                return _current != null;
+            }
+            @Override
+            public K key() {
+                if ( _current == null )
+                    throw new NoSuchElementException();
+                return _current.first();
+            }
+            @Override
+            public V value() {
+                if ( _current == null )
+                    throw new NoSuchElementException();
+                return _current.second();
+            }
+        };
+    }
+
     /**
      * Compares the specified object with this association for value equality.
      * Returns {@code true} only if the specified object is also an association with the same {@link #size()},
@@ -1519,4 +1694,161 @@ public interface Association<K, V> extends Iterable<Pair<K, V>> {
     @Override
     int hashCode();
 
+    /**
+     *  A mutable, single threaded helper for building up an {@link Association}
+     *  through a larger number of consecutive edits, without creating a new
+     *  immutable association for every single edit.
+     *  You can get one through {@link Association#builder(Class, Class)}
+     *  or {@link Association#toBuilder()}.<br>
+     *  Note that a builder is <b>not thread safe</b>, so you should
+     *  not share it between threads. Instead, share the immutable
+     *  association returned by {@link #build()}.
+     *
+     * @param <K> The type of the keys in the association being built.
+     * @param <V> The type of the values in the association being built.
+     */
+    interface Builder<K, V>
+    {
+        /**
+         *  Puts the supplied key and value into the association being built,
+         *  replacing the previous value of the key if it is already present.
+         *
+         * @param key The key to put.
+         * @param value The value to associate with the key.
+         * @return This builder, to allow for method chaining.
+         * @throws NullPointerException if the key or the value is {@code null}.
+         * @throws IllegalArgumentException if the key or the value is of the wrong type.
+         */
+        Builder<K, V> put( K key, V value );
+
+        /**
+         *  Puts the supplied key and value into the association being built,
+         *  but only if the key is not already present.
+         *
+         * @param key The key to put.
+         * @param value The value to associate with the key.
+         * @return This builder, to allow for method chaining.
+         * @throws NullPointerException if the key or the value is {@code null}.
+         * @throws IllegalArgumentException if the key or the value is of the wrong type.
+         */
+        Builder<K, V> putIfAbsent( K key, V value );
+
+        /**
+         *  Removes the supplied key and its value from the association being built.
+         *
+         * @param key The key to remove.
+         * @return This builder, to allow for method chaining.
+         * @throws NullPointerException if the key is {@code null}.
+         */
+        Builder<K, V> remove( K key );
+
+        /**
+         *  Returns the value currently associated with the supplied key
+         *  in the association being built.
+         *
+         * @param key The key whose value should be returned.
+         * @return An optional containing the value, or an empty optional if the key is not present.
+         */
+        Optional<V> get( K key );
+
+        /**
+         * @return The number of entries in the association being built.
+         */
+        int size();
+
+        /**
+         *  Turns the current state of this builder into an immutable {@link Association}.
+         *  The builder may continue to be used afterwards, and any further
+         *  changes will not affect the returned association.
+         *
+         * @return An immutable association with the entries of this builder.
+         */
+        Association<K, V> build();
+    }
+
+    /**
+     *  A single-pass cursor over the entries of an {@link Association},
+     *  which you can get through {@link Association#cursor()}.
+     *  Instead of returning a new {@link Pair} for every entry like an iterator,
+     *  the cursor moves from one entry to the next through {@link #next()}
+     *  and exposes the key and value of the entry it is currently positioned at.<br>
+     *  Note that a cursor is <b>not thread safe</b>, so you should
+     *  not share it between threads.
+     *
+     * @param <K> The type of the keys of the association.
+     * @param <V> The type of the values of the association.
+     */
+    interface EntryCursor<K, V>
+    {
+        /**
+         *  Moves this cursor to the next entry of the association.
+         *  A new cursor is positioned before the first entry,
+         *  so this has to be called before the first entry can be read.
+         *
+         * @return {@code true} if the cursor is now positioned at an entry,
+         *         {@code false} if there are no more entries.
+         */
+        boolean next();
+
+        /**
+         * @return The key of the entry this cursor is currently positioned at.
+         * @throws NoSuchElementException if the cursor is not positioned at an entry.
+         */
+        K key();
+
+        /**
+         * @return The value of the entry this cursor is currently positioned at.
+         * @throws NoSuchElementException if the cursor is not positioned at an entry.
+         */
+        V value();
+    }
+
+    /**
+     *  The difference between two associations, which you can get through
+     *  {@link Association#diff(Association)} or {@link Association#diffOf(ValDelegate)}.
+     *  It tells you which entries have to be added, removed or updated
+     *  to turn the {@link #before()} association into the {@link #after()} association.
+     *  The changes are computed when they are requested for the first time,
+     *  and then reused for all subsequent requests.
+     *
+     * @param <K> The type of the keys of the associations.
+     * @param <V> The type of the values of the associations.
+     */
+    interface Diff<K, V>
+    {
+        /**
+         * @return The association from which the changes of this diff start.
+         */
+        Association<K, V> before();
+
+        /**
+         * @return The association which results from applying the changes of this diff.
+         */
+        Association<K, V> after();
+
+        /**
+         * @return The entries of the {@link #after()} association whose keys
+         *         are not present in the {@link #before()} association.
+         */
+        Association<K, V> added();
+
+        /**
+         * @return The entries of the {@link #before()} association whose keys
+         *         are not present in the {@link #after()} association.
+         */
+        Association<K, V> removed();
+
+        /**
+         * @return The entries of the {@link #after()} association whose keys are also present
+         *         in the {@link #before()} association, but with a different value.
+         */
+        Association<K, V> updated();
+
+        /**
+         * @return {@code true} if both associations contain exactly the same entries,
+         *         {@code false} if there is at least one added, removed or updated entry.
+         */
+        boolean isEmpty();
+    }
+
 }
@@ -0,0 +1,61 @@
+package sprouts;
+
+import java.util.OptionalDouble;
+import java.util.stream.DoubleStream;
+
+/**
+ *  A {@link Tuple} of non-null {@link Double} items which are stored as a
+ *  dense array of primitive {@code double} values internally.
+ *  On top of the primitive accessors every tuple already supports
+ *  (like {@link #getDouble(int)} or {@link #doubleStream()}),
+ *  this type offers common reductions which operate on the
+ *  primitive doubles directly, without boxing a single item.<br>
+ *  You can create one through {@link Tuple#of(double[])} or by mapping
+ *  any tuple using {@link Tuple#mapToDouble}.<br>
+ *  Note that the operations inherited from {@link Tuple} return
+ *  regular tuples, which still store their items as primitives,
+ *  but do not expose the reductions of this type.
+ */
+public interface DoubleTuple extends Tuple<Double>
+{
+    /**
+     *  Computes the sum of all items in this tuple.
+     *  Just like {@link DoubleStream#sum()}, this uses a compensated summation
+     *  algorithm to reduce the numerical error of the result.
+     *
+     * @return The sum of all items, or {@code 0} if this tuple is empty.
+     */
+    default double sum() {
+        return doubleStream().sum();
+    }
+
+    /**
+     * @return The smallest item in this tuple, or an empty optional if this tuple is empty.
+     */
+    default OptionalDouble min() {
+        return doubleStream().min();
+    }
+
+    /**
+     * @return The largest item in this tuple, or an empty optional if this tuple is empty.
+     */
+    default OptionalDouble max() {
+        return doubleStream().max();
+    }
+
+    /**
+     * @return The arithmetic mean of all items in this tuple, or an empty optional if this tuple is empty.
+     */
+    default OptionalDouble average() {
+        return doubleStream().average();
+    }
+
+    /**
+     *  Copies the items of this tuple into a new primitive array.
+     *
+     * @return A new array of primitive doubles containing the items of this tuple in order.
+     */
+    default double[] toDoubleArray() {
+        return doubleStream().toArray();
+    }
+}
@@ -8,12 +8,14 @@ import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.BinaryOperator;
 import java.util.function.Consumer;
@@ -85,6 +87,36 @@ import java.util.function.UnaryOperator;
  * int hits = counts.read(m -> m.getOrDefault("hits", 0)); // safe: read under the lock
  *}</pre>
  *
+ * <h2>Read-mostly state</h2>
+ *
+ * <p>In the immutable-swap mode, readers cannot interfere with each other, yet they still queue up
+ * behind the lock one at a time. When reads vastly outnumber writes (a shared cache, a configuration
+ * snapshot...), create the container with {@link #ofReadMostly(Object)} instead. Such a container
+ * publishes every new value as a volatile snapshot, so {@link #get()} and {@link #read(Function)} never
+ * take the lock and never block, while all writes still take it and still run their functions exactly
+ * once. Because readers look at the value without the lock, a read-mostly container only supports the
+ * immutable-swap mode: {@link #mutate(Consumer)} is rejected.
+ * <pre>{@code
+ * Guarded<Association<String, Price>> prices = Guarded.ofReadMostly(Association.between(String.class, Price.class));
+ *
+ * Price price = prices.read(a -> a.get("ACME").orElse(Price.UNKNOWN)); // lock-free
+ * prices.update(a -> a.put("ACME", newPrice));                       // serialized under the lock
+ *}</pre>
+ *
+ * <h2>Highly contended updates</h2>
+ *
+ * <p>When many threads update the same container at once, every one of them queues on the lock,
+ * and every update hands the lock, and the value's cache lines, over to the next thread.
+ * A container created with {@link #ofCombining(Object)} avoids most of these handoffs: a thread which
+ * cannot get the lock right away publishes its update function instead of waiting for the lock, and the
+ * thread which holds the lock applies all published functions in one go. Each function still runs exactly
+ * once, in the order in which the updates arrived, and each caller still receives its own result.
+ * <pre>{@code
+ * Guarded<Tuple<Event>> log = Guarded.ofCombining(Tuple.of(Event.class));
+ *
+ * log.update(t -> t.add(event)); // from many threads at once
+ *}</pre>
+ *
  * <h2>Observing changes from another thread</h2>
  *
  * <p>A {@code Guarded} is written by many threads, but a {@link Var}/{@link Val} property is meant to be
@@ -147,9 +179,10 @@ import java.util.function.UnaryOperator;
  *
  * <h2>Memory visibility</h2>
  * <p>Because <em>every</em> access goes through the lock, the lock's happens-before guarantees make
- * writes visible to subsequent readers automatically. The guarded field therefore needs no
- * {@code volatile}. This holds <em>only</em> as long as the "no unguarded access" rule above is
- * respected.
+ * writes visible to subsequent readers automatically. This holds <em>only</em> as long as the
+ * "no unguarded access" rule above is respected. The lock-free reads of a
+ * {@linkplain #ofReadMostly(Object) read-mostly} container rely on the guarded field being
+ * {@code volatile} instead, which is why it is declared as such.
  *
  * <h2>Nullability</h2>
  * <p>Exactly like {@link Var}, a {@code Guarded} chooses a <em>null policy</em> at construction and
@@ -182,8 +215,23 @@ public final class Guarded<V extends @Nullable Object> {
     /** Whether {@code null} is a permitted value, mirroring {@link Var#allowsNull()}. Enforced at runtime. */
     private final boolean nullable;
 
-    /** The guarded value. All access is protected by {@link #lock}. */
-    private V value;
+    /**
+     * Whether reads skip the lock, see {@link #ofReadMostly(Object)}. Only
+     * supported for immutable values, which is why {@link #mutate(Consumer)} is rejected in this mode.
+     */
+    private final boolean readMostly;
+
+    /**
+     * Update requests published by threads waiting for the lock, in arrival order, see {@link #ofCombining(Object)}.
+     * Is {@code null} if this container does not combine updates.
+     */
+    private final @Nullable ConcurrentLinkedQueue<Combined<V>> combined;
+
+    /**
+     * The guarded value. All writes are protected by {@link #lock}, and so are all reads,
+     * unless this container is {@link #readMostly}, in which case it is read as a volatile snapshot.
+     */
+    private volatile V value;
 
     /**
      * Live views created by {@link #viewOn(Executor)}, signalled after every mutation. Each entry holds
@@ -197,8 +245,14 @@ public final class Guarded<V extends @Nullable Object> {
     // ---------------------------------------------------------------------
 
     private Guarded(Class<V> type, boolean nullable, boolean fair, V initial) {
+        this(type, nullable, fair, false, false, initial);
+    }
+
+    private Guarded(Class<V> type, boolean nullable, boolean fair, boolean readMostly, boolean combining, V initial) {
         this.type = Objects.requireNonNull(type, "type");
         this.nullable = nullable;
+        this.readMostly = readMostly;
+        this.combined = combining ? new ConcurrentLinkedQueue<>() : null;
         this.lock = new ReentrantLock(fair);
         this.value = _vet(initial); // enforces both the null policy and type assignability
     }
@@ -319,6 +373,109 @@ public final class Guarded<V extends @Nullable Object> {
         return ofNullable(type, null);
     }
 
+    /**
+     * Creates a <b>non-null</b>, <b>read-optimized</b> {@code Guarded} holding {@code item}, with its
+     * {@linkplain #type() type} inferred from the item's runtime class.
+     *
+     * <p>Reads through {@link #get()} and {@link #read(Function)} do not take the lock: they see the
+     * value of the most recently completed write as a volatile snapshot, so any number of readers
+     * proceed in parallel, even while a writer holds the lock. Writes are unaffected, they are still
+     * serialized under the lock and their functions still run exactly once.
+     * This is the right choice when reads vastly outnumber writes, for example for a shared cache of
+     * {@link Association}s which is read on every request but only rarely replaced.
+     *
+     * <p><b>{@code V} must be immutable.</b> A reader may look at the value while a writer is computing
+     * its successor, which is only safe if nobody mutates the value in place. Consequently,
+     * {@link #mutate(Consumer)} throws an {@link UnsupportedOperationException} on such a container.
+     *
+     * <pre>{@code
+     * Guarded<Association<String, Price>> prices = Guarded.ofReadMostly(Association.between(String.class, Price.class));
+     *}</pre>
+     *
+     * @param item the initial value; must not be {@code null}
+     * @param <V>  the (immutable) value type
+     * @return a new non-null, read-optimized {@code Guarded}
+     * @throws NullPointerException if {@code item} is {@code null}
+     * @see #of(Object)
+     */
+    public static <V> Guarded<V> ofReadMostly(V item) {
+        Objects.requireNonNull(item, "item");
+        Class<V> type = Sprouts.factory().expectedClassFromItem(item);
+        return new Guarded<>(type, false, false, true, false, item);
+    }
+
+    /**
+     * Like {@link #ofReadMostly(Object)}, but with an explicit {@linkplain #type() type}, mirroring
+     * {@link #of(Class, Object)}.
+     *
+     * @param type the (non-null) declared type of the value
+     * @param item the initial value; must not be {@code null}
+     * @param <V>  the declared (immutable) value type
+     * @param <U>  the (sub)type of the initial item
+     * @return a new non-null, read-optimized {@code Guarded} of the given {@code type}
+     * @throws NullPointerException if {@code type} or {@code item} is {@code null}
+     */
+    public static <V, U extends V> Guarded<V> ofReadMostly(Class<V> type, U item) {
+        Objects.requireNonNull(type, "type");
+        Objects.requireNonNull(item, "item");
+        return new Guarded<>(type, false, false, true, false, item);
+    }
+
+    /**
+     * Creates a <b>non-null</b> {@code Guarded} holding {@code item} which <b>combines contended updates</b>,
+     * with its {@linkplain #type() type} inferred from the item's runtime class.
+     *
+     * <p>In a regular container, every thread calling {@link #updateAndGet(UnaryOperator)} and friends
+     * waits for the lock and performs its own update, so under heavy contention the lock is handed from
+     * thread to thread for every single update. In a combining container, a thread which finds the lock
+     * taken publishes its update function and waits for its result instead. The thread holding the lock
+     * applies all published functions before it releases the lock, so that many updates are performed
+     * in a single lock acquisition by a single thread, whose caches already hold the value.
+     *
+     * <p>The guarantees of the regular container still apply: every function runs exactly once and
+     * under the lock, the functions are applied in the order in which the updates arrived, and every
+     * caller receives the result (or the exception) of its own function. The difference is only <em>which
+     * thread</em> runs a function, which is why the functions must not depend on the calling thread,
+     * for example through thread-locals. This affects {@link #update(UnaryOperator)},
+     * {@link #updateAndGet(UnaryOperator)}, {@link #getAndUpdate(UnaryOperator)},
+     * {@link #accumulateAndGet(Object, BinaryOperator)} and {@link #getAndAccumulate(Object, BinaryOperator)};
+     * all other methods behave exactly like in a regular container.
+     *
+     * <pre>{@code
+     * Guarded<Association<String, Long>> hits = Guarded.ofCombining(Association.between(String.class, Long.class));
+     *
+     * hits.update(a -> a.put(page, a.get(page).orElse(0L) + 1)); // from many threads at once
+     *}</pre>
+     *
+     * @param item the initial value; must not be {@code null}
+     * @param <V>  the value type
+     * @return a new non-null {@code Guarded} which combines contended updates
+     * @throws NullPointerException if {@code item} is {@code null}
+     * @see #of(Object)
+     */
+    public static <V> Guarded<V> ofCombining(V item) {
+        Objects.requireNonNull(item, "item");
+        Class<V> type = Sprouts.factory().expectedClassFromItem(item);
+        return new Guarded<>(type, false, false, false, true, item);
+    }
+
+    /**
+     * Like {@link #ofCombining(Object)}, but with an explicit {@linkplain #type() type}, mirroring
+     * {@link #of(Class, Object)}.
+     *
+     * @param type the (non-null) declared type of the value
+     * @param item the initial value; must not be {@code null}
+     * @param <V>  the declared value type
+     * @param <U>  the (sub)type of the initial item
+     * @return a new non-null {@code Guarded} of the given {@code type} which combines contended updates
+     * @throws NullPointerException if {@code type} or {@code item} is {@code null}
+     */
+    public static <V, U extends V> Guarded<V> ofCombining(Class<V> type, U item) {
+        Objects.requireNonNull(type, "type");
+        Objects.requireNonNull(item, "item");
+        return new Guarded<>(type, false, false, false, true, item);
+    }
+
     // ---------------------------------------------------------------------
     // Type & nullability (mirroring Var/Maybe)
     // ---------------------------------------------------------------------
@@ -382,6 +539,9 @@ public final class Guarded<V extends @Nullable Object> {
      * @return the current value; {@code null} only when this container {@link #allowsNull()}
      */
     public V get() {
+        if (readMostly) {
+            return value;
+        }
         lock.lock();
         try {
             return value;
@@ -407,6 +567,9 @@ public final class Guarded<V extends @Nullable Object> {
      */
     public <R> R read(Function<? super V, ? extends R> reader) {
         Objects.requireNonNull(reader, "reader");
+        if (readMostly) {
+            return reader.apply(value); // an immutable snapshot, no lock needed
+        }
         lock.lock();
         try {
             return reader.apply(value);
@@ -522,6 +685,9 @@ public final class Guarded<V extends @Nullable Object> {
      */
     public V updateAndGet(UnaryOperator<V> updater) {
         Objects.requireNonNull(updater, "updater");
+        if (combined != null) {
+            return Util.fakeNonNull(_combine(updater).next);
+        }
         V next;
         lock.lock();
         try {
@@ -544,6 +710,9 @@ public final class Guarded<V extends @Nullable Object> {
      */
     public V getAndUpdate(UnaryOperator<V> updater) {
         Objects.requireNonNull(updater, "updater");
+        if (combined != null) {
+            return Util.fakeNonNull(_combine(updater).previous);
+        }
         V prev;
         lock.lock();
         try {
@@ -573,6 +742,9 @@ public final class Guarded<V extends @Nullable Object> {
      */
     public V accumulateAndGet(V x, BinaryOperator<V> accumulator) {
         Objects.requireNonNull(accumulator, "accumulator");
+        if (combined != null) {
+            return Util.fakeNonNull(_combine(v -> accumulator.apply(v, x)).next);
+        }
         V next;
         lock.lock();
         try {
@@ -596,6 +768,9 @@ public final class Guarded<V extends @Nullable Object> {
      */
     public V getAndAccumulate(V x, BinaryOperator<V> accumulator) {
         Objects.requireNonNull(accumulator, "accumulator");
+        if (combined != null) {
+            return Util.fakeNonNull(_combine(v -> accumulator.apply(v, x)).previous);
+        }
         V prev;
         lock.lock();
         try {
@@ -641,6 +816,130 @@ public final class Guarded<V extends @Nullable Object> {
         return applied;
     }
 
+    // ---------------------------------------------------------------------
+    // Combining (see ofCombining)
+    // ---------------------------------------------------------------------
+
+    /**
+     * The upper bound of published updates a lock holder applies on behalf of other threads
+     * before it releases the lock, so that a steady stream of updates cannot keep it busy forever.
+     */
+    private static final int MAX_COMBINED_UPDATES = 256;
+
+    /**
+     * How often a thread waiting for its published update checks on it before it goes to sleep.
+     * Spinning is pointless on a single processor, where the lock holder cannot run while we spin.
+     */
+    private static final int COMBINING_SPINS = Runtime.getRuntime().availableProcessors() > 1 ? 256 : 0;
+
+    /** How long a thread waiting for its published update sleeps before it checks the lock again. */
+    private static final long COMBINING_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    /**
+     * An update published by a thread of a {@link #ofCombining(Object) combining} container,
+     * together with its outcome, which the applying thread publishes through {@link #done}.
+     */
+    private static final class Combined<V extends @Nullable Object> {
+        final UnaryOperator<V> updater;
+        final Thread waiter = Thread.currentThread();
+        @Nullable V previous;
+        @Nullable V next;
+        @Nullable Throwable error;
+        volatile boolean done;
+
+        Combined(UnaryOperator<V> updater) {
+            this.updater = updater;
+        }
+    }
+
+    /**
+     * Applies the update right away if the lock is free and nobody else is waiting,
+     * otherwise publishes it and waits until it was applied, either by this thread,
+     * once it gets hold of the lock, or by whichever thread holds the lock in the meantime.
+     */
+    private Combined<V> _combine(UnaryOperator<V> updater) {
+        ConcurrentLinkedQueue<Combined<V>> queue = Objects.requireNonNull(combined);
+        Combined<V> request = new Combined<>(updater);
+        if (queue.isEmpty() && lock.tryLock()) {
+            try {
+                _applyCombined(request);
+            } finally {
+                lock.unlock();
+            }
+            if (request.error == null) {
+                _notifyViews();
+            }
+        } else {
+            queue.add(request);
+            int spins = COMBINING_SPINS;
+            while (!request.done) {
+                if (lock.tryLock()) {
+                    boolean changed;
+                    try {
+                        changed = _applyAllCombined(queue, request);
+                    } finally {
+                        lock.unlock();
+                    }
+                    if (changed) {
+                        _notifyViews();
+                    }
+                } else if (spins > 0) {
+                    spins--; // The lock holder will most likely apply our update very soon.
+                } else {
+                    // It wakes us up when it applied our update. Otherwise, we try again shortly.
+                    LockSupport.parkNanos(this, COMBINING_PARK_NANOS);
+                }
+            }
+        }
+        if (request.error != null) {
+            return Util.sneakyThrow(request.error);
+        }
+        return request;
+    }
+
+    /**
+     * Applies the published updates in arrival order, at least until the given one is done.
+     * Must be called while holding the lock.
+     *
+     * @return {@code true} if at least one update stored a new value
+     */
+    private boolean _applyAllCombined(ConcurrentLinkedQueue<Combined<V>> queue, Combined<V> own) {
+        boolean changed = false;
+        int applied = 0;
+        Combined<V> request;
+        while ((!own.done || applied < MAX_COMBINED_UPDATES) && (request = queue.poll()) != null) {
+            changed |= _applyCombined(request);
+            if (request != own) {
+                LockSupport.unpark(request.waiter); // in case it stopped spinning already
+            }
+            applied++;
+        }
+        return changed;
+    }
+
+    /**
+     * Applies a single update and publishes its outcome to the waiting thread.
+     * Must be called while holding the lock.
+     *
+     * @return {@code true} if the update stored a new value
+     */
+    private boolean _applyCombined(Combined<V> request) {
+        boolean changed = false;
+        try {
+            V prev = this.value;
+            V next = _vet(request.updater.apply(prev));
+            this.value = next;
+            request.previous = prev;
+            request.next = next;
+            changed = true;
+        } catch (Throwable e) {
+            // Handed to the caller, exactly like an exception thrown by an updater in a regular container.
+            request.error = e;
+        }
+        request.done = true;
+        return changed;
+    }
+
     // ---------------------------------------------------------------------
     // Guarded mutation (for intentionally-mutable V)
     // ---------------------------------------------------------------------
@@ -659,9 +958,16 @@ public final class Guarded<V extends @Nullable Object> {
      *
      * @param mutator a consumer applied to the value under the lock; must not let the value escape
      * @throws NullPointerException if {@code mutator} is {@code null}
+     * @throws UnsupportedOperationException if this container was created through {@link #ofReadMostly(Object)},
+     *                                       whose lock-free readers would observe the mutation unguarded
      */
     public void mutate(Consumer<? super V> mutator) {
         Objects.requireNonNull(mutator, "mutator");
+        if (readMostly) {
+            throw new UnsupportedOperationException(
+                "A read-mostly Guarded hands out its value to readers without the lock, " +
+                "so it can only be updated by replacing the value, not mutated in place.");
+        }
         lock.lock();
         try {
             mutator.accept(this.value);
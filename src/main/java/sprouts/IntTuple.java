@@ -0,0 +1,61 @@
+package sprouts;
+
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.stream.IntStream;
+
+/**
+ *  A {@link Tuple} of non-null {@link Integer} items which are stored as a
+ *  dense array of primitive {@code int} values internally.
+ *  On top of the primitive accessors every tuple already supports
+ *  (like {@link #getInt(int)} or {@link #intStream()}),
+ *  this type offers common reductions which operate on the
+ *  primitive ints directly, without boxing a single item.<br>
+ *  You can create one through {@link Tuple#of(int[])} or by mapping
+ *  any tuple using {@link Tuple#mapToInt}.<br>
+ *  Note that the operations inherited from {@link Tuple} return
+ *  regular tuples, which still store their items as primitives,
+ *  but do not expose the reductions of this type.
+ */
+public interface IntTuple extends Tuple<Integer>
+{
+    /**
+     *  Computes the sum of all items in this tuple.
+     *  Note that, just like {@link IntStream#sum()}, the sum may overflow silently.
+     *
+     * @return The sum of all items, or {@code 0} if this tuple is empty.
+     */
+    default int sum() {
+        return intStream().sum();
+    }
+
+    /**
+     * @return The smallest item in this tuple, or an empty optional if this tuple is empty.
+     */
+    default OptionalInt min() {
+        return intStream().min();
+    }
+
+    /**
+     * @return The largest item in this tuple, or an empty optional if this tuple is empty.
+     */
+    default OptionalInt max() {
+        return intStream().max();
+    }
+
+    /**
+     * @return The arithmetic mean of all items in this tuple, or an empty optional if this tuple is empty.
+     */
+    default OptionalDouble average() {
+        return intStream().average();
+    }
+
+    /**
+     *  Copies the items of this tuple into a new primitive array.
+     *
+     * @return A new array of primitive ints containing the items of this tuple in order.
+     */
+    default int[] toIntArray() {
+        return intStream().toArray();
+    }
+}
@@ -0,0 +1,61 @@
+package sprouts;
+
+import java.util.OptionalDouble;
+import java.util.OptionalLong;
+import java.util.stream.LongStream;
+
+/**
+ *  A {@link Tuple} of non-null {@link Long} items which are stored as a
+ *  dense array of primitive {@code long} values internally.
+ *  On top of the primitive accessors every tuple already supports
+ *  (like {@link #getLong(int)} or {@link #longStream()}),
+ *  this type offers common reductions which operate on the
+ *  primitive longs directly, without boxing a single item.<br>
+ *  You can create one through {@link Tuple#of(long[])} or by mapping
+ *  any tuple using {@link Tuple#mapToLong}.<br>
+ *  Note that the operations inherited from {@link Tuple} return
+ *  regular tuples, which still store their items as primitives,
+ *  but do not expose the reductions of this type.
+ */
+public interface LongTuple extends Tuple<Long>
+{
+    /**
+     *  Computes the sum of all items in this tuple.
+     *  Note that, just like {@link LongStream#sum()}, the sum may overflow silently.
+     *
+     * @return The sum of all items, or {@code 0} if this tuple is empty.
+     */
+    default long sum() {
+        return longStream().sum();
+    }
+
+    /**
+     * @return The smallest item in this tuple, or an empty optional if this tuple is empty.
+     */
+    default OptionalLong min() {
+        return longStream().min();
+    }
+
+    /**
+     * @return The largest item in this tuple, or an empty optional if this tuple is empty.
+     */
+    default OptionalLong max() {
+        return longStream().max();
+    }
+
+    /**
+     * @return The arithmetic mean of all items in this tuple, or an empty optional if this tuple is empty.
+     */
+    default OptionalDouble average() {
+        return longStream().average();
+    }
+
+    /**
+     *  Copies the items of this tuple into a new primitive array.
+     *
+     * @return A new array of primitive longs containing the items of this tuple in order.
+     */
+    default long[] toLongArray() {
+        return longStream().toArray();
+    }
+}
@@ -6,11 +6,20 @@ import sprouts.impl.Sprouts;
 
 import java.lang.reflect.Array;
 import java.util.*;
+import java.util.function.DoubleConsumer;
 import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 import java.util.stream.Collector;
 import java.util.stream.Collectors;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
@@ -138,6 +147,24 @@ public interface Tuple<T extends @Nullable Object> extends Iterable<T>
         return Sprouts.factory().tupleOf( type );
     }
 
+    /**
+     * Creates a mutable {@link Builder} for efficiently building up a tuple
+     * of non-nullable items of the supplied type, one item at a time.
+     * Unlike a sequence of {@link #add(Object)} calls on a tuple, where every call
+     * creates a new immutable tuple, the builder collects the items
+     * in a mutable buffer which is only turned into a tuple once
+     * {@link Builder#build()} is called.
+     *
+     * @param type the type of the items in the tuple.
+     * @param <T>  the type of the items in the tuple.
+     * @return A new {@link Builder} for an initially empty tuple.
+     * @throws NullPointerException if {@code type} is {@code null}.
+     */
+    static <T> Builder<T> builder( Class<T> type ) {
+        Objects.requireNonNull(type);
+        return Sprouts.factory().tupleBuilderOf( Sprouts.factory().tupleOf( type ) );
+    }
+
     /**
      * Creates an immutable tuple of non-nullable items from one or more non-nullable items
      * wrapped by {@link Maybe} properties.
@@ -217,10 +244,10 @@ public interface Tuple<T extends @Nullable Object> extends Iterable<T>
      * the array of doubles is copied.
      *
      * @param doubles The doubles to use as a basis for the new tuple.
-     * @return a new {@code Tuple} instance backed by a single primitive array of doubles.
+     * @return a new {@link DoubleTuple} instance backed by a single primitive array of doubles.
      * @throws NullPointerException if {@code doubles} is {@code null}.
      */
-    static Tuple<Double> of( double[] doubles ) {
+    static DoubleTuple of( double[] doubles ) {
         Objects.requireNonNull(doubles);
         return Sprouts.factory().tupleOf( doubles );
     }
@@ -232,10 +259,10 @@ public interface Tuple<T extends @Nullable Object> extends Iterable<T>
      * the array of integers is copied.
      *
      * @param ints The integers to use as a basis for the new tuple.
-     * @return a new {@code Tuple} instance backed by a single primitive array of integers.
+     * @return a new {@link IntTuple} instance backed by a single primitive array of integers.
      * @throws NullPointerException if {@code ints} is {@code null}.
      */
-    static Tuple<Integer> of( int[] ints ) {
+    static IntTuple of( int[] ints ) {
         Objects.requireNonNull(ints);
         return Sprouts.factory().tupleOf( ints );
     }
@@ -247,10 +274,10 @@ public interface Tuple<T extends @Nullable Object> extends Iterable<T>
      * the array of longs is copied.
      *
      * @param longs The longs to use as a basis for the new tuple.
-     * @return a new {@code Tuple} instance backed by a single primitive array of longs.
+     * @return a new {@link LongTuple} instance backed by a single primitive array of longs.
      * @throws NullPointerException if {@code longs} is {@code null}.
      */
-    static Tuple<Long> of( long[] longs ) {
+    static LongTuple of( long[] longs ) {
         Objects.requireNonNull(longs);
         return Sprouts.factory().tupleOf( longs );
     }
@@ -535,6 +562,54 @@ public interface Tuple<T extends @Nullable Object> extends Iterable<T>
      */
     T get( int index );
 
+    /**
+     *  Exposes the item at the specified index as a primitive {@code int}.
+     *  For tuples of {@link Integer}s created through {@link #of(int[])} or {@link #mapToInt},
+     *  the value is read directly from the underlying primitive array, without boxing.
+     *  For other numeric tuples the item is converted using {@link Number#intValue()}.
+     *
+     * @param index The index of the item in the range from 0 to {@link #size()} - 1.
+     * @return The item at the specified index as an {@code int}.
+     * @throws IndexOutOfBoundsException if the index is negative, or greater than or equal to the size of the tuple.
+     * @throws ClassCastException if the items of this tuple are not {@link Number}s.
+     * @throws NullPointerException if the item at the specified index is {@code null}.
+     */
+    default int getInt( int index ) {
+        return ((Number) Objects.requireNonNull(get(index))).intValue();
+    }
+
+    /**
+     *  Exposes the item at the specified index as a primitive {@code long}.
+     *  For tuples of {@link Long}s created through {@link #of(long[])} or {@link #mapToLong},
+     *  the value is read directly from the underlying primitive array, without boxing.
+     *  For other numeric tuples the item is converted using {@link Number#longValue()}.
+     *
+     * @param index The index of the item in the range from 0 to {@link #size()} - 1.
+     * @return The item at the specified index as a {@code long}.
+     * @throws IndexOutOfBoundsException if the index is negative, or greater than or equal to the size of the tuple.
+     * @throws ClassCastException if the items of this tuple are not {@link Number}s.
+     * @throws NullPointerException if the item at the specified index is {@code null}.
+     */
+    default long getLong( int index ) {
+        return ((Number) Objects.requireNonNull(get(index))).longValue();
+    }
+
+    /**
+     *  Exposes the item at the specified index as a primitive {@code double}.
+     *  For tuples of {@link Double}s created through {@link #of(double[])} or {@link #mapToDouble},
+     *  the value is read directly from the underlying primitive array, without boxing.
+     *  For other numeric tuples the item is converted using {@link Number#doubleValue()}.
+     *
+     * @param index The index of the item in the range from 0 to {@link #size()} - 1.
+     * @return The item at the specified index as a {@code double}.
+     * @throws IndexOutOfBoundsException if the index is negative, or greater than or equal to the size of the tuple.
+     * @throws ClassCastException if the items of this tuple are not {@link Number}s.
+     * @throws NullPointerException if the item at the specified index is {@code null}.
+     */
+    default double getDouble( int index ) {
+        return ((Number) Objects.requireNonNull(get(index))).doubleValue();
+    }
+
     /**
      *  Exposes the first item in the tuple of items.
      * @return The first item in the tuple.
@@ -918,6 +993,39 @@ public interface Tuple<T extends @Nullable Object> extends Iterable<T>
      */
     Tuple<T> retainIf( Predicate<T> predicate );
 
+    /**
+     *  A parallel variant of {@link #retainIf(Predicate)}, which tests the items
+     *  of large tuples concurrently on the {@link java.util.concurrent.ForkJoinPool#commonPool()}.
+     *  The subtrees of the internal tree structure of this tuple are filtered in separate
+     *  tasks and then reassembled, sharing all subtrees which were not affected.
+     *  Small subtrees, below a size threshold configurable through the
+     *  {@code sprouts.tuple.parallelThreshold} system property, are processed sequentially.
+     *  <p>
+     *  The supplied predicate must be safe to call concurrently from multiple threads.
+     *
+     * @param predicate The thread safe predicate to test each item.
+     * @return A new tuple of items, containing only those items matching the predicate
+     *         in the same order as in this tuple.
+     * @throws NullPointerException if the predicate is {@code null}.
+     */
+    default Tuple<T> parallelRetainIf( Predicate<T> predicate ) {
+        return retainIf(predicate);
+    }
+
+    /**
+     *  A parallel variant of {@link #removeIf(Predicate)}, which tests the items
+     *  of large tuples concurrently, just like {@link #parallelRetainIf(Predicate)}.
+     *  The supplied predicate must be safe to call concurrently from multiple threads.
+     *
+     * @param predicate The thread safe predicate to test each item.
+     * @return A new tuple of items without the items matching the predicate.
+     * @throws NullPointerException if the predicate is {@code null}.
+     */
+    default Tuple<T> parallelRemoveIf( Predicate<T> predicate ) {
+        Objects.requireNonNull(predicate);
+        return parallelRetainIf(predicate.negate());
+    }
+
     /**
      * Creates a new tuple containing only the items that are NOT instances of the specified type.
      * This method filters out all items that are assignable to the given class,
@@ -1518,6 +1626,42 @@ public interface Tuple<T extends @Nullable Object> extends Iterable<T>
      */
     <U extends @Nullable Object> Tuple<U> mapTo( Class<U> type, Function<T,U> mapper );
 
+    /**
+     *  A parallel variant of {@link #map(Function)}, which maps the items
+     *  of large tuples concurrently on the {@link java.util.concurrent.ForkJoinPool#commonPool()}.
+     *  See {@link #parallelMapTo(Class, Function)} for details.
+     *
+     * @param mapper The thread safe function to map the items to new items.
+     * @return A new tuple where each item is the result of applying the
+     *         supplied mapper function to the corresponding item in this tuple.
+     * @throws NullPointerException if the mapper is {@code null}.
+     */
+    default Tuple<T> parallelMap( Function<T,T> mapper ) {
+        return map(mapper);
+    }
+
+    /**
+     *  A parallel variant of {@link #mapTo(Class, Function)}, which maps the items
+     *  of large tuples concurrently on the {@link java.util.concurrent.ForkJoinPool#commonPool()}.
+     *  Every subtree of the internal tree structure of this tuple is mapped in a separate
+     *  task, and the results are reassembled into a tree of the same shape,
+     *  without copying the items into an intermediate collection.
+     *  Small subtrees, below a size threshold configurable through the
+     *  {@code sprouts.tuple.parallelThreshold} system property, are mapped sequentially.
+     *  <p>
+     *  The supplied mapper function must be safe to call concurrently from multiple threads.
+     *
+     * @param <U> The type of the new items.
+     * @param type The type of the new items to create.
+     * @param mapper The thread safe function to map the items to the new type.
+     * @return A new tuple where each item is the result of applying the
+     *        supplied mapper function to the corresponding item in this tuple.
+     * @throws NullPointerException if the type or the mapper is {@code null}.
+     */
+    default <U extends @Nullable Object> Tuple<U> parallelMapTo( Class<U> type, Function<T,U> mapper ) {
+        return mapTo(type, mapper);
+    }
+
     /**
      *  Converts this tuple of items to a JDK {@link List} of items
      *  and then returns the resulting list.
@@ -1600,6 +1744,141 @@ public interface Tuple<T extends @Nullable Object> extends Iterable<T>
         return StreamSupport.stream(spliterator(), true);
     }
 
+    /**
+     *  Performs the given action for each item of this numeric tuple as a primitive {@code int},
+     *  in the order of the items. Tuples of primitive {@link Integer}s
+     *  are traversed without boxing a single item.
+     *
+     * @param action The action to perform for each item.
+     * @throws ClassCastException if the items of this tuple are not {@link Number}s.
+     * @throws NullPointerException if the action or one of the items is {@code null}.
+     */
+    default void forEachInt( IntConsumer action ) {
+        Objects.requireNonNull(action);
+        for ( int i = 0; i < size(); i++ )
+            action.accept(getInt(i));
+    }
+
+    /**
+     *  Performs the given action for each item of this numeric tuple as a primitive {@code long},
+     *  in the order of the items. Tuples of primitive {@link Long}s
+     *  are traversed without boxing a single item.
+     *
+     * @param action The action to perform for each item.
+     * @throws ClassCastException if the items of this tuple are not {@link Number}s.
+     * @throws NullPointerException if the action or one of the items is {@code null}.
+     */
+    default void forEachLong( LongConsumer action ) {
+        Objects.requireNonNull(action);
+        for ( int i = 0; i < size(); i++ )
+            action.accept(getLong(i));
+    }
+
+    /**
+     *  Performs the given action for each item of this numeric tuple as a primitive {@code double},
+     *  in the order of the items. Tuples of primitive {@link Double}s
+     *  are traversed without boxing a single item.
+     *
+     * @param action The action to perform for each item.
+     * @throws ClassCastException if the items of this tuple are not {@link Number}s.
+     * @throws NullPointerException if the action or one of the items is {@code null}.
+     */
+    default void forEachDouble( DoubleConsumer action ) {
+        Objects.requireNonNull(action);
+        for ( int i = 0; i < size(); i++ )
+            action.accept(getDouble(i));
+    }
+
+    /**
+     *  Creates a sequential {@link IntStream} of the items of this numeric tuple.
+     *  For tuples of primitive {@link Integer}s the stream reads
+     *  directly from the underlying primitive arrays, without boxing.
+     *
+     * @return An {@link IntStream} of the items in this tuple.
+     * @throws ClassCastException if the items of this tuple are not {@link Number}s
+     *                            (thrown lazily, when the stream is consumed).
+     */
+    default IntStream intStream() {
+        return IntStream.range(0, size()).map(this::getInt);
+    }
+
+    /**
+     *  Creates a sequential {@link LongStream} of the items of this numeric tuple.
+     *  For tuples of primitive {@link Long}s the stream reads
+     *  directly from the underlying primitive arrays, without boxing.
+     *
+     * @return A {@link LongStream} of the items in this tuple.
+     * @throws ClassCastException if the items of this tuple are not {@link Number}s
+     *                            (thrown lazily, when the stream is consumed).
+     */
+    default LongStream longStream() {
+        return IntStream.range(0, size()).mapToLong(this::getLong);
+    }
+
+    /**
+     *  Creates a sequential {@link DoubleStream} of the items of this numeric tuple.
+     *  For tuples of primitive {@link Double}s the stream reads
+     *  directly from the underlying primitive arrays, without boxing.
+     *
+     * @return A {@link DoubleStream} of the items in this tuple.
+     * @throws ClassCastException if the items of this tuple are not {@link Number}s
+     *                            (thrown lazily, when the stream is consumed).
+     */
+    default DoubleStream doubleStream() {
+        return IntStream.range(0, size()).mapToDouble(this::getDouble);
+    }
+
+    /**
+     *  Maps every item of this tuple to a primitive {@code int} and returns
+     *  the results as an {@link IntTuple}, which stores them as a dense
+     *  array of primitives and offers unboxed reductions like {@link IntTuple#sum()}.
+     *
+     * @param mapper The function mapping each item to an {@code int}.
+     * @return A new {@link IntTuple} with the mapped items in the same order.
+     * @throws NullPointerException if the mapper is {@code null}.
+     */
+    default IntTuple mapToInt( ToIntFunction<T> mapper ) {
+        Objects.requireNonNull(mapper);
+        int[] ints = new int[size()];
+        for ( int i = 0; i < ints.length; i++ )
+            ints[i] = mapper.applyAsInt(get(i));
+        return Sprouts.factory().tupleOf(ints);
+    }
+
+    /**
+     *  Maps every item of this tuple to a primitive {@code long} and returns
+     *  the results as a {@link LongTuple}, which stores them as a dense
+     *  array of primitives and offers unboxed reductions like {@link LongTuple#sum()}.
+     *
+     * @param mapper The function mapping each item to a {@code long}.
+     * @return A new {@link LongTuple} with the mapped items in the same order.
+     * @throws NullPointerException if the mapper is {@code null}.
+     */
+    default LongTuple mapToLong( ToLongFunction<T> mapper ) {
+        Objects.requireNonNull(mapper);
+        long[] longs = new long[size()];
+        for ( int i = 0; i < longs.length; i++ )
+            longs[i] = mapper.applyAsLong(get(i));
+        return Sprouts.factory().tupleOf(longs);
+    }
+
+    /**
+     *  Maps every item of this tuple to a primitive {@code double} and returns
+     *  the results as a {@link DoubleTuple}, which stores them as a dense
+     *  array of primitives and offers unboxed reductions like {@link DoubleTuple#sum()}.
+     *
+     * @param mapper The function mapping each item to a {@code double}.
+     * @return A new {@link DoubleTuple} with the mapped items in the same order.
+     * @throws NullPointerException if the mapper is {@code null}.
+     */
+    default DoubleTuple mapToDouble( ToDoubleFunction<T> mapper ) {
+        Objects.requireNonNull(mapper);
+        double[] doubles = new double[size()];
+        for ( int i = 0; i < doubles.length; i++ )
+            doubles[i] = mapper.applyAsDouble(get(i));
+        return Sprouts.factory().tupleOf(doubles);
+    }
+
     /**
      * Use this for sorting the tuple of items.
      *
@@ -1642,6 +1921,19 @@ public interface Tuple<T extends @Nullable Object> extends Iterable<T>
      */
     Tuple<T> reversed();
 
+    /**
+     *  Creates a mutable {@link Builder} which starts out with the items of this tuple.
+     *  Use this if you want to make a larger number of changes to a tuple
+     *  without creating a new immutable tuple for every single change.
+     *  The resulting tuple shares as much of its internal structure
+     *  with this tuple as possible.
+     *
+     * @return A new {@link Builder} based on the items of this tuple.
+     */
+    default Builder<T> toBuilder() {
+        return Sprouts.factory().tupleBuilderOf( this );
+    }
+
     @Override
     default Iterator<T> iterator() {
         return new Iterator<T>() {
@@ -1716,4 +2008,97 @@ public interface Tuple<T extends @Nullable Object> extends Iterable<T>
     @Override
     int hashCode();
 
+    /**
+     *  A mutable, single threaded helper for building up a {@link Tuple}
+     *  through a larger number of consecutive edits, without creating a new
+     *  immutable tuple for every single edit.
+     *  You can get one through {@link Tuple#builder(Class)} or {@link Tuple#toBuilder()}.<br>
+     *  Note that a builder is <b>not thread safe</b>, so you should
+     *  not share it between threads. Instead, share the immutable
+     *  tuple returned by {@link #build()}.
+     *
+     * @param <T> The type of the items in the tuple being built.
+     */
+    interface Builder<T>
+    {
+        /**
+         *  Appends the supplied item to the end of the tuple being built.
+         *
+         * @param item The item to append.
+         * @return This builder, to allow for method chaining.
+         * @throws NullPointerException if the tuple does not allow {@code null} and the item is {@code null}.
+         */
+        Builder<T> add( T item );
+
+        /**
+         *  Appends all the supplied items to the end of the tuple being built.
+         *
+         * @param items The items to append.
+         * @return This builder, to allow for method chaining.
+         * @throws NullPointerException if the tuple does not allow {@code null} and one of the items is {@code null}.
+         */
+        default Builder<T> addAll( Iterable<? extends T> items ) {
+            Objects.requireNonNull(items);
+            for ( T item : items )
+                add(item);
+            return this;
+        }
+
+        /**
+         *  Replaces the item at the specified index of the tuple being built.
+         *
+         * @param index The index of the item to replace.
+         * @param item The new item.
+         * @return This builder, to allow for method chaining.
+         * @throws IndexOutOfBoundsException if the index is out of bounds.
+         * @throws NullPointerException if the tuple does not allow {@code null} and the item is {@code null}.
+         */
+        Builder<T> setAt( int index, T item );
+
+        /**
+         *  Inserts the supplied item at the specified index of the tuple being built,
+         *  shifting the item currently at that position and all items after it to the right.
+         *
+         * @param index The index at which the item is inserted, which may be equal to the size.
+         * @param item The item to insert.
+         * @return This builder, to allow for method chaining.
+         * @throws IndexOutOfBoundsException if the index is out of bounds.
+         * @throws NullPointerException if the tuple does not allow {@code null} and the item is {@code null}.
+         */
+        Builder<T> addAt( int index, T item );
+
+        /**
+         *  Removes the item at the specified index of the tuple being built,
+         *  shifting all items after it to the left.
+         *
+         * @param index The index of the item to remove.
+         * @return This builder, to allow for method chaining.
+         * @throws IndexOutOfBoundsException if the index is out of bounds.
+         */
+        Builder<T> removeAt( int index );
+
+        /**
+         *  Returns the item at the specified index of the tuple being built.
+         *
+         * @param index The index of the item.
+         * @return The item at the specified index.
+         * @throws IndexOutOfBoundsException if the index is out of bounds.
+         */
+        T get( int index );
+
+        /**
+         * @return The number of items in the tuple being built.
+         */
+        int size();
+
+        /**
+         *  Turns the current state of this builder into an immutable {@link Tuple}.
+         *  The builder may continue to be used afterwards, and any further
+         *  changes will not affect the returned tuple.
+         *
+         * @return An immutable tuple with the items of this builder.
+         */
+        Tuple<T> build();
+    }
+
 }
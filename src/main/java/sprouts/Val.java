@@ -8,6 +8,7 @@ import java.util.Arrays;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -391,6 +392,103 @@ public interface Val<T extends @Nullable Object> extends Maybe<T> {
         return Sprouts.factory().viewOf(nullObject, errorObject, this, mapper);
     }
 
+    /**
+     * Use this to create a lazy live view of this property through a new property based on the provided
+     * mapping function and null object.
+     * Unlike a regular view created through {@link #view(Object, Function)}, a lazy view does not
+     * recompute its item whenever the item of this property changes. Instead, it only computes
+     * its item when it is actually read, and only if the item of this property changed since the last read.
+     * <p>
+     * As long as nobody listens to the lazy view, it is not even registered as a change listener
+     * on this property, so changes to this property cost nothing for views which are not in use,
+     * like the views of hidden parts of a user interface.
+     * Once you register a change listener on the lazy view, it starts to observe this property and
+     * notifies its listeners like a regular view, until all of its listeners are removed again.
+     * <p>
+     * Note: The mapping function can map to {@code null} and may need to handle {@code null}.
+     * If the mapping function returns {@code null}, the view will contain the proved null object.
+     * If the mapping function throws an exception, the view will contain the proved error object.
+     * Since the mapping function is only called on demand, it should be free of side effects.
+     *
+     * @param nullObject  The null object to use if no item is present.
+     * @param errorObject The error object to use if an error occurs.
+     * @param mapper      The mapping function to apply to an item.
+     * @param <U>         The type of the resulting property.
+     * @return A property that is a lazy live view of this property based on the provided mapping function and null object.
+     */
+    default <U> Viewable<U> viewLazily( U nullObject, U errorObject, Function<T, @Nullable U> mapper ) {
+        return Sprouts.factory().lazyViewOf(nullObject, errorObject, this, mapper);
+    }
+
+    /**
+     * Use this to create a lazy live view of this property through a new property based on the provided
+     * mapping function and null object, which is also used if the mapping function throws an exception.
+     * A lazy view only computes its item when it is read or observed, see
+     * {@link #viewLazily(Object, Object, Function)} for more information.
+     *
+     * @param nullObject The null object to use if no item is present or an error occurs.
+     * @param mapper     The mapping function to apply to an item.
+     * @param <U>        The type of the resulting property.
+     * @return A property that is a lazy live view of this property based on the provided mapping function and null object.
+     */
+    default <U> Viewable<U> viewLazily( U nullObject, Function<T, @Nullable U> mapper ) {
+        return viewLazily(nullObject, nullObject, mapper);
+    }
+
+    /**
+     * Use this to create a live view of this property whose item is computed asynchronously
+     * on the supplied {@link Executor}, so that an expensive mapping function never blocks the thread
+     * which changes this property. Whenever the item of this property changes, the new item is
+     * handed to the executor, which runs the mapping function and publishes the result to the view.
+     * Consequently, the view and all of its change listeners run on the executor's thread.
+     * <p>
+     * Until the first computation has completed, the view holds the supplied null object.
+     * If the mapping function returns {@code null}, the view will contain the proved null object.
+     * If the mapping function throws an exception, the view will contain the proved error object.
+     * <p>
+     * <b>Contract:</b>
+     * <ul>
+     *   <li>The {@code executor} <b>must be effectively single-threaded</b> (e.g. a single-thread
+     *       executor or a UI dispatch loop), since it becomes the owner thread of the view.</li>
+     *   <li>The items of this property <b>must be immutable</b>, as they are mapped on another thread.</li>
+     *   <li>Delivery is <b>conflated (latest-wins)</b>: if this property changes faster than the executor
+     *       can compute, intermediate items are skipped, and a result which was computed for an item
+     *       that has been replaced in the meantime is discarded instead of being published.</li>
+     * </ul>
+     *  <b>
+     *      Warning: <br>
+     *      If you do not keep a strong reference to the {@link Viewable} returned by this method,
+     *      then it will eventually be garbage collected alongside all of its change listeners.<br>
+     *      So if there are changes in this property afterward, the change listeners will not be called!
+     *  </b>
+     *
+     * @param executor    The (effectively single-threaded) executor on which the view is computed.
+     * @param nullObject  The null object to use if no item is present, or no item was computed yet.
+     * @param errorObject The error object to use if an error occurs.
+     * @param mapper      The mapping function to apply to an item.
+     * @param <U>         The type of the resulting property.
+     * @return A property that is an asynchronously computed live view of this property.
+     * @see Guarded#viewOn(Executor)
+     */
+    default <U> Viewable<U> viewAsync( Executor executor, U nullObject, U errorObject, Function<T, @Nullable U> mapper ) {
+        return Sprouts.factory().asyncViewOf(executor, nullObject, errorObject, this, mapper);
+    }
+
+    /**
+     * Use this to create a live view of this property whose item is computed asynchronously
+     * on the supplied {@link Executor}, where the null object is also used if the mapping function fails.
+     * See {@link #viewAsync(Executor, Object, Object, Function)} for the full contract.
+     *
+     * @param executor   The (effectively single-threaded) executor on which the view is computed.
+     * @param nullObject The null object to use if no item is present, no item was computed yet, or an error occurs.
+     * @param mapper     The mapping function to apply to an item.
+     * @param <U>        The type of the resulting property.
+     * @return A property that is an asynchronously computed live view of this property.
+     */
+    default <U> Viewable<U> viewAsync( Executor executor, U nullObject, Function<T, @Nullable U> mapper ) {
+        return viewAsync(executor, nullObject, nullObject, mapper);
+    }
+
 
     /**
      * Use this to create a nullable live view of this property through a new property based on the provided mapping
@@ -737,6 +835,10 @@ public interface Val<T extends @Nullable Object> extends Maybe<T> {
      * or throws an exception, the view will retain an empty default {@code Association} instance instead of propagating
      * storing {@code null}, which is not allowed for this view.
      * <p>
+     * In the change listeners of the view, you can use {@link Association#diffOf(ValDelegate)} to find out
+     * which entries were added, removed or updated by a change. If the mapped associations share most
+     * of their structure, this only visits the parts of the two associations which actually differ.
+     * <p>
      * <b>Warning:</b> If you register change listeners on the returned view and do not maintain a strong reference
      * to it, the view along with its listeners will eventually be garbage collected, and subsequent changes to
      * this property will not trigger the listeners.
@@ -774,6 +876,10 @@ public interface Val<T extends @Nullable Object> extends Maybe<T> {
      * or throws an exception, the view will retain a default {@code ValueSet} instance instead of propagating
      * storing {@code null}, which is not allowed for this view.
      * <p>
+     * In the change listeners of the view, you can use {@link ValueSet#diffOf(ValDelegate)} to find out
+     * which elements were added or removed by a change. If the mapped value sets share most
+     * of their structure, this only visits the parts of the two sets which actually differ.
+     * <p>
      * <b>Warning:</b> If you register change listeners on the returned view and do not maintain a strong reference
      * to it, the view along with its listeners will eventually be garbage collected, and subsequent changes to
      * this property will not trigger the listeners.
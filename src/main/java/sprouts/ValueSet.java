@@ -201,6 +201,24 @@ public interface ValueSet<E> extends Iterable<E> {
         return Sprouts.factory().valueSetOf(type);
     }
 
+    /**
+     *  Creates a mutable {@link Builder} for efficiently building up a
+     *  value set of the given element type through a larger number of
+     *  consecutive additions and removals.
+     *  Unlike a sequence of {@link #add(Object)} calls on a value set,
+     *  where every call creates a new immutable value set, the builder collects
+     *  the changes in a mutable buffer which is only turned into a value set
+     *  once {@link Builder#build()} is called.
+     *
+     * @param type The type of the elements in the value set.
+     * @param <E> The type of the elements in the value set, which must be an immutable value type.
+     * @return A new {@link Builder} for an initially empty value set.
+     */
+    static <E> Builder<E> builder( Class<E> type ) {
+        Objects.requireNonNull(type);
+        return Sprouts.factory().valueSetBuilderOf(Sprouts.factory().valueSetOf(type));
+    }
+
     /**
      *  Creates a new value set from a single non-null element.
      *  The type of the element is captured from the element itself
@@ -1158,6 +1176,64 @@ public interface ValueSet<E> extends Iterable<E> {
      */
     ValueSet<E> clear();
 
+    /**
+     *  Describes how this value set has to change to become the supplied one,
+     *  in the form of a {@link Diff} exposing the added and removed elements.
+     *  The diff is computed lazily, when it is queried for the first time.
+     *  If both sets are versions of one another, they typically share most
+     *  of their internal structure, in which case only the parts which are not shared
+     *  are visited, so that the diff costs roughly as much as the number of changes
+     *  instead of the size of the sets.
+     *
+     * @param other The value set to compare this set to, which is the "after" side of the diff.
+     * @return A lazily computed {@link Diff} from this value set to the supplied one.
+     * @throws NullPointerException if the supplied value set is {@code null}.
+     */
+    default Diff<E> diff( ValueSet<E> other ) {
+        Objects.requireNonNull(other);
+        return Sprouts.factory().valueSetDiffOf(this, other);
+    }
+
+    /**
+     *  Describes the change reported by the supplied delegate as a {@link Diff} from
+     *  its {@link ValDelegate#oldValue()} to its {@link ValDelegate#currentValue()}.
+     *  This is intended to be used in the change listeners of properties holding value sets,
+     *  like the views created through {@link Val#viewAsValueSet(Class, java.util.function.Function)},
+     *  to find out which elements have changed without comparing the two sets element by element.
+     *  If one of the two items is {@code null}, it is treated like an empty value set.
+     *
+     * @param delegate The delegate of a change to a property holding a value set.
+     * @param <E> The type of the elements of the value set.
+     * @return A lazily computed {@link Diff} between the old and the new value set.
+     * @throws NullPointerException if the supplied delegate is {@code null}.
+     * @throws IllegalArgumentException if both the old and the new item of the delegate are {@code null}.
+     */
+    static <E> Diff<E> diffOf( ValDelegate<ValueSet<E>> delegate ) {
+        Objects.requireNonNull(delegate);
+        ValueSet<E> oldValue = delegate.oldValue().orElseNull();
+        ValueSet<E> newValue = delegate.currentValue().orElseNull();
+        if ( oldValue == null && newValue == null )
+            throw new IllegalArgumentException("Cannot diff a change from a null value set to a null value set.");
+        if ( oldValue == null )
+            return newValue.clear().diff(newValue);
+        if ( newValue == null )
+            return oldValue.diff(oldValue.clear());
+        return oldValue.diff(newValue);
+    }
+
+    /**
+     *  Creates a mutable {@link Builder} which starts out with the elements of this value set.
+     *  Use this if you want to make a larger number of changes to a value set
+     *  without creating a new immutable value set for every single change.
+     *  The resulting value set has the same kind of ordering as this one
+     *  and shares as much of its internal structure with it as possible.
+     *
+     * @return A new {@link Builder} based on the elements of this value set.
+     */
+    default Builder<E> toBuilder() {
+        return Sprouts.factory().valueSetBuilderOf(this);
+    }
+
     /**
      *  Converts this value set to a java.util.Map.
      *  Note that the returned map is also immutable.
@@ -1346,4 +1422,114 @@ public interface ValueSet<E> extends Iterable<E> {
     @Override
     int hashCode();
 
+    /**
+     *  A mutable, single threaded helper for building up a {@link ValueSet}
+     *  through a larger number of consecutive edits, without creating a new
+     *  immutable value set for every single edit.
+     *  You can get one through {@link ValueSet#builder(Class)}
+     *  or {@link ValueSet#toBuilder()}.<br>
+     *  Note that a builder is <b>not thread safe</b>, so you should
+     *  not share it between threads. Instead, share the immutable
+     *  value set returned by {@link #build()}.
+     *
+     * @param <E> The type of the elements in the value set being built.
+     */
+    interface Builder<E>
+    {
+        /**
+         *  Adds the supplied element to the value set being built.
+         *
+         * @param element The element to add.
+         * @return This builder, to allow for method chaining.
+         * @throws NullPointerException if the element is {@code null}.
+         * @throws IllegalArgumentException if the element is of the wrong type.
+         */
+        Builder<E> add( E element );
+
+        /**
+         *  Adds all the supplied elements to the value set being built.
+         *
+         * @param elements The elements to add.
+         * @return This builder, to allow for method chaining.
+         * @throws NullPointerException if one of the elements is {@code null}.
+         * @throws IllegalArgumentException if one of the elements is of the wrong type.
+         */
+        default Builder<E> addAll( Iterable<? extends E> elements ) {
+            Objects.requireNonNull(elements);
+            for ( E element : elements )
+                add(element);
+            return this;
+        }
+
+        /**
+         *  Removes the supplied element from the value set being built.
+         *
+         * @param element The element to remove.
+         * @return This builder, to allow for method chaining.
+         * @throws NullPointerException if the element is {@code null}.
+         */
+        Builder<E> remove( E element );
+
+        /**
+         *  Checks if the supplied element is currently part of the value set being built.
+         *
+         * @param element The element to check.
+         * @return {@code true} if the element is present, {@code false} otherwise.
+         */
+        boolean contains( E element );
+
+        /**
+         * @return The number of elements in the value set being built.
+         */
+        int size();
+
+        /**
+         *  Turns the current state of this builder into an immutable {@link ValueSet}.
+         *  The builder may continue to be used afterwards, and any further
+         *  changes will not affect the returned value set.
+         *
+         * @return An immutable value set with the elements of this builder.
+         */
+        ValueSet<E> build();
+    }
+
+    /**
+     *  The difference between two value sets, which you can get through
+     *  {@link ValueSet#diff(ValueSet)} or {@link ValueSet#diffOf(ValDelegate)}.
+     *  It tells you which elements have to be added or removed
+     *  to turn the {@link #before()} set into the {@link #after()} set.
+     *  The changes are computed when they are requested for the first time,
+     *  and then reused for all subsequent requests.
+     *
+     * @param <E> The type of the elements of the value sets.
+     */
+    interface Diff<E>
+    {
+        /**
+         * @return The value set from which the changes of this diff start.
+         */
+        ValueSet<E> before();
+
+        /**
+         * @return The value set which results from applying the changes of this diff.
+         */
+        ValueSet<E> after();
+
+        /**
+         * @return The elements of the {@link #after()} set which are not part of the {@link #before()} set.
+         */
+        ValueSet<E> added();
+
+        /**
+         * @return The elements of the {@link #before()} set which are not part of the {@link #after()} set.
+         */
+        ValueSet<E> removed();
+
+        /**
+         * @return {@code true} if both sets contain exactly the same elements,
+         *         {@code false} if there is at least one added or removed element.
+         */
+        boolean isEmpty();
+    }
+
 }
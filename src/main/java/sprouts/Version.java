@@ -1,5 +1,7 @@
 package sprouts;
 
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
  *  This is a value object representing a unique ID consisting
  *  of two numbers, a lineage and succession, allowing you to identify something
@@ -74,7 +76,34 @@ package sprouts;
  */
 public final class Version
 {
-    private static long _instanceCount = 0;
+    /**
+     *  The number of lineage ids a thread reserves at once, so that threads
+     *  creating many versions concurrently rarely touch the shared counter.
+     */
+    private static final int _LINEAGE_BLOCK_SIZE = 1024;
+
+    /** The highest lineage id which was reserved by any thread so far. */
+    private static final AtomicLong _reservedLineages = new AtomicLong(0);
+
+    private static final ThreadLocal<LineageBlock> _LINEAGE_BLOCK = ThreadLocal.withInitial(LineageBlock::new);
+
+    /**
+     *  A range of lineage ids reserved by a single thread, which
+     *  hands them out without any synchronization.
+     */
+    private static final class LineageBlock
+    {
+        private long _next = 0;
+        private long _end  = 0;
+
+        long nextLineage() {
+            if ( _next == _end ) {
+                _end  = _reservedLineages.addAndGet(_LINEAGE_BLOCK_SIZE) + 1;
+                _next = _end - _LINEAGE_BLOCK_SIZE;
+            }
+            return _next++;
+        }
+    }
 
     private final long _lineage;
     private final long _succession;
@@ -88,12 +117,16 @@ public final class Version
      *  Creates a unique version object with a new lineage and a succession
      *  number of zero. This is the first version of a new lineage.
      *  You can create successor versions through the {@link #next()} method,
-     *  which will increment the succession number by one.
+     *  which will increment the succession number by one.<br>
+     *  This method is thread-safe, every call returns a lineage which was
+     *  never returned before, no matter how many threads create versions at the same time.
+     *  Note that lineages are only unique, they do not reflect the order in which
+     *  versions of different threads were created.
      *
      * @return A new {@link Version} object with a new lineage and a succession number of zero.
      */
     public static Version create() {
-        return new Version( ++_instanceCount, 0 );
+        return new Version( _LINEAGE_BLOCK.get().nextLineage(), 0 );
     }
 
     /**
@@ -7,6 +7,7 @@ import sprouts.impl.Sprouts;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.BiFunction;
+import java.util.function.Function;
 
 /**
  *  A read-only live view on a delegated item derived from a {@link Var} or {@link Val}, which
@@ -226,6 +227,73 @@ public interface Viewable<T> extends Val<T>, Observable {
         return Sprouts.factory().viewOfNullable( type, first, second, combiner );
     }
 
+    /**
+     * Creates an observable read-only {@link Viewable} property that represents a live view of
+     * any number of given properties using a combiner function.
+     * <p>
+     * The combiner function receives a {@link Tuple} of the source properties, in the order
+     * they were passed to this method, and returns an updated item based on their items.
+     * The combiner is called to compute a new item for the view property whenever at least one
+     * of the items in the source properties changes, or whenever a manual change event is fired
+     * (see {@link Var#fireChange(Channel)}) on any of the source properties.
+     * <p>
+     * Unlike a chain of views created through {@link #of(Class, Val, Val, BiFunction)},
+     * which needs an intermediate view for every additional property,
+     * this is a single view with exactly one change listener per source property.
+     * <p>
+     * Note: The property view does not allow {@code null} items!
+     * If the combiner function throws an exception or returns {@code null} after the view was created,
+     * the view will retain its previous item and the problem is logged.
+     * <p>
+     * If you need a composite view that allows {@code null}, use the {@link #ofAllNullable(Class, Function, Val[])}
+     * method instead.
+     *
+     * @param type     The type of the item returned from the combiner function.
+     * @param combiner The function used to combine the items of the given properties,
+     *                 which receives the source properties as a {@link Tuple}.
+     * @param sources  The properties to be combined.
+     * @param <R>      The type of the returned property.
+     * @return A new {@link Viewable} instance which is a live view of the given properties.
+     * @throws NullPointerException If the combiner function returns a {@code null} reference
+     *                              <b>when it is first called</b>, or if any of the arguments is {@code null}.
+     */
+    static <R> Viewable<R> ofAll( Class<R> type, Function<Tuple<Val<?>>, R> combiner, Val<?>... sources ) {
+        Objects.requireNonNull(type);
+        Objects.requireNonNull(combiner);
+        Objects.requireNonNull(sources);
+        return Sprouts.factory().viewOfAll( type, combiner, sources );
+    }
+
+    /**
+     * Creates an observable read-only nullable {@link Viewable} property that represents a live view of
+     * any number of given properties using a combiner function.
+     * <p>
+     * The combiner function receives a {@link Tuple} of the source properties, in the order
+     * they were passed to this method, and returns an updated item based on their items.
+     * The combiner is called to compute a new item for the view property whenever at least one
+     * of the items in the source properties changes, or whenever a manual change event is fired
+     * (see {@link Var#fireChange(Channel)}) on any of the source properties.
+     * <p>
+     * Note: The property view does <b>allow</b> storing {@code null} references!
+     * If the combiner function throws an exception, the view will be set to {@code null}.
+     * <p>
+     * If you need a composite view that does not allow {@code null} items,
+     * use the {@link #ofAll(Class, Function, Val[])} method instead of this one.
+     *
+     * @param type     The type of the item returned from the combiner function.
+     * @param combiner The function used to combine the items of the given properties,
+     *                 which receives the source properties as a {@link Tuple}.
+     * @param sources  The properties to be combined.
+     * @param <R>      The type of the returned property.
+     * @return A new {@link Viewable} instance which is a live view of the given properties.
+     */
+    static <R> Viewable<@Nullable R> ofAllNullable( Class<R> type, Function<Tuple<Val<?>>, @Nullable R> combiner, Val<?>... sources ) {
+        Objects.requireNonNull(type);
+        Objects.requireNonNull(combiner);
+        Objects.requireNonNull(sources);
+        return Sprouts.factory().viewOfAllNullable( type, combiner, sources );
+    }
+
     /**
      *  Use this to register an observer lambda for a particular {@link Channel},
      *  which will be called whenever the item viewed
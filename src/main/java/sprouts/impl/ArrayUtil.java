@@ -5,6 +5,7 @@ import sprouts.Tuple;
 
 import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
 
 /**
  *  A utility class for creating and operating on any kind of array, which
@@ -285,7 +286,59 @@ final class ArrayUtil {
             return ((char[]) array).length;
         if ( array instanceof boolean[] )
             return ((boolean[]) array).length;
-        return java.lang.reflect.Array.getLength(array);
+        throw new IllegalArgumentException("Argument is not an array: " + array.getClass());
+    }
+
+    /**
+     *  Computes the hash code of the item at the specified index of the supplied array,
+     *  which is exactly the hash code of the boxed item, but without
+     *  boxing primitives and without reflective array access.
+     */
+    static int _hashCodeAt( int index, Object array ) {
+        if ( array instanceof Object[] )
+            return Objects.hashCode(((Object[]) array)[index]);
+        if ( array instanceof int[] )
+            return Integer.hashCode(((int[]) array)[index]);
+        if ( array instanceof long[] )
+            return Long.hashCode(((long[]) array)[index]);
+        if ( array instanceof double[] )
+            return Double.hashCode(((double[]) array)[index]);
+        if ( array instanceof float[] )
+            return Float.hashCode(((float[]) array)[index]);
+        if ( array instanceof byte[] )
+            return Byte.hashCode(((byte[]) array)[index]);
+        if ( array instanceof short[] )
+            return Short.hashCode(((short[]) array)[index]);
+        if ( array instanceof char[] )
+            return Character.hashCode(((char[]) array)[index]);
+        if ( array instanceof boolean[] )
+            return Boolean.hashCode(((boolean[]) array)[index]);
+        throw new IllegalArgumentException("Argument is not an array: " + array.getClass());
+    }
+
+    /**
+     *  Fills the supplied hash code array with the hash codes of the items
+     *  of the supplied array (see {@link #_hashCodeAt(int, Object)}).
+     *  The most common array types get their own loop so that the JIT
+     *  can compile each of them into a tight, type specific loop.
+     */
+    static void _fillHashCodes( Object array, int[] hashes ) {
+        if ( array instanceof Object[] ) {
+            Object[] objects = (Object[]) array;
+            for ( int i = 0; i < hashes.length; i++ )
+                hashes[i] = Objects.hashCode(objects[i]);
+        } else if ( array instanceof int[] ) {
+            int[] ints = (int[]) array;
+            for ( int i = 0; i < hashes.length; i++ )
+                hashes[i] = Integer.hashCode(ints[i]);
+        } else if ( array instanceof long[] ) {
+            long[] longs = (long[]) array;
+            for ( int i = 0; i < hashes.length; i++ )
+                hashes[i] = Long.hashCode(longs[i]);
+        } else {
+            for ( int i = 0; i < hashes.length; i++ )
+                hashes[i] = _hashCodeAt(i, array);
+        }
     }
 
     static boolean _isCompatible( Object array, Class<?> targetType, boolean targetTypeIsNullable ) {
@@ -330,13 +383,15 @@ final class ArrayUtil {
     }
 
     static <T> void _each( Object array, Class<T> type, java.util.function.Consumer<T> consumer ) {
-        for ( int i = 0; i < _length(array); i++ ) {
+        final int length = _length(array);
+        for ( int i = 0; i < length; i++ ) {
             consumer.accept(_getAt(i, array, type));
         }
     }
 
     static <T> void _each( Object array, ArrayItemAccess<T, Object> access, java.util.function.Consumer<T> consumer ) {
-        for ( int i = 0; i < _length(array); i++ ) {
+        final int length = _length(array);
+        for ( int i = 0; i < length; i++ ) {
             consumer.accept(access.get(i, array));
         }
     }
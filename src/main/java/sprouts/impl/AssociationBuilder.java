@@ -0,0 +1,116 @@
+package sprouts.impl;
+
+import sprouts.Association;
+import sprouts.Pair;
+
+import java.util.*;
+
+/**
+ *  An {@link Association.Builder} which keeps the association it started out with
+ *  as is and records all edits in mutable hash tables owned exclusively by this builder.
+ *  Once {@link #build()} is called, the recorded edits are applied to the original
+ *  association as a single bulk removal followed by a single bulk insert,
+ *  which builds every affected node of the new association only once
+ *  and shares everything else with the original association.
+ */
+final class AssociationBuilder<K, V> implements Association.Builder<K, V> {
+
+    private Association<K, V> _origin;
+    /*
+        The entries which were put into this builder, in the order in which their keys
+        were first put (or re-put after a removal), so that linked associations
+        end up in the same order as if the edits were applied one by one.
+    */
+    private final Map<K, V> _put = new LinkedHashMap<>();
+    /*
+        The keys of the original association which were removed at some point,
+        and therefore have to be removed before the put entries are applied.
+    */
+    private final Set<K> _removedFromOrigin = new HashSet<>();
+    private int _size;
+
+    AssociationBuilder( Association<K, V> origin ) {
+        _origin = Objects.requireNonNull(origin);
+        _size   = origin.size();
+    }
+
+    @Override
+    public Association.Builder<K, V> put( K key, V value ) {
+        _checkTypes(key, value);
+        if ( _put.put(key, value) == null && !_isInOrigin(key) )
+            _size++;
+        return this;
+    }
+
+    @Override
+    public Association.Builder<K, V> putIfAbsent( K key, V value ) {
+        _checkTypes(key, value);
+        if ( !_put.containsKey(key) && !_isInOrigin(key) ) {
+            _put.put(key, value);
+            _size++;
+        }
+        return this;
+    }
+
+    @Override
+    public Association.Builder<K, V> remove( K key ) {
+        Objects.requireNonNull(key);
+        boolean wasPresent = _put.remove(key) != null || _isInOrigin(key);
+        if ( wasPresent ) {
+            if ( _origin.containsKey(key) )
+                _removedFromOrigin.add(key);
+            _size--;
+        }
+        return this;
+    }
+
+    @Override
+    public Optional<V> get( K key ) {
+        Objects.requireNonNull(key);
+        V value = _put.get(key);
+        if ( value != null )
+            return Optional.of(value);
+        if ( _removedFromOrigin.contains(key) )
+            return Optional.empty();
+        return _origin.get(key);
+    }
+
+    @Override
+    public int size() {
+        return _size;
+    }
+
+    @Override
+    public Association<K, V> build() {
+        Association<K, V> result = _origin;
+        if ( !_removedFromOrigin.isEmpty() )
+            result = result.removeAll(_removedFromOrigin);
+        if ( !_put.isEmpty() )
+            result = result.putAll(_put.entrySet().stream().map(entry -> Pair.of(entry.getKey(), entry.getValue())));
+        _origin = result;
+        _put.clear();
+        _removedFromOrigin.clear();
+        return result;
+    }
+
+    private boolean _isInOrigin( K key ) {
+        return !_removedFromOrigin.contains(key) && _origin.containsKey(key);
+    }
+
+    private void _checkTypes( K key, V value ) {
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(value);
+        if ( !_origin.keyType().isAssignableFrom(key.getClass()) ) {
+            throw new IllegalArgumentException(
+                    "The given key '" + key + "' is of type '" + key.getClass().getSimpleName() + "', " +
+                    "instead of the expected type '" + _origin.keyType() + "'."
+                );
+        }
+        if ( !_origin.valueType().isAssignableFrom(value.getClass()) ) {
+            throw new IllegalArgumentException(
+                    "The given value '" + value + "' is of type '" + value.getClass().getSimpleName() + "', " +
+                    "instead of the expected type '" + _origin.valueType() + "'."
+                );
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package sprouts.impl;
+
+import org.jspecify.annotations.Nullable;
+import sprouts.Association;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+
+/**
+ *  The {@link Association.Diff} between two associations, which is computed
+ *  the first time one of its changes is requested.
+ *  If both associations are hashed associations of the same key and value types,
+ *  only the entries of the subtrees which they do not share are visited
+ *  (see {@link AssociationImpl#forEachEntryNotSharedWith(AssociationImpl, BiConsumer, BiConsumer)}),
+ *  otherwise every entry of both associations is checked against the other association.
+ *  Either way, the visited entries are classified by looking up their keys in the other association.
+ */
+final class AssociationDiff<K, V> implements Association.Diff<K, V>
+{
+    private static final class Changes<K, V> {
+        final Association<K, V> added;
+        final Association<K, V> removed;
+        final Association<K, V> updated;
+
+        Changes( Association<K, V> added, Association<K, V> removed, Association<K, V> updated ) {
+            this.added   = added;
+            this.removed = removed;
+            this.updated = updated;
+        }
+    }
+
+    private final Association<K, V> _before;
+    private final Association<K, V> _after;
+    /** The computed changes, which are immutable and may therefore be published without locking. */
+    private volatile @Nullable Changes<K, V> _changes;
+
+
+    AssociationDiff( Association<K, V> before, Association<K, V> after ) {
+        _before = Objects.requireNonNull(before);
+        _after  = Objects.requireNonNull(after);
+    }
+
+    @Override
+    public Association<K, V> before() {
+        return _before;
+    }
+
+    @Override
+    public Association<K, V> after() {
+        return _after;
+    }
+
+    @Override
+    public Association<K, V> added() {
+        return _changes().added;
+    }
+
+    @Override
+    public Association<K, V> removed() {
+        return _changes().removed;
+    }
+
+    @Override
+    public Association<K, V> updated() {
+        return _changes().updated;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        if ( _before == _after )
+            return true;
+        if ( _before.size() != _after.size() )
+            return false;
+        Changes<K, V> changes = _changes();
+        return changes.added.isEmpty() && changes.removed.isEmpty() && changes.updated.isEmpty();
+    }
+
+    private Changes<K, V> _changes() {
+        Changes<K, V> changes = _changes;
+        if ( changes == null ) {
+            changes = _computeChanges();
+            _changes = changes;
+        }
+        return changes;
+    }
+
+    private Changes<K, V> _computeChanges() {
+        if ( _before == _after )
+            return new Changes<>(_after.clear(), _before.clear(), _after.clear());
+
+        Association.Builder<K, V> added   = _after.clear().toBuilder();
+        Association.Builder<K, V> removed = _before.clear().toBuilder();
+        Association.Builder<K, V> updated = _after.clear().toBuilder();
+        BiConsumer<K, V> fromBefore = (key, value) -> {
+            if ( !_after.containsKey(key) )
+                removed.put(key, value);
+        };
+        BiConsumer<K, V> fromAfter = (key, value) -> {
+            Optional<V> oldValue = _before.get(key);
+            if ( !oldValue.isPresent() )
+                added.put(key, value);
+            else if ( !oldValue.get().equals(value) )
+                updated.put(key, value);
+        };
+        AssociationImpl<K, V> before = _asHashedOrNull(_before);
+        AssociationImpl<K, V> after  = _asHashedOrNull(_after);
+        if ( before != null && after != null &&
+             before.keyType() == after.keyType() && before.valueType() == after.valueType()
+        ) {
+            before.forEachEntryNotSharedWith(after, fromBefore, fromAfter);
+        } else {
+            _before.forEachEntry(fromBefore);
+            _after.forEachEntry(fromAfter);
+        }
+        return new Changes<>(added.build(), removed.build(), updated.build());
+    }
+
+    private static <K, V> @Nullable AssociationImpl<K, V> _asHashedOrNull( Association<K, V> association ) {
+        return association instanceof AssociationImpl ? (AssociationImpl<K, V>) association : null;
+    }
+
+    @Override
+    public String toString() {
+        return "Association.Diff[" +
+                    "added="   + added()   + ", " +
+                    "removed=" + removed() + ", " +
+                    "updated=" + updated() +
+                "]";
+    }
+}
@@ -6,9 +6,11 @@ import sprouts.Pair;
 import sprouts.Tuple;
 import sprouts.ValueSet;
 
-import java.lang.reflect.Array;
 import java.util.*;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 import static sprouts.impl.ArrayUtil.*;
 
@@ -95,7 +97,6 @@ final class AssociationImpl<K, V> implements Association<K, V> {
     final ArrayItemAccess<K, Object> _keyGetter;
     final ArrayItemAccess<V, Object> _valueGetter;
     final Node<K,V> _root;
-    private final AtomicReference<@Nullable Integer> _cachedHashCode = new AtomicReference<>(null);
 
     static final class Node<K,V> {
         final int _depth;
@@ -104,6 +105,12 @@ final class AssociationImpl<K, V> implements Association<K, V> {
         final Object _valuesArray;
         final int[] _keyHashes;
         final Node<K, V>[] _branches;
+        /**
+         *  The hash of all entries in this subtree, computed lazily by {@link #_hashOf(Node)}
+         *  and shared by all versions of the association which share this node.
+         *  Zero means that it was not computed yet.
+         */
+        private volatile long _hash;
         private Node(
                 final int depth,
                 final Class<K> keyType,
@@ -128,9 +135,7 @@ final class AssociationImpl<K, V> implements Association<K, V> {
             _size = size + _sumBranchSizes(_branches);
             if ( keyHashes.length != size || rebuild ) {
                 _keyHashes = new int[size];
-                for (int i = 0; i < size; i++) {
-                    _keyHashes[i] = Objects.requireNonNull(Array.get(_keysArray, i)).hashCode();
-                }
+                _fillHashCodes(_keysArray, _keyHashes);
             } else {
                 _keyHashes = keyHashes;
             }
@@ -183,8 +188,8 @@ final class AssociationImpl<K, V> implements Association<K, V> {
     ) {
         ArrayItemAccess<K,Object> keyGetter = ArrayItemAccess.of(keyType, false);
         ArrayItemAccess<V,Object> valueGetter = ArrayItemAccess.of(valueType, false);
-        Object keysArray   = new Object[size];
-        Object valuesArray = new Object[size];
+        Object[] keysArray   = new Object[size];
+        Object[] valuesArray = new Object[size];
         for ( int i = 0; i < size; i++ ) {
             K key = keyGetter.get(i, newKeysArray);
             V value = valueGetter.get(i, newValuesArray);
@@ -265,14 +270,14 @@ final class AssociationImpl<K, V> implements Association<K, V> {
         return key.equals(keyGetter.get(index, node._keysArray));
     }
 
-    private static <K> int _findValidIndexFor(final K key, final int hash, final Object keys) {
-        int length = _length(keys);
+    private static <K> int _findValidIndexFor(final K key, final int hash, final Object[] keys) {
+        int length = keys.length;
         if ( length < 1 ) {
             return -1;
         }
         int index = Math.abs(hash) % length;
         int tries = 0;
-        while (Array.get(keys, index) != null && !Objects.equals(Array.get(keys, index), key) && tries < length) {
+        while (keys[index] != null && !Objects.equals(keys[index], key) && tries < length) {
             index = ( index + 1 ) % length;
             tries++;
         }
@@ -311,12 +316,12 @@ final class AssociationImpl<K, V> implements Association<K, V> {
 
     @Override
     public ValueSet<K> keySet() {
-        return ValueSet.of(this.keyType()).addAll(this.entrySet().stream().map(Pair::first));
+        return new AssociationKeySet<>(this, () -> ValueSet.of(this.keyType()).addAll(this.entrySet().stream().map(Pair::first)));
     }
 
     @Override
     public Tuple<V> values() {
-        return values(_root, _valueType, _valueGetter);
+        return new AssociationValues<>(this, () -> values(_root, _valueType, _valueGetter));
     }
 
     private static <K,V> Tuple<V> values(
@@ -364,6 +369,14 @@ final class AssociationImpl<K, V> implements Association<K, V> {
         return Optional.ofNullable(_get(_root, _keyGetter, _valueGetter, key, key.hashCode()));
     }
 
+    /**
+     *  Looks up the value of the given key like {@link #get(Object)},
+     *  but without wrapping it into an {@link Optional}.
+     */
+    @Nullable V getOrNull( final K key ) {
+        return _get(_root, _keyGetter, _valueGetter, key, key.hashCode());
+    }
+
     static <K,V> @Nullable V _get(
             final Node<K, V> node,
             final ArrayItemAccess<K, Object> keyGetter,
@@ -561,6 +574,476 @@ final class AssociationImpl<K, V> implements Association<K, V> {
         }
     }
 
+    @Override
+    public Association<K, V> putAll( final Association<? extends K, ? extends V> other ) {
+        Objects.requireNonNull(other, "The provided association cannot be null.");
+        AssociationImpl<K, V> otherImpl = _sameKindOrNull(other);
+        if ( otherImpl == null )
+            return Association.super.putAll(other);
+        if ( this.isEmpty() )
+            return otherImpl;
+        return _withNewRoot(_merge(_root, otherImpl._root, _keyType, _valueType, _keyGetter, _valueGetter, true));
+    }
+
+    @Override
+    public Association<K, V> putAllIfAbsent( final Association<? extends K, ? extends V> other ) {
+        Objects.requireNonNull(other, "The provided association cannot be null.");
+        AssociationImpl<K, V> otherImpl = _sameKindOrNull(other);
+        if ( otherImpl == null )
+            return Association.super.putAllIfAbsent(other);
+        if ( this.isEmpty() )
+            return otherImpl;
+        return _withNewRoot(_merge(_root, otherImpl._root, _keyType, _valueType, _keyGetter, _valueGetter, false));
+    }
+
+    @Override
+    public Association<K, V> removeAll( final ValueSet<? extends K> keys ) {
+        if ( this.isEmpty() || keys.isEmpty() )
+            return this;
+        if ( keys.size() < size() / 8 )
+            return Association.super.removeAll(keys); // Only a few paths to copy, so no need to visit every entry.
+        return _withNewRoot(_retainIf(_root, _keyType, _valueType, _keyGetter, _valueGetter, key -> !_contains(keys, key)));
+    }
+
+    @Override
+    public Association<K, V> retainAll( final ValueSet<? extends K> keys ) {
+        if ( this.isEmpty() || keys.isEmpty() )
+            return this;
+        return _withNewRoot(_retainIf(_root, _keyType, _valueType, _keyGetter, _valueGetter, key -> _contains(keys, key)));
+    }
+
+    private static <K> boolean _contains( ValueSet<? extends K> keys, K key ) {
+        return keys.type().isInstance(key) && ((ValueSet<K>) keys).contains(key);
+    }
+
+    /**
+     *  Returns the supplied association as an {@link AssociationImpl} with exactly the same key and
+     *  value types as this one, whose trie can be merged with the trie of this association
+     *  node by node, or {@code null} if it has to be processed entry by entry.
+     */
+    private @Nullable AssociationImpl<K, V> _sameKindOrNull( Association<? extends K, ? extends V> other ) {
+        if ( other instanceof AssociationImpl ) {
+            AssociationImpl<?, ?> otherImpl = (AssociationImpl<?, ?>) other;
+            if ( otherImpl._keyType == _keyType && otherImpl._valueType == _valueType )
+                return (AssociationImpl<K, V>) otherImpl;
+        }
+        return null;
+    }
+
+    /**
+     *  Merges the entries of two subtrees node by node.
+     *  Two nodes at the same position in two tries are responsible for the same
+     *  range of key hashes, so their branches can be merged pairwise, and
+     *  branches which are shared by both tries are reused without visiting them.
+     *  A key may however be stored locally in the node of one trie, but in a
+     *  branch of the other, which is why the local entries of both nodes are
+     *  always checked against the merged branches.
+     *
+     * @param otherWins Whether the values of b replace the values of a for keys which are in both.
+     */
+    private static <K,V> Node<K, V> _merge(
+        final Node<K, V> a,
+        final Node<K, V> b,
+        final Class<K> keyType,
+        final Class<V> valueType,
+        final ArrayItemAccess<K, Object> keyGetter,
+        final ArrayItemAccess<V, Object> valueGetter,
+        final boolean otherWins
+    ) {
+        if ( a == b || b._size == 0 )
+            return a;
+        if ( a._size == 0 )
+            return b;
+        if ( b._branches.length == 0 )
+            return _withLocalsOf(a, b, keyType, valueType, keyGetter, valueGetter, !otherWins);
+        if ( a._branches.length == 0 )
+            return _withLocalsOf(b, a, keyType, valueType, keyGetter, valueGetter, otherWins);
+        if ( a._branches.length != b._branches.length ) {
+            Node<K, V> result = a;
+            for ( Pair<K, V> entry : new AssociationImpl<>(keyType, valueType, b) )
+                result = _with(result, keyType, valueType, keyGetter, valueGetter, entry.first(), entry.first().hashCode(), entry.second(), !otherWins);
+            return result;
+        }
+        Node<K, V>[] branches = a._branches;
+        for ( int i = 0; i < branches.length; i++ ) {
+            Node<K, V> branchA = a._branches[i];
+            Node<K, V> branchB = b._branches[i];
+            Node<K, V> merged = branchA == null ? branchB : branchB == null ? branchA : _merge(branchA, branchB, keyType, valueType, keyGetter, valueGetter, otherWins);
+            if ( merged != branchA ) {
+                if ( branches == a._branches )
+                    branches = a._branches.clone();
+                branches[i] = merged;
+            }
+        }
+        if ( branches == a._branches )
+            return _withLocalsOf(a, b, keyType, valueType, keyGetter, valueGetter, !otherWins);
+
+        // Local keys of a which were stored in a branch of b are now also in the merged branches:
+        final Node<K, V>[] mergedBranches = branches;
+        final List<Pair<K, V>> displaced = new ArrayList<>(0);
+        Node<K, V> result = _withLocalsFiltered(a, keyType, valueType, keyGetter, valueGetter, mergedBranches, (key, hash, value) -> {
+            int branchIndex = _computeBranchIndex(hash, mergedBranches.length, a._depth);
+            Node<K, V> merged = mergedBranches[branchIndex];
+            if ( merged == a._branches[branchIndex] || merged == null || _get(merged, keyGetter, valueGetter, key, hash) == null )
+                return true;
+            if ( !otherWins )
+                displaced.add(Pair.of(key, value));
+            return false;
+        });
+        for ( Pair<K, V> entry : displaced )
+            result = _with(result, keyType, valueType, keyGetter, valueGetter, entry.first(), entry.first().hashCode(), entry.second(), false);
+        return _withLocalsOf(result, b, keyType, valueType, keyGetter, valueGetter, !otherWins);
+    }
+
+    /**
+     *  Keeps only those entries of the subtree whose keys pass the predicate,
+     *  where every node is only copied if it actually loses entries.
+     */
+    private static <K,V> Node<K, V> _retainIf(
+        final Node<K, V> node,
+        final Class<K> keyType,
+        final Class<V> valueType,
+        final ArrayItemAccess<K, Object> keyGetter,
+        final ArrayItemAccess<V, Object> valueGetter,
+        final Predicate<? super K> predicate
+    ) {
+        Node<K, V>[] branches = node._branches;
+        for ( int i = 0; i < branches.length; i++ ) {
+            Node<K, V> branch = node._branches[i];
+            if ( branch == null )
+                continue;
+            Node<K, V> retained = _retainIf(branch, keyType, valueType, keyGetter, valueGetter, predicate);
+            if ( retained._size == 0 )
+                retained = null;
+            if ( retained != branch ) {
+                if ( branches == node._branches )
+                    branches = node._branches.clone();
+                branches[i] = retained;
+            }
+        }
+        return _withLocalsFiltered(node, keyType, valueType, keyGetter, valueGetter, _orNoBranches(branches), (key, hash, value) -> predicate.test(key));
+    }
+
+    /**
+     *  Puts the local entries of the source node into the subtree of the target node.
+     */
+    private static <K,V> Node<K, V> _withLocalsOf(
+        final Node<K, V> target,
+        final Node<K, V> source,
+        final Class<K> keyType,
+        final Class<V> valueType,
+        final ArrayItemAccess<K, Object> keyGetter,
+        final ArrayItemAccess<V, Object> valueGetter,
+        final boolean putIfAbsent
+    ) {
+        Node<K, V> result = target;
+        final int length = source._keyHashes.length;
+        for ( int i = 0; i < length; i++ ) {
+            K key = keyGetter.get(i, source._keysArray);
+            V value = valueGetter.get(i, source._valuesArray);
+            result = _with(result, keyType, valueType, keyGetter, valueGetter, key, source._keyHashes[i], value, putIfAbsent);
+        }
+        return result;
+    }
+
+    private interface EntryFilter<K, V> {
+        boolean keep( K key, int hash, V value );
+    }
+
+    /**
+     *  Returns a node with the given branches and only those local entries
+     *  of the supplied node which pass the filter, or the node itself
+     *  if neither its branches nor its local entries change.
+     */
+    private static <K,V> Node<K, V> _withLocalsFiltered(
+        final Node<K, V> node,
+        final Class<K> keyType,
+        final Class<V> valueType,
+        final ArrayItemAccess<K, Object> keyGetter,
+        final ArrayItemAccess<V, Object> valueGetter,
+        final Node<K, V>[] branches,
+        final EntryFilter<K, V> filter
+    ) {
+        final int length = node._keyHashes.length;
+        boolean[] kept = null;
+        int numberKept = length;
+        for ( int i = 0; i < length; i++ ) {
+            K key = keyGetter.get(i, node._keysArray);
+            V value = valueGetter.get(i, node._valuesArray);
+            if ( !filter.keep(key, node._keyHashes[i], value) ) {
+                if ( kept == null ) {
+                    kept = new boolean[length];
+                    Arrays.fill(kept, true);
+                }
+                kept[i] = false;
+                numberKept--;
+            }
+        }
+        if ( kept == null ) {
+            if ( branches == node._branches )
+                return node;
+            return new Node<>(node._depth, keyType, node._keysArray, valueType, node._valuesArray, node._keyHashes, branches, false);
+        }
+        Object keys = _createArray(keyType, ALLOWS_NULL, numberKept);
+        Object values = _createArray(valueType, ALLOWS_NULL, numberKept);
+        for ( int i = 0, j = 0; i < length; i++ ) {
+            if ( kept[i] ) {
+                _setAt(j, keyGetter.get(i, node._keysArray), keys);
+                _setAt(j, valueGetter.get(i, node._valuesArray), values);
+                j++;
+            }
+        }
+        return new Node<>(node._depth, keyType, keys, valueType, values, node._keyHashes, branches, true);
+    }
+
+    private static <K,V> Node<K, V>[] _orNoBranches( Node<K, V>[] branches ) {
+        for ( Node<K, V> branch : branches ) {
+            if ( branch != null )
+                return branches;
+        }
+        return EMPTY_BRANCHES;
+    }
+
+    @Override
+    public Association<K, V> putAll( final Stream<Pair<? extends K, ? extends V>> entries ) {
+        Objects.requireNonNull(entries);
+        return _putAll(entries, false);
+    }
+
+    @Override
+    public Association<K, V> putAllIfAbsent( final Stream<Pair<? extends K, ? extends V>> entries ) {
+        Objects.requireNonNull(entries);
+        return _putAll(entries, true);
+    }
+
+    /**
+     *  Inserts all entries of the supplied stream by building every affected
+     *  node exactly once, instead of path-copying the trie spine for every
+     *  single entry. The entries are partitioned by their branch index
+     *  level by level, so that each recursive call only sees the entries
+     *  that actually end up in the subtree it is responsible for.
+     */
+    private Association<K, V> _putAll(
+        final Stream<Pair<? extends K, ? extends V>> entries,
+        final boolean putIfAbsent
+    ) {
+        final Object[] pairs = entries.toArray();
+        if ( pairs.length == 0 )
+            return this;
+        final BulkBatch batch = new BulkBatch(pairs.length);
+        for ( int i = 0; i < pairs.length; i++ ) {
+            Pair<?, ?> pair = Objects.requireNonNull((Pair<?, ?>) pairs[i]);
+            Object key = Objects.requireNonNull(pair.first());
+            Object value = Objects.requireNonNull(pair.second());
+            if ( !_keyType.isAssignableFrom(key.getClass()) ) {
+                throw new IllegalArgumentException(
+                        "The given key '" + key + "' is of type '" + key.getClass().getSimpleName() + "', " +
+                        "instead of the expected type '" + _keyType + "'."
+                    );
+            }
+            if ( !_valueType.isAssignableFrom(value.getClass()) ) {
+                throw new IllegalArgumentException(
+                        "The given value '" + value + "' is of type '" + value.getClass().getSimpleName() + "', " +
+                        "instead of the expected type '" + _valueType + "'."
+                    );
+            }
+            batch.keys[i] = key;
+            batch.values[i] = value;
+            batch.hashes[i] = key.hashCode();
+            batch.order[i] = i;
+        }
+        return _withNewRoot(_withAll(_root, _keyType, _valueType, _keyGetter, _valueGetter, batch, 0, pairs.length, putIfAbsent));
+    }
+
+    /**
+     *  The scratch state of a bulk insert, where {@code order} holds the indices of the
+     *  entries which still need to be inserted. A recursive call to
+     *  {@link #_withAll} owns a range of the {@code order} array and reorders
+     *  it in place (stable, so later duplicates still win over earlier ones).
+     */
+    private static final class BulkBatch {
+        final Object[] keys;
+        final Object[] values;
+        final int[] hashes;
+        final int[] order;
+        final int[] buffer;
+
+        BulkBatch( int size ) {
+            keys = new Object[size];
+            values = new Object[size];
+            hashes = new int[size];
+            order = new int[size];
+            buffer = new int[size];
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K,V> Node<K, V> _withAll(
+        final Node<K, V> node,
+        final Class<K> keyType,
+        final Class<V> valueType,
+        final ArrayItemAccess<K, Object> keyGetter,
+        final ArrayItemAccess<V, Object> valueGetter,
+        final BulkBatch batch,
+        final int from,
+        final int to,
+        final boolean putIfAbsent
+    ) {
+        final int depth = node._depth;
+        final int[] order = batch.order;
+        final int localLength = _length(node._keysArray);
+        // First we update the entries which are already stored locally:
+        Object valuesArray = node._valuesArray;
+        int pendingEnd = from;
+        for ( int i = from; i < to; i++ ) {
+            final int entry = order[i];
+            final int index = _findValidIndexFor(node, keyGetter, (K) batch.keys[entry], batch.hashes[entry]);
+            if ( index < 0 || index >= localLength ) {
+                order[pendingEnd++] = entry;
+            } else if ( !putIfAbsent && !Objects.equals(valueGetter.get(index, valuesArray), batch.values[entry]) ) {
+                if ( valuesArray == node._valuesArray )
+                    valuesArray = _clone(node._valuesArray, valueType, ALLOWS_NULL);
+                _setAt(index, batch.values[entry], valuesArray);
+            }
+        }
+        Object keysArray = node._keysArray;
+        Node<K, V>[] branches = node._branches;
+        boolean rebuild = false;
+        if ( pendingEnd > from && branches.length == 0 ) {
+            // We fill up the local storage of this node, just like a sequence of single puts would:
+            final int room = _maxEntriesForThisNode(node) - localLength;
+            if ( room > 0 ) {
+                final int claimed = _claimDistinct(batch, from, pendingEnd, room, putIfAbsent);
+                final int newLength = localLength + claimed;
+                Object newKeysArray = _createArray(keyType, ALLOWS_NULL, newLength);
+                Object newValuesArray = _createArray(valueType, ALLOWS_NULL, newLength);
+                System.arraycopy(keysArray, 0, newKeysArray, 0, localLength);
+                System.arraycopy(valuesArray, 0, newValuesArray, 0, localLength);
+                for ( int i = 0; i < claimed; i++ ) {
+                    final int entry = order[from + i];
+                    _setAt(localLength + i, batch.keys[entry], newKeysArray);
+                    _setAt(localLength + i, batch.values[entry], newValuesArray);
+                }
+                keysArray = newKeysArray;
+                valuesArray = newValuesArray;
+                rebuild = true;
+                // The claimed entries and their duplicates are done, we continue with the rest:
+                int write = from;
+                for ( int i = from + claimed; i < pendingEnd; i++ ) {
+                    if ( order[i] >= 0 )
+                        order[write++] = order[i];
+                }
+                pendingEnd = write;
+            }
+            if ( pendingEnd > from ) {
+                // This is where the tree grows
+                branches = new Node[_minBranchingPerNode(node)];
+            }
+        }
+        if ( pendingEnd > from ) {
+            final Node<K, V>[] originalBranches = branches;
+            final int numberOfBranches = branches.length;
+            final int[] bucketStarts = _partitionByBranch(batch, from, pendingEnd, numberOfBranches, depth);
+            for ( int branchIndex = 0; branchIndex < numberOfBranches; branchIndex++ ) {
+                final int bucketFrom = bucketStarts[branchIndex];
+                final int bucketTo = bucketStarts[branchIndex + 1];
+                if ( bucketFrom == bucketTo )
+                    continue;
+                @Nullable Node<K, V> branch = branches[branchIndex];
+                Node<K, V> newBranch = _withAll(
+                                            branch != null ? branch : _emptyNode(depth + 1, keyType, valueType),
+                                            keyType, valueType, keyGetter, valueGetter,
+                                            batch, bucketFrom, bucketTo, putIfAbsent
+                                        );
+                if ( !Util.refEquals(newBranch, branch) ) {
+                    if ( branches == originalBranches && originalBranches == node._branches )
+                        branches = branches.clone();
+                    branches[branchIndex] = newBranch;
+                }
+            }
+        }
+        if ( keysArray == node._keysArray && valuesArray == node._valuesArray && branches == node._branches )
+            return node;
+        return new Node<>(depth, keyType, keysArray, valueType, valuesArray, node._keyHashes, branches, rebuild);
+    }
+
+    /**
+     *  Moves up to {@code limit} entries with distinct keys from the pending range
+     *  {@code [from, to)} to its front and returns how many were claimed.
+     *  Every other occurrence of a claimed key is merged into the claimed
+     *  entry (last one wins, or first one wins for "put if absent") and
+     *  then marked as consumed by setting its order slot to {@code -1}.
+     */
+    private static int _claimDistinct(
+        final BulkBatch batch,
+        final int from,
+        final int to,
+        final int limit,
+        final boolean putIfAbsent
+    ) {
+        final int[] order = batch.order;
+        int claimed = 0;
+        for ( int i = from; i < to && claimed < limit; i++ ) {
+            final int entry = order[i];
+            if ( entry < 0 )
+                continue;
+            final Object key = batch.keys[entry];
+            final int hash = batch.hashes[entry];
+            for ( int j = i + 1; j < to; j++ ) {
+                final int other = order[j];
+                if ( other >= 0 && batch.hashes[other] == hash && key.equals(batch.keys[other]) ) {
+                    if ( !putIfAbsent )
+                        batch.values[entry] = batch.values[other];
+                    order[j] = -1;
+                }
+            }
+            order[i] = -1;
+            order[from + claimed] = entry;
+            claimed++;
+        }
+        return claimed;
+    }
+
+    /**
+     *  Stably reorders the range {@code [from, to)} of the batch so that the entries
+     *  are grouped by the branch they belong to, and returns the start offsets
+     *  of each group (with one additional trailing offset marking the end).
+     */
+    private static int[] _partitionByBranch(
+        final BulkBatch batch,
+        final int from,
+        final int to,
+        final int numberOfBranches,
+        final int depth
+    ) {
+        final int[] order = batch.order;
+        final int[] buffer = batch.buffer;
+        final int[] starts = new int[numberOfBranches + 1];
+        for ( int i = from; i < to; i++ )
+            starts[_computeBranchIndex(batch.hashes[order[i]], numberOfBranches, depth) + 1]++;
+        starts[0] = from;
+        for ( int i = 1; i <= numberOfBranches; i++ )
+            starts[i] += starts[i - 1];
+        final int[] cursors = Arrays.copyOf(starts, numberOfBranches);
+        for ( int i = from; i < to; i++ ) {
+            final int entry = order[i];
+            buffer[cursors[_computeBranchIndex(batch.hashes[entry], numberOfBranches, depth)]++] = entry;
+        }
+        System.arraycopy(buffer, from, order, from, to - from);
+        return starts;
+    }
+
+    private static <K,V> Node<K, V> _emptyNode( final int depth, final Class<K> keyType, final Class<V> valueType ) {
+        return new Node<>(
+                    depth, keyType,
+                    _createArray(keyType, ALLOWS_NULL, 0),
+                    valueType,
+                    _createArray(valueType, ALLOWS_NULL, 0),
+                    new int[0],
+                    EMPTY_BRANCHES, false
+                );
+    }
+
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
@@ -624,6 +1107,8 @@ final class AssociationImpl<K, V> implements Association<K, V> {
             }
             if ( other instanceof AssociationImpl) {
                 AssociationImpl<K, V> otherImpl = (AssociationImpl) other;
+                if ( knownToDifferFrom(otherImpl) )
+                    return false;
                 return _recursiveEquals(_root, otherImpl._root, keyType(), valueType());
             } else if ( other.isLinked() == this.isLinked() && other.isSorted() == this.isSorted()) {
                 return this.toMap().equals(other.toMap());
@@ -678,32 +1163,43 @@ final class AssociationImpl<K, V> implements Association<K, V> {
 
     @Override
     public int hashCode() {
-        Integer cached = _cachedHashCode.get();
-        if ( cached != null ) {
-            return cached;
-        }
-        int result = Long.hashCode(_recursiveHashCode(_root));
-        _cachedHashCode.set(result);
-        return result;
+        return Long.hashCode(_hashOf(_root));
     }
 
-    private static <K,V> long _recursiveHashCode(Node<K, V> node) {
-        long baseHash = 0; // -> full 64 bit improve hash distribution
+    /**
+     *  Tells if the hash codes of this and the other association were
+     *  both computed already and differ, in which case they cannot be equal
+     *  and there is no need to compare their contents.
+     */
+    boolean knownToDifferFrom( AssociationImpl<?, ?> other ) {
+        long thisHash = _root._hash;
+        long otherHash = other._root._hash;
+        return thisHash != 0 && otherHash != 0 && thisHash != otherHash;
+    }
+
+    /**
+     *  Computes the order independent hash of the entries of the given subtree,
+     *  which is cached in the node. Branches are shared between the versions
+     *  of an association, so for a new version only the nodes along
+     *  the copied path need to compute their hash.
+     */
+    private static <K,V> long _hashOf(Node<K, V> node) {
+        long baseHash = node._hash;
+        if ( baseHash != 0 )
+            return baseHash;
+        // -> full 64 bit improve hash distribution
         for (int i = 0; i < node._keyHashes.length; i++) {
-            baseHash += _fullKeyPairHash(node._keyHashes[i], Array.get(node._valuesArray, i));
+            baseHash += _combine(node._keyHashes[i], _hashCodeAt(i, node._valuesArray));
         }
         for (Node<K, V> branch : node._branches) {
             if ( branch != null ) {
-                baseHash += _recursiveHashCode(branch);
+                baseHash += _hashOf(branch);
             }
         }
+        node._hash = baseHash;
         return baseHash;
     }
 
-    private static long _fullKeyPairHash( int keyHash, Object value ) {
-        return _combine(keyHash, value.hashCode());
-    }
-
     private static long _combine( int first32Bits, int last32Bits ) {
         return (long) first32Bits << 32 | (last32Bits & 0xFFFFFFFFL);
     }
@@ -729,13 +1225,308 @@ final class AssociationImpl<K, V> implements Association<K, V> {
 
     @Override
     public Spliterator<Pair<K, V>> spliterator() {
-        return Spliterators.spliterator(iterator(), _root._size,
-                Spliterator.DISTINCT |
-                Spliterator.SIZED    |
-                Spliterator.SUBSIZED |
-                Spliterator.NONNULL  |
-                Spliterator.IMMUTABLE
-        );
+        return new AssociationSpliterator<>(_keyGetter, _valueGetter, _root);
+    }
+
+    /**
+     *  A spliterator which splits along the branches of the trie, handing whole
+     *  subtrees to the split-off spliterators. Since the entries of a node are
+     *  stored in plain arrays, every subtree is then traversed sequentially
+     *  without any additional allocations besides the pairs themselves.
+     */
+    private static final class AssociationSpliterator<K, V> implements Spliterator<Pair<K, V>>
+    {
+        private final ArrayItemAccess<K,Object> _keyGetter;
+        private final ArrayItemAccess<V,Object> _valueGetter;
+        // Subtrees which still need to be traversed, including their local entries:
+        private final ArrayDeque<Node<K, V>> _pendingNodes;
+        // The node whose local entries are currently being traversed:
+        private @Nullable Node<K, V> _currentNode = null;
+        private int _currentIndex = 0;
+        private int _currentLength = 0;
+        private long _remaining;
+
+        AssociationSpliterator(
+            ArrayItemAccess<K,Object> keyGetter,
+            ArrayItemAccess<V,Object> valueGetter,
+            Node<K, V> root
+        ) {
+            this(keyGetter, valueGetter, new ArrayDeque<>(), root._size);
+            if ( root._size > 0 )
+                _pendingNodes.add(root);
+        }
+
+        private AssociationSpliterator(
+            ArrayItemAccess<K,Object> keyGetter,
+            ArrayItemAccess<V,Object> valueGetter,
+            ArrayDeque<Node<K, V>> pendingNodes,
+            long size
+        ) {
+            _keyGetter = keyGetter;
+            _valueGetter = valueGetter;
+            _pendingNodes = pendingNodes;
+            _remaining = size;
+        }
+
+        private void _enter(Node<K, V> node) {
+            _currentNode = node;
+            _currentIndex = 0;
+            _currentLength = _length(node._keysArray);
+            for ( Node<K, V> branch : node._branches ) {
+                if ( branch != null && branch._size > 0 )
+                    _pendingNodes.push(branch);
+            }
+        }
+
+        @Override
+        public @Nullable Spliterator<Pair<K, V>> trySplit() {
+            if ( _pendingNodes.size() == 1 && _currentIndex >= _currentLength )
+                _enter(_pendingNodes.pop());
+            boolean hasLocalEntries = _currentIndex < _currentLength;
+            ArrayDeque<Node<K, V>> prefix = new ArrayDeque<>();
+            long prefixSize = 0;
+            long halfSize = _remaining / 2;
+            while ( !_pendingNodes.isEmpty() && prefixSize < halfSize && ( _pendingNodes.size() > 1 || hasLocalEntries ) ) {
+                Node<K, V> node = _pendingNodes.pollLast();
+                prefix.add(node);
+                prefixSize += node._size;
+            }
+            if ( prefix.isEmpty() )
+                return null;
+            _remaining -= prefixSize;
+            return new AssociationSpliterator<>(_keyGetter, _valueGetter, prefix, prefixSize);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Pair<K, V>> action) {
+            while ( _currentIndex >= _currentLength ) {
+                if ( _pendingNodes.isEmpty() )
+                    return false;
+                _enter(_pendingNodes.pop());
+            }
+            Node<K, V> node = Objects.requireNonNull(_currentNode);
+            K key = _keyGetter.get(_currentIndex, node._keysArray);
+            V value = _valueGetter.get(_currentIndex, node._valuesArray);
+            _currentIndex++;
+            _remaining--;
+            action.accept(Pair.of(key, value));
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super Pair<K, V>> action) {
+            Node<K, V> node = _currentNode;
+            if ( node != null ) {
+                for ( int i = _currentIndex; i < _currentLength; i++ )
+                    action.accept(Pair.of(_keyGetter.get(i, node._keysArray), _valueGetter.get(i, node._valuesArray)));
+                _currentIndex = _currentLength;
+            }
+            while ( !_pendingNodes.isEmpty() )
+                _forEachIn(_pendingNodes.pop(), action);
+            _remaining = 0;
+        }
+
+        private void _forEachIn(Node<K, V> node, Consumer<? super Pair<K, V>> action) {
+            final Object keys = node._keysArray;
+            final Object values = node._valuesArray;
+            final int length = _length(keys);
+            for ( int i = 0; i < length; i++ )
+                action.accept(Pair.of(_keyGetter.get(i, keys), _valueGetter.get(i, values)));
+            for ( Node<K, V> branch : node._branches ) {
+                if ( branch != null && branch._size > 0 )
+                    _forEachIn(branch, action);
+            }
+        }
+
+        @Override
+        public long estimateSize() {
+            return _remaining;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.DISTINCT |
+                   Spliterator.SIZED    |
+                   Spliterator.SUBSIZED |
+                   Spliterator.NONNULL  |
+                   Spliterator.IMMUTABLE;
+        }
+    }
+
+    @Override
+    public void forEachEntry( BiConsumer<? super K, ? super V> action ) {
+        Objects.requireNonNull(action);
+        if ( _root._size > 0 )
+            _forEachIn(_root, _keyGetter, _valueGetter, action);
+    }
+
+    private static <K, V> void _forEachIn(
+        final Node<K, V> node,
+        final ArrayItemAccess<K, Object> keyGetter,
+        final ArrayItemAccess<V, Object> valueGetter,
+        final BiConsumer<? super K, ? super V> action
+    ) {
+        final Object keys = node._keysArray;
+        final Object values = node._valuesArray;
+        final int length = _length(keys);
+        for ( int i = 0; i < length; i++ )
+            action.accept(keyGetter.get(i, keys), valueGetter.get(i, values));
+        for ( Node<K, V> branch : node._branches ) {
+            if ( branch != null && branch._size > 0 )
+                _forEachIn(branch, keyGetter, valueGetter, action);
+        }
+    }
+
+    /**
+     *  Passes the entries of all subtrees of this association which are not shared with the supplied
+     *  association to {@code ownEntries}, and the entries of all such subtrees of the other association
+     *  to {@code otherEntries}. Every entry in which the two associations differ is guaranteed
+     *  to be passed, but unchanged entries may also be passed if they are stored in a node
+     *  which was copied, so the receivers have to check the entries against the other association.
+     *  This is what {@link AssociationDiff} uses to find the changes between two versions
+     *  of an association without visiting the entries which both versions share.
+     */
+    void forEachEntryNotSharedWith(
+        final AssociationImpl<K, V> other,
+        final BiConsumer<? super K, ? super V> ownEntries,
+        final BiConsumer<? super K, ? super V> otherEntries
+    ) {
+        _forEachEntryNotShared(_root, other._root, _keyGetter, _valueGetter, ownEntries, otherEntries);
+    }
+
+    private static <K, V> void _forEachEntryNotShared(
+        final Node<K, V> a,
+        final Node<K, V> b,
+        final ArrayItemAccess<K, Object> keyGetter,
+        final ArrayItemAccess<V, Object> valueGetter,
+        final BiConsumer<? super K, ? super V> aEntries,
+        final BiConsumer<? super K, ? super V> bEntries
+    ) {
+        if ( a == b )
+            return;
+        _forEachLocalIn(a, keyGetter, valueGetter, aEntries);
+        _forEachLocalIn(b, keyGetter, valueGetter, bEntries);
+        final int numberOfBranches = Math.max(a._branches.length, b._branches.length);
+        for ( int i = 0; i < numberOfBranches; i++ ) {
+            Node<K, V> aBranch = i < a._branches.length ? a._branches[i] : null;
+            Node<K, V> bBranch = i < b._branches.length ? b._branches[i] : null;
+            if ( aBranch == bBranch )
+                continue;
+            if ( bBranch == null || bBranch._size == 0 ) {
+                if ( aBranch != null && aBranch._size > 0 )
+                    _forEachIn(aBranch, keyGetter, valueGetter, aEntries);
+            }
+            else if ( aBranch == null || aBranch._size == 0 )
+                _forEachIn(bBranch, keyGetter, valueGetter, bEntries);
+            else
+                _forEachEntryNotShared(aBranch, bBranch, keyGetter, valueGetter, aEntries, bEntries);
+        }
+    }
+
+    private static <K, V> void _forEachLocalIn(
+        final Node<K, V> node,
+        final ArrayItemAccess<K, Object> keyGetter,
+        final ArrayItemAccess<V, Object> valueGetter,
+        final BiConsumer<? super K, ? super V> action
+    ) {
+        final Object keys = node._keysArray;
+        final Object values = node._valuesArray;
+        final int length = _length(keys);
+        for ( int i = 0; i < length; i++ )
+            action.accept(keyGetter.get(i, keys), valueGetter.get(i, values));
+    }
+
+    @Override
+    public void forEachKey( Consumer<? super K> action ) {
+        Objects.requireNonNull(action);
+        if ( _root._size > 0 )
+            _forEachItemIn(_root, true, _keyGetter, action);
+    }
+
+    @Override
+    public void forEachValue( Consumer<? super V> action ) {
+        Objects.requireNonNull(action);
+        if ( _root._size > 0 )
+            _forEachItemIn(_root, false, _valueGetter, action);
+    }
+
+    private static <T> void _forEachItemIn(
+        final Node<?, ?> node,
+        final boolean keys,
+        final ArrayItemAccess<T, Object> itemGetter,
+        final Consumer<? super T> action
+    ) {
+        final Object items = keys ? node._keysArray : node._valuesArray;
+        final int length = _length(items);
+        for ( int i = 0; i < length; i++ )
+            action.accept(itemGetter.get(i, items));
+        for ( Node<?, ?> branch : node._branches ) {
+            if ( branch != null && branch._size > 0 )
+                _forEachItemIn(branch, keys, itemGetter, action);
+        }
+    }
+
+    @Override
+    public EntryCursor<K, V> cursor() {
+        return new AssociationCursor<>(this);
+    }
+
+    /**
+     *  Walks over the entries in the same order as the {@link AssociationIterator},
+     *  but reads the key and value of the current entry straight from the
+     *  arrays of its node instead of creating a {@link Pair} for it.
+     */
+    private static final class AssociationCursor<K, V> implements EntryCursor<K, V>
+    {
+        private final ArrayItemAccess<K,Object> _keyGetter;
+        private final ArrayItemAccess<V,Object> _valueGetter;
+        private @Nullable IteratorFrame<K, V> _currentFrame = null;
+        private @Nullable Node<K, V> _currentNode = null;
+        private int _currentIndex = -1;
+
+        AssociationCursor( AssociationImpl<K, V> association ) {
+            _keyGetter = association._keyGetter;
+            _valueGetter = association._valueGetter;
+            if ( association._root._size > 0 )
+                _currentFrame = new IteratorFrame<>(null, association._root);
+        }
+
+        @Override
+        public boolean next() {
+            while ( _currentFrame != null ) {
+                IteratorFrame<K, V> frame = _currentFrame;
+                if ( frame.arrayIndex < frame.arrayLength ) {
+                    _currentNode = frame.node;
+                    _currentIndex = frame.arrayIndex++;
+                    return true;
+                }
+                if ( frame.branchIndex < frame.branchesLength ) {
+                    Node<K, V> branch = frame.node._branches[frame.branchIndex++];
+                    if ( branch != null && branch._size > 0 )
+                        _currentFrame = new IteratorFrame<>(frame, branch);
+                    continue;
+                }
+                _currentFrame = frame.parent;
+            }
+            _currentNode = null;
+            return false;
+        }
+
+        @Override
+        public K key() {
+            Node<K, V> node = _currentNode;
+            if ( node == null )
+                throw new NoSuchElementException();
+            return _keyGetter.get(_currentIndex, node._keysArray);
+        }
+
+        @Override
+        public V value() {
+            Node<K, V> node = _currentNode;
+            if ( node == null )
+                throw new NoSuchElementException();
+            return _valueGetter.get(_currentIndex, node._valuesArray);
+        }
     }
 
     @Override
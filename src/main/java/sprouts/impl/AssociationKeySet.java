@@ -0,0 +1,151 @@
+package sprouts.impl;
+
+import org.jspecify.annotations.Nullable;
+import sprouts.Association;
+import sprouts.Pair;
+import sprouts.ValueSet;
+
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ *  A read-only view of the keys of an {@link Association}, which is created in constant time
+ *  and answers all read operations directly from the association it was created from.
+ *  Only once it is modified, or compared to another value set, it materializes
+ *  into a regular {@link ValueSet} with the same ordering as the association,
+ *  which is then used for all further operations on this view.
+ *  Since associations are immutable, the view can never get out of sync with them.
+ *
+ * @param <K> The type of the keys of the association.
+ */
+final class AssociationKeySet<K> implements ValueSet<K>
+{
+    private final Association<K, ?>     _association;
+    private final Supplier<ValueSet<K>> _materializer;
+    private volatile @Nullable ValueSet<K> _materialized = null;
+
+
+    AssociationKeySet( Association<K, ?> association, Supplier<ValueSet<K>> materializer ) {
+        _association  = Objects.requireNonNull(association);
+        _materializer = Objects.requireNonNull(materializer);
+    }
+
+    /**
+     * @return A regular value set with the same keys as this view, which is only built once.
+     */
+    ValueSet<K> materialized() {
+        ValueSet<K> materialized = _materialized;
+        if ( materialized == null ) {
+            materialized = _materializer.get();
+            _materialized = materialized;
+        }
+        return materialized;
+    }
+
+    @Override
+    public int size() {
+        return _association.size();
+    }
+
+    @Override
+    public boolean isLinked() {
+        return _association.isLinked();
+    }
+
+    @Override
+    public boolean isSorted() {
+        return _association.isSorted();
+    }
+
+    @Override
+    public Class<K> type() {
+        return _association.keyType();
+    }
+
+    @Override
+    public boolean contains( K element ) {
+        return _association.containsKey(element);
+    }
+
+    @Override
+    public ValueSet<K> add( K element ) {
+        if ( _association.containsKey(element) )
+            return this;
+        return materialized().add(element);
+    }
+
+    @Override
+    public ValueSet<K> addAll( Stream<? extends K> elements ) {
+        return materialized().addAll(elements);
+    }
+
+    @Override
+    public ValueSet<K> remove( K element ) {
+        if ( !_association.containsKey(element) )
+            return this;
+        return materialized().remove(element);
+    }
+
+    @Override
+    public ValueSet<K> removeAll( Stream<? extends K> elements ) {
+        return materialized().removeAll(elements);
+    }
+
+    @Override
+    public ValueSet<K> retainAll( Set<? extends K> elements ) {
+        return materialized().retainAll(elements);
+    }
+
+    @Override
+    public <V extends K> ValueSet<V> retainIf( Class<V> type ) {
+        return materialized().retainIf(type);
+    }
+
+    @Override
+    public ValueSet<K> clear() {
+        return materialized().clear();
+    }
+
+    @Override
+    public Iterator<K> iterator() {
+        Iterator<? extends Pair<K, ?>> entries = _association.iterator();
+        return new Iterator<K>() {
+            @Override
+            public boolean hasNext() {
+                return entries.hasNext();
+            }
+            @Override
+            public K next() {
+                return entries.next().first();
+            }
+        };
+    }
+
+    @Override
+    public void forEach( Consumer<? super K> action ) {
+        _association.forEachKey(action);
+    }
+
+    @Override
+    public String toString() {
+        return materialized().toString();
+    }
+
+    @Override
+    public boolean equals( Object obj ) {
+        if ( obj == this )
+            return true;
+        if ( obj instanceof AssociationKeySet )
+            obj = ((AssociationKeySet<?>) obj).materialized();
+        return materialized().equals(obj);
+    }
+
+    @Override
+    public int hashCode() {
+        return materialized().hashCode();
+    }
+}
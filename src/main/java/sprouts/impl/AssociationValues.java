@@ -0,0 +1,183 @@
+package sprouts.impl;
+
+import org.jspecify.annotations.Nullable;
+import sprouts.Association;
+import sprouts.Pair;
+import sprouts.Tuple;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ *  A read-only view of the values of an {@link Association}, which is created in constant time
+ *  and iterates over the values directly from the association it was created from.
+ *  Only once it is accessed by index, modified, or compared to another tuple,
+ *  it materializes into a regular {@link Tuple} holding the values in iteration order,
+ *  which is then used for all further operations on this view.
+ *  Since associations are immutable, the view can never get out of sync with them.
+ *
+ * @param <V> The type of the values of the association.
+ */
+final class AssociationValues<V> implements Tuple<V>
+{
+    private final Association<?, V>  _association;
+    private final Supplier<Tuple<V>> _materializer;
+    private volatile @Nullable Tuple<V> _materialized = null;
+
+
+    AssociationValues( Association<?, V> association, Supplier<Tuple<V>> materializer ) {
+        _association  = Objects.requireNonNull(association);
+        _materializer = Objects.requireNonNull(materializer);
+    }
+
+    /**
+     * @return A regular tuple with the same values as this view, which is only built once.
+     */
+    Tuple<V> materialized() {
+        Tuple<V> materialized = _materialized;
+        if ( materialized == null ) {
+            materialized = _materializer.get();
+            _materialized = materialized;
+        }
+        return materialized;
+    }
+
+    @Override
+    public Class<V> type() {
+        return _association.valueType();
+    }
+
+    @Override
+    public int size() {
+        return _association.size();
+    }
+
+    @Override
+    public V get( int index ) {
+        return materialized().get(index);
+    }
+
+    @Override
+    public boolean allowsNull() {
+        return false;
+    }
+
+    @Override
+    public Tuple<V> slice( int from, int to ) {
+        return materialized().slice(from, to);
+    }
+
+    @Override
+    public Tuple<V> removeRange( int from, int to ) {
+        return materialized().removeRange(from, to);
+    }
+
+    @Override
+    public Tuple<V> removeIf( Predicate<V> predicate ) {
+        return materialized().removeIf(predicate);
+    }
+
+    @Override
+    public Tuple<V> retainIf( Predicate<V> predicate ) {
+        return materialized().retainIf(predicate);
+    }
+
+    @Override
+    public Tuple<V> addAt( int index, V item ) {
+        return materialized().addAt(index, item);
+    }
+
+    @Override
+    public Tuple<V> setAt( int index, V item ) {
+        return materialized().setAt(index, item);
+    }
+
+    @Override
+    public Tuple<V> addAllAt( int index, Tuple<V> tuple ) {
+        return materialized().addAllAt(index, tuple);
+    }
+
+    @Override
+    public Tuple<V> setAllAt( int index, Tuple<V> tuple ) {
+        return materialized().setAllAt(index, tuple);
+    }
+
+    @Override
+    public Tuple<V> retainAll( Tuple<V> tuple ) {
+        return materialized().retainAll(tuple);
+    }
+
+    @Override
+    public Tuple<V> clear() {
+        return materialized().clear();
+    }
+
+    @Override
+    public Tuple<V> map( Function<V, V> mapper ) {
+        return materialized().map(mapper);
+    }
+
+    @Override
+    public <U extends @Nullable Object> Tuple<U> mapTo( Class<U> type, Function<V, U> mapper ) {
+        return materialized().mapTo(type, mapper);
+    }
+
+    @Override
+    public Tuple<V> sort( Comparator<V> comparator ) {
+        return materialized().sort(comparator);
+    }
+
+    @Override
+    public Tuple<V> makeDistinct() {
+        return materialized().makeDistinct();
+    }
+
+    @Override
+    public Tuple<V> reversed() {
+        return materialized().reversed();
+    }
+
+    @Override
+    public Iterator<V> iterator() {
+        Iterator<? extends Pair<?, V>> entries = _association.iterator();
+        return new Iterator<V>() {
+            @Override
+            public boolean hasNext() {
+                return entries.hasNext();
+            }
+            @Override
+            public V next() {
+                return entries.next().second();
+            }
+        };
+    }
+
+    @Override
+    public void forEach( Consumer<? super V> action ) {
+        _association.forEachValue(action);
+    }
+
+    @Override
+    public String toString() {
+        return materialized().toString();
+    }
+
+    @Override
+    public boolean equals( Object obj ) {
+        if ( obj == this )
+            return true;
+        if ( obj instanceof AssociationValues )
+            obj = ((AssociationValues<?>) obj).materialized();
+        return materialized().equals(obj);
+    }
+
+    @Override
+    public int hashCode() {
+        return materialized().hashCode();
+    }
+}
@@ -0,0 +1,137 @@
+package sprouts.impl;
+
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import sprouts.*;
+
+import java.lang.ref.WeakReference;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ *  Computes the item of a view off the thread which changes the source property.
+ *  The source property stays on its owner thread: every change event merely records
+ *  the new source item as the latest request and schedules a computation on the executor,
+ *  unless one is already pending (conflation, latest-wins).
+ *  The computation runs the mapper on the executor's thread and publishes the result
+ *  into a regular property there, so the listeners of the view also run on that thread.
+ *  If a newer request arrived while the mapper was running, the stale result is discarded
+ *  and the computation for the newer request, which was scheduled in the meantime, takes over.<br>
+ *  This is the counterpart of the views created through {@link Guarded#viewOn(Executor)},
+ *  with the difference that the expensive part, the mapping, also happens on the executor.
+ *  <p>
+ *  The view property is only referenced weakly, so once it is dropped,
+ *  it is garbage collected and the registration on the source is cleaned up.
+ *
+ * @param <S> The type of the item of the source property.
+ * @param <T> The type of the item of the view.
+ */
+final class AsyncPropertyView<S extends @Nullable Object, T>
+{
+    private static final Logger log = org.slf4j.LoggerFactory.getLogger(AsyncPropertyView.class);
+
+    public static <S extends @Nullable Object, T> Viewable<T> of(
+        Executor                 executor,
+        T                        nullObject,
+        T                        errorObject,
+        Val<S>                   source,
+        Function<S, @Nullable T> mapper
+    ) {
+        Objects.requireNonNull(executor);
+        Objects.requireNonNull(nullObject);
+        Objects.requireNonNull(errorObject);
+        Objects.requireNonNull(source);
+        Objects.requireNonNull(mapper);
+
+        Function<S, T> nonNullMapper = Util.nonNullMapper(log, nullObject, errorObject, mapper);
+        Var<T> property = Var.of(Util.expectedClassFromItem(nullObject), nullObject);
+        AsyncPropertyView<S, T> async = new AsyncPropertyView<>(executor, nonNullMapper, property);
+        if ( source.isMutable() )
+            Viewable.cast(source).onChange(From.ALL, WeakAction.of(property, (innerProperty, v) -> {
+                async._request(v.currentValue().orElseNull());
+            }));
+        async._request(source.orElseNull());
+        return Viewable.cast(property);
+    }
+
+    /**
+     *  The source item for which the view should be computed, together with a sequence number
+     *  which tells a running computation whether it was overtaken by a newer request.
+     */
+    private static final class Request<S> {
+        final @Nullable S item;
+        final long        sequence;
+
+        Request( @Nullable S item, long sequence ) {
+            this.item     = item;
+            this.sequence = sequence;
+        }
+    }
+
+
+    private final Executor                      _executor;
+    private final Function<S, T>                _mapper;
+    private final WeakReference<Var<T>>         _propertyRef;
+    private final AtomicReference<Request<S>>   _latest = new AtomicReference<>(new Request<>(null, 0));
+    /** {@code true} while a computation is already queued on the executor; coalesces bursts. */
+    private final AtomicBoolean                 _scheduled = new AtomicBoolean(false);
+
+
+    private AsyncPropertyView( Executor executor, Function<S, T> mapper, Var<T> property ) {
+        _executor    = executor;
+        _mapper      = mapper;
+        _propertyRef = new WeakReference<>(property);
+    }
+
+    /**
+     *  Called on the thread which changed the source property.
+     *  It never waits for the computation, it only records the new source item
+     *  and schedules a computation if none is pending.
+     */
+    private void _request( @Nullable S sourceItem ) {
+        Request<S> previous;
+        do {
+            previous = _latest.get();
+        } while ( !_latest.compareAndSet(previous, new Request<>(sourceItem, previous.sequence + 1)) );
+
+        if ( _executor instanceof ExecutorService && ((ExecutorService) _executor).isShutdown() ) {
+            log.debug(Sprouts.factory().loggingMarker(), "Skipping an asynchronous view update: its executor has been shut down.");
+            return;
+        }
+        if ( _scheduled.compareAndSet(false, true) ) {
+            try {
+                _executor.execute(this::_compute);
+            } catch ( RejectedExecutionException rejected ) {
+                _scheduled.set(false);
+                log.debug(Sprouts.factory().loggingMarker(), "Skipping an asynchronous view update: its executor rejected the computation (likely shut down).", rejected);
+            }
+        }
+    }
+
+    /** Runs on the executor's thread: computes and publishes the item for the latest request. */
+    private void _compute() {
+        // Clear the flag BEFORE reading the request, so that any request racing us
+        // schedules a fresh computation and no source item can be lost.
+        _scheduled.set(false);
+        if ( _propertyRef.get() == null )
+            return; // The view was dropped, so there is nobody to compute for.
+        Request<S> request = _latest.get();
+        T item = _mapper.apply(request.item);
+        if ( _latest.get().sequence != request.sequence )
+            return; // Overtaken by a newer source item, whose computation is already scheduled.
+        Var<T> property = _propertyRef.get();
+        if ( property == null )
+            return;
+        try {
+            property.set(item);
+        } catch ( Throwable e ) {
+            Util.sneakyThrowExceptionIfFatal(e);
+            Util._logError(log, "Failed to publish a new item to an asynchronous view.", e);
+        }
+    }
+}
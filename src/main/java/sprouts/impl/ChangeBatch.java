@@ -0,0 +1,158 @@
+package sprouts.impl;
+
+import org.jspecify.annotations.Nullable;
+import sprouts.Channel;
+import sprouts.SingleChange;
+import sprouts.Val;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ *  Collects the change events of properties which were modified during
+ *  a {@link Sprouts#batch(Runnable)} call on the current thread.
+ *  While a batch is running, the items of properties are updated right away,
+ *  but their change events are held back. Once the outermost batch completes,
+ *  every modified property fires a single change event, based on the item it had
+ *  before its first modification and the item it has after its last modification.
+ *  Properties which end up with their original item do not fire at all.<br>
+ *  The batch keeps the {@link ViewPropagation} of its thread open until it completes.
+ *  A held back change still lets the views derived from the property mark themselves as dirty,
+ *  and reading a view within the batch recomputes the dirty views right away (see {@link ViewPropagation#updateNow(Object)}),
+ *  while their change events are held back like any other. The views which are still dirty when the batch completes
+ *  are recomputed once, before the held back events are delivered, so views depending
+ *  on multiple modified properties are not recomputed for each of them.
+ *  <br> <br>
+ *  <b>Warning: This is an internal class, meaning it should not be used
+ *  anywhere but within this library. <br>
+ *  This class or its methods might change or get removed in future versions!</b>
+ */
+final class ChangeBatch
+{
+    private static final ThreadLocal<@Nullable ChangeBatch> _CURRENT = new ThreadLocal<>();
+    /**
+     *  The number of batches running on any thread, which allows views to skip
+     *  the thread local lookup of {@link #current()} on every read if there are none.
+     */
+    private static final AtomicInteger _RUNNING = new AtomicInteger(0);
+
+    private static final class Pending<T> {
+        final PropertyChangeListeners<T> listeners;
+        final Val<T>                     owner;
+        final @Nullable T                firstOldValue;
+        Channel                          channel;
+        @Nullable T                      lastNewValue;
+
+        Pending( PropertyChangeListeners<T> listeners, Val<T> owner, Channel channel, @Nullable T newValue, @Nullable T oldValue ) {
+            this.listeners     = listeners;
+            this.owner         = owner;
+            this.firstOldValue = oldValue;
+            this.channel       = channel;
+            this.lastNewValue  = newValue;
+        }
+
+        void fire() {
+            ItemPair<T> pair = new ItemPair<>(owner.type(), lastNewValue, firstOldValue);
+            if ( pair.change() != SingleChange.NONE )
+                listeners.fireChangePass(owner, channel, pair, false);
+        }
+    }
+
+    /**
+     *  Runs the given action in a batch bound to the current thread.
+     *  If a batch is already running, the action simply becomes part of it.
+     *
+     * @param action The action which modifies any number of properties.
+     */
+    static void run( Runnable action ) {
+        if ( _CURRENT.get() != null ) {
+            action.run();
+            return;
+        }
+        final ViewPropagation propagation = ViewPropagation.current();
+        final boolean opened = propagation.open();
+        final ChangeBatch batch = new ChangeBatch();
+        _CURRENT.set(batch);
+        _RUNNING.incrementAndGet();
+        try {
+            try {
+                action.run();
+            } catch ( Throwable failure ) {
+                // The changes made so far are still reported, but without hiding the actual failure:
+                try {
+                    batch._commit(propagation);
+                } catch ( Throwable commitFailure ) {
+                    failure.addSuppressed(commitFailure);
+                }
+                throw failure;
+            }
+            batch._commit(propagation);
+        } finally {
+            _RUNNING.decrementAndGet();
+            _CURRENT.remove();
+            if ( opened )
+                propagation.end();
+        }
+    }
+
+    /**
+     * @return The batch running on the current thread, or {@code null} if there is none.
+     */
+    static @Nullable ChangeBatch current() {
+        return _CURRENT.get();
+    }
+
+    /**
+     * @return {@code true} if a batch might be running on the current thread,
+     *         {@code false} if no batch is running on any thread.
+     */
+    static boolean mayBeRunning() {
+        return _RUNNING.get() > 0;
+    }
+
+
+    private final Map<PropertyChangeListeners<?>, Pending<?>> _pendingByListeners = new IdentityHashMap<>();
+    private final List<Pending<?>> _pendingInOrder = new ArrayList<>();
+
+
+    private ChangeBatch() {}
+
+    /**
+     *  Records a change of the property owning the given listeners,
+     *  instead of notifying them right away.
+     */
+    <T> void defer(
+        PropertyChangeListeners<T> listeners,
+        Val<T>                     owner,
+        Channel                    channel,
+        @Nullable T                newValue,
+        @Nullable T                oldValue
+    ) {
+        @SuppressWarnings("unchecked")
+        Pending<T> pending = (Pending<T>) _pendingByListeners.get(listeners);
+        if ( pending == null ) {
+            pending = new Pending<>(listeners, owner, channel, newValue, oldValue);
+            _pendingByListeners.put(listeners, pending);
+            _pendingInOrder.add(pending);
+        } else {
+            pending.channel      = channel;
+            pending.lastNewValue = newValue;
+        }
+    }
+
+    private void _commit( ViewPropagation propagation ) {
+        // The views which were not read since they became dirty are recomputed while
+        // the batch is still running, so that their change events become part of it.
+        // After that, all views are up to date, and only the other listeners are left to notify:
+        propagation.drain();
+        _CURRENT.remove();
+        if ( _pendingInOrder.isEmpty() )
+            return;
+        for ( Pending<?> pending : _pendingInOrder )
+            pending.fire();
+        propagation.drain(); // Views made dirty by listeners outside a change event of their sources.
+    }
+}
@@ -5,11 +5,16 @@ import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.lang.ref.PhantomReference;
+import java.lang.ref.Reference;
 import java.lang.ref.ReferenceQueue;
-import java.util.Collections;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.IdentityHashMap;
-import java.util.Set;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReentrantLock;
 
 /**
@@ -17,6 +22,14 @@ import java.util.concurrent.locks.ReentrantLock;
  *  This class is similar to the cleaner class introduced in JDK 11, however the minimal version compatibility target
  *  for Sprouts is Java 8, which means that this cleaner class introduced in Java 11 is not available here!
  *  That is why a custom cleaner implementation is needed.<br>
+ *  <br>
+ *  Registrations are tracked in a number of independent stripes, selected by the identity
+ *  hash code of the referent and each guarded by its own lock, so that threads registering
+ *  listeners concurrently rarely contend with each other or with the cleaner thread.
+ *  There is only one reference per referent, which carries all the actions registered for it.
+ *  The cleaner thread drains the reference queue in batches, and cleanup actions which
+ *  implement {@link GroupedCleanup} and share the same {@link GroupedCleanup#groupKey()}
+ *  are executed together, so that they can be applied as a single state update.
  *  <br> <br>
  *  <b>Warning: This is an internal class, meaning it should not be used
  *  anywhere but within this library. <br>
@@ -28,42 +41,80 @@ final class ChangeListenerCleaner
 
     private static final ChangeListenerCleaner _INSTANCE = new ChangeListenerCleaner();
 
+    /**
+     *  The maximum number of collected references processed in one batch,
+     *  which bounds the amount of memory needed to group their cleanups.
+     */
+    private static final int MAX_BATCH_SIZE = 1024;
+
 
     public static ChangeListenerCleaner getInstance() {
         return _INSTANCE;
     }
 
 
+    /**
+     *  A cleanup action which may be executed together with other cleanup actions
+     *  modifying the same state, which is identified by the {@link #groupKey()}.
+     *  When several such actions become due in the same batch, only one of them
+     *  receives all of them through {@link #runGroup(List)}, instead of each of them being run.
+     */
+    interface GroupedCleanup extends Runnable {
+
+        /**
+         * @return An object identifying the state modified by this cleanup, compared by identity,
+         *         or {@code null} if this cleanup should simply be run on its own.
+         */
+        @Nullable Object groupKey();
+
+        /**
+         *  Executes all the given cleanup actions, which includes this one
+         *  and which all share the same {@link #groupKey()}.
+         *
+         * @param group The cleanup actions to be executed together.
+         */
+        void runGroup( List<GroupedCleanup> group );
+    }
+
+
     private final ReferenceQueue<Object> _referenceQueue = new ReferenceQueue<>();
 
     /**
-     *  Guards {@link #_toBeCleaned} and the thread life-cycle.
-     *  Used so that {@link #register} and the cleaner thread can coordinate
-     *  safely when adding or removing tracked references.
+     *  Tracks every live {@link ReferenceWithCleanup} so that the GC-root
+     *  keeps the references reachable (which is required for them to
+     *  be enqueued) and so we can find and remove them by their referent.
+     *  Different referents usually belong to different stripes, so different
+     *  threads registering at the same time usually take different locks.
      */
-    private final ReentrantLock _lock = new ReentrantLock();
+    private final Stripe[] _stripes;
 
     /**
-     *  Tracks every live {@link ReferenceWithCleanup} so that the GC-root
-     *  keeps the phantom references reachable (which is required for them to
-     *  be enqueued) and so we can remove them after cleanup in O(1).
-     *  <p>
-     *  An {@link IdentityHashMap}-backed set is used to make the identity-based
-     *  semantics explicit: {@link ReferenceWithCleanup} deliberately does not
-     *  override {@code equals}/{@code hashCode}, and this set makes that
-     *  contract impossible to break silently in the future.
+     *  Guards the thread life-cycle, which is only touched
+     *  when the cleaner thread is not running.
      */
-    private final Set<ReferenceWithCleanup<Object>> _toBeCleaned = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final ReentrantLock _threadLock = new ReentrantLock();
 
     /**
      *  The active cleaner thread.  Non-final so it can be recreated if a previous
      *  instance was interrupted and reached {@link Thread.State#TERMINATED}.
-     *  All reads and writes must be performed while holding {@link #_lock}.
+     *  Volatile so that registrations can check whether it is running without a lock,
+     *  all writes must be performed while holding {@link #_threadLock}.
      */
-    private Thread _thread;
+    private volatile Thread _thread;
+
+    /**
+     *  The number of cleanup actions executed so far, and the number of group executions
+     *  they were combined into, which are reported by {@link #toString()} for diagnostics.
+     */
+    private final AtomicLong _cleanedUp      = new AtomicLong();
+    private final AtomicLong _groupedUpdates = new AtomicLong();
 
 
     private ChangeListenerCleaner() {
+        int stripes = Integer.highestOneBit(Math.max(1, Math.min(64, Runtime.getRuntime().availableProcessors() * 2)));
+        _stripes = new Stripe[stripes];
+        for ( int i = 0; i < stripes; i++ )
+            _stripes[i] = new Stripe();
         _thread = _newCleanerThread();
     }
 
@@ -81,55 +132,151 @@ final class ChangeListenerCleaner
      *  ({@link Thread.State#NEW}) it is started directly.  If it previously terminated
      *  (e.g. because it was interrupted in a test environment) a fresh thread is created
      *  and started, since a {@link Thread} cannot be restarted once it has terminated.
-     *
-     *  <p><b>Must be called while holding {@link #_lock}.</b>
+     *  The common case of an already running thread does not take any lock.
      */
     private void _ensureThreadRunning() {
-        if ( _thread.getState() == Thread.State.TERMINATED )
-            _thread = _newCleanerThread();
-        if ( _thread.getState() == Thread.State.NEW )
-            _thread.start();
+        if ( _thread.isAlive() )
+            return;
+        _threadLock.lock();
+        try {
+            if ( _thread.getState() == Thread.State.TERMINATED )
+                _thread = _newCleanerThread();
+            if ( _thread.getState() == Thread.State.NEW )
+                _thread.start();
+        } finally {
+            _threadLock.unlock();
+        }
     }
 
 
-    static final class ReferenceWithCleanup<T> extends PhantomReference<T>
+    /**
+     *  One of the independent parts of the registry of tracked references,
+     *  which maps the identity hash code of a referent to the chain of
+     *  references whose referents share that hash code (usually just one).
+     *  All of its state, including the chains and cleanup actions
+     *  of its references, is guarded by its lock.
+     */
+    private static final class Stripe
     {
+        final ReentrantLock lock = new ReentrantLock();
+        final Map<Integer, ReferenceWithCleanup<?>> byHash = new HashMap<>();
+        int size;
+
         /**
-         *  Volatile so that the single-execution guarantee in {@link #cleanup()} is
-         *  safe even if a future caller invokes it from a different thread than the
-         *  one that constructed this reference.  In the current design only the
-         *  cleaner thread calls {@code cleanup()}, but the volatile makes the
-         *  contract robust at negligible cost.
+         *  Adds the action to the reference which is already tracking the given referent,
+         *  or creates and tracks a new reference for it if there is none yet.
          */
-        private volatile @Nullable Runnable _action;
-
-        ReferenceWithCleanup( T referent, Runnable action, ReferenceQueue<T> queue ) {
-            super( referent, queue );
-            _action = action;
+        void register( Object referent, int hash, Runnable action, ReferenceQueue<Object> queue ) {
+            lock.lock();
+            try {
+                ReferenceWithCleanup<?> first = byHash.get(hash);
+                for ( ReferenceWithCleanup<?> ref = first; ref != null; ref = ref._sameHash ) {
+                    if ( ref.get() == referent ) {
+                        ref.addAction(action);
+                        return;
+                    }
+                }
+                ReferenceWithCleanup<Object> ref = new ReferenceWithCleanup<>(referent, hash, action, queue);
+                ref._sameHash = first;
+                byHash.put(hash, ref);
+                size++;
+            } finally {
+                lock.unlock();
+            }
         }
 
         /**
-         *  Executes the registered cleanup action exactly once.
-         *  Subsequent calls are no-ops.
+         *  Stops tracking the given reference and takes its cleanup actions.
+         *
+         * @return The cleanup actions of the reference, or {@code null} if it was already removed.
          */
-        public void cleanup() {
-            final Runnable action = _action;
-            if ( action != null ) {
-                _action = null; // clear before running so re-entrant calls are harmless
-                try {
-                    action.run();
-                } catch ( Exception e ) {
-                    Util.sneakyThrowExceptionIfFatal(e);
-                    _logError("Failed to execute cleanup action '{}'.", action, e);
+        Runnable @Nullable [] remove( ReferenceWithCleanup<?> ref ) {
+            lock.lock();
+            try {
+                ReferenceWithCleanup<?> first = byHash.get(ref._hash);
+                if ( first == ref ) {
+                    if ( ref._sameHash == null )
+                        byHash.remove(ref._hash);
+                    else
+                        byHash.put(ref._hash, ref._sameHash);
+                } else {
+                    ReferenceWithCleanup<?> previous = first;
+                    while ( previous != null && previous._sameHash != ref )
+                        previous = previous._sameHash;
+                    if ( previous == null )
+                        return null; // already removed
+                    previous._sameHash = ref._sameHash;
                 }
+                ref._sameHash = null;
+                size--;
+                return ref.takeActions();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        int size() {
+            lock.lock();
+            try {
+                return size;
+            } finally {
+                lock.unlock();
             }
         }
     }
 
+    /**
+     *  The single reference tracking a referent, which carries all the cleanup
+     *  actions registered for it in a compact array.
+     *  This is a weak rather than a phantom reference, so that further registrations
+     *  for a referent which is still alive can find it by identity.
+     *  Both kinds of references are enqueued once the referent is gone,
+     *  and the cleanup actions never need the referent itself.
+     */
+    static final class ReferenceWithCleanup<T> extends WeakReference<T>
+    {
+        private final int _hash;
+        // Guarded by the lock of the stripe:
+        private Runnable @Nullable [] _actions;
+        private int _numberOfActions;
+        private @Nullable ReferenceWithCleanup<?> _sameHash;
+
+        ReferenceWithCleanup( T referent, int hash, Runnable action, ReferenceQueue<? super T> queue ) {
+            super( referent, queue );
+            _hash = hash;
+            _actions = new Runnable[]{ action };
+            _numberOfActions = 1;
+        }
+
+        void addAction( Runnable action ) {
+            Runnable[] actions = _actions;
+            if ( actions == null )
+                return;
+            if ( _numberOfActions == actions.length )
+                _actions = actions = Arrays.copyOf(actions, actions.length * 2);
+            actions[_numberOfActions++] = action;
+        }
+
+        /**
+         *  Returns the registered cleanup actions exactly once,
+         *  subsequent calls return {@code null}.
+         */
+        Runnable @Nullable [] takeActions() {
+            Runnable[] actions = _actions;
+            _actions = null;
+            if ( actions != null && actions.length != _numberOfActions )
+                actions = Arrays.copyOf(actions, _numberOfActions);
+            return actions;
+        }
+    }
+
     /**
      *  Registers {@code referent} for cleanup: when the GC determines that
-     *  {@code referent} is phantom-reachable, {@code action} will be executed
+     *  {@code referent} is no longer reachable, {@code action} will be executed
      *  on the cleaner thread.
+     *  All actions registered for the same referent share a single reference,
+     *  so that the garbage collector only has to process one reference per referent,
+     *  no matter how many actions depend on it.
      *
      * @param referent The object whose collection should trigger the action.
      *                 If {@code null}, the {@code action} is executed immediately on the
@@ -143,69 +290,100 @@ final class ChangeListenerCleaner
             // A null referent can never be collected, so fire the action immediately
             // and log a warning so the caller can diagnose the misconfiguration.
             _logError("Attempt to register a null object for cleanup. This is not allowed!");
-            try {
-                action.run();
-            } catch ( Exception e ) {
-                Util.sneakyThrowExceptionIfFatal(e);
-                _logError("Failed to execute cleanup action '{}'.", action, e);
-            }
+            _runSafely(action);
             return;
         }
+        int hash = System.identityHashCode(referent);
+        Stripe stripe = _stripes[_spread(hash) & (_stripes.length - 1)];
+        stripe.register(referent, hash, action, _referenceQueue);
+        // Start the thread lazily on the first registration, or restart it
+        // if a previous instance was interrupted and has since terminated.
+        _ensureThreadRunning();
+    }
 
-        _lock.lock();
-        try {
-            _toBeCleaned.add(new ReferenceWithCleanup<>(referent, action, _referenceQueue));
-            // Start the thread lazily on the first registration, or restart it
-            // if a previous instance was interrupted and has since terminated.
-            _ensureThreadRunning();
-        } finally {
-            _lock.unlock();
-        }
+    private Stripe _stripeOf( ReferenceWithCleanup<?> ref ) {
+        return _stripes[_spread(ref._hash) & (_stripes.length - 1)];
+    }
+
+    private static int _spread( int hash ) {
+        return hash ^ (hash >>> 16);
     }
 
     /**
      *  Main loop of the cleaner thread.
      *
      *  <p>The thread blocks indefinitely on {@link ReferenceQueue#remove()} until
-     *  the GC enqueues a collected reference, then runs its cleanup action and
-     *  removes it from the tracking set.  This single-phase design avoids the
-     *  periodic wakeups that a timed poll would cause when many long-lived
-     *  referents are registered but none have been collected.
+     *  the GC enqueues a collected reference, then takes all other references
+     *  which are already enqueued as well, and cleans them up as one batch.
+     *  This single-phase design avoids the periodic wakeups that a timed poll would
+     *  cause when many long-lived referents are registered but none have been collected.
      *
      *  <p>Because the thread is a daemon, the JVM will terminate it automatically
      *  when all non-daemon threads have exited, so there is no need for the thread
      *  to monitor whether the tracking set is empty and park itself.
      */
     private void _run() {
+        final List<ReferenceWithCleanup<?>> batch = new ArrayList<>();
         while ( !Thread.currentThread().isInterrupted() ) {
             try {
-                @SuppressWarnings("unchecked")
-                ReferenceWithCleanup<Object> ref =
-                        (ReferenceWithCleanup<Object>) _referenceQueue.remove();
                 // Unbounded remove() never returns null; it blocks until a
                 // reference is enqueued or the thread is interrupted.
-                try {
-                    ref.cleanup();
-                } catch ( Throwable e ) {
-                    Util.sneakyThrowExceptionIfFatal(e);
-                    _logError("Failed to perform cleanup!", e);
-                } finally {
-                    // Remove under the lock so _toBeCleaned stays consistent with
-                    // concurrent register() calls coming from the main thread.
-                    _lock.lock();
-                    try {
-                        _toBeCleaned.remove(ref);
-                    } finally {
-                        _lock.unlock();
-                    }
+                Reference<?> ref = _referenceQueue.remove();
+                while ( ref != null ) {
+                    batch.add((ReferenceWithCleanup<?>) ref);
+                    ref = batch.size() < MAX_BATCH_SIZE ? _referenceQueue.poll() : null;
                 }
+                _cleanUp(batch);
             } catch ( InterruptedException e ) {
                 Thread.currentThread().interrupt();
                 return;
             } catch ( Throwable e ) {
                 Util.sneakyThrowExceptionIfFatal(e);
                 _logError("Unexpected error in cleaner loop.", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void _cleanUp( List<ReferenceWithCleanup<?>> batch ) {
+        Map<Object, List<GroupedCleanup>> groups = null;
+        for ( ReferenceWithCleanup<?> ref : batch ) {
+            Runnable[] actions = _stripeOf(ref).remove(ref);
+            if ( actions == null )
+                continue;
+            for ( Runnable action : actions ) {
+                Object key = action instanceof GroupedCleanup ? ((GroupedCleanup) action).groupKey() : null;
+                if ( key == null ) {
+                    _runSafely(action);
+                    _cleanedUp.incrementAndGet();
+                    continue;
+                }
+                if ( groups == null )
+                    groups = new IdentityHashMap<>();
+                groups.computeIfAbsent(key, k -> new ArrayList<>(1)).add((GroupedCleanup) action);
+            }
+        }
+        if ( groups == null )
+            return;
+        for ( List<GroupedCleanup> group : groups.values() ) {
+            try {
+                group.get(0).runGroup(group);
+            } catch ( Exception e ) {
+                Util.sneakyThrowExceptionIfFatal(e);
+                _logError("Failed to execute the cleanup actions '{}'.", group, e);
             }
+            _cleanedUp.addAndGet(group.size());
+            _groupedUpdates.incrementAndGet();
+        }
+    }
+
+    private static void _runSafely( Runnable action ) {
+        try {
+            action.run();
+        } catch ( Exception e ) {
+            Util.sneakyThrowExceptionIfFatal(e);
+            _logError("Failed to execute cleanup action '{}'.", action, e);
         }
     }
 
@@ -213,18 +391,18 @@ final class ChangeListenerCleaner
      *  Returns the current number of tracked registrations in a thread-safe way.
      */
     private int _trackedCount() {
-        _lock.lock();
-        try {
-            return _toBeCleaned.size();
-        } finally {
-            _lock.unlock();
-        }
+        int count = 0;
+        for ( Stripe stripe : _stripes )
+            count += stripe.size();
+        return count;
     }
 
     @Override
     public String toString() {
         return this.getClass().getSimpleName() + "@" + Integer.toHexString(this.hashCode()) + "[" +
-                    "registered=" + _trackedCount() +
+                    "registered=" + _trackedCount() + ", " +
+                    "cleanedUp=" + _cleanedUp.get() + ", " +
+                    "groupedUpdates=" + _groupedUpdates.get() +
                 "]";
     }
 
@@ -233,4 +411,4 @@ final class ChangeListenerCleaner
         Util._logError(log, message, args);
     }
 
-}
\ No newline at end of file
+}
@@ -6,7 +6,12 @@ import sprouts.*;
 
 import java.lang.ref.WeakReference;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -38,19 +43,39 @@ final class ChangeListeners<D> {
     }
 
     ChangeListeners<D> add(Action<D> action, @Nullable Channel channel, OwnerCallableForCleanup<D> ref) {
-        return updateActions(actions -> {
-            if (action instanceof WeakAction) {
-                WeakAction<?, ?> wa = (WeakAction<?, ?>) action;
-                return wa.owner().map(owner -> {
-                            WeakReference<OwnerCallableForCleanup<ChangeListeners<?>>> weakThis = new WeakReference<>((OwnerCallableForCleanup)ref);
-                            AutomaticUnSubscriber cleaner = new AutomaticUnSubscriber(weakThis, channel, wa);
-                            ChangeListenerCleaner.getInstance().register(owner, cleaner);
-                            return (TupleTree<Action<D>>) actions.add(action);
-                        })
-                        .orElse(actions);
-            } else
-                return (TupleTree<Action<D>>) actions.add(action);
-        });
+        if ( !registerForCleanup(action, channel, ref) )
+            return this;
+        return addRegistered(action);
+    }
+
+    /**
+     *  Registers the given action for automatic removal with the {@link ChangeListenerCleaner}
+     *  if it is a {@link WeakAction}. This is separated from {@link #addRegistered(Action)}
+     *  so that owners which update their listeners through a compare-and-set loop
+     *  can perform this side effect exactly once, outside of the loop.
+     *
+     * @return {@code false} if the action is a weak action whose owner was already
+     *         garbage collected, which means the action should not be added at all.
+     */
+    static <D> boolean registerForCleanup(Action<D> action, @Nullable Channel channel, OwnerCallableForCleanup<D> ref) {
+        if ( !(action instanceof WeakAction) )
+            return true;
+        WeakAction<?, ?> wa = (WeakAction<?, ?>) action;
+        return wa.owner().map(owner -> {
+                    WeakReference<OwnerCallableForCleanup<ChangeListeners<?>>> weakThis = new WeakReference<>((OwnerCallableForCleanup)ref);
+                    AutomaticUnSubscriber cleaner = new AutomaticUnSubscriber(weakThis, channel, wa);
+                    ChangeListenerCleaner.getInstance().register(owner, cleaner);
+                    return true;
+                })
+                .orElse(false);
+    }
+
+    /**
+     *  Adds an action which was already passed to {@link #registerForCleanup}.
+     *  This has no side effects and may therefore be retried freely.
+     */
+    ChangeListeners<D> addRegistered(Action<D> action) {
+        return updateActions(actions -> (TupleTree<Action<D>>) actions.add(action));
     }
 
     ChangeListeners<D> unsubscribe(Subscriber subscriber) {
@@ -77,30 +102,66 @@ final class ChangeListeners<D> {
 
     ChangeListeners<D> updateActions(Function<TupleTree<Action<D>>, TupleTree<Action<D>>> receiver) {
         TupleTree<Action<D>> actions = _getState();
-        actions = receiver.apply(actions);
-        return actions.isEmpty() ? ChangeListeners.empty() : new ChangeListeners<>(actions);
+        TupleTree<Action<D>> newActions = receiver.apply(actions);
+        if ( newActions == actions )
+            return this;
+        return newActions.isEmpty() ? ChangeListeners.empty() : new ChangeListeners<>(newActions);
     }
 
     long numberOfChangeListeners() {
         return getActions(actions -> {});
     }
 
+    boolean isEmpty() {
+        return _actions.isEmpty();
+    }
+
     void fireChange( Supplier<D> delegateSupplier ) {
         getActions(actions -> {
             D delegate = delegateSupplier.get();
             for (Action<D> action : actions) // We copy the list to avoid concurrent modification
-                try {
-                    action.accept(delegate);
-                } catch (Exception e) {
-                    Util.sneakyThrowExceptionIfFatal(e);
-                    _logError(
-                            "An error occurred while executing action '{}' for delegate '{}'",
-                            action, delegate, e
-                        );
-                }
+                _invoke(action, delegate);
         });
     }
 
+    /**
+     *  Passes an already created delegate either only to the actions which update views
+     *  (see {@link WeakAction#updatesView()}), or only to all other actions.
+     *  A change event is delivered in these two passes, so that the views are
+     *  recomputed before any other listener of the event is notified.
+     *  The common case of a single action is invoked directly,
+     *  without creating an iterator.
+     */
+    void fireChange( D delegate, boolean viewUpdates ) {
+        final TupleTree<Action<D>> actions = _getState();
+        final int size = actions.size();
+        if ( size == 1 ) {
+            final Action<D> action = actions.get(0);
+            if ( _updatesView(action) == viewUpdates )
+                _invoke(action, delegate);
+        }
+        else if ( size > 1 )
+            for (Action<D> action : actions)
+                if ( _updatesView(action) == viewUpdates )
+                    _invoke(action, delegate);
+    }
+
+    private static boolean _updatesView( Action<?> action ) {
+        return action instanceof WeakAction && ((WeakAction<?, ?>) action).updatesView();
+    }
+
+    private static <D> void _invoke( Action<D> action, D delegate ) {
+        try {
+            action.accept(delegate);
+        } catch (Exception e) {
+            Util.sneakyThrowExceptionIfFatal(e);
+            _logError(
+                    "An error occurred while executing action '{}' for delegate '{}'",
+                    action, delegate, e
+                );
+        }
+    }
+
     @Override
     public final String toString() {
         StringBuilder sb = new StringBuilder();
@@ -120,7 +181,7 @@ final class ChangeListeners<D> {
         return sb.toString();
     }
 
-    private static final class AutomaticUnSubscriber implements Runnable {
+    private static final class AutomaticUnSubscriber implements ChangeListenerCleaner.GroupedCleanup {
         private final WeakReference<OwnerCallableForCleanup<ChangeListeners<?>>> weakStateOwner;
         private final @Nullable Channel channel;
         private final WeakAction<?, ?> weakAction;
@@ -137,22 +198,42 @@ final class ChangeListeners<D> {
 
         @Override
         public void run() {
+            runGroup(Collections.singletonList(this));
+        }
+
+        @Override
+        public @Nullable Object groupKey() {
+            return weakStateOwner.get();
+        }
+
+        /**
+         *  Removes the weak actions of all the given unsubscribers, which share the same
+         *  state owner, through a single state update per channel.
+         */
+        @Override
+        public void runGroup( List<ChangeListenerCleaner.GroupedCleanup> group ) {
             OwnerCallableForCleanup<ChangeListeners<?>> strongThis = weakStateOwner.get();
             if (strongThis == null)
                 return;
 
-            strongThis.updateState(channel, it->it.updateActions(innerActions -> {
+            Map<@Nullable Channel, Set<Object>> actionsByChannel = new HashMap<>();
+            for ( ChangeListenerCleaner.GroupedCleanup cleanup : group ) {
+                AutomaticUnSubscriber unSubscriber = (AutomaticUnSubscriber) cleanup;
                 try {
-                    weakAction.clear();
+                    unSubscriber.weakAction.clear();
                 } catch (Exception e) {
                     Util.sneakyThrowExceptionIfFatal(e);
                     _logError(
                             "An error occurred while clearing the weak action '{}' during the process of " +
-                            "removing it from the list of change actions.", weakAction, e
+                            "removing it from the list of change actions.", unSubscriber.weakAction, e
                         );
                 }
-                return innerActions.remove((Action) weakAction);
-            }));
+                actionsByChannel.computeIfAbsent(unSubscriber.channel, c -> Collections.newSetFromMap(new IdentityHashMap<>()))
+                                .add(unSubscriber.weakAction);
+            }
+            actionsByChannel.forEach( (innerChannel, toRemove) ->
+                strongThis.updateState(innerChannel, it->it.updateActions(innerActions -> innerActions.removeAllOf(toRemove)))
+            );
         }
     }
 
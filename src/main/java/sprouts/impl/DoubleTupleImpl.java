@@ -0,0 +1,20 @@
+package sprouts.impl;
+
+import sprouts.DoubleTuple;
+
+/**
+ *  A {@link DoubleTuple} backed by a {@link TupleTree} whose leaves store
+ *  the items in plain {@code double[]} arrays. All the primitive accessors and
+ *  reductions of the {@link DoubleTuple} read these arrays directly, without boxing.
+ *  Operations inherited from {@link sprouts.Tuple} return regular tuples.
+ */
+final class DoubleTupleImpl extends TupleWithDiff<Double> implements DoubleTuple {
+
+    static DoubleTupleImpl of( double[] doubles ) {
+        return new DoubleTupleImpl(TupleTree.ofAnyArray(false, Double.class, doubles));
+    }
+
+    private DoubleTupleImpl( TupleTree<Double> data ) {
+        super(data, null);
+    }
+}
@@ -43,6 +43,10 @@ final class DualLensCore<A extends @Nullable Object, B extends @Nullable Object,
      */
     private boolean _settingFromSelf = false;
 
+    private final LensMemo.Sources _memoSources;
+
+    private @Nullable LensMemo<T> _memo = null;
+
     DualLensCore(
             Var<A>                    firstParent,
             Var<B>                    secondParent,
@@ -53,16 +57,21 @@ final class DualLensCore<A extends @Nullable Object, B extends @Nullable Object,
         _secondParent = secondParent;
         _getter       = getter;
         _setter       = setter;
+        _memoSources  = LensMemo.Sources.of(Arrays.asList(firstParent, secondParent));
     }
 
     @Override
     public @Nullable T fetchFromSources(@Nullable T lastKnownItem) {
+        LensMemo<T> memo = _memo;
+        if ( memo != null && memo.isCurrent() )
+            return memo.item();
+        LensMemo.Snapshot snapshot = LensMemo.snapshotOf(_memoSources);
+        A firstItem  = _firstParent.orElseNull();
+        B secondItem = _secondParent.orElseNull();
         T fetchedValue = lastKnownItem;
         try {
-            fetchedValue = _getter.apply(
-                    Util.fakeNonNull(_firstParent.orElseNull()),
-                    Util.fakeNonNull(_secondParent.orElseNull())
-            );
+            fetchedValue = _getter.apply(Util.fakeNonNull(firstItem), Util.fakeNonNull(secondItem));
+            _memo = snapshot.memoize(fetchedValue);
         } catch ( Exception e ) {
             Util.sneakyThrowExceptionIfFatal(e);
             Util._logError(log,
@@ -76,6 +85,16 @@ final class DualLensCore<A extends @Nullable Object, B extends @Nullable Object,
         return fetchedValue;
     }
 
+    @Override
+    public void clearMemo() {
+        _memo = null;
+    }
+
+    @Override
+    public LensMemo.Sources memoSources() {
+        return _memoSources;
+    }
+
     @Override
     public void writeToSources(Channel channel, @Nullable T newItem) {
         Pair<A, B> pair;
@@ -0,0 +1,20 @@
+package sprouts.impl;
+
+import sprouts.IntTuple;
+
+/**
+ *  A {@link IntTuple} backed by a {@link TupleTree} whose leaves store
+ *  the items in plain {@code int[]} arrays. All the primitive accessors and
+ *  reductions of the {@link IntTuple} read these arrays directly, without boxing.
+ *  Operations inherited from {@link sprouts.Tuple} return regular tuples.
+ */
+final class IntTupleImpl extends TupleWithDiff<Integer> implements IntTuple {
+
+    static IntTupleImpl of( int[] ints ) {
+        return new IntTupleImpl(TupleTree.ofAnyArray(false, Integer.class, ints));
+    }
+
+    private IntTupleImpl( TupleTree<Integer> data ) {
+        super(data, null);
+    }
+}
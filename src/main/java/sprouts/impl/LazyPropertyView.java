@@ -0,0 +1,289 @@
+package sprouts.impl;
+
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import sprouts.*;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ *  A lazy property view is a read-only view of a single source property
+ *  whose item is only computed when somebody actually asks for it.
+ *  As long as the view has no change listeners, it is not even registered
+ *  on its source, so changes of the source cost nothing at all.
+ *  Instead, the view memoizes the item it computed together with the source item it was
+ *  computed from, and recomputes it on the next read if the source holds a different item.<br>
+ *  Once the view gains its first change listener, it computes its current item
+ *  and attaches itself to its source, so that it can notify its listeners
+ *  like a regular {@link PropertyView}. When the last listener is removed,
+ *  it detaches from its source again. Listeners which are removed automatically,
+ *  because their owner was garbage collected, do not notify the view, which is why
+ *  the view also detaches itself when its source changes while it has no listeners left.<br>
+ *  A view created through {@link #withId(String)} shares all of this state with the original,
+ *  so it only differs by its id.
+ *
+ * @param <S> The type of the item of the source property.
+ * @param <T> The type of the item of this view.
+ */
+final class LazyPropertyView<S extends @Nullable Object, T> implements Viewable<T>, ViewPropagation.Ranked {
+
+	private static final Logger log = org.slf4j.LoggerFactory.getLogger(LazyPropertyView.class);
+
+	public static <S extends @Nullable Object, T> Viewable<T> of( T nullObject, T errorObject, Val<S> source, Function<S, @Nullable T> mapper ) {
+		Objects.requireNonNull(nullObject);
+		Objects.requireNonNull(errorObject);
+		Objects.requireNonNull(source);
+		Objects.requireNonNull(mapper);
+
+		Function<S, T> nonNullMapper = Util.nonNullMapper(log, nullObject, errorObject, mapper);
+		if ( source.isImmutable() ) // There is nothing to be lazy about if the source never changes.
+			return Viewable.cast(Val.of(nonNullMapper.apply(source.orElseNull())));
+
+		Class<T> type = Util.expectedClassFromItem(nullObject);
+		return new LazyPropertyView<>(type, Sprouts.factory().defaultId(), source, nonNullMapper);
+	}
+
+
+	private final String          _id;
+	private final Shared<S, T>    _shared;
+	/** The listeners of the {@link #_shared} state, which all views with the same source and mapper report to. */
+	private final PropertyChangeListeners<T> _changeListeners;
+
+
+	private LazyPropertyView( Class<T> type, String id, Val<S> source, Function<S, T> mapper ) {
+		_id     = Objects.requireNonNull(id);
+		_shared = new Shared<>(this, type, source, mapper);
+		_changeListeners = _shared._changeListeners;
+		_checkId();
+	}
+
+	private LazyPropertyView( String id, Shared<S, T> shared ) {
+		_id     = Objects.requireNonNull(id);
+		_shared = shared;
+		_changeListeners = shared._changeListeners;
+		_checkId();
+	}
+
+	private void _checkId() {
+		if ( !Sprouts.factory().isValidPropertyId(_id) )
+			throw new IllegalArgumentException(
+					"The provided id '"+_id+"' is not valid! It must match " +
+					"the pattern '"+Sprouts.factory().idPattern().pattern()+"'."
+				);
+	}
+
+	/**
+	 *  An item of the view together with the source item it was computed from.
+	 *  The source item is compared by reference, since the items of properties
+	 *  are expected to be immutable values.
+	 */
+	private static final class Memo<T> {
+		final @Nullable Object sourceItem;
+		final T                item;
+
+		Memo( @Nullable Object sourceItem, T item ) {
+			this.sourceItem = sourceItem;
+			this.item       = item;
+		}
+	}
+
+	/**
+	 *  Everything a lazy view shares with the copies created through {@link #withId(String)},
+	 *  which only differ by their id: the change listeners, the memo and the attachment to the source.
+	 *  So no matter on which of these views a listener is registered, the source is observed
+	 *  at most once, and every view reads the same memoized item.
+	 *  It is also the owner of the listener registered on the source,
+	 *  which is why it takes part in the {@link ViewPropagation} and lives as long as any of its views.
+	 *  Change events are reported through the view for which the state was created.
+	 */
+	private static final class Shared<S extends @Nullable Object, T> implements ViewPropagation.Ranked {
+
+		private final PropertyChangeListeners<T> _changeListeners = new PropertyChangeListeners<>();
+		private final LazyPropertyView<S, T>     _owner;
+		private final Class<T>                   _type;
+		/**
+		 *  Unlike a regular view, a lazy view holds its source strongly, even if it is a plain property,
+		 *  because it reads the source item on demand instead of keeping a copy of it.
+		 *  The source only references the view weakly, so this never keeps the view itself alive.
+		 */
+		private final Val<S>                     _source;
+		private final Function<S, T>             _mapper;
+		private final int                        _rank;
+
+		/**
+		 *  The last computed item together with the source item it was computed from.
+		 *  It is replaced as a whole, so concurrent readers always see a consistent pair.
+		 */
+		private volatile @Nullable Memo<T> _memo = null;
+		/**
+		 *  The item which was last reported to the change listeners,
+		 *  only maintained while the view is attached to its source.
+		 *  Guarded by {@code this}, like the listener registered on the source,
+		 *  since listeners may be added and removed from any thread.
+		 */
+		private @Nullable T _lastItem = null;
+		private @Nullable Action<ValDelegate<S>> _sourceListener = null;
+
+		Shared( LazyPropertyView<S, T> owner, Class<T> type, Val<S> source, Function<S, T> mapper ) {
+			_owner  = owner;
+			_type   = Objects.requireNonNull(type);
+			_source = Objects.requireNonNull(source);
+			_mapper = Objects.requireNonNull(mapper);
+			_rank   = ViewPropagation.rankOf(source) + 1;
+		}
+
+		@Override
+		public int rank() {
+			return _rank;
+		}
+
+		T item() {
+			final @Nullable S sourceItem = _source.orElseNull();
+			final @Nullable Memo<T> memo = _memo;
+			if ( memo != null && memo.sourceItem == sourceItem )
+				return memo.item;
+			final T item = _mapper.apply(sourceItem);
+			_memo = new Memo<>(sourceItem, item);
+			return item;
+		}
+
+		synchronized void attachIfObserved() {
+			if ( _sourceListener != null || _changeListeners.numberOfChangeListeners() == 0 )
+				return;
+			_lastItem = item();
+			Action<ValDelegate<S>> listener = WeakAction.of(this, (Shared<S, T> shared, ValDelegate<S> v) -> {
+				if ( shared._changeListeners.numberOfChangeListeners() == 0 ) {
+					shared.detachIfUnobserved(); // The last listeners were garbage collected.
+					return;
+				}
+				shared._memo = null; // The item of the source may have been mutated in place before a forced change event.
+				shared._scheduleUpdate(v.channel(), v.change());
+			});
+			_sourceListener = listener;
+			Viewable.cast(_source).onChange(From.ALL, listener);
+		}
+
+		synchronized void detachIfUnobserved() {
+			final @Nullable Action<ValDelegate<S>> listener = _sourceListener;
+			if ( listener == null || _changeListeners.numberOfChangeListeners() > 0 )
+				return;
+			_sourceListener = null;
+			_lastItem = null;
+			Viewable.cast(_source).unsubscribe(listener);
+		}
+
+		private void _scheduleUpdate( Channel channel, SingleChange parentChange ) {
+			ViewPropagation.schedule(this, _rank, channel, parentChange == SingleChange.NONE, (innerChannel, parentForcedChange) -> {
+				final ItemPair<T> pair;
+				synchronized ( this ) {
+					if ( _sourceListener == null )
+						return;
+					final T newItem = item();
+					pair = new ItemPair<>(_type, newItem, _lastItem);
+					_lastItem = newItem;
+				}
+				if ( pair.change() != SingleChange.NONE || parentForcedChange )
+					_changeListeners.fireChange(_owner, innerChannel, pair);
+			});
+		}
+	}
+
+	@Override
+	public int rank() {
+		return _shared.rank();
+	}
+
+	/**
+	 *  Creates a view with a different id which shares everything else with this view,
+	 *  including its change listeners and its attachment to the source,
+	 *  so that the source is not observed twice.
+	 *
+	 * @param id The id of the new view.
+	 * @return A view of the same source which shares the listeners of this view.
+	 */
+	@Override public Val<T> withId( String id ) {
+		return new LazyPropertyView<>(id, _shared);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public Viewable<T> onChange( Channel channel, Action<ValDelegate<T>> action ) {
+		_changeListeners.onChange(channel, action);
+		_shared.attachIfObserved();
+		return this;
+	}
+
+	/** {@inheritDoc} */
+	@Override public Val<T> fireChange( Channel channel ) {
+		T item = _shared.item();
+		_changeListeners.fireChange(this, channel, SingleChange.NONE, item, item);
+		return this;
+	}
+
+	@Override
+	public Observable subscribe( Observer observer ) {
+		_changeListeners.onChange( observer );
+		_shared.attachIfObserved();
+		return this;
+	}
+
+	@Override
+	public Observable unsubscribe( Subscriber subscriber ) {
+		_changeListeners.unsubscribe(subscriber);
+		_shared.detachIfUnobserved();
+		return this;
+	}
+
+	@Override
+	public void unsubscribeAll() {
+		_changeListeners.unsubscribeAll();
+		_shared.detachIfUnobserved();
+	}
+
+	public final long numberOfChangeListeners() {
+		return _changeListeners.numberOfChangeListeners();
+	}
+
+	@Override
+	public final boolean isMutable() {
+		return true;
+	}
+
+	@Override
+	public boolean isView() {
+		return true;
+	}
+
+	/** {@inheritDoc} */
+	@Override public final Class<T> type() { return _shared._type; }
+
+	/** {@inheritDoc} */
+	@Override public final String id() { return _id; }
+
+	/** {@inheritDoc} */
+	@Override
+	public final @Nullable T orElseNull() { return _shared.item(); }
+
+	/** {@inheritDoc} */
+	@Override public final boolean allowsNull() { return false; }
+
+	@Override
+	public final String toString() {
+		String item = "?";
+		try {
+			item = this.mapTo(String.class, Object::toString).orElse("null");
+		} catch ( Exception e ) {
+			Util.sneakyThrowExceptionIfFatal(e);
+			item = e.toString(); // We want to prevent user code from breaking toString()
+			Util._logError(log, "Failed to convert item to string: {}", e.getMessage(), e);
+		}
+		String id = this.id();
+		if ( id.equals(Sprouts.factory().defaultId()) ) id = "?";
+		String type = type().getSimpleName();
+		if ( type.equals("Object") ) type = "?";
+		if ( type.equals("String") ) item = "\"" + item + "\"";
+		String content = ( id.equals("?") ? item : id + "=" + item );
+		return "View<" + type + ">" + "[" + content + "]";
+	}
+}
@@ -12,6 +12,11 @@ import java.util.List;
  * fetching the current item from parent source(s), writing a new item back,
  * and registering change listeners on those sources.
  * <p>
+ * Cores memoize the last fetched item in a {@link LensMemo} together with the
+ * version stamps of the properties it was computed from, so that repeated reads
+ * of a lens whose sources did not change neither run the getter again
+ * nor read the parent properties.
+ * <p>
  * Implementations include:
  * <ul>
  *   <li>{@link SingleLensCore} &mdash; a single parent property with a {@link sprouts.Lens}</li>
@@ -32,6 +37,21 @@ interface LensCore<T extends @Nullable Object> {
      */
     @Nullable T fetchFromSources(@Nullable T lastKnownItem);
 
+    /**
+     * Drops the item memoized by {@link #fetchFromSources(Object)}, so that the
+     * next fetch runs the getter again, even if the source items are still the same.
+     * This is called whenever one of the sources fires a change event.
+     */
+    void clearMemo();
+
+    /**
+     * Returns the properties which the memoized item of this core ultimately depends on,
+     * so that lenses created from this lens can check their memo against them directly.
+     *
+     * @return The resolved sources of this core.
+     */
+    LensMemo.Sources memoSources();
+
     /**
      * Writes a new item back to the parent source(s).
      *
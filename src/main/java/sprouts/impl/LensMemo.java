@@ -0,0 +1,163 @@
+package sprouts.impl;
+
+import org.jspecify.annotations.Nullable;
+import sprouts.Val;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An immutable snapshot of the item a {@link LensCore} computed from
+ * its source properties, together with the version stamps of the
+ * {@link Sources} it ultimately depends on at the time of the computation.
+ * As long as all of these stamps are still the same, the core can
+ * return the memoized item without fetching anything from its parent.
+ * <p>
+ * A lens whose parent is another lens does not depend on the stamp of that lens,
+ * but on the stamps of the properties at the root of the chain, which is why
+ * checking the memo of a lens costs the same regardless of how deeply it is nested.
+ * Stamps are bumped by the root properties before their listeners are notified,
+ * so even listeners which run before the lens receives the change event
+ * never read a stale item.<br>
+ * Sources which do not have a stamp, like views, are compared by the reference of their
+ * current item instead, which is reasonable since the items of properties are expected
+ * to be immutable values. The cores still drop their memo whenever a source fires a change
+ * event, so that items which are mutated in place are picked up after an explicit {@code fireChange}.
+ * <p>
+ * The snapshot is a single object so that it can be replaced atomically,
+ * which means that a concurrent reader can never observe the stamps of one
+ * computation together with the result of another.
+ *
+ * @param <T> The item type of the lens property.
+ */
+final class LensMemo<T extends @Nullable Object> {
+
+    /**
+     *  Implemented by properties which count the modifications of their item,
+     *  so that lenses depending on them can tell whether their memo is still valid.
+     *  The stamp changes before the change listeners of the property are notified.
+     */
+    interface Stamped {
+        long stamp();
+    }
+
+    /**
+     *  The properties which a lens ultimately depends on, resolved once when the lens is created.
+     *  Parent lenses are replaced by their own sources, recursively.
+     */
+    static final class Sources {
+
+        private final Stamped[] _stamped;
+        private final Val<?>[]  _unstamped;
+
+        private Sources( Stamped[] stamped, Val<?>[] unstamped ) {
+            _stamped   = stamped;
+            _unstamped = unstamped;
+        }
+
+        static Sources of( Iterable<? extends Val<?>> sources ) {
+            List<Stamped> stamped   = new ArrayList<>();
+            List<Val<?>>  unstamped = new ArrayList<>();
+            for ( Val<?> source : sources )
+                _collect(source, stamped, unstamped);
+            return new Sources(stamped.toArray(new Stamped[0]), unstamped.toArray(new Val<?>[0]));
+        }
+
+        private static void _collect( Val<?> source, List<Stamped> stamped, List<Val<?>> unstamped ) {
+            if ( source instanceof PropertyLens ) {
+                Sources parentSources = ((PropertyLens<?>) source).memoSources();
+                for ( Stamped root : parentSources._stamped )
+                    _addOnce(root, stamped);
+                for ( Val<?> root : parentSources._unstamped )
+                    _addOnce(root, unstamped);
+            }
+            else if ( source instanceof Stamped )
+                _addOnce((Stamped) source, stamped);
+            else
+                _addOnce(source, unstamped);
+        }
+
+        private static <S> void _addOnce( S source, List<S> sources ) {
+            for ( S existing : sources ) {
+                if ( existing == source )
+                    return;
+            }
+            sources.add(source);
+        }
+
+        private long[] _currentStamps() {
+            long[] stamps = new long[_stamped.length];
+            for ( int i = 0; i < stamps.length; i++ )
+                stamps[i] = _stamped[i].stamp();
+            return stamps;
+        }
+
+        private @Nullable Object[] _currentItems() {
+            @Nullable Object[] items = new Object[_unstamped.length];
+            for ( int i = 0; i < items.length; i++ )
+                items[i] = _unstamped[i].orElseNull();
+            return items;
+        }
+    }
+
+    /**
+     *  Captures the current stamps of the given sources, which has to happen
+     *  <b>before</b> the item is computed, so that a modification during
+     *  the computation invalidates the resulting memo.
+     *
+     * @param sources The sources of the lens.
+     * @return The snapshot from which the memo is created once the item was computed.
+     */
+    static Snapshot snapshotOf( Sources sources ) {
+        return new Snapshot(sources, sources._currentStamps(), sources._currentItems());
+    }
+
+    /**
+     *  The stamps of the sources of a lens at the beginning of a computation.
+     */
+    static final class Snapshot {
+        private final Sources            _sources;
+        private final long[]             _stamps;
+        private final @Nullable Object[] _items;
+
+        private Snapshot( Sources sources, long[] stamps, @Nullable Object[] items ) {
+            _sources = sources;
+            _stamps  = stamps;
+            _items   = items;
+        }
+
+        <T extends @Nullable Object> LensMemo<T> memoize( @Nullable T item ) {
+            return new LensMemo<>(this, item);
+        }
+    }
+
+    private final Snapshot    _snapshot;
+    private final @Nullable T _item;
+
+    private LensMemo( Snapshot snapshot, @Nullable T item ) {
+        _snapshot = snapshot;
+        _item     = item;
+    }
+
+    /**
+     * @return {@code true} if none of the sources was modified since the item was computed.
+     */
+    boolean isCurrent() {
+        final Sources sources = _snapshot._sources;
+        final long[] stamps = _snapshot._stamps;
+        for ( int i = 0; i < stamps.length; i++ ) {
+            if ( sources._stamped[i].stamp() != stamps[i] )
+                return false;
+        }
+        final @Nullable Object[] items = _snapshot._items;
+        for ( int i = 0; i < items.length; i++ ) {
+            if ( sources._unstamped[i].orElseNull() != items[i] )
+                return false;
+        }
+        return true;
+    }
+
+    @Nullable T item() {
+        return _item;
+    }
+}
@@ -7,7 +7,8 @@ import sprouts.Tuple;
 import sprouts.ValueSet;
 
 import java.util.*;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.stream.StreamSupport;
 
 final class LinkedAssociation<K,V> implements Association<K, V>
@@ -52,9 +53,14 @@ final class LinkedAssociation<K,V> implements Association<K, V>
                    Objects.equals(previousKey, entry.previousKey) &&
                    Objects.equals(nextKey, entry.nextKey);
         }
+        /**
+         *  Only hashes the value and leaves out the neighbours, since the entries are hashed
+         *  by the entry trie to compute the hash code of the association,
+         *  which has to be independent of the order of its entries, just like its equality.
+         */
         @Override
         public int hashCode() {
-            return Objects.hash(value, previousKey, nextKey);
+            return Objects.hashCode(value);
         }
         @Override
         public String toString() {
@@ -68,7 +74,6 @@ final class LinkedAssociation<K,V> implements Association<K, V>
     private final AssociationImpl<K, LinkedEntry<K, V>> _entries;
     private final @Nullable K _firstInsertedKey;
     private final @Nullable K _lastInsertedKey;
-    private final AtomicReference<@Nullable Integer> _cachedHashCode = new AtomicReference<>(null);
 
     LinkedAssociation(
         final Class<K> keyType,
@@ -118,19 +123,19 @@ final class LinkedAssociation<K,V> implements Association<K, V>
 
     @Override
     public ValueSet<K> keySet() {
-        return StreamSupport.stream(spliterator(), false)
+        return new AssociationKeySet<>(this, () -> StreamSupport.stream(spliterator(), false)
                 .reduce(
                         new LinkedValueSet<>(keyType()),
                         (set, pair) -> (LinkedValueSet<K>) set.add(pair.first()),
                         (a, b) -> a
-                );
+                ));
     }
 
     @Override
     public Tuple<V> values() {
-        return StreamSupport.stream(spliterator(), false)
+        return new AssociationValues<>(this, () -> StreamSupport.stream(spliterator(), false)
                 .map(Pair::second)
-                .collect(Tuple.collectorOf(valueType()));
+                .collect(Tuple.collectorOf(valueType())));
     }
 
     @Override
@@ -291,14 +296,167 @@ final class LinkedAssociation<K,V> implements Association<K, V>
 
     @Override
     public Spliterator<Pair<K,V>> spliterator() {
-        return Spliterators.spliterator(iterator(), _entries.size(),
-                        Spliterator.ORDERED |
-                        Spliterator.DISTINCT |
-                        Spliterator.SIZED |
-                        Spliterator.SUBSIZED |
-                        Spliterator.NONNULL |
-                        Spliterator.IMMUTABLE
-                    );
+        return new LinkedAssociationSpliterator<>(_entries, _firstInsertedKey, _entries.size());
+    }
+
+    /**
+     *  A spliterator over a run of consecutive entries of the linked list, which is
+     *  described by its first key and the number of entries in it.
+     *  Since the entries are linked by their keys, there are no tree branches
+     *  to split along. Instead, a split hands off the first half of the run
+     *  and skips over it by following the links, without touching any of the values.
+     */
+    private static final class LinkedAssociationSpliterator<K, V> implements Spliterator<Pair<K, V>>
+    {
+        private final AssociationImpl<K, LinkedEntry<K, V>> _entries;
+        private @Nullable K _nextKey;
+        private long _remaining;
+
+        LinkedAssociationSpliterator(
+            AssociationImpl<K, LinkedEntry<K, V>> entries,
+            @Nullable K firstKey,
+            long size
+        ) {
+            _entries = entries;
+            _nextKey = firstKey;
+            _remaining = size;
+        }
+
+        private LinkedEntry<K, V> _entryOf( K key ) {
+            LinkedEntry<K, V> entry = _entries.getOrNull(key);
+            if ( entry == null )
+                throw new NoSuchElementException();
+            return entry;
+        }
+
+        @Override
+        public @Nullable Spliterator<Pair<K, V>> trySplit() {
+            long prefixSize = _remaining / 2;
+            if ( prefixSize == 0 || _nextKey == null )
+                return null;
+            K prefixStart = _nextKey;
+            K key = prefixStart;
+            for ( long i = 0; i < prefixSize; i++ )
+                key = Objects.requireNonNull(_entryOf(key).nextKey());
+            _nextKey = key;
+            _remaining -= prefixSize;
+            return new LinkedAssociationSpliterator<>(_entries, prefixStart, prefixSize);
+        }
+
+        @Override
+        public boolean tryAdvance( Consumer<? super Pair<K, V>> action ) {
+            K key = _nextKey;
+            if ( _remaining <= 0 || key == null )
+                return false;
+            LinkedEntry<K, V> entry = _entryOf(key);
+            _remaining--;
+            _nextKey = _remaining > 0 ? entry.nextKey() : null;
+            action.accept(Pair.of(key, entry.value()));
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining( Consumer<? super Pair<K, V>> action ) {
+            K key = _nextKey;
+            long remaining = _remaining;
+            _nextKey = null;
+            _remaining = 0;
+            while ( remaining > 0 && key != null ) {
+                LinkedEntry<K, V> entry = _entryOf(key);
+                action.accept(Pair.of(key, entry.value()));
+                key = entry.nextKey();
+                remaining--;
+            }
+        }
+
+        @Override
+        public long estimateSize() {
+            return _remaining;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED  |
+                   Spliterator.DISTINCT |
+                   Spliterator.SIZED    |
+                   Spliterator.SUBSIZED |
+                   Spliterator.NONNULL  |
+                   Spliterator.IMMUTABLE;
+        }
+    }
+
+    @Override
+    public void forEachEntry( BiConsumer<? super K, ? super V> action ) {
+        Objects.requireNonNull(action);
+        K key = _firstInsertedKey;
+        while ( key != null ) {
+            LinkedEntry<K, V> entry = _entryOf(key);
+            action.accept(key, entry.value());
+            key = entry.nextKey();
+        }
+    }
+
+    @Override
+    public void forEachKey( Consumer<? super K> action ) {
+        Objects.requireNonNull(action);
+        K key = _firstInsertedKey;
+        while ( key != null ) {
+            action.accept(key);
+            key = _entryOf(key).nextKey();
+        }
+    }
+
+    @Override
+    public void forEachValue( Consumer<? super V> action ) {
+        Objects.requireNonNull(action);
+        K key = _firstInsertedKey;
+        while ( key != null ) {
+            LinkedEntry<K, V> entry = _entryOf(key);
+            action.accept(entry.value());
+            key = entry.nextKey();
+        }
+    }
+
+    @Override
+    public EntryCursor<K, V> cursor() {
+        return new EntryCursor<K, V>() {
+            private @Nullable K currentKey = null;
+            private @Nullable LinkedEntry<K, V> currentEntry = null;
+            private @Nullable K nextKey = _firstInsertedKey;
+
+            @Override
+            public boolean next() {
+                currentKey = nextKey;
+                if ( currentKey == null ) {
+                    currentEntry = null;
+                    return false;
+                }
+                currentEntry = _entryOf(currentKey);
+                nextKey = currentEntry.nextKey();
+                return true;
+            }
+
+            @Override
+            public K key() {
+                if ( currentKey == null || currentEntry == null )
+                    throw new NoSuchElementException();
+                return currentKey;
+            }
+
+            @Override
+            public V value() {
+                if ( currentEntry == null )
+                    throw new NoSuchElementException();
+                return currentEntry.value();
+            }
+        };
+    }
+
+    private LinkedEntry<K, V> _entryOf( K key ) {
+        LinkedEntry<K, V> entry = _entries.getOrNull(key);
+        if ( entry == null )
+            throw new NoSuchElementException();
+        return entry;
     }
 
     @Override
@@ -318,7 +476,7 @@ final class LinkedAssociation<K,V> implements Association<K, V>
                     throw new NoSuchElementException();
                 }
                 currentKey = nextKey;
-                LinkedEntry<K, V> entry = _entries.get(currentKey).orElseThrow(NoSuchElementException::new);
+                LinkedEntry<K, V> entry = _entryOf(currentKey);
                 nextKey = entry.nextKey();
                 return Pair.of(currentKey, entry.value());
             }
@@ -373,6 +531,8 @@ final class LinkedAssociation<K,V> implements Association<K, V>
             return false;
         if ( _entries.size() != other._entries.size() )
             return false;
+        if ( _entries.knownToDifferFrom(other._entries) )
+            return false;
 
         return _recursiveEquals(this._entries._root, other._entries._root, this.keyType());
     }
@@ -436,19 +596,11 @@ final class LinkedAssociation<K,V> implements Association<K, V>
 
     @Override
     public int hashCode() {
-        Integer cached = _cachedHashCode.get();
-        if ( cached != null ) {
-            return cached;
-        }
         int result = _valueType.hashCode();
         result = 31 * result + _entries.keyType().hashCode();
         result = 31 * result + _entries.size();
-        int pairsHash = 0;
-        for (Pair<K, V> kvPair : this)
-            pairsHash += kvPair.hashCode();
-        result = 31 * result + pairsHash;
-        _cachedHashCode.set(result);
-        return result;
+        // The entries only hash their values, so this is independent of the order, just like the equality check:
+        return 31 * result + _entries.hashCode();
     }
 
 }
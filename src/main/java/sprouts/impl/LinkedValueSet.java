@@ -4,7 +4,7 @@ import org.jspecify.annotations.Nullable;
 import sprouts.ValueSet;
 
 import java.util.*;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 final class LinkedValueSet<E> implements ValueSet<E> {
@@ -46,18 +46,20 @@ final class LinkedValueSet<E> implements ValueSet<E> {
                    Objects.equals(nextElement, entry.nextElement);
         }
 
+        /**
+         *  Leaves out the neighbours, since the entries are hashed by the entry trie
+         *  to compute the hash code of the set, which has to be independent
+         *  of the order of its elements, just like its equality.
+         */
         @Override
         public int hashCode() {
-            int result = previousElement != null ? previousElement.hashCode() : 0;
-            result = 31 * result + (nextElement != null ? nextElement.hashCode() : 0);
-            return result;
+            return 0;
         }
     }
 
     private final AssociationImpl<E, LinkedEntry<E>> _entries;
     private final @Nullable E _firstInsertedKey;
     private final @Nullable E _lastInsertedKey;
-    private final AtomicReference<@Nullable Integer> _cachedHashCode = new AtomicReference<>(null);
 
     LinkedValueSet(
             final Class<E> elementType
@@ -232,14 +234,90 @@ final class LinkedValueSet<E> implements ValueSet<E> {
 
     @Override
     public Spliterator<E> spliterator() {
-        return Spliterators.spliterator(iterator(), _entries.size(),
-                Spliterator.ORDERED |
-                        Spliterator.DISTINCT |
-                        Spliterator.SIZED |
-                        Spliterator.SUBSIZED |
-                        Spliterator.NONNULL |
-                        Spliterator.IMMUTABLE
-        );
+        return new LinkedValueSetSpliterator<>(_entries, _firstInsertedKey, _entries.size());
+    }
+
+    /**
+     *  A spliterator over a run of consecutive elements of the linked list, which is
+     *  described by its first element and the number of elements in it.
+     *  A split hands off the first half of the run and skips over it
+     *  by following the links to the element right after it.
+     */
+    private static final class LinkedValueSetSpliterator<E> implements Spliterator<E>
+    {
+        private final AssociationImpl<E, LinkedEntry<E>> _entries;
+        private @Nullable E _nextElement;
+        private long _remaining;
+
+        LinkedValueSetSpliterator(
+            AssociationImpl<E, LinkedEntry<E>> entries,
+            @Nullable E firstElement,
+            long size
+        ) {
+            _entries = entries;
+            _nextElement = firstElement;
+            _remaining = size;
+        }
+
+        private @Nullable E _elementAfter( E element ) {
+            LinkedEntry<E> entry = _entries.getOrNull(element);
+            if ( entry == null )
+                throw new NoSuchElementException();
+            return entry.nextElement();
+        }
+
+        @Override
+        public @Nullable Spliterator<E> trySplit() {
+            long prefixSize = _remaining / 2;
+            if ( prefixSize == 0 || _nextElement == null )
+                return null;
+            E prefixStart = _nextElement;
+            E element = prefixStart;
+            for ( long i = 0; i < prefixSize; i++ )
+                element = Objects.requireNonNull(_elementAfter(element));
+            _nextElement = element;
+            _remaining -= prefixSize;
+            return new LinkedValueSetSpliterator<>(_entries, prefixStart, prefixSize);
+        }
+
+        @Override
+        public boolean tryAdvance( Consumer<? super E> action ) {
+            E element = _nextElement;
+            if ( _remaining <= 0 || element == null )
+                return false;
+            _remaining--;
+            _nextElement = _remaining > 0 ? _elementAfter(element) : null;
+            action.accept(element);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining( Consumer<? super E> action ) {
+            E element = _nextElement;
+            long remaining = _remaining;
+            _nextElement = null;
+            _remaining = 0;
+            while ( remaining > 0 && element != null ) {
+                action.accept(element);
+                remaining--;
+                element = remaining > 0 ? _elementAfter(element) : null;
+            }
+        }
+
+        @Override
+        public long estimateSize() {
+            return _remaining;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED  |
+                   Spliterator.DISTINCT |
+                   Spliterator.SIZED    |
+                   Spliterator.SUBSIZED |
+                   Spliterator.NONNULL  |
+                   Spliterator.IMMUTABLE;
+        }
     }
 
     @Override
@@ -303,6 +381,8 @@ final class LinkedValueSet<E> implements ValueSet<E> {
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
+        if (o instanceof AssociationKeySet)
+            o = ((AssociationKeySet<?>) o).materialized();
         if (!(o instanceof LinkedValueSet))
             return false;
         LinkedValueSet<E> other = (LinkedValueSet) o;
@@ -310,6 +390,8 @@ final class LinkedValueSet<E> implements ValueSet<E> {
             return false;
         if ( _entries.size() != other._entries.size() )
             return false;
+        if ( _entries.knownToDifferFrom(other._entries) )
+            return false;
 
         return _recursiveEquals(this._entries._root, other._entries._root, this.type());
     }
@@ -370,18 +452,10 @@ final class LinkedValueSet<E> implements ValueSet<E> {
 
     @Override
     public int hashCode() {
-        Integer cached = _cachedHashCode.get();
-        if ( cached != null ) {
-            return cached;
-        }
         int hash = 7;
         hash = 31 * hash + Objects.hashCode(_entries.keyType());
-        int elementsHash = 0;
-        for ( E element : this ) {
-            elementsHash += Objects.hashCode(element);
-        }
-        hash = 31 * hash + elementsHash;
-        _cachedHashCode.set(hash);
+        // The entries do not hash their neighbours, so this is independent of the order, just like the equality check:
+        hash = 31 * hash + _entries.hashCode();
         return hash;
     }
 
@@ -0,0 +1,20 @@
+package sprouts.impl;
+
+import sprouts.LongTuple;
+
+/**
+ *  A {@link LongTuple} backed by a {@link TupleTree} whose leaves store
+ *  the items in plain {@code long[]} arrays. All the primitive accessors and
+ *  reductions of the {@link LongTuple} read these arrays directly, without boxing.
+ *  Operations inherited from {@link sprouts.Tuple} return regular tuples.
+ */
+final class LongTupleImpl extends TupleWithDiff<Long> implements LongTuple {
+
+    static LongTupleImpl of( long[] longs ) {
+        return new LongTupleImpl(TupleTree.ofAnyArray(false, Long.class, longs));
+    }
+
+    private LongTupleImpl( TupleTree<Long> data ) {
+        super(data, null);
+    }
+}
@@ -33,6 +33,10 @@ final class ParamLensCore<P extends @Nullable Object, A extends @Nullable Object
     private final BiFunction<P, A, T> _getter;
     private final BiFunction<T, P, A> _setter;
 
+    private final LensMemo.Sources _memoSources;
+
+    private @Nullable LensMemo<T> _memo = null;
+
     ParamLensCore(
             Val<P>              parameter,
             Var<A>              source,
@@ -43,16 +47,21 @@ final class ParamLensCore<P extends @Nullable Object, A extends @Nullable Object
         _source    = source;
         _getter    = getter;
         _setter    = setter;
+        _memoSources = LensMemo.Sources.of(Arrays.asList(parameter, source));
     }
 
     @Override
     public @Nullable T fetchFromSources(@Nullable T lastKnownItem) {
+        LensMemo<T> memo = _memo;
+        if ( memo != null && memo.isCurrent() )
+            return memo.item();
+        LensMemo.Snapshot snapshot = LensMemo.snapshotOf(_memoSources);
+        P parameterItem = _parameter.orElseNull();
+        A sourceItem    = _source.orElseNull();
         T fetchedValue = lastKnownItem;
         try {
-            fetchedValue = _getter.apply(
-                    Util.fakeNonNull(_parameter.orElseNull()),
-                    Util.fakeNonNull(_source.orElseNull())
-            );
+            fetchedValue = _getter.apply(Util.fakeNonNull(parameterItem), Util.fakeNonNull(sourceItem));
+            _memo = snapshot.memoize(fetchedValue);
         } catch ( Exception e ) {
             Util.sneakyThrowExceptionIfFatal(e);
             Util._logError(log,
@@ -69,6 +78,16 @@ final class ParamLensCore<P extends @Nullable Object, A extends @Nullable Object
         return fetchedValue;
     }
 
+    @Override
+    public void clearMemo() {
+        _memo = null;
+    }
+
+    @Override
+    public LensMemo.Sources memoSources() {
+        return _memoSources;
+    }
+
     @Override
     public void writeToSources(Channel channel, @Nullable T newItem) {
         A newSourceItem;
@@ -13,7 +13,7 @@ import java.util.Objects;
  * 
  * @param <T> The type of the value wrapped by a given property...
  */
-final class Property<T extends @Nullable Object> implements Var<T>, Viewable<T> {
+final class Property<T extends @Nullable Object> implements Var<T>, Viewable<T>, LensMemo.Stamped {
 
     public static <T> Var<@Nullable T> ofNullable( boolean immutable, Class<T> type, @Nullable T value ) {
         return new Property<T>( immutable, type, value, Sprouts.factory().defaultId(), new PropertyChangeListeners<>(), true );
@@ -38,6 +38,11 @@ final class Property<T extends @Nullable Object> implements Var<T>, Viewable<T>
     private final boolean  _isImmutable;
 
     private @Nullable T _value;
+    /**
+     *  Counts the modifications of the item as well as forced change events,
+     *  and is bumped before any listener is notified. See {@link LensMemo}.
+     */
+    private long _stamp = 0;
 
 
     Property(
@@ -102,22 +107,23 @@ final class Property<T extends @Nullable Object> implements Var<T>, Viewable<T>
         Objects.requireNonNull(channel);
         if ( _isImmutable )
             throw new UnsupportedOperationException("This variable is immutable!");
-        ItemPair<T> pair = _setInternal(newItem);
-        if ( pair.change() != SingleChange.NONE )
-            this.fireChange(channel, pair);
+        final @Nullable T oldItem = _value;
+        SingleChange change = _setInternal(newItem);
+        if ( change != SingleChange.NONE )
+            _changeListeners.fireChange(this, channel, change, newItem, oldItem);
         return this;
     }
 
-    private ItemPair<T> _setInternal( T newValue ) {
+    private SingleChange _setInternal( T newValue ) {
         if ( !_nullable && newValue == null )
             throw new NullPointerException(
                     "This property is configured to not allow null values! " +
                     "If you want your property to allow null values, use the 'ofNullable(Class, T)' factory method."
                 );
 
-        ItemPair<T> pair = new ItemPair<>(_type, newValue, _value);
+        SingleChange change = SingleChange.of(_type, newValue, _value);
 
-        if ( pair.change() != SingleChange.NONE ) {
+        if ( change != SingleChange.NONE ) {
             // First we check if the value is compatible with the type
             if ( newValue != null && !_type.isAssignableFrom(newValue.getClass()) )
                 throw new IllegalArgumentException(
@@ -126,8 +132,14 @@ final class Property<T extends @Nullable Object> implements Var<T>, Viewable<T>
                     );
 
             _value = newValue;
+            _stamp++;
         }
-        return pair;
+        return change;
+    }
+
+    @Override
+    public long stamp() {
+        return _stamp;
     }
 
     /** {@inheritDoc} */
@@ -139,6 +151,7 @@ final class Property<T extends @Nullable Object> implements Var<T>, Viewable<T>
 
     /** {@inheritDoc} */
     @Override public Var<T> fireChange( Channel channel ) {
+        _stamp++;
         this.fireChange(channel, new ItemPair<>(this));
         return this;
     }
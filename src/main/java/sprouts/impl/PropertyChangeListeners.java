@@ -5,8 +5,8 @@ import org.slf4j.Logger;
 import sprouts.*;
 
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
-import java.util.function.Supplier;
 
 /**
  *  This class is technically an internal class and should not be used directly.
@@ -18,18 +18,20 @@ public final class PropertyChangeListeners<T> implements ChangeListeners.OwnerCa
 {
     private static final Logger log = org.slf4j.LoggerFactory.getLogger(PropertyChangeListeners.class);
 
-    // All mutations to this field are compound read-modify-write operations, and
-    // the ChangeListenerCleaner background thread may call updateState() concurrently
-    // with the main thread calling onChange(), unsubscribe(), or fireChange().
-    // Every mutation must therefore be guarded by this object's monitor.
-    private volatile Association<Channel, ChangeListeners<ValDelegate<T>>> _channelsToListeners = (Association)Association.betweenLinked(Channel.class, ChangeListeners.class);
-    // For reading only, no locking is needed since this "volatile"!
+    // The listeners and their total count are kept together in a single immutable
+    // state object, which is replaced through compare-and-set loops. The
+    // ChangeListenerCleaner background thread may call updateState() concurrently
+    // with other threads calling onChange(), unsubscribe(), or fireChange(),
+    // and none of them ever block each other. Readers simply take a snapshot.
+    private final AtomicReference<State<T>> _state;
 
 
     /**
      *  Creates a new instance of {@link PropertyChangeListeners}, without any listeners.
      */
-    public PropertyChangeListeners() {}
+    public PropertyChangeListeners() {
+        _state = new AtomicReference<>(State.empty());
+    }
 
     /**
      *  Creates a new instance of {@link PropertyChangeListeners} by copying the listeners from another instance.
@@ -38,8 +40,8 @@ public final class PropertyChangeListeners<T> implements ChangeListeners.OwnerCa
      * @param other The other instance to copy the listeners from.
      */
     public PropertyChangeListeners( PropertyChangeListeners<T> other ) {
-        // Safe to read directly: _channelsToListeners is volatile and the Association is immutable.
-        _channelsToListeners = other._channelsToListeners;
+        // Safe to share: the state is immutable.
+        _state = new AtomicReference<>(other._state.get());
     }
 
 
@@ -50,19 +52,27 @@ public final class PropertyChangeListeners<T> implements ChangeListeners.OwnerCa
      * @param channel The channel on which the change listener will be registered.
      * @param action The action to be performed when the property changes.
      */
-    public synchronized void onChange( Channel channel, Action<ValDelegate<T>> action ) {
+    public void onChange( Channel channel, Action<ValDelegate<T>> action ) {
         Objects.requireNonNull(channel);
         Objects.requireNonNull(action);
-        _updateActionsFor(channel, it->it.add(action, channel, this));
+        // The registration for cleanup is a side effect, so it must not be part of the CAS loop:
+        if ( !ChangeListeners.registerForCleanup(action, channel, this) )
+            return;
+        _updateActionsFor(channel, it -> it.addRegistered(action));
+        if ( action instanceof WeakAction && !((WeakAction<?, ?>) action).owner().isPresent() ) {
+            // The owner was collected while we were adding the action, so the cleaner
+            // may have tried to remove it before it was even added. We clean up ourselves:
+            _updateActionsFor(channel, it -> it.updateActions(actions -> actions.remove(action)));
+        }
     }
 
     /**
      *  Called by the {@link ChangeListenerCleaner} background thread to remove a
-     *  garbage-collected weak listener. Must be synchronized because it races with
-     *  the main thread on {@code _channelsToListeners}.
+     *  garbage-collected weak listener. This races with other threads
+     *  on the listener state, which is why it goes through the same CAS loop.
      */
     @Override
-    public synchronized void updateState(@Nullable Channel channel, Function<ChangeListeners<ValDelegate<T>>, ChangeListeners<ValDelegate<T>>> updater) {
+    public void updateState(@Nullable Channel channel, Function<ChangeListeners<ValDelegate<T>>, ChangeListeners<ValDelegate<T>>> updater) {
         if ( channel != null )
             _updateActionsFor(channel, updater);
     }
@@ -75,7 +85,7 @@ public final class PropertyChangeListeners<T> implements ChangeListeners.OwnerCa
      *
      * @param observer The observer to be registered as a change listener.
      */
-    public synchronized void onChange( Observer observer ) {
+    public void onChange( Observer observer ) {
         this.onChange(Sprouts.factory().defaultObservableChannel(), new ObserverAsActionImpl<>(observer) );
     }
 
@@ -87,7 +97,7 @@ public final class PropertyChangeListeners<T> implements ChangeListeners.OwnerCa
      *
      * @param subscriber The subscriber to be removed from the change listeners.
      */
-    public synchronized void unsubscribe( Subscriber subscriber ) {
+    public void unsubscribe( Subscriber subscriber ) {
         updateActions( it -> it.unsubscribe(subscriber ) );
     }
 
@@ -96,18 +106,18 @@ public final class PropertyChangeListeners<T> implements ChangeListeners.OwnerCa
      *  This method is used to remove all listeners that were previously registered.
      *  Note that this will remove all listeners, regardless of the channel they were registered on.
      */
-    public synchronized void unsubscribeAll() {
+    public void unsubscribeAll() {
         updateActions(ChangeListeners::unsubscribeAll);
     }
 
-    private synchronized void updateActions(Function<ChangeListeners<ValDelegate<T>>, ChangeListeners<ValDelegate<T>>> updater) {
-        _channelsToListeners = (Association)
-                _channelsToListeners.entrySet()
-                .stream()
-                .map( entry -> {
-                    return entry.withSecond(updater.apply(entry.second()));
-                })
-                .collect(Association.collectorOfLinked(Channel.class, ChangeListeners.class));
+    private void updateActions(Function<ChangeListeners<ValDelegate<T>>, ChangeListeners<ValDelegate<T>>> updater) {
+        State<T> current;
+        State<T> updated;
+        do {
+            current = _state.get();
+            updated = current.withAll(updater);
+        }
+        while ( updated != current && !_state.compareAndSet(current, updated) );
     }
 
     /**
@@ -130,25 +140,85 @@ public final class PropertyChangeListeners<T> implements ChangeListeners.OwnerCa
         Channel channel,
         ItemPair<T> pair
     ) {
-        final Association<Channel, ChangeListeners<ValDelegate<T>>> snapshot = _channelsToListeners;
-        if ( snapshot.isEmpty() )
+        fireChange(owner, channel, pair.change(), pair.newValue(), pair.oldValue());
+    }
+
+    /**
+     *  The allocation free fast path for firing a change event.
+     *  If nobody listens on the given channel or on {@link From#ALL},
+     *  this returns right away without creating any objects. Otherwise,
+     *  the delegate passed to the listeners is created exactly once.
+     *  The event is delivered in two passes: First, the views derived from the owner
+     *  mark themselves as dirty, and all dirty views of the {@link ViewPropagation}
+     *  of the current thread are recomputed in the order of their rank.
+     *  Only then are the other listeners notified, so that they always
+     *  observe the views of the owner in their updated state.
+     *  Within a {@link Sprouts#batch(Runnable)} call, actual changes are handed to
+     *  the {@link ChangeBatch} of the current thread instead, which fires them once the batch completes.
+     *  Only the first pass is delivered right away, without recomputing anything, so that the views
+     *  derived from the owner are marked as dirty and pull their new item when they are read within the batch.
+     */
+    void fireChange(
+        Val<T> owner,
+        Channel channel,
+        SingleChange change,
+        @Nullable T newValue,
+        @Nullable T oldValue
+    ) {
+        final State<T> snapshot = _state.get();
+        if ( snapshot.numberOfListeners == 0 )
+            return;
+        final @Nullable ChangeBatch batch = change != SingleChange.NONE ? ChangeBatch.current() : null;
+        if ( batch != null )
+            batch.defer(this, owner, channel, newValue, oldValue);
+        if ( channel != From.ALL && snapshot.listenersFor(channel).isEmpty() && snapshot.listenersFor(From.ALL).isEmpty() )
+            return;
+        final ValDelegate<T> delegate = Sprouts.factory().delegateOf(owner, channel, change, newValue, oldValue);
+        if ( batch != null ) {
+            // The batch keeps the propagation open, so the views are only marked as dirty here:
+            _fire(snapshot, channel, delegate, true);
             return;
-        Supplier<ValDelegate<T>> lazilyCreatedDelegate = new Supplier<ValDelegate<T>>() {
-            private @Nullable ValDelegate<T> delegate = null;
-            @Override
-            public ValDelegate<T> get() {
-                if ( delegate == null )
-                    delegate = Sprouts.factory().delegateOf(owner, channel, pair.change(), pair.newValue(), pair.oldValue());
-                return delegate;
-            }
-        };
-        // We clone this property to avoid concurrent modification
-        if ( channel == From.ALL)
-            for ( Channel key : snapshot.keySet() )
-                _getActionsForSnapshot(snapshot, key).fireChange( lazilyCreatedDelegate );
-        else {
-            _getActionsForSnapshot(snapshot, channel).fireChange( lazilyCreatedDelegate );
-            _getActionsForSnapshot(snapshot, From.ALL).fireChange( lazilyCreatedDelegate );
+        }
+        final ViewPropagation propagation = ViewPropagation.current();
+        final boolean opened = propagation.open();
+        try {
+            _fire(snapshot, channel, delegate, true);
+            propagation.drain();
+            _fire(snapshot, channel, delegate, false);
+            if ( opened )
+                propagation.drain(); // Views made dirty by listeners outside a change event of their sources.
+        } finally {
+            if ( opened )
+                propagation.end();
+        }
+    }
+
+    /**
+     *  Delivers one of the two passes of a change event (see {@link #fireChange(Val, Channel, SingleChange, Object, Object)})
+     *  without opening or draining a {@link ViewPropagation}, which is the responsibility of the caller.
+     *  This allows the {@link ChangeBatch} to notify the other listeners of all changed
+     *  properties once all views were brought up to date.
+     */
+    void fireChangePass(
+        Val<T> owner,
+        Channel channel,
+        ItemPair<T> pair,
+        boolean viewUpdates
+    ) {
+        final State<T> snapshot = _state.get();
+        if ( snapshot.numberOfListeners == 0 )
+            return;
+        final ValDelegate<T> delegate = Sprouts.factory().delegateOf(owner, channel, pair.change(), pair.newValue(), pair.oldValue());
+        _fire(snapshot, channel, delegate, viewUpdates);
+    }
+
+    private static <T> void _fire( State<T> snapshot, Channel channel, ValDelegate<T> delegate, boolean viewUpdates ) {
+        if ( channel == From.ALL ) {
+            for ( ChangeListeners<ValDelegate<T>> listeners : snapshot.listeners )
+                listeners.fireChange(delegate, viewUpdates);
+        } else {
+            snapshot.listenersFor(channel).fireChange(delegate, viewUpdates);
+            snapshot.listenersFor(From.ALL).fireChange(delegate, viewUpdates);
         }
     }
 
@@ -158,41 +228,91 @@ public final class PropertyChangeListeners<T> implements ChangeListeners.OwnerCa
      *
      * @return The number of change listeners that are currently registered.
      */
-    public synchronized long numberOfChangeListeners() {
-        return _channelsToListeners.values()
-                            .stream()
-                            .mapToLong(ChangeListeners::numberOfChangeListeners)
-                            .sum();
+    public long numberOfChangeListeners() {
+        return _state.get().numberOfListeners;
     }
 
-    // Must only be called while holding this object's monitor.
-    private ChangeListeners<ValDelegate<T>> _getActionsFor( Channel channel ) {
-        if ( !_channelsToListeners.containsKey(channel) ) {
-            _channelsToListeners = _channelsToListeners.put(channel, ChangeListeners.empty());
+    private void _updateActionsFor(Channel channel, Function<ChangeListeners<ValDelegate<T>>, ChangeListeners<ValDelegate<T>>> updater) {
+        State<T> current;
+        State<T> updated;
+        do {
+            current = _state.get();
+            updated = current.with(channel, updater);
         }
-        return _channelsToListeners.get(channel).get();
+        while ( updated != current && !_state.compareAndSet(current, updated) );
     }
 
-    // Read-only lookup on an already-snapshotted Association; no lock required.
-    private static <T> ChangeListeners<ValDelegate<T>> _getActionsForSnapshot(
-        Association<Channel, ChangeListeners<ValDelegate<T>>> snapshot,
-        Channel channel
-    ) {
-        return snapshot.containsKey(channel)
-                ? snapshot.get(channel).get()
-                : ChangeListeners.empty();
-    }
+    /**
+     *  An immutable snapshot of all listeners, grouped by channel,
+     *  together with their total number.
+     */
+    private static final class State<T> {
 
-    // Must only be called while holding this object's monitor.
-    private void _updateActionsFor(Channel channel, Function<ChangeListeners<ValDelegate<T>>, ChangeListeners<ValDelegate<T>>> updater) {
-        ChangeListeners<ValDelegate<T>> listeners = _getActionsFor(channel);
-        listeners = updater.apply(listeners);
-        _channelsToListeners = _channelsToListeners.put(channel, listeners);
+        private static final State<?> EMPTY = new State<>((Association)Association.betweenLinked(Channel.class, ChangeListeners.class), 0);
+
+        @SuppressWarnings("unchecked")
+        static <T> State<T> empty() {
+            return (State<T>) EMPTY;
+        }
+
+        final Association<Channel, ChangeListeners<ValDelegate<T>>> channelsToListeners;
+        final long numberOfListeners;
+        // The entries of the association as plain arrays, so that firing
+        // a change event can look up listeners without allocating anything:
+        final Channel[] channels;
+        final ChangeListeners<ValDelegate<T>>[] listeners;
+
+        @SuppressWarnings("unchecked")
+        private State( Association<Channel, ChangeListeners<ValDelegate<T>>> channelsToListeners, long numberOfListeners ) {
+            this.channelsToListeners = channelsToListeners;
+            this.numberOfListeners   = numberOfListeners;
+            this.channels            = new Channel[channelsToListeners.size()];
+            this.listeners           = new ChangeListeners[channelsToListeners.size()];
+            int i = 0;
+            for ( Pair<Channel, ChangeListeners<ValDelegate<T>>> entry : channelsToListeners ) {
+                this.channels[i]  = entry.first();
+                this.listeners[i] = entry.second();
+                i++;
+            }
+        }
+
+        ChangeListeners<ValDelegate<T>> listenersFor( Channel channel ) {
+            for ( int i = 0; i < channels.length; i++ ) {
+                if ( channels[i].equals(channel) )
+                    return listeners[i];
+            }
+            return ChangeListeners.empty();
+        }
+
+        State<T> with( Channel channel, Function<ChangeListeners<ValDelegate<T>>, ChangeListeners<ValDelegate<T>>> updater ) {
+            ChangeListeners<ValDelegate<T>> oldListeners = channelsToListeners.get(channel).orElse(ChangeListeners.empty());
+            ChangeListeners<ValDelegate<T>> newListeners = updater.apply(oldListeners);
+            if ( newListeners == oldListeners )
+                return this;
+            return new State<>(
+                        channelsToListeners.put(channel, newListeners),
+                        numberOfListeners - oldListeners.numberOfChangeListeners() + newListeners.numberOfChangeListeners()
+                    );
+        }
+
+        State<T> withAll( Function<ChangeListeners<ValDelegate<T>>, ChangeListeners<ValDelegate<T>>> updater ) {
+            Association<Channel, ChangeListeners<ValDelegate<T>>> updated = channelsToListeners;
+            long count = numberOfListeners;
+            for ( Pair<Channel, ChangeListeners<ValDelegate<T>>> entry : channelsToListeners ) {
+                ChangeListeners<ValDelegate<T>> oldListeners = entry.second();
+                ChangeListeners<ValDelegate<T>> newListeners = updater.apply(oldListeners);
+                if ( newListeners != oldListeners ) {
+                    updated = updated.put(entry.first(), newListeners);
+                    count = count - oldListeners.numberOfChangeListeners() + newListeners.numberOfChangeListeners();
+                }
+            }
+            return updated == channelsToListeners ? this : new State<>(updated, count);
+        }
     }
 
     @Override
     public final String toString() {
-        final Association<Channel, ChangeListeners<ValDelegate<T>>> snapshot = _channelsToListeners;
+        final Association<Channel, ChangeListeners<ValDelegate<T>>> snapshot = _state.get().channelsToListeners;
         StringBuilder sb = new StringBuilder();
         sb.append(this.getClass().getSimpleName()).append("[");
         for ( Channel key : snapshot.keySet() ) {
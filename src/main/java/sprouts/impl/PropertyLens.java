@@ -334,6 +334,7 @@ final class PropertyLens<T extends @Nullable Object> implements Var<T>, Viewable
     private final LensCore<T>         _core;
 
     private @Nullable T _lastItem;
+    private @Nullable Class<?> _lastCheckedType; // the last item type which passed the type check in _item()
 
     // ==================== Constructor ====================
 
@@ -357,6 +358,7 @@ final class PropertyLens<T extends @Nullable Object> implements Var<T>, Viewable
         _lastItem = initialItem;
         for ( Val<?> source : _core.sources() ) {
             Viewable.cast(source).onChange(From.ALL, WeakAction.of(this, (thisLens, v) -> {
+                thisLens._core.clearMemo();
                 if ( thisLens._core.shouldSuppressSourceCallback() ) return;
                 T newValue = thisLens._core.fetchFromSources(thisLens._lastItem);
                 ItemPair<T> pair = new ItemPair<>(thisLens._type, newValue, thisLens._lastItem);
@@ -373,17 +375,27 @@ final class PropertyLens<T extends @Nullable Object> implements Var<T>, Viewable
             throw new IllegalArgumentException("The provided initial value is null, but the property does not allow null values!");
     }
 
+    /**
+     * @return The properties the memoized item of this lens ultimately depends on.
+     */
+    LensMemo.Sources memoSources() {
+        return _core.memoSources();
+    }
+
     // ==================== Var contract ====================
 
     private @Nullable T _item() {
         @Nullable T currentItem = _core.fetchFromSources(_lastItem);
         if ( currentItem != null ) {
             Class<?> currentType = currentItem.getClass();
+            if ( currentType == _lastCheckedType )
+                return currentItem;
             if ( !_type.isAssignableFrom(currentType) )
                 throw new IllegalArgumentException(String.format(
                             "The provided type '%s' of the initial value is not compatible " +
                             "with the actual type '%s' of the variable", currentType, _type
                         ));
+            _lastCheckedType = currentType;
         }
         return currentItem;
     }
@@ -18,10 +18,13 @@ import java.util.function.Function;
  *
  * @param <T> The type of the item wrapped by a given property...
  */
-final class PropertyView<T extends @Nullable Object> implements Var<T>, Viewable<T> {
+final class PropertyView<T extends @Nullable Object> implements Var<T>, Viewable<T>, ViewPropagation.Ranked {
 
 	private static final Logger log = org.slf4j.LoggerFactory.getLogger(PropertyView.class);
 
+	@SuppressWarnings("unchecked")
+	private static final Class<Val<?>> _VAL_TYPE = (Class<Val<?>>) (Class<?>) Val.class;
+
 	private static ParentRef<@Nullable Val<?>>[] _filterStrongParentRefs( Val<?>[] parentRefs ) {
 		ParentRef<@Nullable Val<?>>[] strongParentRefs = new ParentRef[parentRefs.length];
 		for ( int i = 0; i < parentRefs.length; i++ ) {
@@ -47,8 +50,9 @@ final class PropertyView<T extends @Nullable Object> implements Var<T>, Viewable
 		}
 		final PropertyView<@Nullable U> viewProperty = PropertyView._ofNullable(type, initialItem, source);
 		Viewable.cast(source).onChange(Util.VIEW_CHANNEL, WeakAction.of( viewProperty, (innerViewProperty, v) -> {
-			ItemPair<U> pair = innerViewProperty._setInternal(mapper.apply(v.currentValue().orElseNull()));
-			innerViewProperty.fireOnlyIfChangedOrParentForcedChange(v.channel(), pair, v.change());
+			innerViewProperty._scheduleUpdate(v.channel(), v.change(), view ->
+				view._setInternal(mapper.apply(v.currentValue().orElseNull()))
+			);
 		}));
 		return viewProperty;
 	}
@@ -67,12 +71,13 @@ final class PropertyView<T extends @Nullable Object> implements Var<T>, Viewable
 
 		final PropertyView<U> viewProperty = PropertyView._of( targetType, initial, source );
 		Viewable.cast(source).onChange(Util.VIEW_CHANNEL, WeakAction.of( viewProperty, (innerViewProperty, v) -> {
-			@Nullable Val<T> innerSource = innerViewProperty._getSource(0);
-			if ( innerSource == null )
-				return;
-			final U value = nonNullMapper.apply(innerSource.orElseNull());
-			ItemPair<U> pair = innerViewProperty._setInternal(value);
-			innerViewProperty.fireOnlyIfChangedOrParentForcedChange(v.channel(), pair, v.change());
+			innerViewProperty._scheduleUpdate(v.channel(), v.change(), view -> {
+				@Nullable Val<T> innerSource = view._getSource(0);
+				if ( innerSource == null )
+					return null;
+				final U value = nonNullMapper.apply(innerSource.orElseNull());
+				return view._setInternal(value);
+			});
 		}));
 		return viewProperty;
 	}
@@ -96,8 +101,9 @@ final class PropertyView<T extends @Nullable Object> implements Var<T>, Viewable
 			if ( innerSource == null )
 				return;
 
-			ItemPair<T> pair = innerViewProperty._setInternal(v.currentValue().orElseNull());
-			innerViewProperty.fireOnlyIfChangedOrParentForcedChange(v.channel(), pair, v.change());
+			innerViewProperty._scheduleUpdate(v.channel(), v.change(), view ->
+				view._setInternal(v.currentValue().orElseNull())
+			);
 		}));
 		return viewProperty;
 	}
@@ -108,9 +114,10 @@ final class PropertyView<T extends @Nullable Object> implements Var<T>, Viewable
 			Var<U> source = (Var<U>) parent;
 			PropertyView<T> view = PropertyView._of( type, initialItem, parent );
 			Viewable.cast(source).onChange(From.ALL, WeakAction.of(view, (innerViewProperty, v) -> {
-				T newItem = mapper.apply(v.currentValue().orElseNull());
-				ItemPair<T> pair = innerViewProperty._setInternal(newItem);
-				innerViewProperty.fireOnlyIfChangedOrParentForcedChange(v.channel(), pair, v.change());
+				innerViewProperty._scheduleUpdate(v.channel(), v.change(), innerView -> {
+					T newItem = mapper.apply(v.currentValue().orElseNull());
+					return innerView._setInternal(newItem);
+				});
 			}));
 			return view;
 		}
@@ -134,6 +141,14 @@ final class PropertyView<T extends @Nullable Object> implements Var<T>, Viewable
 		return ofNullable( type, first, second, combiner );
 	}
 
+	public static <R> Viewable<R> viewOfAll( Class<R> type, Function<Tuple<Val<?>>, R> combiner, Val<?>... sources ) {
+		return ofAll( type, false, combiner, sources );
+	}
+
+	public static <R> Viewable<@Nullable R> viewOfAllNullable( Class<R> type, Function<Tuple<Val<?>>, @Nullable R> combiner, Val<?>... sources ) {
+		return ofAll( type, true, combiner, sources );
+	}
+
 	private static <T extends @Nullable Object, U extends @Nullable Object> Viewable<@NonNull T> of(
 		Val<T> first,
 		Val<U> second,
@@ -154,34 +169,36 @@ final class PropertyView<T extends @Nullable Object> implements Var<T>, Viewable
 		T initial = fullCombiner.apply(first, second);
 		Objects.requireNonNull(initial,"The result of the combiner function is null, but the property does not allow null items!");
 		BiConsumer<PropertyView<T>,ValDelegate<T>> firstListener = (innerResult,v) -> {
-			Val<U> innerSecond = innerResult._getSource(1);
-			if (innerSecond == null)
-				return;
-			T newItem = fullCombiner.apply(v.currentValue(), innerSecond);
-			if (newItem == null)
-				_logError(
-					"Invalid combiner result! The combination of the first item '{}' (changed) and the second " +
-					"item '{}' was null and null is not allowed! The old item '{}' is retained!",
-					v.currentValue().orElseNull(), innerSecond.orElseNull(), innerResult.orElseNull()
-				);
-			else {
-				ItemPair<T> pair = innerResult._setInternal(newItem);
-				innerResult.fireOnlyIfChangedOrParentForcedChange(From.ALL, pair, v.change());
-			}
+			innerResult._scheduleUpdate(From.ALL, v.change(), view -> {
+				Val<U> innerSecond = view._getSource(1);
+				if (innerSecond == null)
+					return null;
+				T newItem = fullCombiner.apply(v.currentValue(), innerSecond);
+				if (newItem == null) {
+					_logError(
+						"Invalid combiner result! The combination of the first item '{}' (changed) and the second " +
+						"item '{}' was null and null is not allowed! The old item '{}' is retained!",
+						v.currentValue().orElseNull(), innerSecond.orElseNull(), view.orElseNull()
+					);
+					return null;
+				}
+				return view._setInternal(newItem);
+			});
 		};
 		BiConsumer<PropertyView<T>,ValDelegate<U>> secondListener = (innerResult,v) -> {
-			Val<T> innerFirst = innerResult._getSource(0);
-			T newItem = fullCombiner.apply(innerFirst, v.currentValue());
-			if (newItem == null)
-				_logError(
-					"Invalid combiner result! The combination of the first item '{}' and the second " +
-					"item '{}' (changed) was null and null is not allowed! The old item '{}' is retained!",
-					innerFirst.orElseNull(), v.currentValue().orElseNull(), innerResult.orElseNull()
-				);
-			else {
-				ItemPair<T> pair = innerResult._setInternal(newItem);
-				innerResult.fireOnlyIfChangedOrParentForcedChange(From.ALL, pair, v.change());
-			}
+			innerResult._scheduleUpdate(From.ALL, v.change(), view -> {
+				Val<T> innerFirst = view._getSource(0);
+				T newItem = fullCombiner.apply(innerFirst, v.currentValue());
+				if (newItem == null) {
+					_logError(
+						"Invalid combiner result! The combination of the first item '{}' and the second " +
+						"item '{}' (changed) was null and null is not allowed! The old item '{}' is retained!",
+						innerFirst.orElseNull(), v.currentValue().orElseNull(), view.orElseNull()
+					);
+					return null;
+				}
+				return view._setInternal(newItem);
+			});
 		};
 
 		boolean firstIsImmutable = first.isImmutable();
@@ -223,15 +240,17 @@ final class PropertyView<T extends @Nullable Object> implements Var<T>, Viewable
 		PropertyView<@Nullable T> result = PropertyView._ofNullable( first.type(), initial, first, second ).withId(id);
 		if ( !firstIsImmutable )
 			Viewable.cast(first).onChange(From.ALL, WeakAction.of(result, (innerResult, v) -> {
-				Val<U> innerSecond = innerResult._getSource(1);
-				ItemPair<T> pair = innerResult._setInternal(fullCombiner.apply(v.currentValue(), innerSecond));
-				innerResult.fireOnlyIfChangedOrParentForcedChange(v.channel(), pair, v.change());
+				innerResult._scheduleUpdate(v.channel(), v.change(), view -> {
+					Val<U> innerSecond = view._getSource(1);
+					return view._setInternal(fullCombiner.apply(v.currentValue(), innerSecond));
+				});
 			}));
 		if ( !secondIsImmutable )
 			Viewable.cast(second).onChange(From.ALL, WeakAction.of(result, (innerResult, v) -> {
-				Val<T> innerFirst = innerResult._getSource(0);
-				ItemPair<T> pair = innerResult._setInternal(fullCombiner.apply(innerFirst, v.currentValue()));
-				innerResult.fireOnlyIfChangedOrParentForcedChange(v.channel(), pair, v.change());
+				innerResult._scheduleUpdate(v.channel(), v.change(), view -> {
+					Val<T> innerFirst = view._getSource(0);
+					return view._setInternal(fullCombiner.apply(innerFirst, v.currentValue()));
+				});
 			}));
 		return result;
 	}
@@ -262,34 +281,36 @@ final class PropertyView<T extends @Nullable Object> implements Var<T>, Viewable
 		PropertyView<R> result = PropertyView._of(type, initial, first, second ).withId(id);
 
 		Viewable.cast(first).onChange(From.ALL, WeakAction.of(result, (innerResult, v) -> {
-			Val<U> innerSecond = innerResult._getSource(1);
-			@Nullable R newItem = fullCombiner.apply(v.currentValue(), innerSecond);
-			if (newItem == null)
-				_logError(
-					"Invalid combiner result! The combination of the first item '{}' (changed) " +
-					"and the second item '{}' was null and null is not allowed! " +
-					"The old item '{}' is retained!",
-					v.currentValue().orElseNull(), innerSecond.orElseNull(), innerResult.orElseNull()
-				);
-			else {
-				ItemPair<R> pair = innerResult._setInternal(newItem);
-				innerResult.fireOnlyIfChangedOrParentForcedChange(v.channel(), pair, v.change());
-			}
+			innerResult._scheduleUpdate(v.channel(), v.change(), view -> {
+				Val<U> innerSecond = view._getSource(1);
+				@Nullable R newItem = fullCombiner.apply(v.currentValue(), innerSecond);
+				if (newItem == null) {
+					_logError(
+						"Invalid combiner result! The combination of the first item '{}' (changed) " +
+						"and the second item '{}' was null and null is not allowed! " +
+						"The old item '{}' is retained!",
+						v.currentValue().orElseNull(), innerSecond.orElseNull(), view.orElseNull()
+					);
+					return null;
+				}
+				return view._setInternal(newItem);
+			});
 		}));
 		Viewable.cast(second).onChange(From.ALL, WeakAction.of(result, (innerResult, v) -> {
-			Val<T> innerFirst = innerResult._getSource(0);
-			@Nullable R newItem = fullCombiner.apply(innerFirst, v.currentValue());
-			if (newItem == null)
-				_logError(
-					"Invalid combiner result! The combination of the first item '{}' and the second " +
-					"item '{}' (changed) was null and null is not allowed! " +
-					"The old item '{}' is retained!",
-					innerFirst.orElseNull(), v.currentValue().orElseNull(), innerResult.orElseNull()
-				);
-			else {
-				ItemPair<R> pair = innerResult._setInternal(newItem);
-				innerResult.fireOnlyIfChangedOrParentForcedChange(v.channel(), pair, v.change());
-			}
+			innerResult._scheduleUpdate(v.channel(), v.change(), view -> {
+				Val<T> innerFirst = view._getSource(0);
+				@Nullable R newItem = fullCombiner.apply(innerFirst, v.currentValue());
+				if (newItem == null) {
+					_logError(
+						"Invalid combiner result! The combination of the first item '{}' and the second " +
+						"item '{}' (changed) was null and null is not allowed! " +
+						"The old item '{}' is retained!",
+						innerFirst.orElseNull(), v.currentValue().orElseNull(), view.orElseNull()
+					);
+					return null;
+				}
+				return view._setInternal(newItem);
+			});
 		}));
 		return result;
 	}
@@ -314,27 +335,83 @@ final class PropertyView<T extends @Nullable Object> implements Var<T>, Viewable
 
 		PropertyView<@Nullable R> result =  PropertyView._ofNullable( type, fullCombiner.apply(first, second), first, second ).withId(id);
 		Viewable.cast(first).onChange(From.ALL, WeakAction.of(result, (innerResult, v) -> {
-			Val<U> innerSecond = innerResult._getSource(1);
-			ItemPair<R> pair = innerResult._setInternal(fullCombiner.apply(v.currentValue(), innerSecond));
-			innerResult.fireOnlyIfChangedOrParentForcedChange(v.channel(), pair, v.change());
+			innerResult._scheduleUpdate(v.channel(), v.change(), view -> {
+				Val<U> innerSecond = view._getSource(1);
+				return view._setInternal(fullCombiner.apply(v.currentValue(), innerSecond));
+			});
 		}));
 		Viewable.cast(second).onChange(From.ALL, WeakAction.of(result, (innerResult, v) -> {
-			Val<T> innerFirst = innerResult._getSource(0);
-			ItemPair<R> pair = innerResult._setInternal(fullCombiner.apply(innerFirst, v.currentValue()));
-			innerResult.fireOnlyIfChangedOrParentForcedChange(v.channel(), pair, v.change());
+			innerResult._scheduleUpdate(v.channel(), v.change(), view -> {
+				Val<T> innerFirst = view._getSource(0);
+				return view._setInternal(fullCombiner.apply(innerFirst, v.currentValue()));
+			});
 		}));
 		return result;
 	}
 
-	private static String _compositeIdFrom(Val<?> first, Val<?> second) {
-		String id = "";
-		if ( !first.id().isEmpty() && !second.id().isEmpty() )
-			id = first.id() + "_and_" + second.id();
-		else if ( !first.id().isEmpty() )
-			id = first.id();
-		else if ( !second.id().isEmpty() )
-			id = second.id();
-		return id;
+	private static <R> Viewable<R> ofAll(
+		Class<R>                                   type,
+		boolean                                    allowsNull,
+		Function<Tuple<Val<?>>, @Nullable R>       combiner,
+		Val<?>...                                  sources
+	) {
+		String id = _compositeIdFrom(sources);
+
+		Function<Tuple<Val<?>>, @Nullable R> fullCombiner = items -> {
+			try {
+				return combiner.apply(items);
+			} catch ( Exception e ) {
+				Util.sneakyThrowExceptionIfFatal(e);
+				_logError("An error occurred while applying the combiner function of a composite property.", e);
+				return null;
+			}
+		};
+
+		final Tuple<Val<?>> initialSources = Tuple.of(_VAL_TYPE, sources);
+		@Nullable R initial = fullCombiner.apply(initialSources);
+
+		if ( !allowsNull && initial == null )
+			throw new NullPointerException("The result of the combiner function is null, but the property does not allow null items!");
+
+		boolean allImmutable = true;
+		for ( Val<?> source : sources )
+			allImmutable = allImmutable && source.isImmutable();
+		if ( allImmutable ) // A nice little optimization: a view of immutable properties is also immutable.
+			return Viewable.cast(initial == null ? Val.ofNull(type) : Val.of(initial));
+
+		PropertyView<R> result = ( allowsNull ? PropertyView._ofNullable(type, initial, sources) : PropertyView._of(type, initial, sources) ).withId(id);
+		for ( Val<?> source : sources ) {
+			if ( source.isImmutable() )
+				continue;
+			Viewable.cast(source).onChange(From.ALL, WeakAction.of(result, (innerResult, v) -> {
+				innerResult._scheduleUpdate(v.channel(), v.change(), view -> {
+					Tuple<Val<?>> currentSources = view._sources();
+					@Nullable R newItem = fullCombiner.apply(currentSources);
+					if ( !allowsNull && newItem == null ) {
+						_logError(
+							"Invalid combiner result! The combination of the items of the properties '{}' " +
+							"was null and null is not allowed! The old item '{}' is retained!",
+							currentSources, view.orElseNull()
+						);
+						return null;
+					}
+					return view._setInternal(newItem);
+				});
+			}));
+		}
+		return result;
+	}
+
+	private static String _compositeIdFrom( Val<?>... sources ) {
+		StringBuilder id = new StringBuilder();
+		for ( Val<?> source : sources ) {
+			if ( source.id().isEmpty() )
+				continue;
+			if ( id.length() > 0 )
+				id.append("_and_");
+			id.append(source.id());
+		}
+		return id.toString();
 	}
 
 	private final PropertyChangeListeners<T> _changeListeners;
@@ -347,6 +424,19 @@ final class PropertyView<T extends @Nullable Object> implements Var<T>, Viewable
 
 	private final ParentRef<Val<?>>[] _strongParentRefs;
 
+	/**
+	 *  The position of this view in the dependency graph of views,
+	 *  which is one more than the highest rank of its source properties.
+	 *  It determines the order in which dirty views are recomputed by the {@link ViewPropagation}.
+	 */
+	private final int _rank;
+
+	/**
+	 *  Whether an update of this view is pending in the {@link ViewPropagation} of the
+	 *  thread which changed its sources, in which case reading the view runs it right away.
+	 */
+	private boolean _dirty = false;
+
 
 	private PropertyView(
         Class<T> type,
@@ -366,6 +456,7 @@ final class PropertyView<T extends @Nullable Object> implements Var<T>, Viewable
 		_currentItem      = iniValue;
 		_changeListeners  = new PropertyChangeListeners<>();
 		_strongParentRefs = strongParentRefs;
+		_rank             = _rankFrom(strongParentRefs);
 
 		if ( _currentItem != null ) {
 			// We check if the type is correct
@@ -388,12 +479,31 @@ final class PropertyView<T extends @Nullable Object> implements Var<T>, Viewable
 			);
 	}
 
+	private static int _rankFrom( ParentRef<Val<?>>[] parentRefs ) {
+		int rank = 0;
+		for ( ParentRef<Val<?>> parentRef : parentRefs )
+			rank = Math.max(rank, ViewPropagation.rankOf(parentRef.get()));
+		return rank + 1;
+	}
+
+	@Override
+	public int rank() {
+		return _rank;
+	}
+
 	private <P> Val<P> _getSource( int index ) {
 		if ( index < 0 || index >= _strongParentRefs.length )
 			throw new IndexOutOfBoundsException("The index "+index+" is out of bounds!");
 		return (Val) _strongParentRefs[index].get();
 	}
 
+	private Tuple<Val<?>> _sources() {
+		Val<?>[] sources = new Val<?>[_strongParentRefs.length];
+		for ( int i = 0; i < sources.length; i++ )
+			sources[i] = _strongParentRefs[i].get();
+		return Tuple.of(_VAL_TYPE, sources);
+	}
+
 	/** {@inheritDoc} */
 	@Override public PropertyView<T> withId( String id ) {
         return new PropertyView<>(_type, _currentItem, id, _changeListeners, _nullable, _strongParentRefs);
@@ -438,6 +548,30 @@ final class PropertyView<T extends @Nullable Object> implements Var<T>, Viewable
 		_changeListeners.fireChange(this, channel, pair);
 	}
 
+	/**
+	 *  Marks this view as dirty instead of recomputing it right away, so that the
+	 *  given update runs exactly once per change of its sources, after all views
+	 *  of a lower rank were updated. See {@link ViewPropagation} for details.
+	 *
+	 * @param channel The channel on which the resulting change event should be fired.
+	 * @param parentChange The change type of the parent/source property that triggered this update.
+	 * @param update A function computing the new item of the view and returning the resulting
+	 *               item pair, or {@code null} if the view should retain its item without firing.
+	 */
+	private void _scheduleUpdate(
+		Channel channel,
+		@Nullable SingleChange parentChange,
+		Function<PropertyView<T>, @Nullable ItemPair<T>> update
+	) {
+		_dirty = true;
+		ViewPropagation.schedule(this, _rank, channel, parentChange == SingleChange.NONE, (innerChannel, parentForcedChange) -> {
+			_dirty = false;
+			@Nullable ItemPair<T> pair = update.apply(this);
+			if ( pair != null )
+				fireOnlyIfChangedOrParentForcedChange(innerChannel, pair, parentForcedChange ? SingleChange.NONE : null);
+		});
+	}
+
 	@Override
 	public final boolean isMutable() {
 		return true;
@@ -508,7 +642,11 @@ final class PropertyView<T extends @Nullable Object> implements Var<T>, Viewable
 
 	/** {@inheritDoc} */
 	@Override
-	public final @Nullable T orElseNull() { return _currentItem; }
+	public final @Nullable T orElseNull() {
+		if ( _dirty || ChangeBatch.mayBeRunning() )
+			ViewPropagation.updateNow(this);
+		return _currentItem;
+	}
 
 	/** {@inheritDoc} */
 	@Override public final boolean allowsNull() { return _nullable; }
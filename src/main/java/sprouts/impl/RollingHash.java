@@ -0,0 +1,77 @@
+package sprouts.impl;
+
+/**
+ *  Computes the classic polynomial hash code of a sequence
+ *  (the one produced by the loop {@code hash = 31 * hash + itemHash})
+ *  piece by piece, so that the persistent trees of this package can cache
+ *  the partial hash of every one of their nodes.
+ *  Because subtrees are shared between the versions of a collection, the hash code
+ *  of a new version only needs to be computed for the nodes on the path which was copied,
+ *  while the partial hashes of all other nodes are simply reused.<br>
+ *  A partial hash is packed into a single {@code long}, with the polynomial hash
+ *  of the items in the upper 32 bits and the factor {@code 31^n} of the
+ *  {@code n} items in the lower 32 bits. That factor is always odd,
+ *  which is why {@link #UNKNOWN} can never be a valid partial hash.
+ */
+final class RollingHash {
+    private RollingHash() {}
+
+    /** Marks a partial hash which was not computed yet. */
+    static final long UNKNOWN = 0;
+
+    /** The partial hash of an empty sequence. */
+    static final long EMPTY = 1;
+
+    /**
+     *  Extends the given partial hash by a single item.
+     */
+    static long append( long hash, int itemHash ) {
+        return _pack(31 * _hash(hash) + itemHash, 31 * _factor(hash));
+    }
+
+    /**
+     *  Extends the given partial hash by the items of the supplied array,
+     *  based on {@link ArrayUtil#_hashCodeAt(int, Object)}.
+     */
+    static long appendAll( long hash, Object array ) {
+        int itemsHash = _hash(hash);
+        int factor = _factor(hash);
+        final int length = ArrayUtil._length(array);
+        for ( int i = 0; i < length; i++ ) {
+            itemsHash = 31 * itemsHash + ArrayUtil._hashCodeAt(i, array);
+            factor = 31 * factor;
+        }
+        return _pack(itemsHash, factor);
+    }
+
+    /**
+     *  Combines the partial hashes of two consecutive parts of a sequence
+     *  into the partial hash of the whole sequence.
+     */
+    static long concat( long first, long second ) {
+        return _pack(
+                    _hash(first) * _factor(second) + _hash(second),
+                    _factor(first) * _factor(second)
+                );
+    }
+
+    /**
+     *  Turns a partial hash into the same hash code which the loop
+     *  {@code hash = 31 * hash + itemHash} produces when started with the given seed.
+     */
+    static int finish( int seed, long hash ) {
+        return seed * _factor(hash) + _hash(hash);
+    }
+
+    private static long _pack( int itemsHash, int factor ) {
+        return (long) itemsHash << 32 | (factor & 0xFFFFFFFFL);
+    }
+
+    private static int _hash( long hash ) {
+        return (int) (hash >>> 32);
+    }
+
+    private static int _factor( long hash ) {
+        return (int) hash;
+    }
+}
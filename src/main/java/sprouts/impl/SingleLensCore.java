@@ -14,6 +14,7 @@ import java.util.List;
  * A {@link LensCore} backed by a single parent {@link Var} and a {@link Lens}.
  * Fetches the current item by applying the lens getter to the parent,
  * and writes back by applying the lens wither.
+ * The getter only runs again once the root properties of the parent were modified.
  *
  * @param <A> The item type of the parent property.
  * @param <T> The item type of this lens property.
@@ -25,16 +26,27 @@ final class SingleLensCore<A extends @Nullable Object, T extends @Nullable Objec
     private final Var<A>                       _parent;
     private final Lens<@Nullable A, @Nullable T> _lens;
 
+    private final LensMemo.Sources             _memoSources;
+
+    private @Nullable LensMemo<T> _memo = null;
+
     SingleLensCore(Var<A> parent, Lens<@Nullable A, @Nullable T> lens) {
-        _parent = parent;
-        _lens   = lens;
+        _parent      = parent;
+        _lens        = lens;
+        _memoSources = LensMemo.Sources.of(Collections.singletonList(parent));
     }
 
     @Override
     public @Nullable T fetchFromSources(@Nullable T lastKnownItem) {
+        LensMemo<T> memo = _memo;
+        if ( memo != null && memo.isCurrent() )
+            return memo.item();
+        LensMemo.Snapshot snapshot = LensMemo.snapshotOf(_memoSources);
+        A parentItem = _parent.orElseNull();
         T fetchedValue = lastKnownItem;
         try {
-            fetchedValue = _lens.getter(Util.fakeNonNull(_parent.orElseNull()));
+            fetchedValue = _lens.getter(Util.fakeNonNull(parentItem));
+            _memo = snapshot.memoize(fetchedValue);
         } catch ( Exception e ) {
             Util.sneakyThrowExceptionIfFatal(e);
             String parentId = _parent.id().isEmpty() ? "?" : "'" + _parent.id() + "'";
@@ -47,6 +59,16 @@ final class SingleLensCore<A extends @Nullable Object, T extends @Nullable Objec
         return fetchedValue;
     }
 
+    @Override
+    public void clearMemo() {
+        _memo = null;
+    }
+
+    @Override
+    public LensMemo.Sources memoSources() {
+        return _memoSources;
+    }
+
     @Override
     public void writeToSources(Channel channel, @Nullable T newItem) {
         try {
@@ -80,6 +102,6 @@ final class SingleLensCore<A extends @Nullable Object, T extends @Nullable Objec
 
     @Override
     public LensCore<T> newInstance() {
-        return this; // no mutable state — safe to share
+        return new SingleLensCore<>(_parent, _lens);
     }
 }
\ No newline at end of file
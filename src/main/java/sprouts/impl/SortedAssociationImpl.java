@@ -4,7 +4,9 @@ import org.jspecify.annotations.Nullable;
 import sprouts.*;
 
 import java.util.*;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import static sprouts.impl.ArrayUtil.*;
 
@@ -17,6 +19,11 @@ final class SortedAssociationImpl<K, V> implements Association<K, V> {
         );
 
     private static int BASE_ENTRIES_PER_NODE(int depth) { return Math.max( 1, depth * depth / 2 ); }
+    /*
+        If a bulk insert is this many times smaller than the existing tree, then it is cheaper to
+        insert the entries one by one than to merge and rebuild the entire tree.
+    */
+    private static final int SEQUENTIAL_BULK_INSERT_RATIO = 8;
 
 
     private final Class<K> _keyType;
@@ -25,7 +32,6 @@ final class SortedAssociationImpl<K, V> implements Association<K, V> {
     private final ArrayItemAccess<V, Object> _valueGetter;
     private final Comparator<K> _keyComparator;
     private final Node _root;
-    private final AtomicReference<@Nullable Integer> _cachedHashCode = new AtomicReference<>(null);
 
 
     static class Node {
@@ -34,6 +40,12 @@ final class SortedAssociationImpl<K, V> implements Association<K, V> {
         private final Object _valuesArray;
         private final @Nullable Node _left;
         private final @Nullable Node _right;
+        /**
+         *  The rolling hash of the entries of this subtree in their sorted order,
+         *  computed lazily by {@link #_hashOf(Node)} and shared by all versions of
+         *  the association which share this node. See {@link RollingHash}.
+         */
+        private volatile long _hash;
 
         Node(Object keysArray, Object valuesArray) {
             this(_length(keysArray), keysArray, valuesArray, null, null);
@@ -184,22 +196,28 @@ final class SortedAssociationImpl<K, V> implements Association<K, V> {
 
     @Override
     public ValueSet<K> keySet() {
-        return ValueSet.ofSorted(this.keyType(), _keyComparator).addAll(this.entrySet().stream().map(Pair::first));
+        return new AssociationKeySet<>(this, () -> ValueSet.ofSorted(this.keyType(), _keyComparator).addAll(this.entrySet().stream().map(Pair::first)));
     }
 
     @Override
     public Tuple<V> values() {
-        List<V> values = new ArrayList<>(_root.size());
-        _populateValues(_root, _valueGetter, values);
-        return Tuple.of(valueType(), values);
+        return new AssociationValues<>(this, () -> {
+            List<V> values = new ArrayList<>(_root.size());
+            _populateValues(_root, _valueGetter, values);
+            return Tuple.of(valueType(), values);
+        });
     }
 
+    /**
+     *  Collects the values in the order of their keys, which is
+     *  the same order in which the {@link #iterator()} visits them.
+     */
     private static <V> void _populateValues(Node node, ArrayItemAccess<V, Object> itemGetter, List<V> values) {
-        _each(node.valuesArray(), itemGetter, values::add);
         Node left = node.left();
         if (left != null) {
             _populateValues(left, itemGetter, values);
         }
+        _each(node.valuesArray(), itemGetter, values::add);
         Node right = node.right();
         if (right != null) {
             _populateValues(right, itemGetter, values);
@@ -586,6 +604,202 @@ final class SortedAssociationImpl<K, V> implements Association<K, V> {
         );
     }
 
+    @Override
+    public Association<K, V> putAll(Stream<Pair<? extends K, ? extends V>> entries) {
+        Objects.requireNonNull(entries);
+        return _putAll(entries, false);
+    }
+
+    @Override
+    public Association<K, V> putAllIfAbsent(Stream<Pair<? extends K, ? extends V>> entries) {
+        Objects.requireNonNull(entries);
+        return _putAll(entries, true);
+    }
+
+    /**
+     *  Sorts the incoming entries, merges them with the (already sorted) entries
+     *  of this association and then builds a perfectly balanced tree in a single pass.
+     *  This is only worth it if the batch is not tiny compared to the existing tree,
+     *  otherwise we fall back to individual path-copying puts.
+     */
+    @SuppressWarnings("unchecked")
+    private Association<K, V> _putAll(
+        final Stream<Pair<? extends K, ? extends V>> entries,
+        final boolean putIfAbsent
+    ) {
+        final Object[] pairs = entries.toArray();
+        if ( pairs.length == 0 )
+            return this;
+        for ( Object o : pairs ) {
+            Pair<?, ?> pair = Objects.requireNonNull((Pair<?, ?>) o);
+            Object key = pair.first();
+            Object value = pair.second();
+            if (key == null) {
+                throw new NullPointerException("Null key");
+            }
+            if (value == null) {
+                throw new NullPointerException("Null value");
+            }
+            if ( !_keyType.isAssignableFrom(key.getClass()) ) {
+                throw new IllegalArgumentException(
+                        "The given key '" + key + "' is of type '" + key.getClass().getSimpleName() + "', " +
+                        "instead of the expected type '" + _keyType + "'."
+                    );
+            }
+            if ( !_valueType.isAssignableFrom(value.getClass()) ) {
+                throw new IllegalArgumentException(
+                        "The given value '" + value + "' is of type '" + value.getClass().getSimpleName() + "', " +
+                        "instead of the expected type '" + _valueType + "'."
+                    );
+            }
+        }
+        if ( pairs.length * SEQUENTIAL_BULK_INSERT_RATIO < this.size() ) {
+            Association<K, V> result = this;
+            for ( Object o : pairs ) {
+                Pair<K, V> pair = (Pair<K, V>) o;
+                result = putIfAbsent ? result.putIfAbsent(pair.first(), pair.second()) : result.put(pair.first(), pair.second());
+            }
+            return result;
+        }
+        // A stable sort, so that the order of duplicate keys is preserved:
+        Arrays.sort(pairs, (a, b) -> _keyComparator.compare(((Pair<K, V>) a).first(), ((Pair<K, V>) b).first()));
+        final int incomingSize = _dedupeSorted(pairs, _keyComparator, putIfAbsent);
+        final int existingSize = this.size();
+        final Object[] existingKeys = new Object[existingSize];
+        final Object[] existingValues = new Object[existingSize];
+        _collectInOrder(_root, _keyGetter, _valueGetter, existingKeys, existingValues, 0);
+
+        final Object[] keys = new Object[existingSize + incomingSize];
+        final Object[] values = new Object[existingSize + incomingSize];
+        int i = 0, j = 0, size = 0;
+        boolean changed = false;
+        while ( i < existingSize || j < incomingSize ) {
+            int comparison;
+            if ( i >= existingSize )
+                comparison = 1;
+            else if ( j >= incomingSize )
+                comparison = -1;
+            else
+                comparison = _keyComparator.compare((K) existingKeys[i], ((Pair<K, V>) pairs[j]).first());
+
+            if ( comparison < 0 ) {
+                keys[size] = existingKeys[i];
+                values[size++] = existingValues[i++];
+            } else if ( comparison > 0 ) {
+                Pair<K, V> pair = (Pair<K, V>) pairs[j++];
+                keys[size] = pair.first();
+                values[size++] = pair.second();
+                changed = true;
+            } else {
+                // A run of keys which the comparator considers equal, but which may still differ:
+                int existingEnd = i;
+                while ( existingEnd < existingSize && _keyComparator.compare((K) existingKeys[existingEnd], (K) existingKeys[i]) == 0 )
+                    existingEnd++;
+                int incomingEnd = j;
+                while ( incomingEnd < incomingSize && _keyComparator.compare(((Pair<K, V>) pairs[incomingEnd]).first(), (K) existingKeys[i]) == 0 )
+                    incomingEnd++;
+                final int runStart = size;
+                for ( ; i < existingEnd; i++ ) {
+                    keys[size] = existingKeys[i];
+                    values[size++] = existingValues[i];
+                }
+                for ( ; j < incomingEnd; j++ ) {
+                    Pair<K, V> pair = (Pair<K, V>) pairs[j];
+                    int match = runStart;
+                    while ( match < size && !Objects.equals(keys[match], pair.first()) )
+                        match++;
+                    if ( match == size ) {
+                        keys[size] = pair.first();
+                        values[size++] = pair.second();
+                        changed = true;
+                    } else if ( !putIfAbsent && !Objects.equals(values[match], pair.second()) ) {
+                        values[match] = pair.second();
+                        changed = true;
+                    }
+                }
+            }
+        }
+        if ( !changed )
+            return this;
+        Node newRoot = _buildBalanced(_keyType, _valueType, keys, values, 0, size, 0);
+        return withNewRoot(newRoot == null ? NULL_NODE : newRoot);
+    }
+
+    /**
+     *  Removes adjacent entries with equal keys from the sorted prefix of the
+     *  given array of pairs, where the last one wins (or the first one in case of
+     *  "put if absent"), and returns the number of remaining entries.
+     */
+    @SuppressWarnings("unchecked")
+    private static <K,V> int _dedupeSorted(
+        final Object[] sortedPairs,
+        final Comparator<K> keyComparator,
+        final boolean putIfAbsent
+    ) {
+        int size = 0;
+        for ( int i = 0; i < sortedPairs.length; i++ ) {
+            Pair<K, V> pair = (Pair<K, V>) sortedPairs[i];
+            int runStart = size;
+            while ( runStart > 0 && keyComparator.compare(((Pair<K, V>) sortedPairs[runStart - 1]).first(), pair.first()) == 0 )
+                runStart--;
+            int match = runStart;
+            while ( match < size && !Objects.equals(((Pair<K, V>) sortedPairs[match]).first(), pair.first()) )
+                match++;
+            if ( match == size )
+                sortedPairs[size++] = pair;
+            else if ( !putIfAbsent )
+                sortedPairs[match] = pair;
+        }
+        return size;
+    }
+
+    private static <K,V> int _collectInOrder(
+        final @Nullable Node node,
+        final ArrayItemAccess<K, Object> keyGetter,
+        final ArrayItemAccess<V, Object> valueGetter,
+        final Object[] keys,
+        final Object[] values,
+        int offset
+    ) {
+        if ( node == null )
+            return offset;
+        offset = _collectInOrder(node.left(), keyGetter, valueGetter, keys, values, offset);
+        final int length = _length(node.keysArray());
+        for ( int i = 0; i < length; i++ ) {
+            keys[offset] = keyGetter.get(i, node.keysArray());
+            values[offset++] = valueGetter.get(i, node.valuesArray());
+        }
+        return _collectInOrder(node.right(), keyGetter, valueGetter, keys, values, offset);
+    }
+
+    private static @Nullable Node _buildBalanced(
+        final Class<?> keyType,
+        final Class<?> valueType,
+        final Object[] keys,
+        final Object[] values,
+        final int from,
+        final int to,
+        final int depth
+    ) {
+        final int size = to - from;
+        if ( size <= 0 )
+            return null;
+        final int numberOfLocalEntries = Math.min(size, BASE_ENTRIES_PER_NODE(depth));
+        final int localFrom = from + ( size - numberOfLocalEntries ) / 2;
+        final int localTo = localFrom + numberOfLocalEntries;
+        Object newKeysArray = _createArray(keyType, ALLOWS_NULL, numberOfLocalEntries);
+        Object newValuesArray = _createArray(valueType, ALLOWS_NULL, numberOfLocalEntries);
+        for ( int i = 0; i < numberOfLocalEntries; i++ ) {
+            _setAt(i, keys[localFrom + i], newKeysArray);
+            _setAt(i, values[localFrom + i], newValuesArray);
+        }
+        return new Node(
+                size, newKeysArray, newValuesArray,
+                _buildBalanced(keyType, valueType, keys, values, from, localFrom, depth + 1),
+                _buildBalanced(keyType, valueType, keys, values, localTo, to, depth + 1)
+            );
+    }
+
     @Override
     public Association<K, V> remove(K key) {
         if (key == null) {
@@ -725,15 +939,174 @@ final class SortedAssociationImpl<K, V> implements Association<K, V> {
 
     @Override
     public Spliterator<Pair<K, V>> spliterator() {
-        return Spliterators.spliterator(iterator(), _root.size(),
-                Spliterator.SORTED   |
-                Spliterator.ORDERED  |
-                Spliterator.DISTINCT |
-                Spliterator.SIZED    |
-                Spliterator.SUBSIZED |
-                Spliterator.NONNULL  |
-                Spliterator.IMMUTABLE
-        );
+        return new SortedAssociationSpliterator<>(_keyGetter, _valueGetter, _keyComparator, _root);
+    }
+
+    /**
+     *  A pending part of the in-order traversal of the tree, which is either
+     *  a whole subtree or a range of the local entries of a single node.
+     */
+    private static final class Segment {
+        final Node node;
+        final boolean wholeSubtree;
+        int from;
+        int to;
+
+        Segment( Node node ) {
+            this(node, true, 0, 0);
+        }
+
+        Segment( Node node, boolean wholeSubtree, int from, int to ) {
+            this.node = node;
+            this.wholeSubtree = wholeSubtree;
+            this.from = from;
+            this.to = to;
+        }
+
+        int size() {
+            return wholeSubtree ? node.size() : to - from;
+        }
+    }
+
+    /**
+     *  A spliterator which splits the sorted tree into a prefix and a suffix
+     *  at node boundaries. It holds the rest of its traversal as an ordered
+     *  queue of segments, and a split hands off the segments at the front
+     *  until they make up about half of the remaining entries. A subtree which
+     *  is too large for that is replaced by its left subtree, its local
+     *  entries and its right subtree, which keeps the encounter order intact.
+     */
+    private static final class SortedAssociationSpliterator<K, V> implements Spliterator<Pair<K, V>>
+    {
+        private final ArrayItemAccess<K, Object> _keyGetter;
+        private final ArrayItemAccess<V, Object> _valueGetter;
+        private final Comparator<K> _keyComparator;
+        private final ArrayDeque<Segment> _segments;
+        private long _remaining;
+
+        SortedAssociationSpliterator(
+            ArrayItemAccess<K, Object> keyGetter,
+            ArrayItemAccess<V, Object> valueGetter,
+            Comparator<K> keyComparator,
+            Node root
+        ) {
+            this(keyGetter, valueGetter, keyComparator, new ArrayDeque<>(), root.size());
+            if ( root.size() > 0 )
+                _segments.add(new Segment(root));
+        }
+
+        private SortedAssociationSpliterator(
+            ArrayItemAccess<K, Object> keyGetter,
+            ArrayItemAccess<V, Object> valueGetter,
+            Comparator<K> keyComparator,
+            ArrayDeque<Segment> segments,
+            long size
+        ) {
+            _keyGetter = keyGetter;
+            _valueGetter = valueGetter;
+            _keyComparator = keyComparator;
+            _segments = segments;
+            _remaining = size;
+        }
+
+        private void _expandFirst() {
+            Segment segment = _segments.pop();
+            Node node = segment.node;
+            Node left = node.left();
+            Node right = node.right();
+            if ( right != null && right.size() > 0 )
+                _segments.push(new Segment(right));
+            int length = _length(node.keysArray());
+            if ( length > 0 )
+                _segments.push(new Segment(node, false, 0, length));
+            if ( left != null && left.size() > 0 )
+                _segments.push(new Segment(left));
+        }
+
+        @Override
+        public @Nullable Spliterator<Pair<K, V>> trySplit() {
+            long halfSize = _remaining / 2;
+            if ( halfSize == 0 )
+                return null;
+            ArrayDeque<Segment> prefix = new ArrayDeque<>();
+            long prefixSize = 0;
+            while ( prefixSize < halfSize && !_segments.isEmpty() ) {
+                Segment first = _segments.peek();
+                long missing = halfSize - prefixSize;
+                if ( first.size() <= missing ) {
+                    prefix.add(_segments.pop());
+                    prefixSize += first.size();
+                } else if ( first.wholeSubtree ) {
+                    _expandFirst();
+                } else {
+                    int end = first.from + (int) missing;
+                    prefix.add(new Segment(first.node, false, first.from, end));
+                    first.from = end;
+                    prefixSize += missing;
+                }
+            }
+            if ( prefix.isEmpty() )
+                return null;
+            _remaining -= prefixSize;
+            return new SortedAssociationSpliterator<>(_keyGetter, _valueGetter, _keyComparator, prefix, prefixSize);
+        }
+
+        @Override
+        public boolean tryAdvance( Consumer<? super Pair<K, V>> action ) {
+            while ( !_segments.isEmpty() ) {
+                Segment first = _segments.peek();
+                if ( first.wholeSubtree ) {
+                    _expandFirst();
+                } else if ( first.from < first.to ) {
+                    int index = first.from++;
+                    K key = _keyGetter.get(index, first.node.keysArray());
+                    V value = _valueGetter.get(index, first.node.valuesArray());
+                    _remaining--;
+                    action.accept(Pair.of(key, value));
+                    return true;
+                } else {
+                    _segments.pop();
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining( Consumer<? super Pair<K, V>> action ) {
+            while ( !_segments.isEmpty() ) {
+                Segment segment = _segments.pop();
+                if ( segment.wholeSubtree ) {
+                    _forEachIn(segment.node, _keyGetter, _valueGetter, (key, value) -> action.accept(Pair.of(key, value)));
+                } else {
+                    final Object keys = segment.node.keysArray();
+                    final Object values = segment.node.valuesArray();
+                    for ( int i = segment.from; i < segment.to; i++ )
+                        action.accept(Pair.of(_keyGetter.get(i, keys), _valueGetter.get(i, values)));
+                }
+            }
+            _remaining = 0;
+        }
+
+        @Override
+        public long estimateSize() {
+            return _remaining;
+        }
+
+        @Override
+        public Comparator<? super Pair<K, V>> getComparator() {
+            return (a, b) -> _keyComparator.compare(a.first(), b.first());
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.SORTED   |
+                   Spliterator.ORDERED  |
+                   Spliterator.DISTINCT |
+                   Spliterator.SIZED    |
+                   Spliterator.SUBSIZED |
+                   Spliterator.NONNULL  |
+                   Spliterator.IMMUTABLE;
+        }
     }
 
     static class IteratorFrame {
@@ -747,6 +1120,139 @@ final class SortedAssociationImpl<K, V> implements Association<K, V> {
         }
     }
 
+    @Override
+    public void forEachEntry( BiConsumer<? super K, ? super V> action ) {
+        Objects.requireNonNull(action);
+        if ( _root.size() > 0 )
+            _forEachIn(_root, _keyGetter, _valueGetter, action);
+    }
+
+    /**
+     *  Visits the entries in the order of their keys, which is
+     *  the same order in which the {@link #iterator()} visits them.
+     */
+    private static <K, V> void _forEachIn(
+        final Node node,
+        final ArrayItemAccess<K, Object> keyGetter,
+        final ArrayItemAccess<V, Object> valueGetter,
+        final BiConsumer<? super K, ? super V> action
+    ) {
+        Node left = node.left();
+        if ( left != null )
+            _forEachIn(left, keyGetter, valueGetter, action);
+        final Object keys = node.keysArray();
+        final Object values = node.valuesArray();
+        final int length = _length(keys);
+        for ( int i = 0; i < length; i++ )
+            action.accept(keyGetter.get(i, keys), valueGetter.get(i, values));
+        Node right = node.right();
+        if ( right != null )
+            _forEachIn(right, keyGetter, valueGetter, action);
+    }
+
+    @Override
+    public void forEachKey( Consumer<? super K> action ) {
+        Objects.requireNonNull(action);
+        if ( _root.size() > 0 )
+            _forEachItemIn(_root, true, _keyGetter, action);
+    }
+
+    @Override
+    public void forEachValue( Consumer<? super V> action ) {
+        Objects.requireNonNull(action);
+        if ( _root.size() > 0 )
+            _forEachItemIn(_root, false, _valueGetter, action);
+    }
+
+    private static <T> void _forEachItemIn(
+        final Node node,
+        final boolean keys,
+        final ArrayItemAccess<T, Object> itemGetter,
+        final Consumer<? super T> action
+    ) {
+        Node left = node.left();
+        if ( left != null )
+            _forEachItemIn(left, keys, itemGetter, action);
+        final Object items = keys ? node.keysArray() : node.valuesArray();
+        final int length = _length(items);
+        for ( int i = 0; i < length; i++ )
+            action.accept(itemGetter.get(i, items));
+        Node right = node.right();
+        if ( right != null )
+            _forEachItemIn(right, keys, itemGetter, action);
+    }
+
+    @Override
+    public EntryCursor<K, V> cursor() {
+        return new SortedAssociationCursor<>(this);
+    }
+
+    /**
+     *  Walks over the entries in the same order as the {@link SortedAssociationIterator},
+     *  but reads the key and value of the current entry straight from the
+     *  arrays of its node instead of creating a {@link Pair} for it.
+     */
+    private static final class SortedAssociationCursor<K, V> implements EntryCursor<K, V>
+    {
+        private final ArrayItemAccess<K, Object> _keyGetter;
+        private final ArrayItemAccess<V, Object> _valueGetter;
+        private @Nullable IteratorFrame _currentFrame = null;
+        private @Nullable Node _currentNode = null;
+        private int _currentIndex = -1;
+
+        SortedAssociationCursor( SortedAssociationImpl<K, V> association ) {
+            _keyGetter = association._keyGetter;
+            _valueGetter = association._valueGetter;
+            if ( association._root.size() > 0 )
+                _currentFrame = new IteratorFrame(null, association._root);
+        }
+
+        @Override
+        public boolean next() {
+            while ( _currentFrame != null ) {
+                IteratorFrame frame = _currentFrame;
+                if ( frame.stage == 0 ) {
+                    frame.stage = 1;
+                    Node left = frame.node.left();
+                    if ( left != null )
+                        _currentFrame = new IteratorFrame(frame, left);
+                } else if ( frame.stage == 1 ) {
+                    if ( frame.index < _length(frame.node.keysArray()) ) {
+                        _currentNode = frame.node;
+                        _currentIndex = frame.index++;
+                        return true;
+                    }
+                    frame.stage = 2;
+                } else if ( frame.stage == 2 ) {
+                    frame.stage = 3;
+                    Node right = frame.node.right();
+                    if ( right != null )
+                        _currentFrame = new IteratorFrame(frame, right);
+                } else {
+                    _currentFrame = frame.parent;
+                }
+            }
+            _currentNode = null;
+            return false;
+        }
+
+        @Override
+        public K key() {
+            Node node = _currentNode;
+            if ( node == null )
+                throw new NoSuchElementException();
+            return _keyGetter.get(_currentIndex, node.keysArray());
+        }
+
+        @Override
+        public V value() {
+            Node node = _currentNode;
+            if ( node == null )
+                throw new NoSuchElementException();
+            return _valueGetter.get(_currentIndex, node.valuesArray());
+        }
+    }
+
     @Override
     public Iterator<Pair<K, V>> iterator() {
         return new SortedAssociationIterator<>(this);
@@ -799,18 +1305,33 @@ final class SortedAssociationImpl<K, V> implements Association<K, V> {
 
     @Override
     public int hashCode() {
-        Integer cached = _cachedHashCode.get();
-        if (cached != null) {
-            return cached;
-        }
         int headerHash = Objects.hash(_keyType, _valueType, _keyComparator);
-        int contentHash = 31;
-        for (Pair<K, V> thisPair : this) {
-            contentHash = 31 * contentHash + Objects.hash(thisPair.first(), thisPair.second());
-        }
-        int result = 31 * headerHash + contentHash;
-        _cachedHashCode.set(result);
-        return result;
+        int contentHash = RollingHash.finish(31, _hashOf(_root));
+        return 31 * headerHash + contentHash;
+    }
+
+    /**
+     *  Computes the rolling hash of the entries of the given subtree in their sorted order,
+     *  which is cached in the node. Subtrees are shared between the versions
+     *  of a association, so for a new version only the nodes along
+     *  the copied path need to compute their hash.
+     */
+    private static long _hashOf( Node node ) {
+        long hash = node._hash;
+        if ( hash != RollingHash.UNKNOWN )
+            return hash;
+        Node left = node.left();
+        hash = left != null ? _hashOf(left) : RollingHash.EMPTY;
+        final Object keys = node.keysArray();
+        final Object values = node.valuesArray();
+        final int length = _length(keys);
+        for ( int i = 0; i < length; i++ ) // Same as Objects.hash(key, value):
+            hash = RollingHash.append(hash, 31 * (31 + _hashCodeAt(i, keys)) + _hashCodeAt(i, values));
+        Node right = node.right();
+        if ( right != null )
+            hash = RollingHash.concat(hash, _hashOf(right));
+        node._hash = hash;
+        return hash;
     }
 
     @Override
@@ -832,6 +1353,10 @@ final class SortedAssociationImpl<K, V> implements Association<K, V> {
         if ( this.size() != other.size() ) {
             return false;
         }
+        long thisHash = _root._hash;
+        long otherHash = other._root._hash;
+        if ( thisHash != RollingHash.UNKNOWN && otherHash != RollingHash.UNKNOWN && thisHash != otherHash )
+            return false; // Both hashes were computed already, so we can skip the traversal.
         return _recursiveEquals(this._root, other._root, keyType(), valueType(), _keyComparator);
     }
 
@@ -5,7 +5,7 @@ import sprouts.Val;
 import sprouts.ValueSet;
 
 import java.util.*;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 import static sprouts.impl.ArrayUtil.*;
@@ -20,12 +20,23 @@ final class SortedValueSetImpl<E> implements ValueSet<E> {
     private static int BASE_ENTRIES_PER_NODE(int depth) {
         return Math.max(1, depth * depth / 2);
     }
+    /*
+        If a bulk insert is this many times smaller than the existing set, then it is cheaper to
+        insert the elements one by one than to merge and rebuild the entire tree.
+    */
+    private static final int SEQUENTIAL_BULK_INSERT_RATIO = 8;
 
     static class Node {
         private final int _size;
         private final Object _elementsArray;
         private final @Nullable Node _left;
         private final @Nullable Node _right;
+        /**
+         *  The rolling hash of the elements of this subtree in their sorted order,
+         *  computed lazily by {@link #_hashOf(Node)} and shared by all versions of
+         *  the set which share this node. See {@link RollingHash}.
+         */
+        private volatile long _hash;
 
         Node(Object elementsArray) {
             this(elementsArray, null, null);
@@ -91,7 +102,6 @@ final class SortedValueSetImpl<E> implements ValueSet<E> {
     private final ArrayItemAccess<E, Object> _itemGetter;
     private final Comparator<E> _comparator;
     private final Node _root;
-    private final AtomicReference<@Nullable Integer> _cachedHashCode = new AtomicReference<>(null);
 
     SortedValueSetImpl(
             final Class<E> type,
@@ -188,17 +198,145 @@ final class SortedValueSetImpl<E> implements ValueSet<E> {
         return new SortedValueSetImpl<>(_type, _comparator, newRoot);
     }
 
+    /**
+     *  Sorts the incoming elements, merges them with the (already sorted) elements
+     *  of this set and then builds a perfectly balanced tree in a single pass.
+     *  This is only worth it if the batch is not tiny compared to the existing tree,
+     *  otherwise we fall back to individual path-copying adds.
+     */
     @Override
+    @SuppressWarnings("unchecked")
     public ValueSet<E> addAll(Stream<? extends E> elements) {
         Objects.requireNonNull(elements);
-        // TODO: implement branching based bulk insert
-        SortedValueSetImpl<E> result = this;
-        // reduce the stream to a single association
-        return elements.reduce(
-                result,
-                (acc,
-                 entry) -> (SortedValueSetImpl<E>) acc.add(entry),
-                (a, b) -> a);
+        final Object[] incoming = elements.toArray();
+        if ( incoming.length == 0 )
+            return this;
+        for ( Object element : incoming ) {
+            if (element == null) {
+                throw new NullPointerException("Null element");
+            }
+            if (!_type.isAssignableFrom(element.getClass())) {
+                throw new ClassCastException("Element type mismatch");
+            }
+        }
+        if ( incoming.length * SEQUENTIAL_BULK_INSERT_RATIO < this.size() ) {
+            ValueSet<E> result = this;
+            for ( Object element : incoming )
+                result = result.add((E) element);
+            return result;
+        }
+        // A stable sort, so that we keep the first occurrence of duplicates:
+        Arrays.sort(incoming, (a, b) -> _comparator.compare((E) a, (E) b));
+        final int incomingSize = _dedupeSorted(incoming, _comparator);
+        final int existingSize = this.size();
+        final Object[] existing = new Object[existingSize];
+        _collectInOrder(_root, _itemGetter, existing, 0);
+
+        final Object[] merged = new Object[existingSize + incomingSize];
+        int i = 0, j = 0, size = 0;
+        boolean changed = false;
+        while ( i < existingSize || j < incomingSize ) {
+            int comparison;
+            if ( i >= existingSize )
+                comparison = 1;
+            else if ( j >= incomingSize )
+                comparison = -1;
+            else
+                comparison = _comparator.compare((E) existing[i], (E) incoming[j]);
+
+            if ( comparison < 0 ) {
+                merged[size++] = existing[i++];
+            } else if ( comparison > 0 ) {
+                merged[size++] = incoming[j++];
+                changed = true;
+            } else {
+                // A run of elements which the comparator considers equal, but which may still differ:
+                int existingEnd = i;
+                while ( existingEnd < existingSize && _comparator.compare((E) existing[existingEnd], (E) existing[i]) == 0 )
+                    existingEnd++;
+                int incomingEnd = j;
+                while ( incomingEnd < incomingSize && _comparator.compare((E) incoming[incomingEnd], (E) existing[i]) == 0 )
+                    incomingEnd++;
+                final int runStart = size;
+                for ( ; i < existingEnd; i++ )
+                    merged[size++] = existing[i];
+                for ( ; j < incomingEnd; j++ ) {
+                    int match = runStart;
+                    while ( match < size && !Objects.equals(merged[match], incoming[j]) )
+                        match++;
+                    if ( match == size ) {
+                        merged[size++] = incoming[j];
+                        changed = true;
+                    }
+                }
+            }
+        }
+        if ( !changed )
+            return this;
+        Node newRoot = _buildBalanced(_type, merged, 0, size, 0);
+        return new SortedValueSetImpl<>(_type, _comparator, newRoot == null ? NULL_NODE : newRoot);
+    }
+
+    /**
+     *  Removes adjacent duplicates from the sorted array of elements, keeping the
+     *  first occurrence, and returns the number of remaining elements.
+     */
+    @SuppressWarnings("unchecked")
+    private static <E> int _dedupeSorted(
+        final Object[] sortedElements,
+        final Comparator<E> comparator
+    ) {
+        int size = 0;
+        for ( int i = 0; i < sortedElements.length; i++ ) {
+            Object element = sortedElements[i];
+            int match = size;
+            while ( match > 0 && comparator.compare((E) sortedElements[match - 1], (E) element) == 0 ) {
+                match--;
+                if ( Objects.equals(sortedElements[match], element) )
+                    break;
+            }
+            if ( match == size || !Objects.equals(sortedElements[match], element) )
+                sortedElements[size++] = element;
+        }
+        return size;
+    }
+
+    private static <E> int _collectInOrder(
+        final @Nullable Node node,
+        final ArrayItemAccess<E, Object> itemGetter,
+        final Object[] elements,
+        int offset
+    ) {
+        if ( node == null )
+            return offset;
+        offset = _collectInOrder(node.left(), itemGetter, elements, offset);
+        final int length = _length(node.elementsArray());
+        for ( int i = 0; i < length; i++ )
+            elements[offset++] = itemGetter.get(i, node.elementsArray());
+        return _collectInOrder(node.right(), itemGetter, elements, offset);
+    }
+
+    private static @Nullable Node _buildBalanced(
+        final Class<?> type,
+        final Object[] elements,
+        final int from,
+        final int to,
+        final int depth
+    ) {
+        final int size = to - from;
+        if ( size <= 0 )
+            return null;
+        final int numberOfLocalElements = Math.min(size, BASE_ENTRIES_PER_NODE(depth));
+        final int localFrom = from + ( size - numberOfLocalElements ) / 2;
+        final int localTo = localFrom + numberOfLocalElements;
+        Object newElementsArray = _createArray(type, ALLOWS_NULL, numberOfLocalElements);
+        for ( int i = 0; i < numberOfLocalElements; i++ )
+            _setAt(i, elements[localFrom + i], newElementsArray);
+        return new Node(
+                size, newElementsArray,
+                _buildBalanced(type, elements, from, localFrom, depth + 1),
+                _buildBalanced(type, elements, localTo, to, depth + 1)
+            );
     }
 
     private static <E> Node _updateElement(
@@ -466,7 +604,7 @@ final class SortedValueSetImpl<E> implements ValueSet<E> {
             E key
     ) {
         int numberOfKeys = _length(node.elementsArray());
-        int index = _binarySearch(node.elementsArray(), keyType, keyComparator, key);
+        int index = _binarySearch(node.elementsArray(), itemGetter, keyComparator, key);
         if ( index < 0 ) {
             Node left = node.left();
             if ( left != null ) {
@@ -544,15 +682,180 @@ final class SortedValueSetImpl<E> implements ValueSet<E> {
 
     @Override
     public Spliterator<E> spliterator() {
-        return Spliterators.spliterator(iterator(), _root.size(),
-                Spliterator.SORTED |
-                        Spliterator.ORDERED |
-                        Spliterator.DISTINCT |
-                        Spliterator.SIZED |
-                        Spliterator.SUBSIZED |
-                        Spliterator.NONNULL |
-                        Spliterator.IMMUTABLE
-        );
+        return new SortedValueSetSpliterator<>(ArrayItemAccess.of(_type, false), _comparator, _root);
+    }
+
+    /**
+     *  A pending part of the in-order traversal of the tree, which is either
+     *  a whole subtree or a range of the local elements of a single node.
+     */
+    private static final class Segment {
+        final Node node;
+        final boolean wholeSubtree;
+        int from;
+        int to;
+
+        Segment( Node node ) {
+            this(node, true, 0, 0);
+        }
+
+        Segment( Node node, boolean wholeSubtree, int from, int to ) {
+            this.node = node;
+            this.wholeSubtree = wholeSubtree;
+            this.from = from;
+            this.to = to;
+        }
+
+        int size() {
+            return wholeSubtree ? node.size() : to - from;
+        }
+    }
+
+    /**
+     *  A spliterator which splits the sorted tree into a prefix and a suffix
+     *  at node boundaries. It holds the rest of its traversal as an ordered
+     *  queue of segments, and a split hands off the segments at the front
+     *  until they make up about half of the remaining elements. A subtree which
+     *  is too large for that is replaced by its left subtree, its local
+     *  elements and its right subtree, which keeps the encounter order intact.
+     */
+    private static final class SortedValueSetSpliterator<E> implements Spliterator<E>
+    {
+        private final ArrayItemAccess<E, Object> _elementGetter;
+        private final Comparator<E> _comparator;
+        private final ArrayDeque<Segment> _segments;
+        private long _remaining;
+
+        SortedValueSetSpliterator(
+            ArrayItemAccess<E, Object> elementGetter,
+            Comparator<E> comparator,
+            Node root
+        ) {
+            this(elementGetter, comparator, new ArrayDeque<>(), root.size());
+            if ( root.size() > 0 )
+                _segments.add(new Segment(root));
+        }
+
+        private SortedValueSetSpliterator(
+            ArrayItemAccess<E, Object> elementGetter,
+            Comparator<E> comparator,
+            ArrayDeque<Segment> segments,
+            long size
+        ) {
+            _elementGetter = elementGetter;
+            _comparator = comparator;
+            _segments = segments;
+            _remaining = size;
+        }
+
+        private void _expandFirst() {
+            Segment segment = _segments.pop();
+            Node node = segment.node;
+            Node left = node.left();
+            Node right = node.right();
+            if ( right != null && right.size() > 0 )
+                _segments.push(new Segment(right));
+            int length = _length(node.elementsArray());
+            if ( length > 0 )
+                _segments.push(new Segment(node, false, 0, length));
+            if ( left != null && left.size() > 0 )
+                _segments.push(new Segment(left));
+        }
+
+        @Override
+        public @Nullable Spliterator<E> trySplit() {
+            long halfSize = _remaining / 2;
+            if ( halfSize == 0 )
+                return null;
+            ArrayDeque<Segment> prefix = new ArrayDeque<>();
+            long prefixSize = 0;
+            while ( prefixSize < halfSize && !_segments.isEmpty() ) {
+                Segment first = _segments.peek();
+                long missing = halfSize - prefixSize;
+                if ( first.size() <= missing ) {
+                    prefix.add(_segments.pop());
+                    prefixSize += first.size();
+                } else if ( first.wholeSubtree ) {
+                    _expandFirst();
+                } else {
+                    int end = first.from + (int) missing;
+                    prefix.add(new Segment(first.node, false, first.from, end));
+                    first.from = end;
+                    prefixSize += missing;
+                }
+            }
+            if ( prefix.isEmpty() )
+                return null;
+            _remaining -= prefixSize;
+            return new SortedValueSetSpliterator<>(_elementGetter, _comparator, prefix, prefixSize);
+        }
+
+        @Override
+        public boolean tryAdvance( Consumer<? super E> action ) {
+            while ( !_segments.isEmpty() ) {
+                Segment first = _segments.peek();
+                if ( first.wholeSubtree ) {
+                    _expandFirst();
+                } else if ( first.from < first.to ) {
+                    E element = _elementGetter.get(first.from++, first.node.elementsArray());
+                    _remaining--;
+                    action.accept(element);
+                    return true;
+                } else {
+                    _segments.pop();
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining( Consumer<? super E> action ) {
+            while ( !_segments.isEmpty() ) {
+                Segment segment = _segments.pop();
+                if ( segment.wholeSubtree ) {
+                    _forEachIn(segment.node, action);
+                } else {
+                    final Object elements = segment.node.elementsArray();
+                    for ( int i = segment.from; i < segment.to; i++ )
+                        action.accept(_elementGetter.get(i, elements));
+                }
+            }
+            _remaining = 0;
+        }
+
+        private void _forEachIn( Node node, Consumer<? super E> action ) {
+            Node left = node.left();
+            if ( left != null )
+                _forEachIn(left, action);
+            final Object elements = node.elementsArray();
+            final int length = _length(elements);
+            for ( int i = 0; i < length; i++ )
+                action.accept(_elementGetter.get(i, elements));
+            Node right = node.right();
+            if ( right != null )
+                _forEachIn(right, action);
+        }
+
+        @Override
+        public long estimateSize() {
+            return _remaining;
+        }
+
+        @Override
+        public Comparator<? super E> getComparator() {
+            return _comparator;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.SORTED   |
+                   Spliterator.ORDERED  |
+                   Spliterator.DISTINCT |
+                   Spliterator.SIZED    |
+                   Spliterator.SUBSIZED |
+                   Spliterator.NONNULL  |
+                   Spliterator.IMMUTABLE;
+        }
     }
 
     @Override
@@ -641,6 +944,7 @@ final class SortedValueSetImpl<E> implements ValueSet<E> {
     @Override
     public boolean equals(@Nullable Object obj) {
         if (this == obj) return true;
+        if (obj instanceof AssociationKeySet) obj = ((AssociationKeySet<?>) obj).materialized();
         if (obj == null || getClass() != obj.getClass()) return false;
         SortedValueSetImpl<?> other = (SortedValueSetImpl<?>) obj;
         boolean headersEqual = Objects.equals(_type, other._type) && Objects.equals(_comparator, other._comparator);
@@ -649,6 +953,10 @@ final class SortedValueSetImpl<E> implements ValueSet<E> {
         if ( this.size() != other.size() ) {
             return false;
         }
+        long thisHash = _root._hash;
+        long otherHash = other._root._hash;
+        if ( thisHash != RollingHash.UNKNOWN && otherHash != RollingHash.UNKNOWN && thisHash != otherHash )
+            return false; // Both hashes were computed already, so we can skip the traversal.
         return _recursiveEquals(this._root, other._root, type(), _comparator);
     }
 
@@ -693,16 +1001,31 @@ final class SortedValueSetImpl<E> implements ValueSet<E> {
 
     @Override
     public int hashCode() {
-        Integer cached = _cachedHashCode.get();
-        if (cached != null)
-            return cached;
         int headerHash = Objects.hash(_type, _comparator);
-        int contentHash = 31;
-        for (E element : this) {
-            contentHash = 31 * contentHash + Objects.hash(element);
-        }
-        int result = 31 * headerHash + contentHash;
-        _cachedHashCode.set(result);
-        return result;
+        int contentHash = RollingHash.finish(31, _hashOf(_root));
+        return 31 * headerHash + contentHash;
+    }
+
+    /**
+     *  Computes the rolling hash of the elements of the given subtree in their sorted order,
+     *  which is cached in the node. Subtrees are shared between the versions
+     *  of a set, so for a new version only the nodes along
+     *  the copied path need to compute their hash.
+     */
+    private static long _hashOf( Node node ) {
+        long hash = node._hash;
+        if ( hash != RollingHash.UNKNOWN )
+            return hash;
+        Node left = node.left();
+        hash = left != null ? _hashOf(left) : RollingHash.EMPTY;
+        final Object elements = node.elementsArray();
+        final int length = _length(elements);
+        for ( int i = 0; i < length; i++ ) // Same as Objects.hash(element):
+            hash = RollingHash.append(hash, 31 + _hashCodeAt(i, elements));
+        Node right = node.right();
+        if ( right != null )
+            hash = RollingHash.concat(hash, _hashOf(right));
+        node._hash = hash;
+        return hash;
     }
 }
\ No newline at end of file
@@ -7,6 +7,7 @@ import org.slf4j.MarkerFactory;
 import sprouts.*;
 
 import java.util.*;
+import java.util.concurrent.Executor;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.regex.Pattern;
@@ -63,6 +64,36 @@ public final class Sprouts implements SproutsFactory
         FACTORY = factory;
     }
 
+    /**
+     *  Runs the given action as a batch of property changes on the current thread.
+     *  Within the action, {@code set} calls update the items of properties right away,
+     *  but their change listeners are not notified until the action completes.
+     *  Then, every modified property fires at most one change event, describing the
+     *  transition from the item it had before its first modification to the item
+     *  it has after its last modification, on the channel of its last modification.
+     *  A property which ends up with its original item does not fire at all.<br>
+     *  Views are never outdated within a batch: A view which is read inside the action
+     *  recomputes its item from the current items of its sources right away.
+     *  The views which are not read are recomputed once when the batch completes,
+     *  even if they depend on several of the modified properties.
+     *  The change events of views are held back and coalesced just like those of properties. <br>
+     *  <p>
+     *  This is useful for bulk updates of a model, like refreshing many
+     *  properties at once, where each individual change event would otherwise
+     *  cause a separate cascade through all downstream views and listeners.<br>
+     *  Nested calls simply become part of the outermost batch, and
+     *  forced change events (see {@link Val#fireChange(Channel)}) are not held back.
+     *  If the action throws an exception, the changes made up to that point are still reported,
+     *  and exceptions thrown while reporting them are added to it as suppressed exceptions.
+     *
+     *  @param action The action which modifies any number of properties.
+     *  @throws NullPointerException if the action is null.
+     */
+    public static void batch( Runnable action ) {
+        Objects.requireNonNull(action);
+        ChangeBatch.run(action);
+    }
+
     private Sprouts() {}
 
 
@@ -160,6 +191,26 @@ public final class Sprouts implements SproutsFactory
         return PropertyView.viewOfNullable( type, first, second, combiner );
     }
 
+    @Override
+    public <R> Viewable<R> viewOfAll(Class<R> type, Function<Tuple<Val<?>>, R> combiner, Val<?>... sources) {
+        Objects.requireNonNull(type);
+        Objects.requireNonNull(combiner);
+        Objects.requireNonNull(sources);
+        for ( Val<?> source : sources )
+            Objects.requireNonNull(source);
+        return PropertyView.viewOfAll( type, combiner, sources );
+    }
+
+    @Override
+    public <R> Viewable<@Nullable R> viewOfAllNullable(Class<R> type, Function<Tuple<Val<?>>, @Nullable R> combiner, Val<?>... sources) {
+        Objects.requireNonNull(type);
+        Objects.requireNonNull(combiner);
+        Objects.requireNonNull(sources);
+        for ( Val<?> source : sources )
+            Objects.requireNonNull(source);
+        return PropertyView.viewOfAllNullable( type, combiner, sources );
+    }
+
     @Override
     public <T> Viewables<T> viewOf(Vals<T> source) {
         Objects.requireNonNull(source);
@@ -192,6 +243,25 @@ public final class Sprouts implements SproutsFactory
         return PropertyView.of(nullObject, errorObject, source, mapper);
     }
 
+    @Override
+    public <T, U> Viewable<U> lazyViewOf(U nullObject, U errorObject, Val<T> source, Function<T, @Nullable U> mapper) {
+        Objects.requireNonNull(nullObject);
+        Objects.requireNonNull(errorObject);
+        Objects.requireNonNull(source);
+        Objects.requireNonNull(mapper);
+        return LazyPropertyView.of(nullObject, errorObject, source, mapper);
+    }
+
+    @Override
+    public <T, U> Viewable<U> asyncViewOf(Executor executor, U nullObject, U errorObject, Val<T> source, Function<T, @Nullable U> mapper) {
+        Objects.requireNonNull(executor);
+        Objects.requireNonNull(nullObject);
+        Objects.requireNonNull(errorObject);
+        Objects.requireNonNull(source);
+        Objects.requireNonNull(mapper);
+        return AsyncPropertyView.of(executor, nullObject, errorObject, source, mapper);
+    }
+
     @Override
     public <T, U> Viewable<@Nullable U> viewOfNullable(Class<U> type, Val<T> source, Function<T, @Nullable U> mapper) {
         Objects.requireNonNull(type);
@@ -564,13 +634,13 @@ public final class Sprouts implements SproutsFactory
     }
 
     @Override
-    public Tuple<Double> tupleOf( double... doubles ) {
-        return TupleWithDiff.ofAnyArray(false, Double.class, doubles);
+    public DoubleTuple tupleOf( double... doubles ) {
+        return DoubleTupleImpl.of(doubles);
     }
 
     @Override
-    public Tuple<Integer> tupleOf( int... ints ) {
-        return TupleWithDiff.ofAnyArray(false, Integer.class, ints);
+    public IntTuple tupleOf( int... ints ) {
+        return IntTupleImpl.of(ints);
     }
 
     @Override
@@ -579,8 +649,8 @@ public final class Sprouts implements SproutsFactory
     }
 
     @Override
-    public Tuple<Long> tupleOf( long... longs ) {
-        return TupleWithDiff.ofAnyArray(false, Long.class, longs);
+    public LongTuple tupleOf( long... longs ) {
+        return LongTupleImpl.of(longs);
     }
 
     @Override
@@ -656,6 +726,38 @@ public final class Sprouts implements SproutsFactory
         return new SortedValueSetImpl<>(type, Comparator.naturalOrder());
     }
 
+    @Override
+    public <T> Tuple.Builder<T> tupleBuilderOf( Tuple<T> origin ) {
+        Objects.requireNonNull(origin);
+        return new TupleBuilder<>(origin);
+    }
+
+    @Override
+    public <K, V> Association.Builder<K, V> associationBuilderOf( Association<K, V> origin ) {
+        Objects.requireNonNull(origin);
+        return new AssociationBuilder<>(origin);
+    }
+
+    @Override
+    public <E> ValueSet.Builder<E> valueSetBuilderOf( ValueSet<E> origin ) {
+        Objects.requireNonNull(origin);
+        return new ValueSetBuilder<>(origin);
+    }
+
+    @Override
+    public <K, V> Association.Diff<K, V> associationDiffOf( Association<K, V> before, Association<K, V> after ) {
+        Objects.requireNonNull(before);
+        Objects.requireNonNull(after);
+        return new AssociationDiff<>(before, after);
+    }
+
+    @Override
+    public <E> ValueSet.Diff<E> valueSetDiffOf( ValueSet<E> before, ValueSet<E> after ) {
+        Objects.requireNonNull(before);
+        Objects.requireNonNull(after);
+        return new ValueSetDiff<>(before, after);
+    }
+
     @SuppressWarnings("unchecked")
     @Override public <T> Vars<T> varsOf( Class<T> type, Var<T>... vars ) { return PropertyList.of( false, type, vars ); }
 
@@ -7,6 +7,7 @@ import sprouts.*;
 
 import java.util.Comparator;
 import java.util.Objects;
+import java.util.concurrent.Executor;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.regex.Pattern;
@@ -320,6 +321,38 @@ public interface SproutsFactory
      */
     <T extends @Nullable Object, U extends @Nullable Object, R> Viewable<@Nullable R> viewOfNullable(Class<R> type, Val<T> first, Val<U> second, BiFunction<T, U, @Nullable R> combiner);
 
+    /**
+     *  Creates a {@link Viewable} composite of any number of {@link Val} instances,
+     *  whose items are combined using the specified combiner function. The combiner
+     *  receives a {@link Tuple} of the source properties in the order they were supplied.
+     *  You may register observers on the resulting viewable to receive updates
+     *  when the items of any of the source {@link Val} instances change.
+     *
+     * @param type The type of the resulting {@link Viewable}.
+     * @param combiner The function that combines the items of the {@link Val} instances into a single item.
+     * @param sources The {@link Val} instances to be combined into a {@link Viewable} composite.
+     * @return A {@link Viewable} instance that combines the items of the given {@link Val} instances using the specified combiner function.
+     * @param <R> The type of the resulting {@link Viewable}.
+     * @throws NullPointerException if any of the supplied parameters are {@code null}.
+     */
+    <R> Viewable<R> viewOfAll(Class<R> type, Function<Tuple<Val<?>>, R> combiner, Val<?>... sources);
+
+    /**
+     *  Creates a nullable {@link Viewable} composite of any number of {@link Val} instances,
+     *  whose items are combined using the specified combiner function. The combiner
+     *  receives a {@link Tuple} of the source properties in the order they were supplied.
+     *  You may register observers on the resulting viewable to receive updates
+     *  when the items of any of the source {@link Val} instances change.
+     *
+     * @param type The type of the resulting {@link Viewable}.
+     * @param combiner The function that combines the items of the {@link Val} instances into a single item.
+     * @param sources The {@link Val} instances to be combined into a {@link Viewable} composite.
+     * @return A {@link Viewable} instance that combines the items of the given {@link Val} instances using the specified combiner function.
+     * @param <R> The type of the resulting {@link Viewable}.
+     * @throws NullPointerException if any of the supplied parameters are {@code null}.
+     */
+    <R> Viewable<@Nullable R> viewOfAllNullable(Class<R> type, Function<Tuple<Val<?>>, @Nullable R> combiner, Val<?>... sources);
+
     /**
      *  Creates a {@link Viewables} instance of the given {@link Vals}.
      *  You can register observers on the returned {@link Viewables} to receive updates
@@ -387,6 +420,39 @@ public interface SproutsFactory
      */
     <T extends @Nullable Object, U extends @Nullable Object> Viewable<U> viewOf( U nullObject, U errorObject, Val<T> source, Function<T, @Nullable U> mapper );
 
+    /**
+     *  Creates a lazy live view of the given {@link Val} with a non-null type,
+     *  which only computes its item from the item of the source when it is read or observed.
+     *  It is only registered as a change listener on the source while it has change listeners itself.
+     *
+     * @param nullObject The null object to use when the item is null.
+     * @param errorObject The error object to use when an error occurs.
+     * @param source The source {@link Val} for which the lazy view is created.
+     * @param mapper The function that maps the item of the source to the item of the view.
+     * @return A lazy {@link Viewable} instance of the given {@link Val}.
+     * @param <T> The type of the item in the source {@link Val}.
+     * @param <U> The type of the item in the resulting {@link Viewable}.
+     * @throws NullPointerException if any of the supplied parameters are {@code null}.
+     */
+    <T extends @Nullable Object, U extends @Nullable Object> Viewable<U> lazyViewOf( U nullObject, U errorObject, Val<T> source, Function<T, @Nullable U> mapper );
+
+    /**
+     *  Creates a live view of the given {@link Val} with a non-null type, whose item
+     *  is computed from the item of the source on the given executor, which also
+     *  becomes the thread on which the view fires its change events.
+     *
+     * @param executor The effectively single-threaded executor on which the view is computed.
+     * @param nullObject The null object to use when the item is null or was not computed yet.
+     * @param errorObject The error object to use when an error occurs.
+     * @param source The source {@link Val} for which the view is created.
+     * @param mapper The function that maps the item of the source to the item of the view.
+     * @return An asynchronously computed {@link Viewable} instance of the given {@link Val}.
+     * @param <T> The type of the item in the source {@link Val}.
+     * @param <U> The type of the item in the resulting {@link Viewable}.
+     * @throws NullPointerException if any of the supplied parameters are {@code null}.
+     */
+    <T extends @Nullable Object, U extends @Nullable Object> Viewable<U> asyncViewOf( Executor executor, U nullObject, U errorObject, Val<T> source, Function<T, @Nullable U> mapper );
+
     /**
      *  Creates a {@link Viewable} instance of the given nullable type which is a
      *  view of the value of the specified source {@link Val} mapped to a different
@@ -1622,10 +1688,10 @@ public interface SproutsFactory
      * the array of doubles is copied.
      *
      * @param doubles The doubles to use as a basis for the new tuple.
-     * @return a new {@code Tuple} instance backed by a single primitive array of doubles.
+     * @return a new {@link DoubleTuple} instance backed by a single primitive array of doubles.
      * @throws NullPointerException if {@code doubles} is {@code null}.
      */
-    Tuple<Double> tupleOf( double... doubles );
+    DoubleTuple tupleOf( double... doubles );
 
     /**
      * Creates an immutable tuple of non-nullable items from a primitive array of integers.
@@ -1634,10 +1700,10 @@ public interface SproutsFactory
      * the array of integers is copied.
      *
      * @param ints The integers to use as a basis for the new tuple.
-     * @return a new {@code Tuple} instance backed by a single primitive array of integers.
+     * @return a new {@link IntTuple} instance backed by a single primitive array of integers.
      * @throws NullPointerException if {@code ints} is {@code null}.
      */
-    Tuple<Integer> tupleOf( int... ints );
+    IntTuple tupleOf( int... ints );
 
     /**
      * Creates an immutable tuple of non-nullable items from a primitive array of bytes.
@@ -1658,10 +1724,10 @@ public interface SproutsFactory
      * the array of longs is copied.
      *
      * @param longs The longs to use as a basis for the new tuple.
-     * @return a new {@code Tuple} instance backed by a single primitive array of longs.
+     * @return a new {@link LongTuple} instance backed by a single primitive array of longs.
      * @throws NullPointerException if {@code longs} is {@code null}.
      */
-    Tuple<Long> tupleOf( long... longs );
+    LongTuple tupleOf( long... longs );
 
     /**
      * Creates an immutable tuple of non-nullable items from the supplied type and values.
@@ -1900,6 +1966,63 @@ public interface SproutsFactory
      */
     <E extends Comparable<? super E>> ValueSet<E> valueSetOfSorted( Class<E> type );
 
+    /**
+     *  Creates a mutable {@link Tuple.Builder} which starts out with the items
+     *  of the supplied tuple and is used to efficiently apply a larger number of edits
+     *  to it before turning it back into an immutable tuple.
+     *
+     * @param origin The tuple whose items the builder should start out with.
+     * @param <T> The type of the items in the tuple.
+     * @return A new builder based on the supplied tuple.
+     */
+    <T> Tuple.Builder<T> tupleBuilderOf( Tuple<T> origin );
+
+    /**
+     *  Creates a mutable {@link Association.Builder} which starts out with the entries
+     *  of the supplied association and is used to efficiently apply a larger number of edits
+     *  to it before turning it back into an immutable association.
+     *
+     * @param origin The association whose entries the builder should start out with.
+     * @param <K> The type of the keys in the association.
+     * @param <V> The type of the values in the association.
+     * @return A new builder based on the supplied association.
+     */
+    <K, V> Association.Builder<K, V> associationBuilderOf( Association<K, V> origin );
+
+    /**
+     *  Creates a mutable {@link ValueSet.Builder} which starts out with the elements
+     *  of the supplied value set and is used to efficiently apply a larger number of edits
+     *  to it before turning it back into an immutable value set.
+     *
+     * @param origin The value set whose elements the builder should start out with.
+     * @param <E> The type of the elements in the value set.
+     * @return A new builder based on the supplied value set.
+     */
+    <E> ValueSet.Builder<E> valueSetBuilderOf( ValueSet<E> origin );
+
+    /**
+     *  Creates a lazily computed {@link Association.Diff} describing how the
+     *  {@code before} association has to change to become the {@code after} association.
+     *
+     * @param before The association from which the changes start.
+     * @param after The association which results from the changes.
+     * @param <K> The type of the keys in the associations.
+     * @param <V> The type of the values in the associations.
+     * @return A new diff between the two supplied associations.
+     */
+    <K, V> Association.Diff<K, V> associationDiffOf( Association<K, V> before, Association<K, V> after );
+
+    /**
+     *  Creates a lazily computed {@link ValueSet.Diff} describing how the
+     *  {@code before} value set has to change to become the {@code after} value set.
+     *
+     * @param before The value set from which the changes start.
+     * @param after The value set which results from the changes.
+     * @param <E> The type of the elements in the value sets.
+     * @return A new diff between the two supplied value sets.
+     */
+    <E> ValueSet.Diff<E> valueSetDiffOf( ValueSet<E> before, ValueSet<E> after );
+
     /**
      *   The default id for properties which do not have an id explicitly specified.
      *   The id of a property is used to identify it in the system or as part of a view model
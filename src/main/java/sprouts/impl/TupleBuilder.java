@@ -0,0 +1,197 @@
+package sprouts.impl;
+
+import org.jspecify.annotations.Nullable;
+import sprouts.Tuple;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ *  A {@link Tuple.Builder} which keeps a prefix of the tuple it started out with as is,
+ *  and records all changes in mutable buffers owned exclusively by this builder:
+ *  <ul>
+ *      <li>Items replaced in the shared prefix are stored in a sorted map of overrides,
+ *          so that a {@code setAt} call never path copies the tree of the original tuple.
+ *      </li>
+ *      <li>Items behind the shared prefix live in a plain list, which receives the appended items.
+ *          An insertion or removal within the shared prefix moves the rest of the prefix
+ *          into this list, so every item is moved at most once in the lifetime of a builder,
+ *          after which any further changes are regular list operations.
+ *      </li>
+ *  </ul>
+ *  Nothing is turned into tree nodes until {@link #build()} is called, which then
+ *  applies the overrides run by run and appends the list in a single bulk operation.
+ */
+final class TupleBuilder<T> implements Tuple.Builder<T> {
+
+    /**
+     *  Replacing a run of items in the shared prefix copies about one leaf of the tree,
+     *  which holds up to this many items. If the runs would copy more items than
+     *  the prefix holds, it is cheaper to rebuild the prefix from scratch.
+     */
+    private static final int ITEMS_PER_RUN_WORTH_SHARING = 512;
+
+    private Tuple<T> _origin;
+    private final NavigableMap<Integer, @Nullable T> _overrides = new TreeMap<>();
+    private final List<@Nullable T> _appended = new ArrayList<>();
+
+    TupleBuilder( Tuple<T> origin ) {
+        _origin = Objects.requireNonNull(origin);
+    }
+
+    @Override
+    public Tuple.Builder<T> add( T item ) {
+        _checkNullability(item, "add");
+        _appended.add(item);
+        return this;
+    }
+
+    @Override
+    public Tuple.Builder<T> addAt( int index, T item ) {
+        _checkNullability(item, "add");
+        int originSize = _origin.size();
+        if ( index < 0 || index > originSize + _appended.size() )
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        if ( index < originSize ) {
+            _moveOriginTailToBuffer(index);
+            originSize = index;
+        }
+        _appended.add(index - originSize, item);
+        return this;
+    }
+
+    @Override
+    public Tuple.Builder<T> setAt( int index, T item ) {
+        _checkNullability(item, "set");
+        int originSize = _origin.size();
+        _checkIndex(index);
+        if ( index < originSize )
+            _overrides.put(index, item);
+        else
+            _appended.set(index - originSize, item);
+        return this;
+    }
+
+    @Override
+    public Tuple.Builder<T> removeAt( int index ) {
+        int originSize = _origin.size();
+        _checkIndex(index);
+        if ( index < originSize ) {
+            _moveOriginTailToBuffer(index);
+            originSize = index;
+        }
+        _appended.remove(index - originSize);
+        return this;
+    }
+
+    @Override
+    @SuppressWarnings("NullAway")
+    public T get( int index ) {
+        int originSize = _origin.size();
+        _checkIndex(index);
+        if ( index >= originSize )
+            return _appended.get(index - originSize);
+        if ( !_overrides.isEmpty() && _overrides.containsKey(index) )
+            return _overrides.get(index);
+        return _origin.get(index);
+    }
+
+    @Override
+    public int size() {
+        return _origin.size() + _appended.size();
+    }
+
+    @Override
+    public Tuple<T> build() {
+        _applyOverrides();
+        if ( !_appended.isEmpty() ) {
+            _origin = _origin.addAll(_tupleOf(_appended));
+            _appended.clear();
+        }
+        return _origin;
+    }
+
+    private void _checkNullability( @Nullable T item, String operation ) {
+        if ( item == null && !_origin.allowsNull() )
+            throw new NullPointerException("Cannot " + operation + " null in a tuple which does not allow null items.");
+    }
+
+    private void _checkIndex( int index ) {
+        if ( index < 0 || index >= size() )
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+    }
+
+    private Tuple<T> _tupleOf( List<@Nullable T> items ) {
+        return _origin.allowsNull()
+                ? Tuple.ofNullable(_origin.type(), items)
+                : Tuple.of(_origin.type(), items);
+    }
+
+    /**
+     *  Shortens the shared prefix to the given index and moves all items behind it,
+     *  including their overrides, to the front of the buffer owned by this builder.
+     */
+    private void _moveOriginTailToBuffer( int index ) {
+        int originSize = _origin.size();
+        List<@Nullable T> tail = new ArrayList<>(originSize - index + _appended.size());
+        for ( T item : _origin.slice(index, originSize) )
+            tail.add(item);
+        NavigableMap<Integer, @Nullable T> tailOverrides = _overrides.tailMap(index, true);
+        for ( Map.Entry<Integer, @Nullable T> override : tailOverrides.entrySet() )
+            tail.set(override.getKey() - index, override.getValue());
+        tailOverrides.clear();
+        tail.addAll(_appended);
+        _appended.clear();
+        _appended.addAll(tail);
+        _origin = _origin.slice(0, index);
+    }
+
+    private void _applyOverrides() {
+        if ( _overrides.isEmpty() )
+            return;
+        int originSize = _origin.size();
+        if ( _countRuns() * (long) ITEMS_PER_RUN_WORTH_SHARING >= originSize ) {
+            List<@Nullable T> items = new ArrayList<>(originSize);
+            for ( T item : _origin )
+                items.add(item);
+            for ( Map.Entry<Integer, @Nullable T> override : _overrides.entrySet() )
+                items.set(override.getKey(), override.getValue());
+            _origin = _tupleOf(items);
+        } else {
+            Iterator<Map.Entry<Integer, @Nullable T>> overrides = _overrides.entrySet().iterator();
+            Map.@Nullable Entry<Integer, @Nullable T> next = overrides.next();
+            while ( next != null ) {
+                int start = next.getKey();
+                List<@Nullable T> run = new ArrayList<>();
+                run.add(next.getValue());
+                next = null;
+                while ( overrides.hasNext() ) {
+                    Map.Entry<Integer, @Nullable T> candidate = overrides.next();
+                    if ( candidate.getKey() != start + run.size() ) {
+                        next = candidate;
+                        break;
+                    }
+                    run.add(candidate.getValue());
+                }
+                _origin = _origin.setAllAt(start, _tupleOf(run));
+            }
+        }
+        _overrides.clear();
+    }
+
+    private int _countRuns() {
+        int runs = 0;
+        int previous = -2;
+        for ( int index : _overrides.keySet() ) {
+            if ( index != previous + 1 )
+                runs++;
+            previous = index;
+        }
+        return runs;
+    }
+}
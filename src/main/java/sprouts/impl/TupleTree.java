@@ -5,10 +5,12 @@ import sprouts.Tuple;
 import sprouts.Val;
 
 import java.util.*;
-import java.util.concurrent.atomic.AtomicReference;
-import java.util.function.Consumer;
-import java.util.function.Function;
-import java.util.function.Predicate;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.*;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 
 import static sprouts.impl.ArrayUtil.*;
 
@@ -74,6 +76,11 @@ final class TupleTree<T extends @Nullable Object> implements Tuple<T> {
 
     private static final int BRANCHING_FACTOR = 32;
     private static final int IDEAL_LEAF_NODE_SIZE = 512;
+    /**
+     *  Subtrees smaller than this are processed sequentially by the parallel
+     *  operations, as the overhead of forking a task would outweigh the benefit.
+     */
+    private static final int PARALLEL_THRESHOLD = Math.max(IDEAL_LEAF_NODE_SIZE, Integer.getInteger("sprouts.tuple.parallelThreshold", 8192));
 
     /**
      * When a child node's size exceeds this multiple of its nearest sibling's
@@ -118,6 +125,24 @@ final class TupleTree<T extends @Nullable Object> implements Tuple<T> {
 
         <T> void forEach(ArrayItemAccess<T, Object> access, Consumer<T> consumer);
 
+        /**
+         * Reads the numeric element at the given index as a primitive, directly from
+         * the leaf array if it is a matching primitive array, and through
+         * {@link Number} conversion otherwise.
+         */
+        int getIntAt(int index);
+
+        long getLongAt(int index);
+
+        double getDoubleAt(int index);
+
+        /**
+         * Passes the raw data array of every leaf in this node to the given consumer,
+         * in the order of the elements, so that primitive arrays can be traversed
+         * in tight loops without boxing.
+         */
+        void forEachLeaf(Consumer<Object> leafDataConsumer);
+
         /**
          * Recursively maps every element in this node using the given mapper,
          * producing a new tree of the target type without any intermediate
@@ -130,15 +155,33 @@ final class TupleTree<T extends @Nullable Object> implements Tuple<T> {
          * @return a new {@link Node} mirroring this node's structure with mapped elements
          */
         <T, U> Node mapTo(Class<U> targetType, boolean allowsNull, ArrayItemAccess<T, Object> sourceAccess, Function<T, U> mapper);
+
+        /**
+         * Returns the {@link RollingHash} of the elements in this node, which is
+         * computed once and then cached, so that the hash code of a new version of
+         * a tuple only has to be computed for the nodes which were copied.
+         */
+        long rollingHash();
     }
 
     static final class LeafNode implements Node {
         private final Object _data;
+        private volatile long _hash;
 
         LeafNode(Object data) {
             _data = data;
         }
 
+        @Override
+        public long rollingHash() {
+            long hash = _hash;
+            if ( hash == RollingHash.UNKNOWN ) {
+                hash = RollingHash.appendAll(RollingHash.EMPTY, _data);
+                _hash = hash;
+            }
+            return hash;
+        }
+
         public Object data() {
             return  _data;
         }
@@ -305,6 +348,26 @@ final class TupleTree<T extends @Nullable Object> implements Tuple<T> {
             _each(_data, access, consumer);
         }
 
+        @Override
+        public int getIntAt(int index) {
+            return _intAt(_data, index);
+        }
+
+        @Override
+        public long getLongAt(int index) {
+            return _longAt(_data, index);
+        }
+
+        @Override
+        public double getDoubleAt(int index) {
+            return _doubleAt(_data, index);
+        }
+
+        @Override
+        public void forEachLeaf(Consumer<Object> leafDataConsumer) {
+            leafDataConsumer.accept(_data);
+        }
+
         @Override
         @SuppressWarnings("unchecked")
         public <T, U> Node mapTo(Class<U> targetType, boolean allowsNull, ArrayItemAccess<T, Object> sourceAccess, Function<T, U> mapper) {
@@ -328,6 +391,7 @@ final class TupleTree<T extends @Nullable Object> implements Tuple<T> {
     static final class BranchNode implements Node {
         private final Node[] _children;
         private final int _size;
+        private volatile long _hash;
 
         BranchNode(Node[] children) {
             _children = children;
@@ -339,6 +403,20 @@ final class TupleTree<T extends @Nullable Object> implements Tuple<T> {
             _size = sum;
         }
 
+        @Override
+        public long rollingHash() {
+            long hash = _hash;
+            if ( hash == RollingHash.UNKNOWN ) {
+                hash = RollingHash.EMPTY;
+                for ( Node child : _children ) {
+                    if ( child != null )
+                        hash = RollingHash.concat(hash, child.rollingHash());
+                }
+                _hash = hash;
+            }
+            return hash;
+        }
+
         @Override
         public int size() {
             return _size;
@@ -576,6 +654,53 @@ final class TupleTree<T extends @Nullable Object> implements Tuple<T> {
             }
         }
 
+        @Override
+        public int getIntAt(int index) {
+            int currentBranchStartIndex = 0;
+            for (Node branch : _children) {
+                if ( branch != null ) {
+                    if ( index < currentBranchStartIndex + branch.size() )
+                        return branch.getIntAt(index - currentBranchStartIndex);
+                    currentBranchStartIndex += branch.size();
+                }
+            }
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + _size);
+        }
+
+        @Override
+        public long getLongAt(int index) {
+            int currentBranchStartIndex = 0;
+            for (Node branch : _children) {
+                if ( branch != null ) {
+                    if ( index < currentBranchStartIndex + branch.size() )
+                        return branch.getLongAt(index - currentBranchStartIndex);
+                    currentBranchStartIndex += branch.size();
+                }
+            }
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + _size);
+        }
+
+        @Override
+        public double getDoubleAt(int index) {
+            int currentBranchStartIndex = 0;
+            for (Node branch : _children) {
+                if ( branch != null ) {
+                    if ( index < currentBranchStartIndex + branch.size() )
+                        return branch.getDoubleAt(index - currentBranchStartIndex);
+                    currentBranchStartIndex += branch.size();
+                }
+            }
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + _size);
+        }
+
+        @Override
+        public void forEachLeaf(Consumer<Object> leafDataConsumer) {
+            for (Node branch : _children) {
+                if (branch != null)
+                    branch.forEachLeaf(leafDataConsumer);
+            }
+        }
+
         @Override
         public <T, U> Node mapTo(Class<U> targetType, boolean allowsNull, ArrayItemAccess<T, Object> sourceAccess, Function<T, U> mapper) {
             Node[] newChildren = null;
@@ -600,7 +725,6 @@ final class TupleTree<T extends @Nullable Object> implements Tuple<T> {
     private final Class<T> _type;
     private final ArrayItemAccess<T, Object> _itemGetter;
     private final Node _root;
-    private final AtomicReference<@Nullable Integer> _cachedHashCode = new AtomicReference<>(null);
 
     /**
      * Creates a new {@link TupleTree} with the given list of items.
@@ -819,6 +943,138 @@ final class TupleTree<T extends @Nullable Object> implements Tuple<T> {
         return _allowsNull;
     }
 
+    @Override
+    public int getInt(int index) {
+        if (index < 0 || index >= _size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + _size);
+        }
+        return _root.getIntAt(index);
+    }
+
+    @Override
+    public long getLong(int index) {
+        if (index < 0 || index >= _size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + _size);
+        }
+        return _root.getLongAt(index);
+    }
+
+    @Override
+    public double getDouble(int index) {
+        if (index < 0 || index >= _size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + _size);
+        }
+        return _root.getDoubleAt(index);
+    }
+
+    @Override
+    public void forEachInt(IntConsumer action) {
+        Objects.requireNonNull(action);
+        _root.forEachLeaf(data -> {
+            if ( data instanceof int[] ) {
+                for ( int item : (int[]) data )
+                    action.accept(item);
+            } else {
+                final int length = _length(data);
+                for ( int i = 0; i < length; i++ )
+                    action.accept(_intAt(data, i));
+            }
+        });
+    }
+
+    @Override
+    public void forEachLong(LongConsumer action) {
+        Objects.requireNonNull(action);
+        _root.forEachLeaf(data -> {
+            if ( data instanceof long[] ) {
+                for ( long item : (long[]) data )
+                    action.accept(item);
+            } else {
+                final int length = _length(data);
+                for ( int i = 0; i < length; i++ )
+                    action.accept(_longAt(data, i));
+            }
+        });
+    }
+
+    @Override
+    public void forEachDouble(DoubleConsumer action) {
+        Objects.requireNonNull(action);
+        _root.forEachLeaf(data -> {
+            if ( data instanceof double[] ) {
+                for ( double item : (double[]) data )
+                    action.accept(item);
+            } else {
+                final int length = _length(data);
+                for ( int i = 0; i < length; i++ )
+                    action.accept(_doubleAt(data, i));
+            }
+        });
+    }
+
+    @Override
+    public IntStream intStream() {
+        if ( _root instanceof LeafNode && ((LeafNode) _root)._data instanceof int[] )
+            return Arrays.stream((int[]) ((LeafNode) _root)._data);
+        return _leafData().stream().flatMapToInt(data ->
+                    data instanceof int[]
+                        ? Arrays.stream((int[]) data)
+                        : IntStream.range(0, _length(data)).map(i -> _intAt(data, i))
+                );
+    }
+
+    @Override
+    public LongStream longStream() {
+        if ( _root instanceof LeafNode && ((LeafNode) _root)._data instanceof long[] )
+            return Arrays.stream((long[]) ((LeafNode) _root)._data);
+        return _leafData().stream().flatMapToLong(data ->
+                    data instanceof long[]
+                        ? Arrays.stream((long[]) data)
+                        : IntStream.range(0, _length(data)).mapToLong(i -> _longAt(data, i))
+                );
+    }
+
+    @Override
+    public DoubleStream doubleStream() {
+        if ( _root instanceof LeafNode && ((LeafNode) _root)._data instanceof double[] )
+            return Arrays.stream((double[]) ((LeafNode) _root)._data);
+        return _leafData().stream().flatMapToDouble(data ->
+                    data instanceof double[]
+                        ? Arrays.stream((double[]) data)
+                        : IntStream.range(0, _length(data)).mapToDouble(i -> _doubleAt(data, i))
+                );
+    }
+
+    private List<Object> _leafData() {
+        List<Object> leaves = new ArrayList<>(_size / IDEAL_LEAF_NODE_SIZE + 1);
+        _root.forEachLeaf(leaves::add);
+        return leaves;
+    }
+
+    private static int _intAt(Object data, int index) {
+        if ( data instanceof int[] )
+            return ((int[]) data)[index];
+        return ((Number) Objects.requireNonNull(_getAt(index, data))).intValue();
+    }
+
+    private static long _longAt(Object data, int index) {
+        if ( data instanceof long[] )
+            return ((long[]) data)[index];
+        if ( data instanceof int[] )
+            return ((int[]) data)[index];
+        return ((Number) Objects.requireNonNull(_getAt(index, data))).longValue();
+    }
+
+    private static double _doubleAt(Object data, int index) {
+        if ( data instanceof double[] )
+            return ((double[]) data)[index];
+        if ( data instanceof int[] )
+            return ((int[]) data)[index];
+        if ( data instanceof long[] )
+            return ((long[]) data)[index];
+        return ((Number) Objects.requireNonNull(_getAt(index, data))).doubleValue();
+    }
+
     @Override
     public TupleTree<T> slice(int from, int to) {
         if (from < 0 || to > _size || from > to) {
@@ -874,6 +1130,28 @@ final class TupleTree<T extends @Nullable Object> implements Tuple<T> {
         return _retainIf(predicate);
     }
 
+    TupleTree<T> _parallelRetainIf(Predicate<T> predicate) {
+        Objects.requireNonNull(predicate);
+        if (_size == 0)
+            return this;
+        Node newRoot = _inParallel(_root, _type, _allowsNull, node -> node.retainIf(predicate, _type, _itemGetter, _allowsNull));
+        if (newRoot == _root)
+            return this;
+        int newSize = (newRoot == null ? 0 : newRoot.size());
+        return new TupleTree<>(newSize, _allowsNull, _type, newRoot);
+    }
+
+    @Override
+    public TupleTree<T> parallelRetainIf( Predicate<T> predicate ) {
+        return _parallelRetainIf(predicate);
+    }
+
+    @Override
+    public TupleTree<T> parallelRemoveIf( Predicate<T> predicate ) {
+        Objects.requireNonNull(predicate);
+        return _parallelRetainIf(predicate.negate());
+    }
+
     @Override
     public TupleTree<T> removeIf( Predicate<T> predicate ) {
         return _retainIf(predicate.negate());
@@ -1041,6 +1319,106 @@ final class TupleTree<T extends @Nullable Object> implements Tuple<T> {
         return new TupleTree<>(_size, _allowsNull, type, newRoot);
     }
 
+    @Override
+    public TupleTree<T> parallelMap( Function<T,T> mapper ) {
+        Objects.requireNonNull(mapper);
+        if ( _size == 0 )
+            return this;
+        Node newRoot = _inParallel(_root, _type, _allowsNull, node -> node.mapTo(_type, _allowsNull, _itemGetter, mapper));
+        if ( Util.refEquals(newRoot, _root) )
+            return this;
+        return new TupleTree<>(_size, _allowsNull, _type, newRoot);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <U extends @Nullable Object> TupleTree<U> parallelMapTo(
+        Class<U>      type,
+        Function<T,U> mapper
+    ) {
+        Objects.requireNonNull(type);
+        Objects.requireNonNull(mapper);
+        if ( _size == 0 )
+            return new TupleTree<>(0, _allowsNull, type, null);
+        Node newRoot = _inParallel(_root, _type, _allowsNull, node -> node.mapTo(type, _allowsNull, _itemGetter, mapper));
+        if ( Util.refEquals(newRoot, _root) )
+            return (TupleTree<U>) this;
+        return new TupleTree<>(_size, _allowsNull, type, newRoot);
+    }
+
+    private static @Nullable Node _inParallel(
+        Node root, Class<?> type, boolean allowsNull, Function<Node, @Nullable Node> sequentialOperation
+    ) {
+        if ( root.size() < PARALLEL_THRESHOLD )
+            return sequentialOperation.apply(root);
+        return ForkJoinPool.commonPool().invoke(new ParallelNodeTask(root, type, allowsNull, sequentialOperation));
+    }
+
+    /**
+     *  Applies a node operation to all children of a branch node in separate
+     *  fork join tasks, and reassembles the results the same way as the sequential
+     *  branch node operations do, by sharing all children which did not change.
+     *  Large leaf nodes are sliced into smaller leaves first, so that tuples
+     *  created from one big array are processed in parallel as well.
+     *  Subtrees below the {@link #PARALLEL_THRESHOLD} are processed sequentially.
+     */
+    @SuppressWarnings("serial")
+    private static final class ParallelNodeTask extends RecursiveTask<@Nullable Node> {
+        private final Node _node;
+        private final Class<?> _type;
+        private final boolean _allowsNull;
+        private final Function<Node, @Nullable Node> _sequentialOperation;
+
+        ParallelNodeTask(Node node, Class<?> type, boolean allowsNull, Function<Node, @Nullable Node> sequentialOperation) {
+            _node = node;
+            _type = type;
+            _allowsNull = allowsNull;
+            _sequentialOperation = sequentialOperation;
+        }
+
+        @Override
+        protected @Nullable Node compute() {
+            final int size = _node.size();
+            if ( size < PARALLEL_THRESHOLD || ( _node instanceof LeafNode && size < 2 * PARALLEL_THRESHOLD ) )
+                return _sequentialOperation.apply(_node);
+            Node[] children = _node instanceof BranchNode ? ((BranchNode) _node)._children : _sliceLeaf(size);
+            ParallelNodeTask[] tasks = new ParallelNodeTask[children.length];
+            List<ParallelNodeTask> forked = new ArrayList<>(children.length);
+            for ( int i = 0; i < children.length; i++ ) {
+                if ( children[i] != null ) {
+                    tasks[i] = new ParallelNodeTask(children[i], _type, _allowsNull, _sequentialOperation);
+                    forked.add(tasks[i]);
+                }
+            }
+            invokeAll(forked);
+            Node[] newChildren = children; // start lazy – only clone on first real change
+            for ( int i = 0; i < children.length; i++ ) {
+                if ( tasks[i] == null ) continue;
+                Node newChild = tasks[i].join();
+                if ( newChild != children[i] ) {
+                    if ( newChildren == children )
+                        newChildren = children.clone();
+                    newChildren[i] = newChild;
+                }
+            }
+            if ( newChildren == children )  return _node;
+            if ( _isAllNull(newChildren) )   return null;
+            return new BranchNode(newChildren);
+        }
+
+        private Node[] _sliceLeaf(int size) {
+            int numberOfSlices = Math.min(BRANCHING_FACTOR, size / PARALLEL_THRESHOLD);
+            Node[] slices = new Node[numberOfSlices];
+            int stepSize = size / numberOfSlices;
+            for ( int i = 0; i < numberOfSlices; i++ ) {
+                int start = i * stepSize;
+                int end = ( i == numberOfSlices - 1 ? size : start + stepSize );
+                slices[i] = _node.slice(start, end, _type, _allowsNull);
+            }
+            return slices;
+        }
+    }
+
     @Override
     public TupleTree<T> sort(Comparator<T> comparator) {
         List<T> sortedList = new ArrayList<>(_size);
@@ -1104,7 +1482,7 @@ final class TupleTree<T extends @Nullable Object> implements Tuple<T> {
         if ( node instanceof LeafNode ) {
             LeafNode leafNode = (LeafNode) node;
             if ( allowsNull )
-                return Spliterators.spliterator((T[])leafNode._data, 0, end, _spliteratorCharacteristics(allowsNull));
+                return Spliterators.spliterator((T[])leafNode._data, start, end, _spliteratorCharacteristics(allowsNull));
             else if ( type == Integer.class || type == int.class )
                 return (Spliterator<T>) Spliterators.spliterator((int[])leafNode._data, start, end, _spliteratorCharacteristics(allowsNull));
             else if ( type == Long.class || type == long.class )
@@ -1112,7 +1490,7 @@ final class TupleTree<T extends @Nullable Object> implements Tuple<T> {
             else if ( type == Double.class || type == double.class )
                 return (Spliterator<T>) Spliterators.spliterator((double[])leafNode._data, start, end, _spliteratorCharacteristics(allowsNull));
         }
-        return new TupleSpliterator<>(start, end, type, itemGetter, allowsNull, node);
+        return new TupleSpliterator<>(start, end, itemGetter, allowsNull, node);
     }
 
     private static int _spliteratorCharacteristics(boolean allowsNull) {
@@ -1157,6 +1535,9 @@ final class TupleTree<T extends @Nullable Object> implements Tuple<T> {
             return false;
         if (!other.type().equals(_type))
             return false;
+        if ( other instanceof AssociationValues ) {
+            other = ((AssociationValues<?>)other).materialized();
+        }
         if ( other instanceof TupleWithDiff ) {
             other = ((TupleWithDiff)other).getData();
         }
@@ -1165,6 +1546,8 @@ final class TupleTree<T extends @Nullable Object> implements Tuple<T> {
             otherHamt = (TupleTree<?>) other;
         }
         if ( otherHamt != null ) {
+            if ( _knownToDiffer(this._root, otherHamt._root) )
+                return false;
             return _recursiveEquals(this._root, otherHamt._root, allowsNull(), type());
         }
         return _exhaustiveEquals(this, (Tuple<T>)other);
@@ -1220,17 +1603,18 @@ final class TupleTree<T extends @Nullable Object> implements Tuple<T> {
 
     @Override
     public int hashCode() {
-        Integer cached = _cachedHashCode.get();
-        if ( cached != null )
-            return cached;
-        int hash = _type.hashCode() ^ _size;
-        for (int i = 0; i < _size; i++) {
-            T item = get(i);
-            hash = 31 * hash + (item == null ? 0 : item.hashCode());
-        }
-        int result = hash ^ (_allowsNull ? 1 : 0);
-        _cachedHashCode.set(result);
-        return result;
+        int hash = RollingHash.finish(_type.hashCode() ^ _size, _root.rollingHash());
+        return hash ^ (_allowsNull ? 1 : 0);
+    }
+
+    /**
+     *  Tells if the hashes of the two nodes were both computed
+     *  already and differ, in which case their elements cannot be equal.
+     */
+    private static boolean _knownToDiffer( Node first, Node second ) {
+        long firstHash  = first  instanceof LeafNode ? ((LeafNode) first)._hash  : ((BranchNode) first)._hash;
+        long secondHash = second instanceof LeafNode ? ((LeafNode) second)._hash : ((BranchNode) second)._hash;
+        return firstHash != RollingHash.UNKNOWN && secondHash != RollingHash.UNKNOWN && firstHash != secondHash;
     }
 
     private static final class TupleIterator<T> implements Iterator<T>
@@ -1281,25 +1665,32 @@ final class TupleTree<T extends @Nullable Object> implements Tuple<T> {
         }
     }
 
+    /**
+     *  A spliterator which splits along the child boundaries of the branch nodes
+     *  of the tree, so that every split covers whole subtrees wherever possible.
+     *  Traversal then walks the leaf arrays sequentially, descending from the
+     *  root only once per leaf instead of once per element.
+     */
     private static final class TupleSpliterator<T> implements Spliterator<T> {
         private final TupleTree.Node root;
-        private final Class<T> type;
         private final ArrayItemAccess<T, Object> itemGetter;
         private final boolean allowsNull;
         private final int fence;
-        private int index; // position in the current node
+        private int index; // position in the root node
+        // The leaf containing the current position:
+        private @Nullable Object leafData = null;
+        private int leafStart = 0;
+        private int leafEnd = 0;
 
         TupleSpliterator(
             int start,
             int end,
-            Class<T> type,
             ArrayItemAccess<T, Object> itemGetter,
             boolean allowsNull,
             TupleTree.Node root
         ) {
             this.index = start;
             this.fence = end;
-            this.type = type;
             this.itemGetter = itemGetter;
             this.allowsNull = allowsNull;
             this.root = root;
@@ -1308,19 +1699,84 @@ final class TupleTree<T extends @Nullable Object> implements Tuple<T> {
         @Override
         public @Nullable Spliterator<T> trySplit() {
             int lo = index;
-            int mid = (lo + fence) >>> 1;
-            if (mid <= lo)
+            if ( fence - lo < 2 )
+                return null;
+            int mid = _splitPoint(root, 0, lo, fence);
+            if ( mid <= lo || mid >= fence )
                 return null;
-            // left half will handle [lo, mid), this spliterator becomes [mid, fence)
-            Spliterator<T> prefix = _createFastSpliteratorFor(root, type, itemGetter, allowsNull, lo, mid);
+            // prefix will handle [lo, mid), this spliterator becomes [mid, fence)
+            Spliterator<T> prefix = new TupleSpliterator<>(lo, mid, itemGetter, allowsNull, root);
             this.index = mid;
             return prefix;
         }
 
+        /**
+         *  Descends to the smallest node containing the whole range and returns the
+         *  child boundary of that node which is closest to the middle of the range,
+         *  or the middle itself if the range lies within a single leaf.
+         */
+        private static int _splitPoint(TupleTree.Node node, int offset, int lo, int hi) {
+            final int mid = (lo + hi) >>> 1;
+            while ( node instanceof BranchNode ) {
+                TupleTree.Node containing = null;
+                int containingOffset = offset;
+                int bestBoundary = -1;
+                int childStart = offset;
+                for ( TupleTree.Node child : ((BranchNode) node)._children ) {
+                    if ( child == null )
+                        continue;
+                    int childEnd = childStart + child.size();
+                    if ( childStart <= lo && hi <= childEnd ) {
+                        containing = child;
+                        containingOffset = childStart;
+                        break;
+                    }
+                    if ( childStart > lo && childStart < hi ) {
+                        if ( bestBoundary < 0 || Math.abs(childStart - mid) < Math.abs(bestBoundary - mid) )
+                            bestBoundary = childStart;
+                    }
+                    childStart = childEnd;
+                }
+                if ( containing == null )
+                    return bestBoundary < 0 ? mid : bestBoundary;
+                node = containing;
+                offset = containingOffset;
+            }
+            return mid;
+        }
+
+        private Object _leafAt(int position) {
+            TupleTree.Node node = root;
+            int offset = 0;
+            while ( node instanceof BranchNode ) {
+                TupleTree.Node next = null;
+                for ( TupleTree.Node child : ((BranchNode) node)._children ) {
+                    if ( child == null )
+                        continue;
+                    if ( position < offset + child.size() ) {
+                        next = child;
+                        break;
+                    }
+                    offset += child.size();
+                }
+                if ( next == null )
+                    throw new IndexOutOfBoundsException("Index: " + position + ", Size: " + root.size());
+                node = next;
+            }
+            Object data = ((LeafNode) node)._data;
+            leafData = data;
+            leafStart = offset;
+            leafEnd = offset + _length(data);
+            return data;
+        }
+
         @Override
         public boolean tryAdvance(Consumer<? super T> action) {
             if (index < fence) {
-                T item = root.getAt(index, itemGetter);
+                Object data = leafData;
+                if ( data == null || index < leafStart || index >= leafEnd )
+                    data = _leafAt(index);
+                T item = itemGetter.get(index - leafStart, data);
                 index++;
                 action.accept(item);
                 return true;
@@ -1331,9 +1787,14 @@ final class TupleTree<T extends @Nullable Object> implements Tuple<T> {
         @Override
         public void forEachRemaining(Consumer<? super T> action) {
             while (index < fence) {
-                T item = root.getAt(index, itemGetter);
-                index++;
-                action.accept(item);
+                Object data = leafData;
+                if ( data == null || index < leafStart || index >= leafEnd )
+                    data = _leafAt(index);
+                final int start = leafStart;
+                final int end = Math.min(fence, leafEnd);
+                for ( int i = index; i < end; i++ )
+                    action.accept(itemGetter.get(i - start, data));
+                index = end;
             }
         }
 
@@ -5,8 +5,10 @@ import sprouts.SequenceChange;
 import sprouts.Tuple;
 
 import java.util.*;
-import java.util.function.Function;
-import java.util.function.Predicate;
+import java.util.function.*;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 
 /**
  *  A tuple that contains a difference to the previous state, in
@@ -20,7 +22,7 @@ import java.util.function.Predicate;
  *
  * @param <T> The type of the items in the tuple.
  */
-final class TupleWithDiff<T extends @Nullable Object> implements Tuple<T>, SequenceDiffOwner {
+class TupleWithDiff<T extends @Nullable Object> implements Tuple<T>, SequenceDiffOwner {
 
     private final TupleTree<T> _tupleTree;
     private final SequenceDiff _diffToPrevious;
@@ -100,6 +102,51 @@ final class TupleWithDiff<T extends @Nullable Object> implements Tuple<T>, Seque
         return _tupleTree.allowsNull();
     }
 
+    @Override
+    public int getInt(int index) {
+        return _tupleTree.getInt(index);
+    }
+
+    @Override
+    public long getLong(int index) {
+        return _tupleTree.getLong(index);
+    }
+
+    @Override
+    public double getDouble(int index) {
+        return _tupleTree.getDouble(index);
+    }
+
+    @Override
+    public void forEachInt(IntConsumer action) {
+        _tupleTree.forEachInt(action);
+    }
+
+    @Override
+    public void forEachLong(LongConsumer action) {
+        _tupleTree.forEachLong(action);
+    }
+
+    @Override
+    public void forEachDouble(DoubleConsumer action) {
+        _tupleTree.forEachDouble(action);
+    }
+
+    @Override
+    public IntStream intStream() {
+        return _tupleTree.intStream();
+    }
+
+    @Override
+    public LongStream longStream() {
+        return _tupleTree.longStream();
+    }
+
+    @Override
+    public DoubleStream doubleStream() {
+        return _tupleTree.doubleStream();
+    }
+
     @Override
     public Tuple<T> slice(int from, int to) {
         if ( from < 0 || to > this.size() )
@@ -147,6 +194,30 @@ final class TupleWithDiff<T extends @Nullable Object> implements Tuple<T>, Seque
         return _filterWith(predicate, SequenceChange.RETAIN);
     }
 
+    @Override
+    public Tuple<T> parallelRemoveIf( Predicate<T> predicate ) {
+        Objects.requireNonNull(predicate);
+        return _parallelFilterWith(predicate.negate(), SequenceChange.REMOVE);
+    }
+
+    @Override
+    public Tuple<T> parallelRetainIf( Predicate<T> predicate ) {
+        return _parallelFilterWith(predicate, SequenceChange.RETAIN);
+    }
+
+    /**
+     *  Unlike {@link #_filterWith}, this does not test the items a second time
+     *  to find a single affected sequence, which is why the diff has no index.
+     */
+    private Tuple<T> _parallelFilterWith(Predicate<T> retainPredicate, SequenceChange changeType) {
+        TupleTree<T> filtered = _tupleTree._parallelRetainIf(retainPredicate);
+        if ( Util.refEquals(filtered, _tupleTree) )
+            return this;
+        int diffSize = changeType == SequenceChange.RETAIN ? filtered.size() : this.size() - filtered.size();
+        SequenceDiff diff = SequenceDiff.of(this, changeType, -1, diffSize);
+        return new TupleWithDiff<>(filtered, diff);
+    }
+
     /**
      *  Shared implementation for {@link #removeIf} and {@link #retainIf}.
      *  The actual filtering is delegated to the tree-level {@link TupleTree#_retainIf},
@@ -307,6 +378,22 @@ final class TupleWithDiff<T extends @Nullable Object> implements Tuple<T>, Seque
         return new TupleWithDiff<>(_tupleTree.mapTo(type, mapper), SequenceDiff.of(this, SequenceChange.SET, 0, size()) );
     }
 
+    @Override
+    public Tuple<T> parallelMap( Function<T,T> mapper ) {
+        TupleTree<T> newTupleTree = _tupleTree.parallelMap(mapper);
+        if ( Util.refEquals(newTupleTree, _tupleTree) )
+            return this;
+        return new TupleWithDiff<>(newTupleTree, SequenceDiff.of(this, SequenceChange.SET, 0, size()) );
+    }
+
+    @Override
+    public <U extends @Nullable Object> Tuple<U> parallelMapTo(
+        Class<U>      type,
+        Function<T,U> mapper
+    ) {
+        return new TupleWithDiff<>(_tupleTree.parallelMapTo(type, mapper), SequenceDiff.of(this, SequenceChange.SET, 0, size()) );
+    }
+
     @Override
     public Tuple<T> sort(Comparator<T> comparator) {
         TupleTree<T> newItems = _tupleTree.sort(comparator);
@@ -0,0 +1,89 @@
+package sprouts.impl;
+
+import sprouts.ValueSet;
+
+import java.util.*;
+
+/**
+ *  A {@link ValueSet.Builder} which keeps the value set it started out with
+ *  as is and records all edits in mutable hash sets owned exclusively by this builder.
+ *  Once {@link #build()} is called, the recorded edits are applied to the original
+ *  value set as a single bulk removal followed by a single bulk insert,
+ *  which builds every affected node of the new value set only once
+ *  and shares everything else with the original value set.
+ */
+final class ValueSetBuilder<E> implements ValueSet.Builder<E> {
+
+    private ValueSet<E> _origin;
+    /*
+        The elements which were added to this builder, in the order in which they
+        were first added (or re-added after a removal), so that linked value sets
+        end up in the same order as if the edits were applied one by one.
+    */
+    private final Set<E> _added = new LinkedHashSet<>();
+    /*
+        The elements of the original value set which were removed at some point,
+        and therefore have to be removed before the added elements are applied.
+    */
+    private final Set<E> _removedFromOrigin = new HashSet<>();
+    private int _size;
+
+    ValueSetBuilder( ValueSet<E> origin ) {
+        _origin = Objects.requireNonNull(origin);
+        _size   = origin.size();
+    }
+
+    @Override
+    public ValueSet.Builder<E> add( E element ) {
+        Objects.requireNonNull(element);
+        if ( !_origin.type().isAssignableFrom(element.getClass()) ) {
+            throw new IllegalArgumentException(
+                    "The supplied element '" + element + "' is of type '" + element.getClass().getSimpleName() + "', " +
+                    "instead of the expected type '" + _origin.type() + "'."
+                );
+        }
+        if ( !_isInOrigin(element) && _added.add(element) )
+            _size++;
+        return this;
+    }
+
+    @Override
+    public ValueSet.Builder<E> remove( E element ) {
+        Objects.requireNonNull(element);
+        boolean wasPresent = _added.remove(element) || _isInOrigin(element);
+        if ( wasPresent ) {
+            if ( _origin.contains(element) )
+                _removedFromOrigin.add(element);
+            _size--;
+        }
+        return this;
+    }
+
+    @Override
+    public boolean contains( E element ) {
+        Objects.requireNonNull(element);
+        return _added.contains(element) || _isInOrigin(element);
+    }
+
+    @Override
+    public int size() {
+        return _size;
+    }
+
+    @Override
+    public ValueSet<E> build() {
+        ValueSet<E> result = _origin;
+        if ( !_removedFromOrigin.isEmpty() )
+            result = result.removeAll(_removedFromOrigin);
+        if ( !_added.isEmpty() )
+            result = result.addAll(_added.stream());
+        _origin = result;
+        _added.clear();
+        _removedFromOrigin.clear();
+        return result;
+    }
+
+    private boolean _isInOrigin( E element ) {
+        return !_removedFromOrigin.contains(element) && _origin.contains(element);
+    }
+}
@@ -0,0 +1,109 @@
+package sprouts.impl;
+
+import org.jspecify.annotations.Nullable;
+import sprouts.ValueSet;
+
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ *  The {@link ValueSet.Diff} between two value sets, which is computed
+ *  the first time one of its changes is requested.
+ *  If both sets are hashed sets of the same element type, only the elements
+ *  of the subtrees which they do not share are visited
+ *  (see {@link ValueSetImpl#forEachElementNotSharedWith(ValueSetImpl, Consumer, Consumer)}),
+ *  otherwise every element of both sets is checked against the other set.
+ */
+final class ValueSetDiff<E> implements ValueSet.Diff<E>
+{
+    private static final class Changes<E> {
+        final ValueSet<E> added;
+        final ValueSet<E> removed;
+
+        Changes( ValueSet<E> added, ValueSet<E> removed ) {
+            this.added   = added;
+            this.removed = removed;
+        }
+    }
+
+    private final ValueSet<E> _before;
+    private final ValueSet<E> _after;
+    /** The computed changes, which are immutable and may therefore be published without locking. */
+    private volatile @Nullable Changes<E> _changes;
+
+
+    ValueSetDiff( ValueSet<E> before, ValueSet<E> after ) {
+        _before = Objects.requireNonNull(before);
+        _after  = Objects.requireNonNull(after);
+    }
+
+    @Override
+    public ValueSet<E> before() {
+        return _before;
+    }
+
+    @Override
+    public ValueSet<E> after() {
+        return _after;
+    }
+
+    @Override
+    public ValueSet<E> added() {
+        return _changes().added;
+    }
+
+    @Override
+    public ValueSet<E> removed() {
+        return _changes().removed;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        if ( _before == _after )
+            return true;
+        if ( _before.size() != _after.size() )
+            return false;
+        Changes<E> changes = _changes();
+        return changes.added.isEmpty() && changes.removed.isEmpty();
+    }
+
+    private Changes<E> _changes() {
+        Changes<E> changes = _changes;
+        if ( changes == null ) {
+            changes = _computeChanges();
+            _changes = changes;
+        }
+        return changes;
+    }
+
+    private Changes<E> _computeChanges() {
+        if ( _before == _after )
+            return new Changes<>(_after.clear(), _before.clear());
+
+        ValueSet.Builder<E> added   = _after.clear().toBuilder();
+        ValueSet.Builder<E> removed = _before.clear().toBuilder();
+        Consumer<E> fromBefore = element -> {
+            if ( !_after.contains(element) )
+                removed.add(element);
+        };
+        Consumer<E> fromAfter = element -> {
+            if ( !_before.contains(element) )
+                added.add(element);
+        };
+        if ( _before instanceof ValueSetImpl && _after instanceof ValueSetImpl && _before.type() == _after.type() ) {
+            ((ValueSetImpl<E>) _before).forEachElementNotSharedWith((ValueSetImpl<E>) _after, fromBefore, fromAfter);
+        } else {
+            _before.forEach(fromBefore);
+            _after.forEach(fromAfter);
+        }
+        return new Changes<>(added.build(), removed.build());
+    }
+
+    @Override
+    public String toString() {
+        return "ValueSet.Diff[" +
+                    "added="   + added()   + ", " +
+                    "removed=" + removed() +
+                "]";
+    }
+}
@@ -5,9 +5,9 @@ import sprouts.Association;
 import sprouts.Tuple;
 import sprouts.ValueSet;
 
-import java.lang.reflect.Array;
 import java.util.*;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 import static sprouts.impl.ArrayUtil.*;
@@ -78,7 +78,6 @@ final class ValueSetImpl<E> implements ValueSet<E> {
     private final Class<E> _type;
     private final ArrayItemAccess<E, Object> _itemGetter;
     private final Node<E> _root;
-    private final AtomicReference<@Nullable Integer> _cachedHashCode = new AtomicReference<>(null);
 
     private static class Node<E> {
 
@@ -87,6 +86,12 @@ final class ValueSetImpl<E> implements ValueSet<E> {
         private final Object _elementsArray;
         private final int[] _elementsHashes;
         private final Node<E>[] _branches;
+        /**
+         *  The hash of all elements in this subtree, computed lazily by {@link #_hashOf(Node)}
+         *  and shared by all versions of the set which share this node.
+         *  Zero means that it was not computed yet.
+         */
+        private volatile long _hash;
 
         Node(
             final int depth,
@@ -107,9 +112,7 @@ final class ValueSetImpl<E> implements ValueSet<E> {
             _size = size + _sumBranchSizes(_branches);
             if ( keyHashes.length != size || rebuild ) {
                 _elementsHashes = new int[size];
-                for (int i = 0; i < size; i++) {
-                    _elementsHashes[i] = Objects.requireNonNull(_getAt(i,_elementsArray)).hashCode();
-                }
+                _fillHashCodes(_elementsArray, _elementsHashes);
             } else {
                 _elementsHashes = keyHashes;
             }
@@ -166,8 +169,9 @@ final class ValueSetImpl<E> implements ValueSet<E> {
     ) {
         Object elementsArray = new Object[size];
         final ArrayItemAccess<?, Object> itemGetter = (ArrayItemAccess) ArrayItemAccess.FOR_OBJECT;
+        final ArrayItemAccess<K, Object> elementGetter = ArrayItemAccess.of(type, false);
         for (int i = 0; i < size; i++) {
-            K key = _getAt(i, newElementsArray, type);
+            K key = elementGetter.get(i, newElementsArray);
             Objects.requireNonNull(key);
             int index = _findValidIndexFor(itemGetter, key, key.hashCode(), elementsArray);
             _setAt(index, key, elementsArray);
@@ -298,7 +302,7 @@ final class ValueSetImpl<E> implements ValueSet<E> {
             return new TupleWithDiff<>(TupleTree.ofRaw(false, type, node._elementsArray), null);
         } else {
             List<E> values = new ArrayList<>(_length(node._elementsArray));
-            _each(node._elementsArray, type, value -> {
+            _each(node._elementsArray, ArrayItemAccess.of(type, false), value -> {
                 if ( value != null ) {
                     values.add(value);
                 }
@@ -472,14 +476,183 @@ final class ValueSetImpl<E> implements ValueSet<E> {
     @Override
     public ValueSet<E> addAll( Stream<? extends E> entries ) {
         Objects.requireNonNull(entries);
-        // TODO: implement branching based bulk insert
-        ValueSetImpl<E> result = this;
-        // reduce the stream to a single association
-        return entries.reduce(
-                result,
-                (acc,
-                 entry) -> (ValueSetImpl<E>) acc.add(entry),
-                (a, b) -> a);
+        final Object[] elements = entries.toArray();
+        if ( elements.length == 0 )
+            return this;
+        final BulkBatch batch = new BulkBatch(elements.length);
+        for ( int i = 0; i < elements.length; i++ ) {
+            Object element = Objects.requireNonNull(elements[i]);
+            if ( !_type.isAssignableFrom(element.getClass()) ) {
+                throw new IllegalArgumentException(
+                        "The supplied element '" + element + "' is of type '" + element.getClass().getSimpleName() + "', " +
+                        "instead of the expected type '" + _type + "'."
+                    );
+            }
+            batch.elements[i] = element;
+            batch.hashes[i] = element.hashCode();
+            batch.order[i] = i;
+        }
+        return _withNewRoot(_withAll(_root, _type, _itemGetter, batch, 0, elements.length));
+    }
+
+    /**
+     *  The scratch state of a bulk insert, where {@code order} holds the indices of the
+     *  elements which still need to be inserted. A recursive call to
+     *  {@link #_withAll} owns a range of the {@code order} array and reorders
+     *  it in place.
+     */
+    private static final class BulkBatch {
+        final Object[] elements;
+        final int[] hashes;
+        final int[] order;
+        final int[] buffer;
+
+        BulkBatch( int size ) {
+            elements = new Object[size];
+            hashes = new int[size];
+            order = new int[size];
+            buffer = new int[size];
+        }
+    }
+
+    /**
+     *  Inserts the batch elements in {@code [from, to)} into the given node by building
+     *  every affected node exactly once, instead of path-copying the trie spine
+     *  for every single element. The pending elements are partitioned by their
+     *  branch index so that each recursive call only sees the elements that
+     *  actually end up in the subtree it is responsible for.
+     */
+    @SuppressWarnings("unchecked")
+    private static <E> Node<E> _withAll(
+        final Node<E> node,
+        final Class<E> type,
+        final ArrayItemAccess<?, Object> itemGetter,
+        final BulkBatch batch,
+        final int from,
+        final int to
+    ) {
+        final int depth = node._depth;
+        final int[] order = batch.order;
+        final int localLength = _length(node._elementsArray);
+        int pendingEnd = from;
+        for ( int i = from; i < to; i++ ) {
+            final int entry = order[i];
+            final int index = _findValidIndexFor(node, itemGetter, (E) batch.elements[entry], batch.hashes[entry]);
+            if ( index < 0 || index >= localLength )
+                order[pendingEnd++] = entry;
+        }
+        if ( pendingEnd == from )
+            return node;
+        Object elementsArray = node._elementsArray;
+        Node<E>[] branches = node._branches;
+        boolean rebuild = false;
+        if ( branches.length == 0 ) {
+            // We fill up the local storage of this node, just like a sequence of single adds would:
+            final int room = _maxEntriesForThisNode(node) - localLength;
+            if ( room > 0 ) {
+                final int claimed = _claimDistinct(batch, from, pendingEnd, room);
+                Object newElementsArray = _createArray(type, ALLOWS_NULL, localLength + claimed);
+                System.arraycopy(elementsArray, 0, newElementsArray, 0, localLength);
+                for ( int i = 0; i < claimed; i++ )
+                    _setAt(localLength + i, batch.elements[order[from + i]], newElementsArray);
+                elementsArray = newElementsArray;
+                rebuild = true;
+                int write = from;
+                for ( int i = from + claimed; i < pendingEnd; i++ ) {
+                    if ( order[i] >= 0 )
+                        order[write++] = order[i];
+                }
+                pendingEnd = write;
+            }
+            if ( pendingEnd > from ) {
+                // This is where the tree grows
+                branches = new Node[_minBranchingPerNode(node)];
+            }
+        }
+        if ( pendingEnd > from ) {
+            final Node<E>[] originalBranches = branches;
+            final int numberOfBranches = branches.length;
+            final int[] bucketStarts = _partitionByBranch(node, batch, from, pendingEnd, numberOfBranches);
+            for ( int branchIndex = 0; branchIndex < numberOfBranches; branchIndex++ ) {
+                final int bucketFrom = bucketStarts[branchIndex];
+                final int bucketTo = bucketStarts[branchIndex + 1];
+                if ( bucketFrom == bucketTo )
+                    continue;
+                @Nullable Node<E> branch = branches[branchIndex];
+                Node<E> newBranch = _withAll(
+                                        branch != null ? branch : new Node<>(depth + 1, type, _createArray(type, ALLOWS_NULL, 0), new int[0], EMPTY_BRANCHES, false),
+                                        type, itemGetter, batch, bucketFrom, bucketTo
+                                    );
+                if ( !Util.refEquals(newBranch, branch) ) {
+                    if ( branches == originalBranches && originalBranches == node._branches )
+                        branches = branches.clone();
+                    branches[branchIndex] = newBranch;
+                }
+            }
+        }
+        if ( elementsArray == node._elementsArray && branches == node._branches )
+            return node;
+        return new Node<>(depth, type, elementsArray, node._elementsHashes, branches, rebuild);
+    }
+
+    /**
+     *  Moves up to {@code limit} distinct elements from the pending range {@code [from, to)}
+     *  to its front and returns how many were claimed. Every other occurrence
+     *  of a claimed element is marked as consumed by setting its order slot to {@code -1}.
+     */
+    private static int _claimDistinct(
+        final BulkBatch batch,
+        final int from,
+        final int to,
+        final int limit
+    ) {
+        final int[] order = batch.order;
+        int claimed = 0;
+        for ( int i = from; i < to && claimed < limit; i++ ) {
+            final int entry = order[i];
+            if ( entry < 0 )
+                continue;
+            final Object element = batch.elements[entry];
+            final int hash = batch.hashes[entry];
+            for ( int j = i + 1; j < to; j++ ) {
+                final int other = order[j];
+                if ( other >= 0 && batch.hashes[other] == hash && element.equals(batch.elements[other]) )
+                    order[j] = -1;
+            }
+            order[i] = -1;
+            order[from + claimed] = entry;
+            claimed++;
+        }
+        return claimed;
+    }
+
+    /**
+     *  Stably reorders the range {@code [from, to)} of the batch so that the elements
+     *  are grouped by the branch they belong to, and returns the start offsets
+     *  of each group (with one additional trailing offset marking the end).
+     */
+    private static int[] _partitionByBranch(
+        final Node<?> node,
+        final BulkBatch batch,
+        final int from,
+        final int to,
+        final int numberOfBranches
+    ) {
+        final int[] order = batch.order;
+        final int[] buffer = batch.buffer;
+        final int[] starts = new int[numberOfBranches + 1];
+        for ( int i = from; i < to; i++ )
+            starts[_computeBranchIndex(node, batch.hashes[order[i]], numberOfBranches) + 1]++;
+        starts[0] = from;
+        for ( int i = 1; i <= numberOfBranches; i++ )
+            starts[i] += starts[i - 1];
+        final int[] cursors = Arrays.copyOf(starts, numberOfBranches);
+        for ( int i = from; i < to; i++ ) {
+            final int entry = order[i];
+            buffer[cursors[_computeBranchIndex(node, batch.hashes[entry], numberOfBranches)]++] = entry;
+        }
+        System.arraycopy(buffer, from, order, from, to - from);
+        return starts;
     }
 
     @Override
@@ -497,17 +670,295 @@ final class ValueSetImpl<E> implements ValueSet<E> {
     public ValueSet<E> retainAll( Set<? extends E> elements ) {
         if ( this.isEmpty() )
             return this;
-        ValueSet<E> result = this;
         if ( elements.isEmpty() )
             return clear();
-        for ( E currentElement : this ) {
-            if ( !elements.contains(currentElement) ) {
-                result = result.remove(currentElement);
+        return _withNewRoot(_retainIf(_root, _type, _itemGetter, elements::contains));
+    }
+
+    @Override
+    public ValueSet<E> addAll( final ValueSet<? extends E> other ) {
+        Objects.requireNonNull(other, "The provided value set cannot be null.");
+        ValueSetImpl<E> otherImpl = _sameKindOrNull(other);
+        if ( otherImpl == null )
+            return ValueSet.super.addAll(other);
+        if ( this.isEmpty() )
+            return otherImpl;
+        return _withNewRoot(_union(_root, otherImpl._root, _type, _itemGetter));
+    }
+
+    @Override
+    public ValueSet<E> removeAll( final ValueSet<? extends E> elements ) {
+        Objects.requireNonNull(elements, "The provided value set cannot be null.");
+        ValueSetImpl<E> otherImpl = _sameKindOrNull(elements);
+        if ( otherImpl == null )
+            return ValueSet.super.removeAll(elements);
+        return _withNewRoot(_difference(_root, otherImpl._root, _type, _itemGetter));
+    }
+
+    @Override
+    public ValueSet<E> retainAll( final ValueSet<? extends E> elements ) {
+        Objects.requireNonNull(elements, "The provided value set cannot be null.");
+        ValueSetImpl<E> otherImpl = _sameKindOrNull(elements);
+        if ( otherImpl == null )
+            return ValueSet.super.retainAll(elements);
+        if ( this.isEmpty() )
+            return this;
+        if ( otherImpl.isEmpty() )
+            return clear();
+        return _withNewRoot(_intersection(_root, otherImpl._root, _type, _itemGetter));
+    }
+
+    /**
+     *  Returns the supplied set as a {@link ValueSetImpl} of exactly the same element type
+     *  as this one, whose trie can be combined with the trie of this set node by node,
+     *  or {@code null} if the set has to be processed element by element.
+     */
+    private @Nullable ValueSetImpl<E> _sameKindOrNull( ValueSet<? extends E> other ) {
+        if ( other instanceof ValueSetImpl && ((ValueSetImpl<?>) other)._type == _type )
+            return (ValueSetImpl<E>) other;
+        return null;
+    }
+
+    /*
+        The following set operations combine two tries node by node.
+        Two nodes at the same position in two tries are responsible for the same
+        range of hash codes, so their branches can be combined pairwise, and
+        branches which are shared by both tries are reused without visiting them.
+        An element may however be stored locally in the node of one trie, but in a
+        branch of the other, which is why the local elements of both nodes are
+        always checked against the whole subtree of the other node.
+    */
+
+    private static <E> Node<E> _union(
+        final Node<E> a,
+        final Node<E> b,
+        final Class<E> type,
+        final ArrayItemAccess<E, Object> itemGetter
+    ) {
+        if ( a == b || b._size == 0 )
+            return a;
+        if ( a._size == 0 )
+            return b;
+        if ( b._branches.length == 0 )
+            return _withLocalsOf(a, b, type, itemGetter);
+        if ( a._branches.length == 0 )
+            return _withLocalsOf(b, a, type, itemGetter);
+        if ( a._branches.length != b._branches.length ) {
+            Node<E> result = a;
+            for ( E element : new ValueSetImpl<>(type, itemGetter, b) )
+                result = _with(result, type, itemGetter, element, element.hashCode());
+            return result;
+        }
+        Node<E>[] branches = a._branches;
+        for ( int i = 0; i < branches.length; i++ ) {
+            Node<E> branchA = a._branches[i];
+            Node<E> branchB = b._branches[i];
+            Node<E> merged = branchA == null ? branchB : branchB == null ? branchA : _union(branchA, branchB, type, itemGetter);
+            if ( merged != branchA ) {
+                if ( branches == a._branches )
+                    branches = a._branches.clone();
+                branches[i] = merged;
+            }
+        }
+        Node<E> result = a;
+        if ( branches != a._branches ) {
+            // Local elements of a which were stored in a branch of b are now also in the merged branches:
+            final Node<E>[] mergedBranches = branches;
+            result = _withLocalsFiltered(a, type, itemGetter, mergedBranches, (element, hash) -> {
+                int branchIndex = _computeBranchIndex(a, hash, mergedBranches.length);
+                Node<E> merged = mergedBranches[branchIndex];
+                return merged == a._branches[branchIndex] || merged == null || !_contains(merged, itemGetter, element, hash);
+            });
+        }
+        return _withLocalsOf(result, b, type, itemGetter);
+    }
+
+    private static <E> Node<E> _intersection(
+        final Node<E> a,
+        final Node<E> b,
+        final Class<E> type,
+        final ArrayItemAccess<E, Object> itemGetter
+    ) {
+        if ( a == b || a._size == 0 )
+            return a;
+        if ( b._size == 0 )
+            return b;
+        if ( a._branches.length == 0 )
+            return _withLocalsFiltered(a, type, itemGetter, a._branches, (element, hash) -> _contains(b, itemGetter, element, hash));
+        if ( b._branches.length == 0 )
+            return _withLocalsFiltered(b, type, itemGetter, b._branches, (element, hash) -> _contains(a, itemGetter, element, hash));
+        if ( a._branches.length != b._branches.length )
+            return _retainIf(a, type, itemGetter, element -> _contains(b, itemGetter, element, element.hashCode()));
+        Node<E>[] branches = a._branches;
+        for ( int i = 0; i < branches.length; i++ ) {
+            Node<E> branchA = a._branches[i];
+            Node<E> branchB = b._branches[i];
+            Node<E> common = branchA == null || branchB == null ? null : _intersection(branchA, branchB, type, itemGetter);
+            if ( common != null && common._size == 0 )
+                common = null;
+            if ( common != branchA ) {
+                if ( branches == a._branches )
+                    branches = a._branches.clone();
+                branches[i] = common;
+            }
+        }
+        Node<E> result = _withLocalsFiltered(a, type, itemGetter, _orNoBranches(branches), (element, hash) -> _contains(b, itemGetter, element, hash));
+        // Local elements of b which are stored in a branch of a were not part of the branch intersections:
+        final int length = b._elementsHashes.length;
+        for ( int i = 0; i < length; i++ ) {
+            E element = itemGetter.get(i, b._elementsArray);
+            int hash = b._elementsHashes[i];
+            int branchIndex = _computeBranchIndex(a, hash, a._branches.length);
+            Node<E> branchA = a._branches[branchIndex];
+            if ( branchA != null && _contains(branchA, itemGetter, element, hash) )
+                result = _with(result, type, itemGetter, element, hash);
+        }
+        return result;
+    }
+
+    private static <E> Node<E> _difference(
+        final Node<E> a,
+        final Node<E> b,
+        final Class<E> type,
+        final ArrayItemAccess<E, Object> itemGetter
+    ) {
+        if ( a == b )
+            return _withLocalsFiltered(a, type, itemGetter, EMPTY_BRANCHES, (element, hash) -> false);
+        if ( a._size == 0 || b._size == 0 )
+            return a;
+        if ( a._branches.length == 0 )
+            return _withLocalsFiltered(a, type, itemGetter, a._branches, (element, hash) -> !_contains(b, itemGetter, element, hash));
+        if ( b._branches.length == 0 )
+            return _withoutLocalsOf(a, b, type, itemGetter);
+        if ( a._branches.length != b._branches.length )
+            return _retainIf(a, type, itemGetter, element -> !_contains(b, itemGetter, element, element.hashCode()));
+        Node<E>[] branches = a._branches;
+        for ( int i = 0; i < branches.length; i++ ) {
+            Node<E> branchA = a._branches[i];
+            Node<E> branchB = b._branches[i];
+            Node<E> rest = branchA == null || branchB == null ? branchA : _difference(branchA, branchB, type, itemGetter);
+            if ( rest != null && rest._size == 0 )
+                rest = null;
+            if ( rest != branchA ) {
+                if ( branches == a._branches )
+                    branches = a._branches.clone();
+                branches[i] = rest;
+            }
+        }
+        Node<E> result = _withLocalsFiltered(a, type, itemGetter, _orNoBranches(branches), (element, hash) -> !_contains(b, itemGetter, element, hash));
+        // Local elements of b may still be stored in a branch of a:
+        return _withoutLocalsOf(result, b, type, itemGetter);
+    }
+
+    /**
+     *  Keeps only those elements of the subtree for which the predicate is true,
+     *  where every node is only copied if it actually loses elements.
+     */
+    private static <E> Node<E> _retainIf(
+        final Node<E> node,
+        final Class<E> type,
+        final ArrayItemAccess<E, Object> itemGetter,
+        final Predicate<? super E> predicate
+    ) {
+        Node<E>[] branches = node._branches;
+        for ( int i = 0; i < branches.length; i++ ) {
+            Node<E> branch = node._branches[i];
+            if ( branch == null )
+                continue;
+            Node<E> retained = _retainIf(branch, type, itemGetter, predicate);
+            if ( retained._size == 0 )
+                retained = null;
+            if ( retained != branch ) {
+                if ( branches == node._branches )
+                    branches = node._branches.clone();
+                branches[i] = retained;
             }
         }
+        return _withLocalsFiltered(node, type, itemGetter, _orNoBranches(branches), (element, hash) -> predicate.test(element));
+    }
+
+    /**
+     *  Adds the local elements of the source node to the subtree of the target node.
+     */
+    private static <E> Node<E> _withLocalsOf(
+        final Node<E> target,
+        final Node<E> source,
+        final Class<E> type,
+        final ArrayItemAccess<E, Object> itemGetter
+    ) {
+        Node<E> result = target;
+        final int length = source._elementsHashes.length;
+        for ( int i = 0; i < length; i++ )
+            result = _with(result, type, itemGetter, itemGetter.get(i, source._elementsArray), source._elementsHashes[i]);
         return result;
     }
 
+    /**
+     *  Removes the local elements of the source node from the subtree of the target node.
+     */
+    private static <E> Node<E> _withoutLocalsOf(
+        final Node<E> target,
+        final Node<E> source,
+        final Class<E> type,
+        final ArrayItemAccess<E, Object> itemGetter
+    ) {
+        Node<E> result = target;
+        final int length = source._elementsHashes.length;
+        for ( int i = 0; i < length; i++ )
+            result = _without(result, type, itemGetter, itemGetter.get(i, source._elementsArray), source._elementsHashes[i]);
+        return result;
+    }
+
+    private interface ElementFilter<E> {
+        boolean keep( E element, int hash );
+    }
+
+    /**
+     *  Returns a node with the given branches and only those local elements
+     *  of the supplied node which pass the filter, or the node itself
+     *  if neither its branches nor its local elements change.
+     */
+    private static <E> Node<E> _withLocalsFiltered(
+        final Node<E> node,
+        final Class<E> type,
+        final ArrayItemAccess<E, Object> itemGetter,
+        final Node<E>[] branches,
+        final ElementFilter<E> filter
+    ) {
+        final int length = node._elementsHashes.length;
+        boolean[] kept = null;
+        int numberKept = length;
+        for ( int i = 0; i < length; i++ ) {
+            if ( !filter.keep(itemGetter.get(i, node._elementsArray), node._elementsHashes[i]) ) {
+                if ( kept == null ) {
+                    kept = new boolean[length];
+                    Arrays.fill(kept, true);
+                }
+                kept[i] = false;
+                numberKept--;
+            }
+        }
+        if ( kept == null ) {
+            if ( branches == node._branches )
+                return node;
+            return new Node<>(node._depth, type, node._elementsArray, node._elementsHashes, branches, false);
+        }
+        Object elements = _createArray(type, ALLOWS_NULL, numberKept);
+        for ( int i = 0, j = 0; i < length; i++ ) {
+            if ( kept[i] )
+                _setAt(j++, itemGetter.get(i, node._elementsArray), elements);
+        }
+        return new Node<>(node._depth, type, elements, node._elementsHashes, branches, true);
+    }
+
+    private static <E> Node<E>[] _orNoBranches( Node<E>[] branches ) {
+        for ( Node<E> branch : branches ) {
+            if ( branch != null )
+                return branches;
+        }
+        return EMPTY_BRANCHES;
+    }
+
     @Override
     public <V extends E> ValueSet<V> retainIf(Class<V> type) {
         Objects.requireNonNull(type, "The provided type cannot be null.");
@@ -573,6 +1024,9 @@ final class ValueSetImpl<E> implements ValueSet<E> {
         if ( obj == this ) {
             return true;
         }
+        if ( obj instanceof AssociationKeySet ) {
+            obj = ((AssociationKeySet<?>) obj).materialized();
+        }
         if ( obj instanceof ValueSet) {
             ValueSet other = (ValueSet)obj;
             if ( this.type() != other.type() ) {
@@ -580,6 +1034,8 @@ final class ValueSetImpl<E> implements ValueSet<E> {
             }
             if ( other instanceof ValueSetImpl) {
                 ValueSetImpl<E> otherImpl = (ValueSetImpl) other;
+                if ( knownToDifferFrom(otherImpl) )
+                    return false;
                 return _recursiveEquals(_root, otherImpl._root, type());
             } else if ( other.isLinked() == this.isLinked() && other.isSorted() == this.isSorted()) {
                 return this.toSet().equals(other.toSet());
@@ -632,25 +1088,40 @@ final class ValueSetImpl<E> implements ValueSet<E> {
 
     @Override
     public int hashCode() {
-        Integer cached = _cachedHashCode.get();
-        if ( cached != null ) {
-            return cached;
-        }
-        int result = Long.hashCode(_recursiveHashCode(_root));
-        _cachedHashCode.set(result);
-        return result;
+        return Long.hashCode(_hashOf(_root));
     }
 
-    private static <E> long _recursiveHashCode(Node<E> node) {
-        long baseHash = 0; // -> full 64 bit improve hash distribution
+    /**
+     *  Tells if the hash codes of this and the other set were
+     *  both computed already and differ, in which case they cannot be equal
+     *  and there is no need to compare their contents.
+     */
+    boolean knownToDifferFrom( ValueSetImpl<?> other ) {
+        long thisHash = _root._hash;
+        long otherHash = other._root._hash;
+        return thisHash != 0 && otherHash != 0 && thisHash != otherHash;
+    }
+
+    /**
+     *  Computes the order independent hash of the elements of the given subtree,
+     *  which is cached in the node. Branches are shared between the versions
+     *  of a set, so for a new version only the nodes along
+     *  the copied path need to compute their hash.
+     */
+    private static <E> long _hashOf(Node<E> node) {
+        long baseHash = node._hash;
+        if ( baseHash != 0 )
+            return baseHash;
+        // -> full 64 bit improve hash distribution
         for ( int elementsHash : node._elementsHashes ) {
             baseHash += elementsHash * PRIME_1; // -> we try to expand to all 64 bits in the long
         }
         for (Node<E> branch : node._branches) {
             if ( branch != null ) {
-                baseHash += _recursiveHashCode(branch);
+                baseHash += _hashOf(branch);
             }
         }
+        node._hash = baseHash;
         return baseHash;
     }
 
@@ -673,15 +1144,195 @@ final class ValueSetImpl<E> implements ValueSet<E> {
         }
     }
 
+    /**
+     *  Passes the elements of all subtrees of this set which are not shared with the supplied set
+     *  to {@code ownElements}, and the elements of all such subtrees of the other set to
+     *  {@code otherElements}. Every element in which the two sets differ is guaranteed to be passed,
+     *  but unchanged elements may also be passed if they are stored in a node which was copied,
+     *  so the receivers have to check the elements against the other set.
+     *  This is what {@link ValueSetDiff} uses to find the changes between two versions
+     *  of a set without visiting the elements which both versions share.
+     */
+    void forEachElementNotSharedWith(
+        final ValueSetImpl<E> other,
+        final Consumer<? super E> ownElements,
+        final Consumer<? super E> otherElements
+    ) {
+        _forEachElementNotShared(_root, other._root, _itemGetter, ownElements, otherElements);
+    }
+
+    private static <E> void _forEachElementNotShared(
+        final Node<E> a,
+        final Node<E> b,
+        final ArrayItemAccess<E, Object> itemGetter,
+        final Consumer<? super E> aElements,
+        final Consumer<? super E> bElements
+    ) {
+        if ( a == b )
+            return;
+        _forEachLocalIn(a, itemGetter, aElements);
+        _forEachLocalIn(b, itemGetter, bElements);
+        final int numberOfBranches = Math.max(a._branches.length, b._branches.length);
+        for ( int i = 0; i < numberOfBranches; i++ ) {
+            Node<E> aBranch = i < a._branches.length ? a._branches[i] : null;
+            Node<E> bBranch = i < b._branches.length ? b._branches[i] : null;
+            if ( aBranch == bBranch )
+                continue;
+            if ( bBranch == null || bBranch._size == 0 ) {
+                if ( aBranch != null && aBranch._size > 0 )
+                    _forEachIn(aBranch, itemGetter, aElements);
+            }
+            else if ( aBranch == null || aBranch._size == 0 )
+                _forEachIn(bBranch, itemGetter, bElements);
+            else
+                _forEachElementNotShared(aBranch, bBranch, itemGetter, aElements, bElements);
+        }
+    }
+
+    private static <E> void _forEachIn(
+        final Node<E> node,
+        final ArrayItemAccess<E, Object> itemGetter,
+        final Consumer<? super E> action
+    ) {
+        _forEachLocalIn(node, itemGetter, action);
+        for ( Node<E> branch : node._branches ) {
+            if ( branch != null && branch._size > 0 )
+                _forEachIn(branch, itemGetter, action);
+        }
+    }
+
+    private static <E> void _forEachLocalIn(
+        final Node<E> node,
+        final ArrayItemAccess<E, Object> itemGetter,
+        final Consumer<? super E> action
+    ) {
+        final Object elements = node._elementsArray;
+        final int length = _length(elements);
+        for ( int i = 0; i < length; i++ )
+            action.accept(itemGetter.get(i, elements));
+    }
+
     @Override
     public Spliterator<E> spliterator() {
-        return Spliterators.spliterator(iterator(), _root._size,
-                Spliterator.DISTINCT |
-                Spliterator.SIZED    |
-                Spliterator.SUBSIZED |
-                Spliterator.NONNULL  |
-                Spliterator.IMMUTABLE
-        );
+        return new ValueSetSpliterator<>(ArrayItemAccess.of(_type, false), _root);
+    }
+
+    /**
+     *  A spliterator which splits along the branches of the trie, handing whole
+     *  subtrees to the split-off spliterators. Every subtree is then traversed
+     *  sequentially by walking the plain element arrays of its nodes.
+     */
+    private static final class ValueSetSpliterator<E> implements Spliterator<E>
+    {
+        private final ArrayItemAccess<E,Object> _elementGetter;
+        // Subtrees which still need to be traversed, including their local elements:
+        private final ArrayDeque<Node<E>> _pendingNodes;
+        // The node whose local elements are currently being traversed:
+        private @Nullable Node<E> _currentNode = null;
+        private int _currentIndex = 0;
+        private int _currentLength = 0;
+        private long _remaining;
+
+        ValueSetSpliterator(
+            ArrayItemAccess<E,Object> elementGetter,
+            Node<E> root
+        ) {
+            this(elementGetter, new ArrayDeque<>(), root._size);
+            if ( root._size > 0 )
+                _pendingNodes.add(root);
+        }
+
+        private ValueSetSpliterator(
+            ArrayItemAccess<E,Object> elementGetter,
+            ArrayDeque<Node<E>> pendingNodes,
+            long size
+        ) {
+            _elementGetter = elementGetter;
+            _pendingNodes = pendingNodes;
+            _remaining = size;
+        }
+
+        private void _enter(Node<E> node) {
+            _currentNode = node;
+            _currentIndex = 0;
+            _currentLength = _length(node._elementsArray);
+            for ( Node<E> branch : node._branches ) {
+                if ( branch != null && branch._size > 0 )
+                    _pendingNodes.push(branch);
+            }
+        }
+
+        @Override
+        public @Nullable Spliterator<E> trySplit() {
+            if ( _pendingNodes.size() == 1 && _currentIndex >= _currentLength )
+                _enter(_pendingNodes.pop());
+            boolean hasLocalElements = _currentIndex < _currentLength;
+            ArrayDeque<Node<E>> prefix = new ArrayDeque<>();
+            long prefixSize = 0;
+            long halfSize = _remaining / 2;
+            while ( !_pendingNodes.isEmpty() && prefixSize < halfSize && ( _pendingNodes.size() > 1 || hasLocalElements ) ) {
+                Node<E> node = _pendingNodes.pollLast();
+                prefix.add(node);
+                prefixSize += node._size;
+            }
+            if ( prefix.isEmpty() )
+                return null;
+            _remaining -= prefixSize;
+            return new ValueSetSpliterator<>(_elementGetter, prefix, prefixSize);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super E> action) {
+            while ( _currentIndex >= _currentLength ) {
+                if ( _pendingNodes.isEmpty() )
+                    return false;
+                _enter(_pendingNodes.pop());
+            }
+            Node<E> node = Objects.requireNonNull(_currentNode);
+            E element = _elementGetter.get(_currentIndex, node._elementsArray);
+            _currentIndex++;
+            _remaining--;
+            action.accept(element);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super E> action) {
+            Node<E> node = _currentNode;
+            if ( node != null ) {
+                for ( int i = _currentIndex; i < _currentLength; i++ )
+                    action.accept(_elementGetter.get(i, node._elementsArray));
+                _currentIndex = _currentLength;
+            }
+            while ( !_pendingNodes.isEmpty() )
+                _forEachIn(_pendingNodes.pop(), action);
+            _remaining = 0;
+        }
+
+        private void _forEachIn(Node<E> node, Consumer<? super E> action) {
+            final Object elements = node._elementsArray;
+            final int length = _length(elements);
+            for ( int i = 0; i < length; i++ )
+                action.accept(_elementGetter.get(i, elements));
+            for ( Node<E> branch : node._branches ) {
+                if ( branch != null && branch._size > 0 )
+                    _forEachIn(branch, action);
+            }
+        }
+
+        @Override
+        public long estimateSize() {
+            return _remaining;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.DISTINCT |
+                   Spliterator.SIZED    |
+                   Spliterator.SUBSIZED |
+                   Spliterator.NONNULL  |
+                   Spliterator.IMMUTABLE;
+        }
     }
 
     @Override
@@ -0,0 +1,240 @@
+package sprouts.impl;
+
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import sprouts.Channel;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ *  The propagation engine which keeps graphs of {@link PropertyView}s glitch-free.
+ *  Every view has a rank, which is one more than the highest rank of its
+ *  source properties (plain properties have rank 0).
+ *  Instead of recomputing eagerly when one of its sources reports a change,
+ *  a view marks itself as dirty in the propagation of the current thread.
+ *  The outermost change event of a thread opens such a propagation.
+ *  Every change event first lets the views derived from its property mark themselves
+ *  as dirty, then recomputes the dirty views in the order of their rank,
+ *  and only then notifies all other listeners, so that these observe
+ *  up-to-date views, even if the event was fired by a listener of another change event.
+ *  So in a diamond shaped graph like {@code A -> B, A -> C, view(B, C)},
+ *  the view of {@code B} and {@code C} is recomputed exactly once, after both
+ *  of its sources were already updated, and its listeners never observe an
+ *  intermediate combination of an updated and an outdated source item.<br>
+ *  While the dirty views are being recomputed, change events fired by them do not start
+ *  another recomputation, since that would break the rank order. Instead, a view which
+ *  is read while it is still dirty recomputes itself right away (see {@link #updateNow(Object)}).<br>
+ *  <br>
+ *  A propagation is bound to a single thread, which is why it is stored in a {@link ThreadLocal}
+ *  and reused for all subsequent change events of that thread.
+ *  <br> <br>
+ *  <b>Warning: This is an internal class, meaning it should not be used
+ *  anywhere but within this library. <br>
+ *  This class or its methods might change or get removed in future versions!</b>
+ */
+final class ViewPropagation
+{
+    private static final Logger log = LoggerFactory.getLogger(ViewPropagation.class);
+
+    private static final ThreadLocal<ViewPropagation> _CURRENT = ThreadLocal.withInitial(ViewPropagation::new);
+
+    /**
+     *  The recomputation of a dirty view, which receives the channel of the
+     *  change that made the view dirty, and whether one of its sources
+     *  fired a change event without actually changing (which the view forwards).
+     */
+    @FunctionalInterface
+    interface Update {
+        void run( Channel channel, boolean parentForcedChange );
+    }
+
+    /**
+     *  Implemented by the views which take part in a propagation,
+     *  so that views derived from them can determine their own rank.
+     */
+    interface Ranked {
+        int rank();
+    }
+
+    /**
+     * @param source A source property of a view.
+     * @return The rank of the given property, which is 0 for properties which are not views.
+     */
+    static int rankOf( @Nullable Object source ) {
+        return source instanceof Ranked ? ((Ranked) source).rank() : 0;
+    }
+
+    private static final class Dirty {
+        final Object  node;
+        final int     rank;
+        final long    order;
+        final Channel channel;
+        boolean       parentForcedChange;
+        Update        update;
+
+        Dirty( Object node, int rank, long order, Channel channel, boolean parentForcedChange, Update update ) {
+            this.node               = node;
+            this.rank               = rank;
+            this.order              = order;
+            this.channel            = channel;
+            this.parentForcedChange = parentForcedChange;
+            this.update             = update;
+        }
+    }
+
+    /**
+     * @return The propagation of the current thread, which may or may not be open.
+     */
+    static ViewPropagation current() {
+        return _CURRENT.get();
+    }
+
+    /**
+     *  Marks a node as dirty, so that its update runs before the other listeners of the
+     *  current change event are notified, after all nodes of a lower rank were updated.
+     *  If the node is already dirty, the new update replaces the previous one,
+     *  since the later update was created from more recent source items.
+     *
+     * @param node The view which needs to be recomputed.
+     * @param rank The rank of the view, which is greater than the rank of all its sources.
+     * @param channel The channel of the change which made the view dirty.
+     * @param parentForcedChange Whether the source fired a change event without changing its item.
+     * @param update The recomputation of the view.
+     */
+    static void schedule( Object node, int rank, Channel channel, boolean parentForcedChange, Update update ) {
+        ViewPropagation propagation = _CURRENT.get();
+        boolean opened = propagation.open();
+        try {
+            propagation._schedule(node, rank, channel, parentForcedChange, update);
+            if ( opened )
+                propagation.drain();
+        } finally {
+            if ( opened )
+                propagation.end();
+        }
+    }
+
+    /**
+     *  Runs the pending update of the given node right away, if the node is dirty in
+     *  the propagation of the current thread. Views call this when they are read
+     *  while they are dirty, so that they never expose an outdated item,
+     *  not even to the listeners which are notified while the dirty views are recomputed.
+     *  The dirty nodes of a lower rank are updated first, since the node may depend on them,
+     *  which is why the node is still updated only once.<br>
+     *  Within a {@link Sprouts#batch(Runnable)} call, a view may also be outdated without being dirty itself,
+     *  because the views between it and the modified property were not recomputed yet.
+     *  So if a batch is running, all dirty nodes are updated instead, which lets
+     *  their (held back) change events mark the nodes depending on them as dirty in turn.
+     *
+     * @param node The view which is about to be read.
+     */
+    static void updateNow( Object node ) {
+        ViewPropagation propagation = _CURRENT.get();
+        if ( !propagation._draining && ChangeBatch.current() != null ) {
+            propagation.drain();
+            return;
+        }
+        Dirty dirty = propagation._dirtyNodes.get(node);
+        if ( dirty == null )
+            return;
+        Dirty next = propagation._queue.peek();
+        while ( next != null && next.rank < dirty.rank ) {
+            propagation._queue.poll();
+            propagation._dirtyNodes.remove(next.node);
+            _run(next);
+            next = propagation._queue.peek();
+        }
+        if ( propagation._dirtyNodes.remove(node) == dirty ) {
+            propagation._queue.remove(dirty);
+            _run(dirty);
+        }
+    }
+
+
+    private final PriorityQueue<Dirty> _queue = new PriorityQueue<>(
+                                                    (a, b) -> a.rank != b.rank
+                                                                ? Integer.compare(a.rank, b.rank)
+                                                                : Long.compare(a.order, b.order)
+                                                );
+    private final Map<Object, Dirty> _dirtyNodes = new IdentityHashMap<>();
+    private boolean _active = false;
+    private boolean _draining = false;
+    private long    _counter = 0;
+
+
+    private ViewPropagation() {}
+
+    private void _schedule( Object node, int rank, Channel channel, boolean parentForcedChange, Update update ) {
+        Dirty dirty = _dirtyNodes.get(node);
+        if ( dirty != null ) {
+            dirty.parentForcedChange |= parentForcedChange;
+            dirty.update = update;
+        } else {
+            dirty = new Dirty(node, rank, _counter++, channel, parentForcedChange, update);
+            _dirtyNodes.put(node, dirty);
+            _queue.add(dirty);
+        }
+    }
+
+    /**
+     *  Opens this propagation, unless it is already open. The caller which opened
+     *  the propagation is responsible for calling {@link #end()} in any case.
+     *
+     * @return {@code true} if this call opened the propagation, {@code false} if it was
+     *         already open, in which case an outer caller takes care of closing it.
+     */
+    boolean open() {
+        if ( _active )
+            return false;
+        _active = true;
+        return true;
+    }
+
+    /**
+     *  Recomputes all dirty nodes in topological order.
+     *  Nodes which become dirty during the recomputation of other nodes
+     *  are recomputed as part of the same loop, which is why this does
+     *  nothing if it is called while the dirty nodes are already being recomputed.
+     */
+    void drain() {
+        if ( _draining )
+            return;
+        _draining = true;
+        try {
+            Dirty dirty = _queue.poll();
+            while ( dirty != null ) {
+                _dirtyNodes.remove(dirty.node);
+                _run(dirty);
+                dirty = _queue.poll();
+            }
+        } finally {
+            _draining = false;
+        }
+    }
+
+    private static void _run( Dirty dirty ) {
+        try {
+            dirty.update.run(dirty.channel, dirty.parentForcedChange);
+        } catch ( Exception e ) {
+            Util.sneakyThrowExceptionIfFatal(e);
+            _logError("An error occurred while updating the property view '{}'.", dirty.node, e);
+        }
+    }
+
+    /**
+     *  Closes this propagation so that the next change event
+     *  of this thread opens a new one.
+     */
+    void end() {
+        _queue.clear();
+        _dirtyNodes.clear();
+        _active = false;
+    }
+
+    private static void _logError(String message, @Nullable Object... args) {
+        Util._logError(log, message, args);
+    }
+}
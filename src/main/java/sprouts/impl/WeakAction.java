@@ -47,10 +47,12 @@ final class WeakAction<O, D> implements Action<D>
 
     private @Nullable BiConsumer<O, D> _action;
     private final WeakReference<O> _owner;
+    private final boolean _updatesView;
 
     private WeakAction(@NonNull O owner, @NonNull BiConsumer<O, D> action ) {
-        _owner  = new WeakReference<>(owner);
-        _action = action;
+        _owner       = new WeakReference<>(owner);
+        _action      = action;
+        _updatesView = owner instanceof ViewPropagation.Ranked;
     }
 
     @Override
@@ -77,6 +79,18 @@ final class WeakAction<O, D> implements Action<D>
         return Optional.ofNullable(_owner.get());
     }
 
+    /**
+     *  Tells whether this action belongs to a view taking part in the {@link ViewPropagation},
+     *  which means that it marks its view as dirty instead of notifying any user code.
+     *  Such actions are invoked before all other listeners of a change event,
+     *  so that those listeners already observe the recomputed views.
+     *
+     * @return {@code true} if the owner of this action is a view with a rank in the {@link ViewPropagation}.
+     */
+    boolean updatesView() {
+        return _updatesView;
+    }
+
     /**
      *  Clears the action, making it no longer executable.
      *  This method is called by the library internal cleaner
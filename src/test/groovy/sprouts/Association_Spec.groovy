@@ -10,6 +10,7 @@ import java.util.function.Consumer
 import java.util.function.Predicate
 import java.util.stream.Collectors
 import java.util.stream.Stream
+import java.util.stream.StreamSupport
 
 @Title("Association - a Data Oriented Map")
 @Narrative('''
@@ -1254,6 +1255,59 @@ class Association_Spec extends Specification
             assoc1.hashCode() == assoc2.hashCode()
     }
 
+    def 'The `keySet()` and `values()` of an association are cheap views which behave like regular value sets and tuples.'(
+        Association<String, Integer> empty
+    ) {
+        reportInfo """
+            Asking an association for its keys or values does not copy them.
+            You get views which read directly from the association, and which
+            are only turned into a regular value set or tuple once you modify them.
+            Apart from that, they are indistinguishable from regular value sets and tuples.
+        """
+        given : 'A large association.'
+            var association = empty
+            (0..<5_000).each { association = association.put("key" + it, it) }
+        when : 'We take its keys and values.'
+            var keys = association.keySet()
+            var values = association.values()
+        then : 'They reflect the association.'
+            keys.size() == 5_000
+            keys.contains("key42")
+            !keys.contains("key5000")
+            values.size() == 5_000
+            values.toList().sort() == (0..<5_000).toList()
+        and : 'The values are in the same order as the keys.'
+            keys.toList().collect({ association.get(it).get() }) == values.toList()
+            (0..<5_000).every({ values.get(it) == association.get(keys.toList()[it]).get() })
+        and : 'They are equal to regular value sets and tuples with the same content, in both directions.'
+            var regularKeys = keys.stream().collect(association.isSorted() ? ValueSet.collectorOfSorted(String, Comparator.naturalOrder()) : association.isLinked() ? ValueSet.collectorOfLinked(String) : ValueSet.collectorOf(String))
+            var regularValues = Tuple.of(Integer, values.toList())
+            keys == regularKeys
+            regularKeys == keys
+            keys.hashCode() == regularKeys.hashCode()
+            values == regularValues
+            regularValues == values
+            values.hashCode() == regularValues.hashCode()
+
+        when : 'We modify the views.'
+            var moreKeys = keys.add("key5000")
+            var fewerValues = values.removeIf({ it % 2 == 0 })
+        then : 'We get new value sets and tuples, while the views and the association stay unchanged.'
+            moreKeys.size() == 5_001
+            moreKeys.contains("key5000")
+            fewerValues.size() == 2_500
+            keys.size() == 5_000
+            values.size() == 5_000
+            association.size() == 5_000
+
+        where : 'We use the different kinds of associations.'
+            empty << [
+                Association.between(String, Integer),
+                Association.betweenSorted(String, Integer),
+                Association.betweenLinked(String, Integer)
+            ]
+    }
+
     def 'values() contains all values including duplicates'() {
         given:
             var assoc = Association.of("a", 10)
@@ -1426,6 +1480,98 @@ class Association_Spec extends Specification
             size << [0, 1, 2, 10, 100, 1000]
     }
 
+    def 'The spliterator of a large association splits into parts with exact sizes.'(int size) {
+        reportInfo """
+            The spliterator of an unordered association splits along the branches
+            of its internal trie. Every part knows its exact size, which
+            allows parallel streams to distribute the work evenly across threads.
+        """
+        given: "An unordered association of size $size"
+            var association = Association.between(Integer, String)
+                                    .putAll((0..<size).collect { Pair.of(it, "v" + it) }.stream())
+            var expectedPairs = (0..<size).collect { Pair.of(it, "v" + it) } as Set
+
+        when: "We recursively split the spliterator as far as possible"
+            var parts = [association.spliterator()]
+            var done = false
+            while ( !done ) {
+                done = true
+                parts = parts.collectMany { part ->
+                    var prefix = part.trySplit()
+                    if ( prefix == null ) return [part]
+                    done = false
+                    return [prefix, part]
+                }
+            }
+
+        then: "The exact sizes of all parts add up to the size of the association"
+            parts.sum { it.estimateSize() } == size
+            parts.every { it.characteristics() & Spliterator.SUBSIZED }
+
+        when: "We traverse all parts"
+            var collected = []
+            parts.each { part -> part.forEachRemaining { collected.add(it) } }
+
+        then: "Every entry was visited exactly once"
+            collected.size() == size
+            collected as Set == expectedPairs
+
+        where:
+            size << [0, 1, 100, 5_000]
+    }
+
+    def 'The spliterators of sorted and linked associations split into ordered parts with exact sizes.'(
+        Association<Integer, String> association
+    ) {
+        reportInfo """
+            A sorted association splits its tree into a prefix and a suffix at
+            node boundaries, and a linked association hands off the first half
+            of its linked entries. In both cases every part knows its exact size,
+            and traversing the parts one after the other yields the entries
+            in the same order as the iterator of the association.
+        """
+        given: "The entries of the association in iteration order"
+            var expectedPairs = association.iterator().toList()
+
+        when: "We recursively split the spliterator as far as possible"
+            var parts = [association.spliterator()]
+            var done = false
+            while ( !done ) {
+                done = true
+                parts = parts.collectMany { part ->
+                    var prefix = part.trySplit()
+                    if ( prefix == null ) return [part]
+                    done = false
+                    return [prefix, part]
+                }
+            }
+
+        then: "Every part is ordered and the exact sizes add up to the size of the association"
+            parts.sum(0L) { it.estimateSize() } == association.size()
+            parts.every { it.hasCharacteristics(Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.IMMUTABLE) }
+        and: "A large association is split into many parts"
+            association.size() < 100 || parts.size() > 16
+
+        when: "We traverse the parts in order"
+            var collected = []
+            parts.each { part -> part.forEachRemaining { collected.add(it) } }
+
+        then: "The entries are visited in the order of the association"
+            collected == expectedPairs
+        and: "A parallel stream preserves that order as well"
+            StreamSupport.stream(association.spliterator(), true).collect(Collectors.toList()) == expectedPairs
+
+        where:
+            association << [
+                Association.betweenSorted(Integer, String),
+                Association.betweenSorted(Integer, String).putAll((0..<10).collect { Pair.of(it * 7 % 10, "v" + it) }.stream()),
+                Association.betweenSorted(Integer, String).putAll((0..<5_000).collect { Pair.of(it * 7919 % 10_007, "v" + it) }.stream()),
+                Association.betweenLinked(Integer, String),
+                Association.betweenLinked(Integer, String).putAll((0..<10).collect { Pair.of(10 - it, "v" + it) }.stream()),
+                Association.betweenLinked(Integer, String).putAll((0..<2_000).collect { Pair.of(it * 31 % 2_003, "v" + it) }.stream())
+            ]
+    }
+
     def 'The spliterator of an association which was sorted preserves order during traversal.'(int size) {
         reportInfo """
             The spliterator of a sorted `Association` must report ORDERED characteristic.
@@ -2039,4 +2185,336 @@ class Association_Spec extends Specification
             updatedData.get("user1").get().profile.name == "Alice"
             updatedData.get("user2").get().preferences.theme == "light"
     }
+
+    def 'A bulk `putAll` produces the same association as putting every entry one by one.'(
+        Association<Integer, String> base, int size
+    ) {
+        reportInfo """
+            Bulk inserts through `putAll(Stream)` do not path-copy the tree for every
+            single entry, instead they build every affected node only once.
+            The observable result is still exactly the same as a sequence of individual
+            `put` calls, including the fact that the last duplicate key wins.
+        """
+        given: 'A list of pairs with lots of duplicate keys.'
+            var random = new Random(size)
+            var pairs = (0..<size).collect { Pair.of(random.nextInt(size / 2 + 1 as int), "v" + it) }
+        and: 'The result of putting them one by one.'
+            var expected = base
+            pairs.each { expected = expected.put(it.first(), it.second()) }
+
+        when : 'We put them all at once.'
+            var result = base.putAll(pairs.stream())
+
+        then: 'Both associations are equal, including their size and hash code.'
+            result == expected
+            result.size() == expected.size()
+            result.hashCode() == expected.hashCode()
+            result.toMap() == expected.toMap()
+        and: 'Every key maps to its last value in the list of pairs.'
+            pairs.every { result.get(it.first()).get() == expected.get(it.first()).get() }
+
+        where :
+            base                                                                  | size
+            Association.between(Integer, String)                                  | 10
+            Association.between(Integer, String)                                  | 5_000
+            Association.between(Integer, String).putAll((0..999).collect { Pair.of(it, "old") }.stream()) | 3_000
+            Association.betweenSorted(Integer, String)                            | 10
+            Association.betweenSorted(Integer, String)                            | 5_000
+            Association.betweenSorted(Integer, String).putAll((0..999).collect { Pair.of(it, "old") }.stream()) | 3_000
+            Association.betweenSorted(Integer, String).putAll((0..999).collect { Pair.of(it, "old") }.stream()) | 50
+    }
+
+    def 'A bulk `putAllIfAbsent` never overrides existing entries and keeps the first of several new duplicates.'(
+        Association<Integer, String> base
+    ) {
+        given:
+            var existing = base.putAll((0..<500).collect { Pair.of(it * 2, "old") }.stream())
+            var pairs = (0..<2_000).collect { Pair.of(it % 1_000, "new" + it) }
+
+        when :
+            var result = existing.putAllIfAbsent(pairs.stream())
+
+        then : 'Existing keys keep their old value.'
+            (0..<500).every { result.get(it * 2).get() == "old" }
+        and : 'New keys get the value of their first occurrence.'
+            (0..<500).every { result.get(it * 2 + 1).get() == "new" + (it * 2 + 1) }
+            result.size() == 1_000
+
+        where :
+            base << [
+                Association.between(Integer, String),
+                Association.betweenSorted(Integer, String)
+            ]
+    }
+
+    def 'A bulk `putAll` rejects entries with the wrong type.'(
+        Association<?, ?> association
+    ) {
+        when :
+            association.putAll(Stream.of(Pair.of(1, "a"), Pair.of("b", "c")))
+        then :
+            thrown(IllegalArgumentException)
+
+        where :
+            association << [
+                Association.between(Integer, String),
+                Association.betweenSorted(Integer, String)
+            ]
+    }
+
+    def 'You can visit the entries of an association without creating a `Pair` for each of them.'(
+        Association<Integer, String> base
+    ) {
+        reportInfo """
+            Besides iterating over the `Pair`s of an association, you can also
+            pass every key and value to a `BiConsumer` through `forEachEntry`, only visit
+            the keys or values through `forEachKey` and `forEachValue`, or walk over
+            the entries with an `EntryCursor`, which exposes the key and value of
+            the entry it is currently positioned at.
+            All of these visit the entries in the same order as the iterator does.
+        """
+        given : 'An association with a large number of entries.'
+            var association = base.putAll((0..<2_000).collect { Pair.of(it * 7 % 2_003, "v" + it) }.stream())
+        and : 'The entries in the order of the iterator.'
+            var expected = association.collect { it.first() + "=" + it.second() }
+
+        when : 'We visit all entries through `forEachEntry`.'
+            var visited = []
+            association.forEachEntry({ k, v -> visited << k + "=" + v })
+        then :
+            visited == expected
+
+        when : 'We visit all pairs through the regular `forEach` of an `Iterable`, using a plain closure.'
+            var pairs = []
+            association.forEach { pairs << it.first() + "=" + it.second() }
+        then :
+            pairs == expected
+
+        when : 'We visit all entries through a cursor.'
+            var cursor = association.cursor()
+            var walked = []
+            while ( cursor.next() )
+                walked << cursor.key() + "=" + cursor.value()
+        then :
+            walked == expected
+        and : 'The cursor is exhausted afterwards.'
+            !cursor.next()
+
+        when : 'We only visit the keys and the values.'
+            var keys = []
+            var values = []
+            association.forEachKey({ keys << it } as Consumer)
+            association.forEachValue({ values << it } as Consumer)
+        then :
+            keys == association.collect { it.first() }
+            values == association.collect { it.second() }
+
+        where :
+            base << [
+                Association.between(Integer, String),
+                Association.betweenSorted(Integer, String),
+                Association.betweenLinked(Integer, String)
+            ]
+    }
+
+    def 'An `EntryCursor` which is not positioned at an entry has no key or value.'(
+        Association<Integer, String> association
+    ) {
+        given :
+            var cursor = association.cursor()
+
+        when : 'We read the key before moving the cursor to the first entry.'
+            cursor.key()
+        then :
+            thrown(NoSuchElementException)
+
+        when : 'We move past the only entry and read its value.'
+            cursor.next()
+            cursor.next()
+            cursor.value()
+        then :
+            thrown(NoSuchElementException)
+
+        where :
+            association << [
+                Association.between(Integer, String).put(1, "a"),
+                Association.betweenSorted(Integer, String).put(1, "a"),
+                Association.betweenLinked(Integer, String).put(1, "a")
+            ]
+    }
+
+    def 'The hash code of a modified association is the same as that of an equal association built from scratch.'(
+        Association<Integer, String> empty
+    ) {
+        reportInfo """
+            The hash code of an association is cached piece by piece in the nodes of the
+            association, so when you create a new version of an association, only the parts
+            which were actually changed need to be hashed again.
+            The result is nevertheless the same as the hash code of an equal association,
+            no matter in which order its entries were put.
+        """
+        given : 'A large association and its hash code.'
+            var association = empty.putAll((0..<3_000).collect { Pair.of(it, "v" + it) }.stream())
+            association.hashCode()
+
+        when : 'We create new versions of the association.'
+            var replaced = association.put(1_234, "x")
+            var added    = association.put(-1, "y")
+            var removed  = association.remove(42)
+
+        then : 'Their hash codes match those of equal associations with reversed insertion order.'
+            [replaced, added, removed].every { version ->
+                var pairs = version.collect { it }.reverse()
+                var fromScratch = empty.putAll(pairs.stream())
+                version == fromScratch && version.hashCode() == fromScratch.hashCode()
+            }
+        and : 'Changed associations are no longer equal to the original.'
+            replaced != association
+            replaced.hashCode() != association.hashCode()
+        and : 'Reverting the change makes them equal again.'
+            replaced.put(1_234, "v1234") == association
+            replaced.put(1_234, "v1234").hashCode() == association.hashCode()
+
+        where :
+            empty << [
+                Association.between(Integer, String),
+                Association.betweenSorted(Integer, String),
+                Association.betweenLinked(Integer, String)
+            ]
+    }
+
+    def 'Equal linked associations have the same hash code, regardless of the order of their entries.'()
+    {
+        reportInfo """
+            Two linked associations with the same entries are equal, even if their entries
+            were put in a different order. So they also have the same hash code,
+            and computing it does not affect the outcome of a later equality check.
+        """
+        given : 'Three linked associations with the same entries, put in different orders.'
+            var association = Association.betweenLinked(Integer, String).put(1, "a").put(2, "b").put(3, "c")
+            var reordered   = Association.betweenLinked(Integer, String).put(3, "c").put(1, "a").put(2, "b")
+            var readded     = association.remove(1).put(1, "a")
+        expect : 'They are all equal to each other...'
+            association == reordered
+            association == readded
+        and : '...and they have the same hash code.'
+            association.hashCode() == reordered.hashCode()
+            association.hashCode() == readded.hashCode()
+        and : 'They remain equal now that their hash codes are known.'
+            association == reordered
+            reordered == readded
+        and : 'A different value still makes a difference.'
+            association != association.put(2, "x")
+            association.hashCode() != association.put(2, "x").hashCode()
+    }
+
+    def 'Merging two versions of a large association lets the right side win, unless it is merged only if absent.'(
+        int edits
+    ) {
+        reportInfo """
+            When two associations are versions of one another, they share most of their
+            internal structure. Merging them through `putAll` or `putAllIfAbsent`, or removing
+            and retaining the keys of a value set, reuses the shared parts instead of visiting
+            every single entry, but the results are the same as those of a regular `java.util.Map`.
+        """
+        given : 'A large association and another version of it with a few changes.'
+            var random = new Random(edits)
+            var original = Association.between(Integer, String).putAll((0..<20_000).collect { Pair.of(it, "v" + it) }.stream())
+            var changed = original
+            edits.times {
+                int key = random.nextInt(25_000)
+                changed = random.nextBoolean() ? changed.put(key, "changed") : changed.remove(key)
+            }
+        and : 'The expected results, computed through mutable JDK maps.'
+            var merged = new HashMap<Integer, String>(original.toMap())
+            merged.putAll(changed.toMap())
+            var mergedIfAbsent = new HashMap<Integer, String>(changed.toMap())
+            mergedIfAbsent.putAll(original.toMap())
+
+        expect :
+            original.putAll(changed).toMap() == merged
+            original.putAllIfAbsent(changed).toMap() == mergedIfAbsent
+            original.retainAll(changed.keySet()).toMap() == original.toMap().findAll { changed.containsKey(it.key) }
+            original.removeAll(changed.keySet()).toMap() == original.toMap().findAll { !changed.containsKey(it.key) }
+        and : 'Merging an association with itself yields the association itself.'
+            original.putAll(original).is(original)
+
+        where :
+            edits << [0, 1, 10, 500, 5_000]
+    }
+
+    def 'The diff between two versions of an association tells you which entries were added, removed or updated.'(
+        Association<Integer, String> empty, int edits
+    ) {
+        reportInfo """
+            The `diff` method describes how one association has to change to become another one,
+            through the entries which have to be added, removed or updated.
+            The diff is only computed when you ask for it, and if the two associations
+            are versions of one another, only the parts they do not share are compared.
+        """
+        given : 'An association and another version of it with a few changes.'
+            var random = new Random(edits)
+            var before = empty.putAll((0..<3_000).collect { Pair.of(it, "v" + it) }.stream())
+            var after = before
+            edits.times {
+                int key = random.nextInt(4_000)
+                switch ( random.nextInt(3) ) {
+                    case 0 : after = after.put(key, "changed"); break
+                    case 1 : after = after.remove(key); break
+                    default: after = after.put(key, "v" + key)
+                }
+            }
+        and : 'The expected changes, computed through mutable JDK maps.'
+            var oldMap = before.toMap()
+            var newMap = after.toMap()
+
+        when : 'We compute the diff between the two versions.'
+            var diff = before.diff(after)
+
+        then : 'It exposes both versions.'
+            diff.before().is(before)
+            diff.after().is(after)
+        and : 'Its changes are exactly the differences between the two versions.'
+            diff.added().toMap()   == newMap.findAll { !oldMap.containsKey(it.key) }
+            diff.removed().toMap() == oldMap.findAll { !newMap.containsKey(it.key) }
+            diff.updated().toMap() == newMap.findAll { oldMap.containsKey(it.key) && oldMap[it.key] != it.value }
+            diff.isEmpty() == (oldMap == newMap)
+        and : 'The reverse diff swaps the added and removed entries.'
+            after.diff(before).added().toMap()   == diff.removed().toMap()
+            after.diff(before).removed().toMap() == diff.added().toMap()
+
+        where :
+            empty                                      | edits
+            Association.between(Integer, String)       | 0
+            Association.between(Integer, String)       | 1
+            Association.between(Integer, String)       | 50
+            Association.between(Integer, String)       | 2_000
+            Association.betweenLinked(Integer, String) | 50
+            Association.betweenSorted(Integer, String) | 50
+    }
+
+    def 'Use `Association.diffOf(ValDelegate)` to find out which entries a change of an association view touched.'()
+    {
+        reportInfo """
+            The change listeners of a property holding an association receive a `ValDelegate`
+            with the old and the new association. Instead of comparing both associations
+            entry by entry, you can turn the delegate into a `Diff` which only looks at
+            the parts of the two associations which actually differ.
+        """
+        given : 'A property holding an association, and a view of it.'
+            var state = Var.of(Association.between(String, Integer).put("a", 1).put("b", 2))
+            var view = state.viewAsAssociation(String, Integer, { it })
+        and : 'A listener which records the diff of every change.'
+            var diffs = []
+            view.onChange(From.ALL, { diffs << Association.diffOf(it) })
+
+        when : 'We change the state of the property.'
+            state.update { it.put("a", 3).remove("b").put("c", 4) }
+
+        then : 'The listener received a diff with the individual changes.'
+            diffs.size() == 1
+            diffs[0].added().toMap()   == ["c": 4]
+            diffs[0].removed().toMap() == ["b": 2]
+            diffs[0].updated().toMap() == ["a": 3]
+    }
 }
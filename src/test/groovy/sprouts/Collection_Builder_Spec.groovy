@@ -0,0 +1,225 @@
+package sprouts
+
+import spock.lang.Narrative
+import spock.lang.Specification
+import spock.lang.Subject
+import spock.lang.Title
+
+@Title("Builders for Tuples, Associations and Value Sets")
+@Narrative('''
+
+    The `Tuple`, `Association` and `ValueSet` types are immutable,
+    which means that every single change creates a new instance.
+    This is great for sharing them safely, but it is wasteful if you
+    want to build up a large collection through a loop of many small changes.
+    This is what the builders are for. A builder collects changes in a
+    mutable buffer and only turns them into an immutable collection
+    once you call `build()`, which shares as much of its internal
+    structure with the original collection as possible.
+
+''')
+@Subject([Tuple.Builder, Association.Builder, ValueSet.Builder])
+class Collection_Builder_Spec extends Specification
+{
+    def 'A tuple builder produces the same tuple as a sequence of individual changes.'()
+    {
+        given : 'A tuple and a builder based on it.'
+            var tuple = Tuple.of(Integer, 1, 2, 3)
+            var builder = tuple.toBuilder()
+        when : 'We apply some changes to both.'
+            var expected = tuple
+            (4..1000).each {
+                expected = expected.add(it)
+                builder.add(it)
+            }
+            expected = expected.setAt(0, 42).setAt(500, 73)
+            builder.setAt(0, 42).setAt(500, 73)
+        then : 'The builder reports the current state of the tuple being built...'
+            builder.size() == 1000
+            builder.get(0) == 42
+            builder.get(500) == 73
+        and : '...and builds a tuple equal to the expected one.'
+            builder.build() == expected
+        and : 'The original tuple is unchanged.'
+            tuple == Tuple.of(Integer, 1, 2, 3)
+    }
+
+    def 'A tuple builder can insert, replace and remove items anywhere in the tuple being built.'(
+        int size
+    ) {
+        reportInfo """
+            Besides appending items, a tuple builder can also insert, replace and remove
+            items at arbitrary positions, including the positions of items
+            of the original tuple, which of course remains unchanged.
+        """
+        given : 'A tuple, a builder based on it and a plain list with the same items.'
+            var tuple = Tuple.ofNullable(Integer, (0..<size).collect { it })
+            var builder = tuple.toBuilder()
+            var expected = new ArrayList<Integer>(tuple.toList())
+            var random = new Random(size)
+        when : 'We apply the same random changes to the builder and the list.'
+            2000.times {
+                int choice = random.nextInt(4)
+                if ( choice == 0 && !expected.isEmpty() ) {
+                    int index = random.nextInt(expected.size())
+                    var item = random.nextInt(5) == 0 ? null : -it
+                    builder.setAt(index, item)
+                    expected.set(index, item)
+                } else if ( choice == 1 ) {
+                    int index = random.nextInt(expected.size() + 1)
+                    builder.addAt(index, it)
+                    expected.add(index, it)
+                } else if ( choice == 2 && !expected.isEmpty() ) {
+                    int index = random.nextInt(expected.size())
+                    builder.removeAt(index)
+                    expected.remove(index)
+                } else {
+                    builder.add(it)
+                    expected.add(it)
+                }
+            }
+        then : 'The builder reports the same items as the list...'
+            builder.size() == expected.size()
+            (0..<expected.size()).every { builder.get(it) == expected.get(it) }
+        and : '...and builds a tuple with the same items.'
+            builder.build().toList() == expected
+        and : 'The original tuple is unchanged.'
+            tuple.toList() == (0..<size).collect { it }
+
+        where :
+            size << [0, 7, 1000, 5000]
+    }
+
+    def 'A tuple builder checks the indices of insertions and removals.'()
+    {
+        given :
+            var builder = Tuple.of(String, "a", "b").toBuilder()
+        when :
+            builder.addAt(3, "c")
+        then :
+            thrown(IndexOutOfBoundsException)
+        when :
+            builder.removeAt(2)
+        then :
+            thrown(IndexOutOfBoundsException)
+        when :
+            builder.addAt(2, "c").addAt(0, "z").removeAt(1)
+        then :
+            builder.build() == Tuple.of("z", "b", "c")
+    }
+
+    def 'A tuple builder may continue to be used after it was built.'()
+    {
+        given :
+            var builder = Tuple.builder(String).add("a").add("b")
+        when :
+            var first = builder.build()
+            builder.add("c")
+            var second = builder.build()
+        then :
+            first == Tuple.of("a", "b")
+            second == Tuple.of("a", "b", "c")
+    }
+
+    def 'A tuple builder does not accept null items for a tuple which does not allow null.'()
+    {
+        when :
+            Tuple.builder(String).add(null)
+        then :
+            thrown(NullPointerException)
+        when :
+            var builder = Tuple.ofNullable(String).toBuilder().add(null).add("x")
+        then :
+            builder.build() == Tuple.ofNullable(String, null, "x")
+    }
+
+    def 'An association builder produces the same association as a sequence of individual changes.'(
+        Association<Integer, String> association
+    ) {
+        given : 'A builder based on the association.'
+            var builder = association.toBuilder()
+            var expected = association
+            var random = new Random(42)
+        when : 'We apply the same random puts and removals to both.'
+            1000.times {
+                int key = random.nextInt(200)
+                switch ( random.nextInt(3) ) {
+                    case 0:
+                        expected = expected.put(key, "v" + it)
+                        builder.put(key, "v" + it)
+                        break
+                    case 1:
+                        expected = expected.putIfAbsent(key, "v" + it)
+                        builder.putIfAbsent(key, "v" + it)
+                        break
+                    default:
+                        expected = expected.remove(key)
+                        builder.remove(key)
+                }
+            }
+        then : 'The builder reports the same state as the expected association...'
+            builder.size() == expected.size()
+            (0..<200).every { builder.get(it) == expected.get(it) }
+        and : '...and builds an association equal to the expected one, with the same order.'
+            var result = builder.build()
+            result == expected
+            result.isLinked() == expected.isLinked()
+            result.isSorted() == expected.isSorted()
+            !result.isSorted() && !result.isLinked() || result.toString() == expected.toString()
+
+        where :
+            association << [
+                Association.between(Integer, String).putAll((0..<50).collect { Pair.of(it * 3, "old") }.stream()),
+                Association.betweenLinked(Integer, String).putAll((0..<50).collect { Pair.of(it * 3, "old") }.stream()),
+                Association.betweenSorted(Integer, String).putAll((0..<50).collect { Pair.of(it * 3, "old") }.stream())
+            ]
+    }
+
+    def 'An association builder validates the types of keys and values.'()
+    {
+        given :
+            var builder = Association.builder(String, Integer)
+        when :
+            builder.put(1, 1) // Groovy does not check generic types, so we can sneak in an Integer key
+        then :
+            thrown(IllegalArgumentException)
+        when :
+            builder.put("a", "b")
+        then :
+            thrown(IllegalArgumentException)
+    }
+
+    def 'A value set builder produces the same value set as a sequence of individual changes.'(
+        ValueSet<Integer> set
+    ) {
+        given :
+            var builder = set.toBuilder()
+            var expected = set
+            var random = new Random(42)
+        when : 'We apply the same random additions and removals to both.'
+            1000.times {
+                int element = random.nextInt(200)
+                if ( random.nextBoolean() ) {
+                    expected = expected.add(element)
+                    builder.add(element)
+                } else {
+                    expected = expected.remove(element)
+                    builder.remove(element)
+                }
+            }
+        then :
+            builder.size() == expected.size()
+            (0..<200).every { builder.contains(it) == expected.contains(it) }
+        and :
+            var result = builder.build()
+            result == expected
+            !result.isSorted() && !result.isLinked() || result.toString() == expected.toString()
+
+        where :
+            set << [
+                ValueSet.of(Integer).addAll((0..<50).collect { it * 3 }),
+                ValueSet.ofLinked(Integer).addAll((0..<50).collect { it * 3 }),
+                ValueSet.ofSorted(Integer).addAll((0..<50).collect { it * 3 })
+            ]
+    }
+}
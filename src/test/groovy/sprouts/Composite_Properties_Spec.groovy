@@ -483,6 +483,105 @@ class Composite_Properties_Spec extends Specification
             System.err = originalErr
     }
 
+    def 'Composite views in a diamond shaped graph are recomputed once per change, without glitches.'()
+    {
+        reportInfo """
+            When two views share a common source property and are then combined
+            into a composite view, a single change of the source reaches the composite
+            view through both of its sources. Instead of recomputing the composite view
+            for each of these paths, Sprouts ranks the views by their depth in the
+            dependency graph and recomputes every affected view exactly once,
+            after all of its sources were updated.
+            So the combiner function and the change listeners of the composite view
+            never see an updated item of one source together with an outdated item of the other.
+        """
+        given : 'A source property and two views derived from it.'
+            var source = Var.of(1)
+            var doubled = source.viewAsInt(it -> it * 2)
+            var tripled = source.viewAsInt(it -> it * 3)
+        and : 'A composite view of both views which records the items it is computed from.'
+            var combinations = []
+            var sum = Viewable.of(doubled, tripled, (d, t) -> { combinations << [d, t]; d + t })
+        and : 'Another composite view one level further down the graph.'
+            var recomputations = 0
+            var difference = Viewable.of(sum, doubled, (s, d) -> { recomputations++; s - d })
+        and : 'A change listener which records the items of the first composite view.'
+            var trace = []
+            sum.onChange(From.ALL, it -> trace << it.currentValue().orElseThrow())
+        expect :
+            sum.get() == 5
+            difference.get() == 3
+
+        when : 'We change the source property.'
+            combinations.clear()
+            recomputations = 0
+            source.set(2)
+        then : 'Both composite views were recomputed exactly once, from consistent items.'
+            combinations == [[4, 6]]
+            recomputations == 1
+        and : 'The listener only saw the final item.'
+            trace == [10]
+            sum.get() == 10
+            difference.get() == 6
+
+        when : 'We force a change event on the source property.'
+            source.fireChange(From.ALL)
+        then : 'The forced event still reaches the listener exactly once.'
+            combinations == [[4, 6], [4, 6]]
+            recomputations == 2
+            trace == [10, 10]
+    }
+
+    def 'Use `Viewable.ofAll` to combine any number of properties into a single view.'()
+    {
+        reportInfo """
+            Combining more than two properties through `Viewable.of` requires a chain
+            of intermediate views, one for every additional property.
+            Instead, you can use `Viewable.ofAll(Class, Function, Val...)` to create
+            a single view of any number of properties. The combiner function receives
+            a `Tuple` of the source properties in the order in which they were passed,
+            and it is called once whenever any of them changes.
+        """
+        given : 'A number of properties modelling the fields of a form.'
+            var name = Var.of("John").withId("name")
+            var street = Var.of("Main Street").withId("street")
+            var city = Var.of("Springfield").withId("city")
+            var age = Var.of(42).withId("age")
+        and : 'A single view which tells us if the form is valid.'
+            var recomputations = 0
+            Val<Boolean> isValid = Viewable.ofAll(Boolean, sources -> {
+                recomputations++
+                sources.every { it.isPresent() && !it.get().toString().isEmpty() } && (sources.get(3).get() as int) >= 18
+            }, name, street, city, age)
+        and : 'A listener recording the changes of the view.'
+            var trace = []
+            isValid.onChange(From.ALL, it -> trace << it.currentValue().orElseThrow())
+        expect : 'The view has the combined item and the id of all its sources.'
+            isValid.get() == true
+            isValid.id() == "name_and_street_and_city_and_age"
+
+        when : 'We change one of the properties so that the form becomes invalid.'
+            recomputations = 0
+            city.set("")
+        then : 'The view was recomputed once and reports the change.'
+            recomputations == 1
+            isValid.get() == false
+            trace == [false]
+
+        when : 'We change another property, which does not affect the validity.'
+            age.set(17)
+        then : 'The view is recomputed, but no change is reported.'
+            recomputations == 2
+            trace == [false]
+
+        when : 'We fix both problems.'
+            city.set("Shelbyville")
+            age.set(18)
+        then : 'The view reports each change of its item.'
+            isValid.get() == true
+            trace == [false, true]
+    }
+
     /**
      * This method guarantees that garbage collection is
      * done unlike <code>{@link System#gc()}</code>
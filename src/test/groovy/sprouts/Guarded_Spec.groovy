@@ -657,4 +657,126 @@ class Guarded_Spec extends Specification
         cleanup :
             pool.shutdownNow()
     }
-}
\ No newline at end of file
+
+    @Timeout(10)
+    def 'A read-mostly `Guarded` serves reads without waiting for the lock.'()
+    {
+        reportInfo """
+            When reads vastly outnumber writes, `Guarded.ofReadMostly(..)` creates a container
+            whose `get()` and `read(..)` never take the lock. They return the value of the
+            last completed write, even while another thread is busy computing the next one,
+            and writes are still serialized and run their updater exactly once.
+        """
+        given : 'A read-mostly guarded value and coordination latches.'
+            var guarded = Guarded.ofReadMostly("before")
+            var updating = new CountDownLatch(1)
+            var release = new CountDownLatch(1)
+        and : 'A thread which holds the lock while it computes a new value.'
+            var writer = new Thread({
+                guarded.update({ v ->
+                    updating.countDown()
+                    release.await()
+                    return "after"
+                })
+            })
+            writer.start()
+            updating.await()
+
+        expect : 'Reads do not block and see the last completed value.'
+            guarded.isLocked()
+            guarded.get() == "before"
+            guarded.read({ v -> v.length() }) == 6
+
+        when : 'We let the writer finish.'
+            release.countDown()
+            writer.join()
+        then : 'The readers now see the new value.'
+            guarded.get() == "after"
+            guarded.read({ v -> v.toUpperCase() }) == "AFTER"
+
+        cleanup : 'Ensure the writer thread is not left running on failure.'
+            release.countDown()
+            writer.join()
+    }
+
+    def 'A read-mostly `Guarded` only supports replacing its value, not mutating it in place.'()
+    {
+        reportInfo """
+            Since readers of a read-mostly container look at the value without the lock,
+            the value must be immutable. Mutating it in place would expose a half-done
+            mutation to the readers, which is why `mutate(..)` is rejected.
+        """
+        given : 'A read-mostly guarded value.'
+            var guarded = Guarded.ofReadMostly(Association, Association.between(String, Integer))
+        when : 'We try to mutate it in place.'
+            guarded.mutate({ a -> a.size() })
+        then : 'This is not supported.'
+            thrown(UnsupportedOperationException)
+        when : 'We replace it by an updated value instead.'
+            guarded.update({ a -> a.put("one", 1) })
+        then : 'This works as usual.'
+            guarded.read({ a -> a.get("one").orElse(0) }) == 1
+    }
+
+    @Timeout(30)
+    def 'A combining `Guarded` applies every contended update exactly once and hands each caller its own result.'()
+    {
+        reportInfo """
+            Under heavy contention, `Guarded.ofCombining(..)` lets the thread holding the lock
+            apply the updates of all the threads waiting for it, instead of handing the lock
+            from one thread to the next. Each update still runs exactly once, and each caller
+            still receives the result of its own update, so no increment is lost
+            and no two callers see the same result.
+        """
+        given : 'A combining guarded counter and a pool of worker threads.'
+            var counter = Guarded.ofCombining(0)
+            int threads = 16
+            int incrementsPerThread = 1_000
+            var pool = Executors.newFixedThreadPool(threads)
+            var startGun = new CountDownLatch(1)
+            var results = Collections.synchronizedList(new ArrayList<Integer>())
+            var futures = []
+
+        when : 'Every thread hammers the counter through updateAndGet and getAndUpdate.'
+            (1..threads).each { int thread ->
+                futures << pool.submit({
+                    startGun.await()
+                    incrementsPerThread.times { int i ->
+                        if ( (thread + i) % 2 == 0 )
+                            results.add(counter.updateAndGet({ n -> n + 1 }))
+                        else
+                            results.add(counter.getAndUpdate({ n -> n + 1 }) + 1)
+                    }
+                })
+            }
+            startGun.countDown()
+            futures.each { it.get(20, TimeUnit.SECONDS) }
+
+        then : 'Not a single increment was lost.'
+            counter.get() == threads * incrementsPerThread
+        and : 'Every caller observed a distinct result of its own update.'
+            results.toSet() == (1..threads * incrementsPerThread).toSet()
+
+        cleanup :
+            pool.shutdownNow()
+    }
+
+    def 'An exception thrown by an update of a combining `Guarded` reaches its caller.'()
+    {
+        reportInfo """
+            Even though the update function of a combining container may be run
+            by another thread, an exception it throws is handed to the caller
+            which submitted it, and the value stays untouched, just like in a regular container.
+        """
+        given : 'A combining guarded value.'
+            var guarded = Guarded.ofCombining("ok")
+        when : 'An update fails.'
+            guarded.update({ v -> throw new IllegalStateException("boom") })
+        then : 'Its caller receives the exception.'
+            var e = thrown(IllegalStateException)
+            e.message == "boom"
+        and : 'The value is unchanged and the container keeps working.'
+            guarded.get() == "ok"
+            guarded.accumulateAndGet("!", { a, b -> a + b }) == "ok!"
+    }
+}
@@ -955,4 +955,29 @@ class Linked_ValueSet_Spec extends Specification {
             step1.toList() == step2.toList()
             step1 == step3
     }
+
+    def 'Equal linked value sets have the same hash code, regardless of the order of their elements.'()
+    {
+        reportInfo """
+            Two linked value sets with the same elements are equal, even if their elements
+            were added in a different order. So they also have the same hash code,
+            and computing it does not affect the outcome of a later equality check.
+        """
+        given : 'Three linked value sets with the same elements, added in different orders.'
+            var set       = ValueSet.ofLinked(Integer).add(1).add(2).add(3)
+            var reordered = ValueSet.ofLinked(Integer).add(3).add(1).add(2)
+            var readded   = set.remove(2).add(2)
+        expect : 'They are all equal to each other...'
+            set == reordered
+            set == readded
+        and : '...and they have the same hash code.'
+            set.hashCode() == reordered.hashCode()
+            set.hashCode() == readded.hashCode()
+        and : 'They remain equal now that their hash codes are known.'
+            set == reordered
+            reordered == readded
+        and : 'A different element still makes a difference.'
+            set != set.add(4)
+            set.hashCode() != set.add(4).hashCode()
+    }
 }
\ No newline at end of file
@@ -2242,6 +2242,111 @@ class Property_Lenses_Spec extends Specification
             trace.size() == 3
     }
 
+    def 'A property lens only runs its getter again once the item of its source changed.'()
+    {
+        reportInfo """
+            A lens remembers the item it computed together with the item of its
+            source property it was computed from. As long as the source still
+            holds the very same item, reading the lens simply returns the remembered
+            item, which makes reading deep chains of lenses cheap.
+            Once the source changes, or if it fires a change event explicitly,
+            the getter is used again to compute the new item of the lens.
+        """
+        given : 'An `Author` stored in a regular property.'
+            var author = new Author("Joe", "Average", LocalDate.of(1990, 1, 1), [])
+            var authorProperty = Var.of(author)
+        and : 'A lens for the last name, which counts how often its getter is called.'
+            var getterCalls = 0
+            var lastName = authorProperty.zoomTo(
+                                                { getterCalls++; it.lastName() },
+                                                Author::withLastName
+                                            )
+        when : 'We read the lens many times without changing the source.'
+            var callsBefore = getterCalls
+            var names = (1..100).collect { lastName.get() }
+        then : 'The getter was called at most once.'
+            names.every { it == "Average" }
+            getterCalls - callsBefore <= 1
+
+        when : 'We change the source property.'
+            callsBefore = getterCalls
+            authorProperty.set(author.withLastName("Doe"))
+        then : 'The lens computes its new item through the getter...'
+            lastName.get() == "Doe"
+            lastName.get() == "Doe"
+        and : '...but only once.'
+            getterCalls - callsBefore == 1
+
+        when : 'We fire a change event on the source without changing its item.'
+            callsBefore = getterCalls
+            authorProperty.fireChange(From.VIEW_MODEL)
+            lastName.get()
+        then : 'The getter was used again, since the item might have been mutated in place.'
+            getterCalls > callsBefore
+    }
+
+    def 'A listener on the source property reads the up to date item of a lens, even if it was registered first.'()
+    {
+        reportInfo """
+            Change listeners of a source property may be called before the lens
+            itself is notified about the change. Such listeners must never
+            see a stale item when reading the lens, which is why a lens
+            always checks whether the item of its source is still the same
+            before returning its memoized item.
+        """
+        given : 'A property holding an `Author` and a list for recording lens items.'
+            var authorProperty = Var.of(new Author("Joe", "Average", LocalDate.of(1990, 1, 1), []))
+            var trace = []
+        and : 'We register a listener on the source before the lens is created.'
+            Var<String> lastName = null
+            Viewable.cast(authorProperty).onChange(From.ALL, { trace << lastName.get() })
+            lastName = authorProperty.zoomTo(Author::lastName, Author::withLastName)
+        when : 'We change the source property.'
+            authorProperty.set(authorProperty.get().withLastName("Doe"))
+        then : 'The listener saw the new item of the lens.'
+            trace == ["Doe"]
+    }
+
+    def 'A lens deep down in a chain of lenses checks its memo against the root property of the chain.'()
+    {
+        reportInfo """
+            Every property counts the modifications of its item through a version stamp,
+            which it updates before notifying any listener. A lens remembers the stamps of
+            the properties at the root of its chain, instead of the items of its parent lenses,
+            so reading an unchanged chain of lenses does not need to walk up the chain at all.
+            Even a listener of the root property which runs before any of the lenses
+            was notified already reads the new item at the end of the chain.
+        """
+        given : 'An `Author` stored in a regular property, and a list for recording lens items.'
+            var authorProperty = Var.of(new Author("Joe", "Average", LocalDate.of(1990, 1, 1), []))
+            var trace = []
+        and : 'A listener on the root property, which is registered before the lenses exist.'
+            Var<Integer> length = null
+            Viewable.cast(authorProperty).onChange(From.ALL, { trace << length.get() })
+        and : 'A chain of three lenses, which count how often their getters are called.'
+            var getterCalls = 0
+            var lastName = authorProperty.zoomTo({ getterCalls++; it.lastName() }, Author::withLastName)
+            var upperCase = lastName.zoomTo({ getterCalls++; it.toUpperCase() }, { n, u -> u })
+            length = upperCase.zoomTo(Integer, { getterCalls++; it.length() }, { u, l -> u })
+
+        when : 'We read the end of the chain many times.'
+            length.get()
+            var callsBefore = getterCalls
+            var lengths = (1..100).collect { length.get() }
+        then : 'None of the getters was called again.'
+            lengths.every { it == "Average".length() }
+            getterCalls == callsBefore
+
+        when : 'We change the root property.'
+            authorProperty.set(authorProperty.get().withLastName("Doe"))
+        then : 'The listener on the root property saw the new item at the end of the chain.'
+            trace == [3]
+        and : 'Reading the chain again returns the new item without calling the getters again.'
+            (callsBefore = getterCalls) > 0
+            length.get() == 3
+            getterCalls == callsBefore
+    }
+
     /**
      * This method guarantees that garbage collection is
      * done unlike <code>{@link System#gc()}</code>
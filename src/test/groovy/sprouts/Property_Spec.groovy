@@ -4,6 +4,7 @@ import spock.lang.Narrative
 import spock.lang.Specification
 import spock.lang.Subject
 import spock.lang.Title
+import sprouts.impl.Sprouts
 
 import java.time.DayOfWeek
 import java.util.function.Consumer
@@ -721,4 +722,145 @@ class Property_Spec extends Specification
         then : 'The property has no change listeners anymore.'
             Viewable.cast(property).numberOfChangeListeners() == 0
     }
+
+    def 'Change listeners can be registered and removed concurrently from many threads.'()
+    {
+        reportInfo """
+            The change listeners of a property are stored in an immutable
+            data structure which is swapped atomically whenever a listener is
+            added or removed. This means that many threads can register and
+            unregister listeners at the same time without blocking each other,
+            and without losing any registrations or removals.
+        """
+        given : 'A property and a counter for the number of calls to its listeners.'
+            var property = Var.of(0)
+            var calls = new java.util.concurrent.atomic.AtomicInteger(0)
+        and : 'A thread pool and a list for the listeners which we keep.'
+            var pool = java.util.concurrent.Executors.newFixedThreadPool(8)
+            var kept = Collections.synchronizedList([])
+        when : 'We add listeners from 8 threads, and remove every third one right away.'
+            var futures = (0..<8).collect { thread ->
+                pool.submit({
+                    500.times { i ->
+                        Action<ValDelegate<Integer>> listener = { calls.incrementAndGet() }
+                        Viewable.cast(property).onChange(i % 2 == 0 ? From.VIEW_MODEL : From.VIEW, listener)
+                        if ( i % 3 == 0 )
+                            Viewable.cast(property).unsubscribe(listener)
+                        else
+                            kept.add(listener)
+                    }
+                } as Runnable)
+            }
+            futures.each { it.get() }
+            pool.shutdown()
+        then : 'Exactly the kept listeners are registered.'
+            Viewable.cast(property).numberOfChangeListeners() == kept.size()
+
+        when : 'We change the property for all channels.'
+            property.set(From.ALL, 42)
+        then : 'Every kept listener was called once.'
+            calls.get() == kept.size()
+    }
+
+    def 'Use `Sprouts.batch(Runnable)` to coalesce the change events of many property updates.'()
+    {
+        reportInfo """
+            Every call to `set` on a property immediately notifies its change listeners,
+            which in turn update all of the views depending on the property.
+            When you update a lot of properties at once, you may want to avoid these
+            intermediate notifications. Inside of a `Sprouts.batch(Runnable)` call,
+            the properties are still updated right away, but their change listeners
+            are only notified once the batch completes. Every modified property then
+            fires a single change event from its original item to its final item,
+            and properties which end up with their original item do not fire at all.
+        """
+        given : 'Two properties, a composite view of both and some listeners recording what happens.'
+            var x = Var.of(1)
+            var y = Var.of(2)
+            var name = Var.of("a")
+            var recomputations = 0
+            var sum = Viewable.of(x, y, (a, b) -> { recomputations++; a + b })
+            var trace = []
+            Viewable.cast(x).onChange(From.ALL, it -> trace << "x: ${it.oldValue().orElseThrow()} -> ${it.currentValue().orElseThrow()}".toString())
+            Viewable.cast(name).onChange(From.ALL, it -> trace << "name")
+            sum.onChange(From.ALL, it -> trace << "sum: ${it.currentValue().orElseThrow()}".toString())
+
+        when : 'We update the properties many times within a batch.'
+            recomputations = 0
+            Sprouts.batch(() -> {
+                (1..20).each { x.set(it); y.set(it * 2) }
+                name.set("b")
+                name.set("a")
+                trace << "x inside the batch: ${x.get()}".toString()
+            })
+        then : 'The items were updated right away, but the listeners were only called afterwards, once per property.'
+            trace == ["x inside the batch: 20", "x: 1 -> 20", "sum: 60"]
+        and : 'The composite view was recomputed only once.'
+            recomputations == 1
+            sum.get() == 60
+    }
+
+    def 'Views which are read inside of a `Sprouts.batch(Runnable)` call are never outdated.'()
+    {
+        reportInfo """
+            A batch only holds back the change listeners of your properties,
+            it does not hold back the views depending on them.
+            When you read a view inside of a batch, it is recomputed from the
+            current items of its sources, even if the view is derived from another view.
+            The change events of the views are still coalesced and reported
+            once the batch completes.
+        """
+        given : 'A property, a view, a view of that view and a composite view, each with a listener.'
+            var x = Var.of(1)
+            var y = Var.of(2)
+            var doubled = x.view(v -> v * 2)
+            var plusOne = doubled.view(v -> v + 1)
+            var sum = Viewable.of(x, y, (a, b) -> a + b)
+            var trace = []
+            Viewable.cast(doubled).onChange(From.ALL, it -> trace << "doubled: ${it.currentValue().orElseThrow()}".toString())
+            Viewable.cast(plusOne).onChange(From.ALL, it -> trace << "plusOne: ${it.currentValue().orElseThrow()}".toString())
+            Viewable.cast(sum).onChange(From.ALL, it -> trace << "sum: ${it.currentValue().orElseThrow()}".toString())
+        and : 'A list for the items we read inside the batch.'
+            var reads = []
+
+        when : 'We modify the properties and read the views in between.'
+            Sprouts.batch(() -> {
+                x.set(7)
+                reads << doubled.get() << plusOne.get() << sum.get()
+                x.set(10)
+                reads << doubled.get() << plusOne.get() << sum.get()
+                y.set(5)
+                reads << sum.get()
+            })
+        then : 'Every read observed the current items of the properties.'
+            reads == [14, 15, 9, 20, 21, 12, 15]
+        and : 'Every view reported a single change event once the batch completed.'
+            trace.toSet() == ["doubled: 20", "plusOne: 21", "sum: 15"].toSet()
+            trace.size() == 3
+    }
+
+    def 'An exception thrown by the action of a batch is not hidden by the listeners notified afterwards.'()
+    {
+        reportInfo """
+            The changes made inside of a batch are reported even if the action throws an exception.
+            Should one of the listeners fail while the batch reports these changes,
+            its exception is added as a suppressed exception to the one thrown by the action,
+            so that the original cause of the failure is never lost.
+        """
+        given : 'A property with a listener which fails with an error.'
+            var property = Var.of(0)
+            Viewable.cast(property).onChange(From.ALL, it -> { throw new NoClassDefFoundError("listener") })
+
+        when : 'We modify the property in a batch whose action fails as well.'
+            Sprouts.batch(() -> {
+                property.set(1)
+                throw new IllegalStateException("action")
+            })
+        then : 'The exception of the action is thrown, carrying the one of the listener.'
+            var exception = thrown(IllegalStateException)
+            exception.message == "action"
+            exception.suppressed*.message == ["listener"]
+        and : 'The property kept its new item.'
+            property.get() == 1
+    }
 }
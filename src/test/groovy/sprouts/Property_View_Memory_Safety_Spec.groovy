@@ -463,6 +463,160 @@ class Property_View_Memory_Safety_Spec extends Specification
             ]
     }
 
+    def 'The listeners a view registers on many source properties are all removed once the view is collected.'()
+    {
+        reportInfo """
+            A view registers one change listener on each of its source properties,
+            and all of these listeners are owned by the view.
+            So when the view is garbage collected, the library cleans up
+            all of them together, leaving no stale listeners behind on any of the sources.
+        """
+        given : 'A number of source properties and a view of all of them.'
+            var sources = (1..25).collect({ Var.of(it) })
+            Val<Integer> sum = Viewable.ofAll(Integer, tuple -> tuple.stream().mapToInt(it -> it.get() as int).sum(), sources as Val[])
+        expect : 'The view registered exactly one listener on each source.'
+            sum.get() == 325
+            sources.every({ it.numberOfChangeListeners() == 1 })
+
+        when : 'We drop the only strong reference to the view and wait for the garbage collector.'
+            var weak = new WeakReference(sum)
+            sum = null
+            waitForGarbageCollection()
+            Thread.sleep(500)
+            waitForGarbageCollection()
+        then : 'The view is gone, and so are all of its listeners.'
+            weak.get() == null
+            sources.every({ it.numberOfChangeListeners() == 0 })
+    }
+
+    def 'A lazy view stops observing its source once its last listener was garbage collected.'()
+    {
+        reportInfo """
+            A lazy view only observes its source property while it has change listeners.
+            Listeners which are owned by something else, like the listener a view of the
+            lazy view registers on it, are removed automatically once their owner is
+            garbage collected. The lazy view then detaches from its source
+            the next time the source changes, instead of recomputing its item for nobody.
+        """
+        given : 'A property, a lazy view which counts its computations and a view of the lazy view.'
+            var property = Var.of(1)
+            var calls = 0
+            var lazy = property.viewLazily("", it -> { calls++; "#" + it })
+            Val<String> downstream = lazy.view("", it -> it + "!")
+        expect : 'The lazy view observes the property on behalf of the downstream view.'
+            property.numberOfChangeListeners() == 1
+            lazy.numberOfChangeListeners() == 1
+
+        when : 'We drop the downstream view and wait for the garbage collector.'
+            var weak = new WeakReference(downstream)
+            downstream = null
+            waitForGarbageCollection()
+            Thread.sleep(500)
+            waitForGarbageCollection()
+        then : 'The listener of the downstream view was removed from the lazy view.'
+            weak.get() == null
+            lazy.numberOfChangeListeners() == 0
+
+        when : 'We change the property a few times.'
+            var callsBefore = calls
+            property.set(2)
+            property.set(3)
+        then : 'The lazy view detached from the property without computing anything.'
+            property.numberOfChangeListeners() == 0
+            calls == callsBefore
+        and : 'Reading it still yields the current item.'
+            lazy.get() == "#3"
+    }
+
+    def 'A lazy view keeps its source property alive, so it never falls back to an outdated item.'()
+    {
+        reportInfo """
+            A lazy view does not store a copy of the item of its source property,
+            it reads it whenever the view itself is read. This is why a lazy view,
+            unlike a regular view, keeps a strong reference to its source property,
+            even if you no longer reference the property yourself.
+            Otherwise it would have nothing left to read the current item from.
+        """
+        given : 'A property and a lazy view of it, which we do not observe.'
+            Var<Integer> property = Var.of(1)
+            Val<String> lazy = property.viewLazily("", i -> "n" + i)
+            var weakProperty = new WeakReference(property)
+        when : 'We change the property and then drop our only reference to it.'
+            property.set(42)
+            property = null
+            waitForGarbageCollection()
+        then : 'The lazy view still references the property...'
+            weakProperty.get() != null
+        and : '...so it still reports the item derived from the latest item of the property.'
+            lazy.get() == "n42"
+
+        when : 'We drop the lazy view as well.'
+            var weakLazy = new WeakReference(lazy)
+            lazy = null
+            waitForGarbageCollection()
+        then : 'Both of them can be garbage collected.'
+            weakLazy.get() == null
+            weakProperty.get() == null
+    }
+
+    def 'The weak listeners of one owner are tracked through a single reference and removed in a single update.'()
+    {
+        reportInfo """
+            A view model usually owns many weak listeners. The library does not ask
+            the garbage collector to track each of these listeners on its own,
+            but only tracks their owner once, no matter how many listeners it registers.
+            When the owner is collected, all of its listeners on the same property
+            are removed together, in a single update of the listeners of that property.
+        """
+        given : 'A property and an owner, while nothing else is waiting to be cleaned up.'
+            var property = Var.of(0)
+            var owner = new Object()
+            var before = settledCleanerStatistics()
+        when : 'The owner registers many weak listeners on the property.'
+            20.times { Viewable.cast(property).onChange(From.ALL, new sprouts.impl.WeakAction(owner, (o, v) -> {})) }
+        then : 'All of them are registered, but the cleaner only tracks a single additional reference.'
+            property.numberOfChangeListeners() == 20
+            cleanerStatistics().registered == before.registered + 1
+
+        when : 'We drop the owner and wait for the garbage collector.'
+            var weak = new WeakReference(owner)
+            owner = null
+            waitForGarbageCollection()
+            while ( property.numberOfChangeListeners() > 0 ) { Thread.sleep(10) }
+            var after = settledCleanerStatistics()
+        then : 'The owner is gone, and so is the reference tracking it.'
+            weak.get() == null
+            after.registered == before.registered
+        and : 'All of its listeners were cleaned up through a single grouped update.'
+            after.cleanedUp == before.cleanedUp + 20
+            after.groupedUpdates == before.groupedUpdates + 1
+    }
+
+    /**
+     *  Parses the statistics reported by the string representation of the cleaner,
+     *  like the number of currently registered references.
+     */
+    static Map<String, Long> cleanerStatistics() {
+        String description = sprouts.impl.ChangeListenerCleaner.getInstance().toString()
+        return (description =~ /(\w+)=(\d+)/).collect().collectEntries { [(it[1]): it[2] as long] }
+    }
+
+    /**
+     *  Collects garbage until the statistics of the cleaner stop changing,
+     *  so that leftovers of other tests do not interfere with our measurements.
+     */
+    static Map<String, Long> settledCleanerStatistics() {
+        Map<String, Long> previous = null
+        Map<String, Long> current = cleanerStatistics()
+        while ( current != previous ) {
+            waitForGarbageCollection()
+            Thread.sleep(200)
+            previous = current
+            current = cleanerStatistics()
+        }
+        return current
+    }
+
     /**
      * This method guarantees that garbage collection is
      * done unlike <code>{@link System#gc()}</code>
@@ -8,6 +8,8 @@ import spock.lang.Title
 import java.lang.ref.WeakReference
 import java.time.DayOfWeek
 import java.time.Month
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
 import java.util.concurrent.TimeUnit
 
 @Title("Property Views")
@@ -1363,6 +1365,256 @@ class Property_View_Spec extends Specification
             traceFormalName == ["Dr. John Doe", null, "Prof. John Smith"]
     }
 
+    def 'A lazy view only computes its item when it is read or observed.'()
+    {
+        reportInfo """
+            A regular view recomputes its item every time its source property changes,
+            even if nobody ever reads the view or listens to it.
+            A view created through `viewLazily(..)` on the other hand, only computes its
+            item when you actually read it, and only if the item of the source
+            changed since the last read. While it has no change listeners, it is not
+            even registered on its source property.
+            As soon as you register a change listener, it observes its source
+            and notifies you of changes just like a regular view.
+        """
+        given : 'A property and a lazy view which counts how often its mapper is called.'
+            var property = Var.of(1)
+            var calls = 0
+            var lazy = property.viewLazily("", it -> { calls++; "#" + it })
+        expect : 'Nothing was computed yet, and the lazy view is not registered on the property.'
+            calls == 0
+            property.numberOfChangeListeners() == 0
+
+        when : 'We change the property many times without reading the view.'
+            (1..100).each { property.set(it) }
+        then : 'The mapper was never called...'
+            calls == 0
+        and : '...until we read the view, which computes the item exactly once.'
+            lazy.get() == "#100"
+            lazy.get() == "#100"
+            calls == 1
+
+        when : 'We register a change listener on the lazy view.'
+            var trace = []
+            Action<ValDelegate<String>> listener = it -> trace << it.currentValue().orElseThrow()
+            lazy.onChange(From.ALL, listener)
+        then : 'The lazy view now observes the property.'
+            property.numberOfChangeListeners() == 1
+
+        when : 'We change the property again.'
+            property.set(42)
+        then : 'The listener is notified like for a regular view.'
+            trace == ["#42"]
+            calls == 2
+
+        when : 'We remove the listener again and change the property.'
+            lazy.unsubscribe(listener)
+            property.set(73)
+        then : 'The lazy view detached from the property and did not compute anything.'
+            property.numberOfChangeListeners() == 0
+            calls == 2
+            trace == ["#42"]
+        and : 'Reading it still yields the current item.'
+            lazy.get() == "#73"
+            calls == 3
+    }
+
+    def 'A lazy view with a different id shares its listeners and its item with the original view.'()
+    {
+        reportInfo """
+            Calling `withId(..)` on a lazy view gives you a view with a different id,
+            which is otherwise the very same view. It has the same change listeners,
+            it reads the same memoized item and it observes the source property
+            through the same registration, no matter on which of the two views
+            you register your listeners.
+        """
+        given : 'A property, a lazy view counting how often its mapper is called, and a copy with a custom id.'
+            var property = Var.of(1)
+            var calls = 0
+            var lazy = property.viewLazily("", it -> { calls++; "#" + it })
+            var named = lazy.withId("named")
+        expect : 'Only the id differs.'
+            named.id() == "named"
+            named.get() == "#1"
+            lazy.get() == "#1"
+            calls == 1
+
+        when : 'We register listeners on both views.'
+            var trace = []
+            Viewable.cast(lazy).onChange(From.ALL, it -> trace << "lazy: " + it.currentValue().orElseThrow())
+            Viewable.cast(named).onChange(From.ALL, it -> trace << "named: " + it.currentValue().orElseThrow())
+        then : 'Both views report both listeners, and the property is observed only once.'
+            Viewable.cast(lazy).numberOfChangeListeners() == 2
+            Viewable.cast(named).numberOfChangeListeners() == 2
+            property.numberOfChangeListeners() == 1
+
+        when : 'We change the property.'
+            property.set(2)
+        then : 'Every listener is notified once, and the item was computed only once.'
+            trace == ["lazy: #2", "named: #2"]
+            calls == 2
+
+        when : 'We remove all listeners through the copy and change the property again.'
+            Viewable.cast(named).unsubscribeAll()
+            property.set(3)
+        then : 'Both views detached from the property.'
+            property.numberOfChangeListeners() == 0
+            Viewable.cast(lazy).numberOfChangeListeners() == 0
+            trace == ["lazy: #2", "named: #2"]
+    }
+
+    def 'An asynchronous view computes its item on an executor, skipping outdated source items.'()
+    {
+        reportInfo """
+            A regular view runs its mapping function on the thread which changes the source property,
+            so an expensive mapping blocks that thread. A view created through `viewAsync(Executor, ..)`
+            instead computes its item on the supplied executor, which must be effectively single-threaded,
+            and publishes the result there. So the view and its change listeners run on the executor's thread.
+            If the source changes faster than the executor can compute, intermediate items are skipped,
+            and the view always converges to the item of the latest source item.
+        """
+        given : 'A single-threaded executor and a gate which lets us block the first computation.'
+            var executor = Executors.newSingleThreadExecutor()
+            var gate = new CountDownLatch(1)
+            var started = new CountDownLatch(1)
+        and : 'A property and an asynchronous view of it, which records the items it maps.'
+            var property = Var.of(1)
+            var mapped = Collections.synchronizedList([])
+            var view = property.viewAsync(executor, "", it -> {
+                mapped << it
+                started.countDown()
+                gate.await(5, TimeUnit.SECONDS)
+                "#" + it
+            })
+        and : 'We wait until the first computation is running.'
+            started.await(5, TimeUnit.SECONDS)
+        and : 'A listener which records on which thread it is called.'
+            var done = new CountDownLatch(1)
+            var threads = Collections.synchronizedList([])
+            view.onChange(From.ALL, it -> {
+                threads << Thread.currentThread()
+                if ( it.currentValue().orElseThrow() == "#100" ) done.countDown()
+            })
+
+        when : 'We change the property many times while the first computation is still blocked.'
+            (2..100).each { property.set(it) }
+        then : 'The writer was not blocked, and the view still holds its null object.'
+            view.get() == ""
+
+        when : 'We let the computations run.'
+            gate.countDown()
+        then : 'The view eventually holds the item of the latest source item.'
+            done.await(5, TimeUnit.SECONDS)
+            view.get() == "#100"
+        and : 'Only the first and the latest source items were mapped, and the outdated result was never published.'
+            mapped == [1, 100]
+            threads.size() == 1
+            threads[0] != Thread.currentThread()
+
+        cleanup :
+            executor.shutdownNow()
+    }
+
+    def 'A view is already up to date when the listeners of its source are notified.'()
+    {
+        reportInfo """
+            When a property changes, the views derived from it are recomputed
+            before any of the change listeners of the property are notified.
+            So a listener of the source property can safely read its views,
+            regardless of whether it was registered before or after the view was created.
+        """
+        given : 'A property with a listener which reads a view of the property.'
+            var property = Var.of(1)
+            Val<Integer> doubled = null
+            var trace = []
+            Viewable.cast(property).onChange(From.ALL, it -> trace << doubled.get() )
+        and : 'The view, which is created after the listener was registered.'
+            doubled = property.viewAsInt( it -> it * 2 )
+
+        when : 'We change the property.'
+            property.set(5)
+
+        then : 'The listener has seen the recomputed item of the view.'
+            trace == [10]
+            doubled.get() == 10
+    }
+
+    def 'A view changed by a nested change event is up to date right after the nested change.'()
+    {
+        reportInfo """
+            A change listener of one property may in turn change another property.
+            The views of that other property are recomputed as part of this nested change,
+            so the listener can read them right after it changed their source.
+        """
+        given : 'Two properties and a view of the second one.'
+            var first = Var.of(0)
+            var second = Var.of(0)
+            var view = second.viewAsInt( it -> it + 100 )
+        and : 'A listener on the first property which changes the second one and then reads the view.'
+            var trace = []
+            Viewable.cast(first).onChange(From.ALL, it -> {
+                second.set(7)
+                trace << view.get()
+            })
+
+        when : 'We change the first property.'
+            first.set(1)
+
+        then : 'The listener read the item computed from the nested change.'
+            trace == [107]
+    }
+
+    def 'The listeners of a view are notified before the listeners of its source.'()
+    {
+        reportInfo """
+            A view recomputes its item and notifies its own listeners before
+            the other listeners of its source are notified. So a listener of the source
+            always runs after the listeners of all its views.
+        """
+        given : 'A property, a view with a listener and a listener on the property.'
+            var property = Var.of("a")
+            var trace = []
+            var view = property.view( it -> it + "!" )
+            view.onChange(From.ALL, it -> trace << "view:" + it.currentValue().orElseThrow() )
+            Viewable.cast(property).onChange(From.ALL, it -> trace << "source:" + it.currentValue().orElseThrow() )
+
+        when : 'We change the property.'
+            property.set("b")
+
+        then : 'The listener of the view was notified first.'
+            trace == ["view:b!", "source:b"]
+    }
+
+    def 'A combined view read by the listener of one of its sources is up to date and computed only once.'()
+    {
+        reportInfo """
+            In a diamond shaped graph of views, a combined view is recomputed exactly once per change,
+            after all of its sources were updated. This also holds if the listener of one of its sources
+            reads the combined view while the other source is not yet recomputed.
+        """
+        given : 'A property, two views of it and a combined view of both.'
+            var property = Var.of(1)
+            var plusOne = property.viewAsInt( it -> it + 1 )
+            var timesTen = property.viewAsInt( it -> it * 10 )
+            var calls = 0
+            var combined = Viewable.of(plusOne, timesTen, (a, b) -> { calls++; a + b })
+            var trace = []
+            combined.onChange(From.ALL, it -> trace << it.currentValue().orElseThrow() )
+        and : 'A listener on the first view which reads the combined view.'
+            var seen = []
+            Viewable.cast(plusOne).onChange(From.ALL, it -> seen << combined.get() )
+
+        when : 'We change the property.'
+            calls = 0
+            property.set(3)
+
+        then : 'The listener has seen the up to date combination, which was computed once.'
+            seen == [34]
+            combined.get() == 34
+            calls == 1
+            trace == [34]
+    }
+
     /**
      * This method guarantees that garbage collection is
      * done unlike <code>{@link System#gc()}</code>
@@ -474,4 +474,36 @@ class Tuple_Filtering_Spec extends Specification
             // Remove alternating
             [1, 2, 3, 4, 5, 6]| { it % 2 == 0 }          || -1            | 3
     }
-}
\ No newline at end of file
+
+    def 'The parallel filtering operations produce the same tuples as their sequential counterparts.'(
+        Tuple<Integer> tuple
+    ) {
+        reportInfo """
+            The `parallelRetainIf` and `parallelRemoveIf` operations test the items
+            of large tuples concurrently, but the resulting tuples are the same
+            as the ones produced by `retainIf` and `removeIf`, with the
+            items in the same order.
+        """
+        given : 'A thread safe predicate.'
+            var predicate = { it != null && it % 3 != 0 } as java.util.function.Predicate<Integer>
+        expect :
+            tuple.parallelRetainIf(predicate) == tuple.retainIf(predicate)
+            tuple.parallelRemoveIf(predicate) == tuple.removeIf(predicate)
+        and : 'Filtering out nothing returns the same tuple instance.'
+            tuple.parallelRetainIf({ true } as java.util.function.Predicate<Integer>) === tuple
+        and : 'Filtering out everything returns an empty tuple.'
+            tuple.parallelRemoveIf({ true } as java.util.function.Predicate<Integer>).isEmpty()
+        and : 'The result reports the kind of change to its listeners.'
+            var result = tuple.parallelRemoveIf(predicate)
+            result === tuple || ((SequenceDiffOwner) result).differenceFromPrevious().get().change() == SequenceChange.REMOVE
+
+        where :
+            tuple << [
+                Tuple.of(Integer),
+                Tuple.of(Integer, 3, 6, 9),
+                Tuple.of((0..<50_000) as int[]),
+                Tuple.of(Integer, (0..<50_000)).removeRange(10, 20).addAt(7, -7),
+                Tuple.ofNullable(Integer, (0..<30_000).collect { it % 4 == 0 ? null : it })
+            ]
+    }
+}
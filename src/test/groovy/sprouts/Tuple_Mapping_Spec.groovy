@@ -788,4 +788,32 @@ class Tuple_Mapping_Spec extends Specification
             String    | (-121..141).collect( it -> it as char ).collect( it -> String.valueOf(it) ).toList()
             Byte      | (-1234..5678).collect({it as byte}).toList()
     }
-}
\ No newline at end of file
+
+    def 'The parallel mapping operations produce the same tuples as their sequential counterparts.'(
+        Tuple<Integer> tuple
+    ) {
+        reportInfo """
+            The `parallelMap` and `parallelMapTo` operations map the subtrees
+            of large tuples in separate fork join tasks. The mapper function is
+            called concurrently, so it must be thread safe, but the resulting
+            tuple is exactly the same as the one produced by `map` and `mapTo`.
+        """
+        given : 'Two thread safe mapper functions.'
+            var toText = (Function<Integer, String>) { it == null ? "none" : "#" + it }
+            var doubled = (Function<Integer, Integer>) { it == null ? null : it * 2 }
+        expect :
+            tuple.parallelMapTo(String, toText) == tuple.mapTo(String, toText)
+            tuple.parallelMap(doubled) == tuple.map(doubled)
+        and : 'Mapping items to themselves returns the same tuple instance.'
+            tuple.parallelMap({ it } as Function<Integer, Integer>) === tuple
+
+        where :
+            tuple << [
+                Tuple.of(Integer),
+                Tuple.of(Integer, 1, 2, 3),
+                Tuple.of((0..<50_000) as int[]),
+                Tuple.of(Integer, (0..<50_000)).removeRange(10, 20).addAt(7, -7),
+                Tuple.ofNullable(Integer, (0..<30_000).collect { it % 4 == 0 ? null : it })
+            ]
+    }
+}
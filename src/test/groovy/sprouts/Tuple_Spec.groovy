@@ -2127,6 +2127,145 @@ class Tuple_Spec extends Specification
             Tuple.of(Integer, (0..599)).map({it%3==0?-1:it})     | -1    // large tree
     }
 
+    def 'A parallel stream over a large tuple splits along its tree structure and preserves the order of the items.'(
+        Tuple<?> tuple
+    ) {
+        reportInfo """
+            The spliterator of a tuple splits along the branches of its internal tree,
+            so that every part of a parallel stream can walk through whole leaf arrays
+            instead of looking up every single item from the root of the tree.
+            The result is of course still ordered like the tuple itself.
+        """
+        given : 'The items of the tuple in a plain list.'
+            var expected = tuple.toList()
+        when : 'We split the spliterator of the tuple a few times.'
+            var spliterator = tuple.spliterator()
+            var prefix = spliterator.trySplit()
+        then : 'The sizes of the parts add up to the size of the tuple.'
+            spliterator.estimateSize() + (prefix == null ? 0 : prefix.estimateSize()) == tuple.size()
+        and : 'Parallel and sequential streams produce the items in the same order.'
+            tuple.parallelStream().collect(Collectors.toList()) == expected
+            tuple.stream().collect(Collectors.toList()) == expected
+            tuple.parallelStream().skip(1).limit(tuple.size().intdiv(2)).collect(Collectors.toList()) == expected.drop(1).take(tuple.size().intdiv(2))
+
+        where :
+            tuple << [
+                Tuple.of(Integer, (0..<10)),
+                Tuple.of(Integer, (0..<20_000)).removeRange(100, 300).addAllAt(7, Tuple.of(Integer, -1, -2, -3)),
+                Tuple.of(String, (0..<5_000).collect { "s" + it }).removeAt(4321).add("x"),
+                Tuple.ofNullable(Integer, (0..<5_000).collect { it % 7 == 0 ? null : it }).removeRange(0, 3)
+            ]
+    }
+
+    def 'Tuples created from primitive arrays are typed views with unboxed accessors and reductions.'()
+    {
+        reportInfo """
+            When you create a tuple from an `int[]`, `long[]` or `double[]` array,
+            you get back an `IntTuple`, `LongTuple` or `DoubleTuple` respectively.
+            These store their items in primitive arrays internally and
+            allow you to read and reduce them without boxing.
+        """
+        given : 'Tuples created from primitive arrays.'
+            IntTuple ints = Tuple.of(new int[]{3, -1, 4, 1, 5})
+            LongTuple longs = Tuple.of(new long[]{10L, 20L, 30L})
+            DoubleTuple doubles = Tuple.of(new double[]{0.5, 1.5, 2.0})
+        expect : 'The primitive reductions match the boxed items.'
+            ints.sum() == 12
+            ints.min().getAsInt() == -1
+            ints.max().getAsInt() == 5
+            ints.average().getAsDouble() == 2.4d
+            longs.sum() == 60L
+            longs.max().getAsLong() == 30L
+            doubles.sum() == 4.0d
+            doubles.min().getAsDouble() == 0.5d
+        and : 'The items can be accessed without boxing.'
+            ints.getInt(2) == 4
+            longs.getLong(1) == 20L
+            doubles.getDouble(0) == 0.5d
+            ints.toIntArray() == [3, -1, 4, 1, 5] as int[]
+        and : 'Empty primitive tuples have no minimum, maximum or average.'
+            !Tuple.of(new int[0]).min().isPresent()
+            !Tuple.of(new double[0]).average().isPresent()
+            Tuple.of(new long[0]).sum() == 0L
+    }
+
+    def 'The unboxed accessors of a tuple agree with the boxed items, even for large tuples.'()
+    {
+        reportInfo """
+            Every tuple of numbers supports the primitive accessors `getInt`,
+            `forEachInt`, `intStream` and their `long` and `double` counterparts,
+            no matter how many modifications it went through.
+        """
+        given : 'A large tuple with a tree structure caused by many modifications.'
+            var tuple = Tuple.of((0..<2000).collect { it * 7 % 1013 } as int[])
+                                .addAll(Tuple.of(Integer, 1, 2, 3))
+                                .removeRange(100, 150)
+                                .addAt(42, 99)
+            var boxed = tuple.toList()
+        and : 'A list for collecting the items passed to `forEachInt`.'
+            var visited = []
+        when :
+            tuple.forEachInt({ visited.add(it) } as java.util.function.IntConsumer)
+        then :
+            visited == boxed
+            (0..<tuple.size()).every { tuple.getInt(it) == boxed[it] }
+            (0..<tuple.size()).every { tuple.getDouble(it) == boxed[it] as double }
+            tuple.intStream().sum() == boxed.sum()
+            tuple.longStream().toArray() as List == boxed.collect { it as long }
+        and : 'Mapping to doubles produces a `DoubleTuple`.'
+            tuple.mapToDouble({ it / 2d } as java.util.function.ToDoubleFunction).sum() == boxed.sum() / 2d
+    }
+
+    def 'The unboxed accessors throw a `NullPointerException` for null items.'()
+    {
+        given :
+            var tuple = Tuple.ofNullable(Integer, 1, null, 3)
+        when :
+            tuple.getInt(1)
+        then :
+            thrown(NullPointerException)
+        when :
+            tuple.intStream().sum()
+        then :
+            thrown(NullPointerException)
+    }
+
+    def 'The hash code of a modified tuple is the same as that of an equal tuple built from scratch.'(
+        Tuple<Integer> base
+    ) {
+        reportInfo """
+            Tuples are frequently used as keys in maps and caches, which is why
+            their hash code is cached piece by piece in the nodes of the tuple.
+            When you create a new version of a tuple, only the parts which were
+            actually changed need to be hashed again, but the result is still
+            the same as the one of an equal tuple which was created from scratch.
+        """
+        given : 'A large tuple and its hash code.'
+            var tuple = base.addAll(Tuple.of(Integer, (0..<3_000).collect { it * 3 }))
+            tuple.hashCode()
+
+        when : 'We create new versions of the tuple in various ways.'
+            var set      = tuple.setAt(1_234, -1)
+            var added    = tuple.add(42)
+            var removed  = tuple.removeAt(7)
+            var inserted = tuple.addAt(100, 7)
+
+        then : 'Their hash codes match those of equal tuples built from a list of items.'
+            [set, added, removed, inserted].every { version ->
+                var fromScratch = Tuple.of(Integer, version.toList())
+                version == fromScratch && version.hashCode() == fromScratch.hashCode()
+            }
+        and : 'A changed tuple is no longer equal to the original.'
+            set != tuple
+            set.hashCode() != tuple.hashCode()
+        and : 'Reverting the change makes them equal again.'
+            set.setAt(1_234, tuple.get(1_234)) == tuple
+            set.setAt(1_234, tuple.get(1_234)).hashCode() == tuple.hashCode()
+
+        where :
+            base << [Tuple.of(Integer), Tuple.of(Integer, 1, 2, 3)]
+    }
+
     // Helper method to generate mixed-type lists for data-driven testing
     private List<Object> generateMixedTypeList(int size) {
         def random = new Random(42) // Fixed seed for reproducible tests
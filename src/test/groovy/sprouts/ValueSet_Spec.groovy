@@ -1028,6 +1028,223 @@ class ValueSet_Spec extends Specification {
     }
 
 
+    def 'A parallel stream over a large value set visits every element exactly once.'(int size)
+    {
+        reportInfo """
+            The spliterator of a value set splits along the branches of the
+            internal trie, so parallel streams can process whole subtrees
+            on different threads.
+        """
+        given : 'A value set with the given number of elements.'
+            var set = ValueSet.of(Integer).addAll((0..<size).collect { it * 3 })
+        when : 'We split its spliterator once.'
+            var spliterator = set.spliterator()
+            var prefix = spliterator.trySplit()
+        then : 'The sizes of both parts add up to the size of the set.'
+            spliterator.estimateSize() + (prefix == null ? 0 : prefix.estimateSize()) == size
+        and : 'A parallel stream sees exactly the elements of the set.'
+            set.parallelStream().count() == size
+            set.parallelStream().collect(Collectors.toSet()) == (0..<size).collect { it * 3 } as Set
+            set.parallelStream().mapToLong({ it as long }).sum() == (0..<size).collect { it * 3L }.sum(0L)
+
+        where :
+            size << [0, 1, 30, 1_000, 50_000]
+    }
+
+    def 'The spliterators of sorted and linked value sets split into ordered parts with exact sizes.'(
+        ValueSet<Integer> set
+    ) {
+        reportInfo """
+            A sorted value set splits its tree into a prefix and a suffix at node
+            boundaries, and a linked value set hands off the first half of its
+            linked elements. Every part knows its exact size, and traversing the
+            parts one after the other yields the elements in the order of the set.
+        """
+        given : 'The elements of the set in iteration order.'
+            var expected = set.toList()
+        when : 'We recursively split the spliterator as far as possible.'
+            var parts = [set.spliterator()]
+            var done = false
+            while ( !done ) {
+                done = true
+                parts = parts.collectMany { part ->
+                    var prefix = part.trySplit()
+                    if ( prefix == null ) return [part]
+                    done = false
+                    return [prefix, part]
+                }
+            }
+        then : 'Every part is ordered and the exact sizes add up to the size of the set.'
+            parts.sum(0L) { it.estimateSize() } == set.size()
+            parts.every { it.hasCharacteristics(Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.IMMUTABLE) }
+        and : 'A large set is split into many parts.'
+            set.size() < 100 || parts.size() > 16
+        when : 'We traverse the parts in order.'
+            var collected = []
+            parts.each { part -> part.forEachRemaining { collected.add(it) } }
+        then : 'The elements are visited in the order of the set.'
+            collected == expected
+        and : 'A parallel stream preserves that order as well.'
+            set.parallelStream().collect(Collectors.toList()) == expected
+
+        where :
+            set << [
+                ValueSet.ofSorted(Integer),
+                ValueSet.ofSorted(Integer).addAll((0..<10).collect { it * 7 % 10 }),
+                ValueSet.ofSorted(Integer).addAll((0..<5_000).collect { it * 7919 % 10_007 }),
+                ValueSet.ofSorted(Integer, Comparator.reverseOrder()).addAll((0..<1_000).collect { it * 3 }),
+                ValueSet.ofLinked(Integer),
+                ValueSet.ofLinked(Integer).addAll((0..<10).collect { 10 - it }),
+                ValueSet.ofLinked(Integer).addAll((0..<2_000).collect { it * 31 % 2_003 })
+            ]
+    }
+
+    def 'A bulk `addAll` produces the same set as adding every element one by one.'(
+        ValueSet<Integer> base, int size
+    ) {
+        reportInfo """
+            Bulk inserts through `addAll(Stream)` build every affected node of the
+            underlying tree only once, instead of path-copying the tree for every element.
+            The observable result is the same as a sequence of individual `add` calls.
+        """
+        given:
+            var random = new Random(size)
+            var elements = (0..<size).collect { random.nextInt(size / 2 + 1 as int) }
+            var expected = base
+            elements.each { expected = expected.add(it) }
+
+        when :
+            var result = base.addAll(elements.stream())
+
+        then :
+            result == expected
+            result.size() == expected.size()
+            result.hashCode() == expected.hashCode()
+            result.toSet() == expected.toSet()
+            elements.every { result.contains(it) }
+
+        where :
+            base                                                           | size
+            ValueSet.of(Integer)                                           | 10
+            ValueSet.of(Integer)                                           | 5_000
+            ValueSet.of(Integer).addAll((0..999).stream())                 | 3_000
+            ValueSet.ofSorted(Integer)                                     | 10
+            ValueSet.ofSorted(Integer)                                     | 5_000
+            ValueSet.ofSorted(Integer).addAll((0..999).stream())           | 3_000
+            ValueSet.ofSorted(Integer).addAll((0..999).stream())           | 50
+    }
+
+    def 'The union, intersection and difference of two versions of a large set are computed correctly.'(
+        int edits
+    ) {
+        reportInfo """
+            When two value sets are versions of one another, they share most of their
+            internal structure. Combining them through `addAll`, `retainAll` and `removeAll`
+            reuses the shared parts instead of visiting every single element,
+            but the results are of course the same as those of a regular `java.util.Set`.
+        """
+        given : 'A large set and another version of it with a few changes.'
+            var random = new Random(edits)
+            var original = ValueSet.of(Integer).addAll((0..<20_000).stream())
+            var changed = original
+            var expected = new HashSet<Integer>(original.toSet())
+            edits.times {
+                int element = random.nextInt(25_000)
+                if ( random.nextBoolean() ) {
+                    changed = changed.add(element)
+                    expected.add(element)
+                } else {
+                    changed = changed.remove(element)
+                    expected.remove(element)
+                }
+            }
+
+        when : 'We combine the two versions in every way.'
+            var union        = original.addAll(changed)
+            var intersection = original.retainAll(changed)
+            var difference   = original.removeAll(changed)
+            var reverseDiff  = changed.removeAll(original)
+
+        then : 'The results are equal to those computed with mutable JDK sets.'
+            union.toSet()        == original.toSet() + expected
+            intersection.toSet() == original.toSet().findAll { expected.contains(it) } as Set
+            difference.toSet()   == original.toSet().findAll { !expected.contains(it) } as Set
+            reverseDiff.toSet()  == expected.findAll { !original.contains(it) } as Set
+        and : 'They are also equal to sets built from scratch, including their hash codes.'
+            [union, intersection, difference, reverseDiff].every { result ->
+                var fromScratch = ValueSet.of(Integer).addAll(result.toSet())
+                result == fromScratch && result.hashCode() == fromScratch.hashCode() && result.size() == fromScratch.size()
+            }
+        and : 'Combining a set with itself yields the set itself.'
+            original.addAll(original).is(original)
+            original.retainAll(original).is(original)
+            original.removeAll(original).isEmpty()
+
+        where :
+            edits << [0, 1, 10, 500, 5_000]
+    }
+
+    def 'The diff between two versions of a value set tells you which elements were added or removed.'(
+        ValueSet<Integer> empty, int edits
+    ) {
+        reportInfo """
+            The `diff` method describes how one value set has to change to become another one,
+            through the elements which have to be added or removed.
+            The diff is only computed when you ask for it, and if the two sets
+            are versions of one another, only the parts they do not share are compared.
+        """
+        given : 'A value set and another version of it with a few changes.'
+            var random = new Random(edits)
+            var before = empty.addAll((0..<3_000).stream())
+            var after = before
+            edits.times {
+                int element = random.nextInt(4_000)
+                after = random.nextBoolean() ? after.add(element) : after.remove(element)
+            }
+
+        when : 'We compute the diff between the two versions.'
+            var diff = before.diff(after)
+
+        then : 'Its changes are exactly the differences between the two versions.'
+            diff.added().toSet()   == after.toSet().findAll { !before.contains(it) } as Set
+            diff.removed().toSet() == before.toSet().findAll { !after.contains(it) } as Set
+            diff.isEmpty() == (before.toSet() == after.toSet())
+        and : 'Applying the changes to the old version yields the new version.'
+            before.removeAll(diff.removed()).addAll(diff.added()).toSet() == after.toSet()
+
+        where :
+            empty                      | edits
+            ValueSet.of(Integer)       | 0
+            ValueSet.of(Integer)       | 1
+            ValueSet.of(Integer)       | 50
+            ValueSet.of(Integer)       | 2_000
+            ValueSet.ofLinked(Integer) | 50
+            ValueSet.ofSorted(Integer) | 50
+    }
+
+    def 'Use `ValueSet.diffOf(ValDelegate)` to find out which elements a change of a value set view touched.'()
+    {
+        reportInfo """
+            The change listeners of a property holding a value set receive a `ValDelegate`
+            with the old and the new set. You can turn the delegate into a `Diff`
+            which only looks at the parts of the two sets which actually differ.
+        """
+        given : 'A property holding a value set, and a view of it.'
+            var state = Var.of(ValueSet.of(String).addAll("a", "b"))
+            var view = state.viewAsValueSet(String, { it })
+        and : 'A listener which records the diff of every change.'
+            var diffs = []
+            view.onChange(From.ALL, { diffs << ValueSet.diffOf(it) })
+
+        when : 'We change the state of the property.'
+            state.update { it.remove("a").add("c") }
+
+        then : 'The listener received a diff with the individual changes.'
+            diffs.size() == 1
+            diffs[0].added().toSet()   == ["c"] as Set
+            diffs[0].removed().toSet() == ["a"] as Set
+    }
+
     // Helper method to generate mixed-type lists for data-driven testing
     private List<Object> generateMixedTypeList(int size) {
         def random = new Random(42) // Fixed seed for reproducible tests
@@ -1047,4 +1264,4 @@ class ValueSet_Spec extends Specification {
             }
         }.unique() // Ensure uniqueness for value set
     }
-}
\ No newline at end of file
+}
@@ -4,6 +4,11 @@ import spock.lang.Narrative
 import spock.lang.Specification
 import spock.lang.Title
 
+import java.util.concurrent.Callable
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
 @Title("Value based Identity")
 @Narrative('''
 
@@ -113,4 +118,34 @@ class Version_Spec extends Specification
             version3.isDirectPredecessorOf(version4)
             !version4.isDirectPredecessorOf(version3)
     }
+
+    def 'Versions created concurrently on many threads never share a lineage.'() {
+        reportInfo """
+            Since `Version.create()` is the source of identity for value objects
+            and for the diffs of tuples, it must hand out a new lineage on every call,
+            even when it is called from many threads at the same time.
+        """
+        given : 'A number of threads which are started at the same time.'
+            int threads = 16
+            int versionsPerThread = 5_000
+            var pool = Executors.newFixedThreadPool(threads)
+            var startGun = new CountDownLatch(1)
+            var futures = (1..threads).collect({
+                pool.submit({
+                    startGun.await()
+                    return (1..versionsPerThread).collect({ Version.create().lineage() })
+                } as Callable<List<Long>>)
+            })
+
+        when : 'They all create versions concurrently.'
+            startGun.countDown()
+            var lineages = futures.collectMany({ it.get(20, TimeUnit.SECONDS) })
+
+        then : 'Every single one of them has a lineage of its own.'
+            lineages.size() == threads * versionsPerThread
+            lineages.toSet().size() == lineages.size()
+
+        cleanup :
+            pool.shutdownNow()
+    }
 }